@@ -0,0 +1,40 @@
+package com.microservice.gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+
+// ============================================================
+//  Respuesta GET almacenada en la caché del gateway.
+//  frescaHasta marca el fin del TTL; pasado ese punto la entrada
+//  sigue en memoria (stale) para revalidarla con su ETag o para
+//  servirla como respaldo si el upstream falla.
+// ============================================================
+public record CachedResponse(
+        int status,
+        HttpHeaders headers,
+        byte[] body,
+        long almacenada,
+        long frescaHasta) {
+
+    public boolean fresca(long ahora) {
+        return ahora < frescaHasta;
+    }
+
+    public String etag() {
+        return headers.getETag();
+    }
+
+    // Segundos desde que se obtuvo del upstream (header Age)
+    public long edadSegundos(long ahora) {
+        return Math.max(0, (ahora - almacenada) / 1000);
+    }
+
+    // Misma respuesta confirmada por el upstream (304): nuevo TTL
+    public CachedResponse renovada(long ahora, long ttlMillis) {
+        return new CachedResponse(status, headers, body, ahora, ahora + ttlMillis);
+    }
+
+    // Peso para el límite de memoria de la caché
+    public int bytes() {
+        return body.length + 64 * headers.size();
+    }
+}
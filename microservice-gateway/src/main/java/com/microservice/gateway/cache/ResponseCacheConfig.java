@@ -0,0 +1,12 @@
+package com.microservice.gateway.cache;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+// ============================================================
+//  Registra gateway.cache.* para ResponseCacheStore y el filtro
+// ============================================================
+@Configuration
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCacheConfig {
+}
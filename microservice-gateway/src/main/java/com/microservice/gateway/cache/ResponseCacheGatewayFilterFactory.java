@@ -0,0 +1,384 @@
+package com.microservice.gateway.cache;
+
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// ============================================================
+//  Filtro de ruta "ResponseCache": caché de GET en el gateway
+//
+//  - HIT: respuesta fresca servida sin ir al upstream (304 si el
+//    If-None-Match del cliente coincide con el ETag guardado).
+//  - Vencida con ETag: se revalida con If-None-Match; un 304 del
+//    upstream renueva la entrada (REVALIDATED).
+//  - MISS concurrentes de la misma clave: un solo request upstream;
+//    el resto espera su resultado (COALESCED).
+//  - POST/PUT/PATCH/DELETE que pasan por la ruta invalidan las
+//    entradas afectadas (ver ResponseCacheStore.invalidar).
+//
+//  Respeta Cache-Control (no-store, private, no-cache, max-age,
+//  s-maxage) y no guarda respuestas con Set-Cookie, Authorization
+//  o de tipo streaming (NDJSON, SSE). Lo que no se guarda tampoco
+//  se comparte con los requests coalescidos: van al upstream.
+//  Las copias compartidas nunca llevan Set-Cookie.
+//
+//  Uso en la ruta:  - ResponseCache=10s
+// ============================================================
+@Component
+public class ResponseCacheGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    public static final String X_CACHE = "X-Cache";
+
+    // Clave de caché del request en curso (la usa el fallback del circuit breaker)
+    public static final String CACHE_KEY_ATTR = ResponseCacheGatewayFilterFactory.class.getName() + ".key";
+
+    private static final Pattern MAX_AGE = Pattern.compile("(?:^|,)\\s*(s-maxage|max-age)\\s*=\\s*(\\d+)");
+
+    private static final Set<MediaType> STREAMING = Set.of(
+            MediaType.APPLICATION_NDJSON, MediaType.TEXT_EVENT_STREAM);
+
+    // Headers que no pasan a la copia compartida
+    private static final List<String> NO_COMPARTIDOS = List.of(
+            HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONNECTION, "Keep-Alive", HttpHeaders.CONTENT_LENGTH,
+            HttpHeaders.SET_COOKIE, X_CACHE);
+
+    private final ResponseCacheStore store;
+    private final long maxBodyBytes;
+
+    // Requests upstream en curso por clave (coalescing)
+    private final ConcurrentHashMap<String, Mono<Optional<CachedResponse>>> enVuelo = new ConcurrentHashMap<>();
+
+    public ResponseCacheGatewayFilterFactory(ResponseCacheStore store, ResponseCacheProperties properties) {
+        super(Config.class);
+        this.store = store;
+        this.maxBodyBytes = properties.getMaxBodySize().toBytes();
+    }
+
+    public static class Config {
+
+        // TTL si el upstream no envía max-age
+        private Duration ttl = Duration.ofSeconds(10);
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("ttl");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+
+            HttpMethod method = exchange.getRequest().getMethod();
+
+            if (HttpMethod.GET.equals(method)) {
+                return leer(exchange, chain, config);
+            }
+
+            if (HttpMethod.POST.equals(method) || HttpMethod.PUT.equals(method)
+                    || HttpMethod.PATCH.equals(method) || HttpMethod.DELETE.equals(method)) {
+                return chain.filter(exchange).doFinally(s -> invalidarTrasEscritura(exchange));
+            }
+
+            return chain.filter(exchange);
+        };
+    }
+
+    // ============================================================
+    //  GET: HIT / revalidación / MISS con coalescing
+    // ============================================================
+    private Mono<Void> leer(ServerWebExchange exchange, GatewayFilterChain chain, Config config) {
+
+        ServerHttpRequest request = exchange.getRequest();
+        HttpHeaders headers = request.getHeaders();
+        String cacheControl = String.join(",", headers.getOrEmpty(HttpHeaders.CACHE_CONTROL));
+
+        // Peticiones autenticadas o que piden no usar caché van directo
+        if (headers.containsKey(HttpHeaders.AUTHORIZATION) || cacheControl.contains("no-store")) {
+            return chain.filter(exchange);
+        }
+
+        String clave = ResponseCacheStore.clave(request.getPath().value(), request.getURI().getRawQuery(),
+                headers.getFirst(HttpHeaders.ACCEPT), headers.getFirst(HttpHeaders.ACCEPT_ENCODING));
+        exchange.getAttributes().put(CACHE_KEY_ATTR, clave);
+
+        boolean forzarUpstream = cacheControl.contains("no-cache") || cacheControl.contains("max-age=0")
+                || "no-cache".equals(headers.getPragma());
+
+        CachedResponse guardada = store.get(clave);
+        long ahora = System.currentTimeMillis();
+
+        if (guardada != null && !forzarUpstream && guardada.fresca(ahora)) {
+            return servir(exchange, guardada, "HIT");
+        }
+
+        // Ya hay un request upstream para esta clave: esperar su resultado
+        Sinks.One<Optional<CachedResponse>> sink = Sinks.one();
+        Mono<Optional<CachedResponse>> resultado = sink.asMono();
+        Mono<Optional<CachedResponse>> previo = enVuelo.putIfAbsent(clave, resultado);
+
+        if (previo != null) {
+            return previo.flatMap(r -> r.isPresent()
+                    ? servir(exchange, r.get(), "COALESCED")
+                    : chain.filter(exchange));
+        }
+
+        long generacion = store.generacion();
+
+        // Revalidación con el ETag guardado (si el cliente no trae el suyo)
+        CachedResponse revalidar = guardada != null && guardada.etag() != null
+                && !headers.containsKey(HttpHeaders.IF_NONE_MATCH) ? guardada : null;
+
+        ServerWebExchange upstream = exchange;
+        if (revalidar != null) {
+            upstream = exchange.mutate()
+                    .request(r -> r.headers(h -> h.setIfNoneMatch(revalidar.etag())))
+                    .build();
+        }
+
+        CapturaResponse captura = new CapturaResponse(exchange.getResponse(), clave, generacion, config, revalidar, sink);
+
+        return chain.filter(upstream.mutate().response(captura).build())
+                .doFinally(s -> {
+                    enVuelo.remove(clave, resultado);
+                    // Sin cuerpo capturado (error, cancelación): cada uno va por su cuenta
+                    sink.tryEmitValue(Optional.empty());
+                });
+    }
+
+    private Mono<Void> servir(ServerWebExchange exchange, CachedResponse guardada, String estado) {
+
+        ServerHttpResponse response = exchange.getResponse();
+        long ahora = System.currentTimeMillis();
+
+        response.getHeaders().putAll(guardada.headers());
+        response.getHeaders().set(X_CACHE, estado);
+        response.getHeaders().set(HttpHeaders.AGE, Long.toString(guardada.edadSegundos(ahora)));
+
+        List<String> ifNoneMatch = exchange.getRequest().getHeaders().getIfNoneMatch();
+        if (guardada.etag() != null && coincide(ifNoneMatch, guardada.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            response.getHeaders().remove(HttpHeaders.CONTENT_TYPE);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(HttpStatusCode.valueOf(guardada.status()));
+        response.getHeaders().setContentLength(guardada.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(guardada.body())));
+    }
+
+    // If-None-Match compara en forma débil: W/"1-3" coincide con "1-3"
+    private static boolean coincide(List<String> ifNoneMatch, String etag) {
+        ETag guardado = ETag.create(etag);
+        return ifNoneMatch.stream()
+                .flatMap(valor -> ETag.parse(valor).stream())
+                .anyMatch(e -> e.isWildcard() || e.compare(guardado, false));
+    }
+
+    private void invalidarTrasEscritura(ServerWebExchange exchange) {
+
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+
+        // Un 4xx no modificó nada; ante 2xx, 5xx o corte se invalida por las dudas
+        if (status == null || !status.is4xxClientError()) {
+            store.invalidar(exchange.getRequest().getPath().value());
+        }
+    }
+
+    // ============================================================
+    //  TTL según Cache-Control de la respuesta (-1 = no guardar)
+    // ============================================================
+    static long ttlMillis(HttpHeaders headers, Duration porDefecto) {
+
+        String cacheControl = String.join(",", headers.getOrEmpty(HttpHeaders.CACHE_CONTROL)).toLowerCase();
+
+        if (cacheControl.contains("no-store") || cacheControl.contains("private")
+                || headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return -1;
+        }
+
+        // no-cache: se puede guardar, pero cada uso se revalida (requiere ETag)
+        if (cacheControl.contains("no-cache")) {
+            return headers.getETag() != null ? 0 : -1;
+        }
+
+        // s-maxage (caché compartida) tiene prioridad sobre max-age
+        long maxAge = -1;
+        Matcher m = MAX_AGE.matcher(cacheControl);
+        while (m.find()) {
+            long segundos = Long.parseLong(m.group(2));
+            if (m.group(1).equals("s-maxage") || maxAge < 0) {
+                maxAge = segundos;
+            }
+        }
+
+        return maxAge >= 0 ? maxAge * 1000 : porDefecto.toMillis();
+    }
+
+    // ============================================================
+    //  Decorador de la respuesta del upstream: copia el cuerpo al
+    //  pasar (sin retenerlo para el cliente), lo guarda si
+    //  corresponde y lo entrega a los requests coalescidos. La copia
+    //  se abandona en cuanto supera max-body-size.
+    // ============================================================
+    private class CapturaResponse extends ServerHttpResponseDecorator {
+
+        private final String clave;
+        private final long generacion;
+        private final Config config;
+        private final CachedResponse revalidar;
+        private final Sinks.One<Optional<CachedResponse>> sink;
+
+        // null = no se captura (cuerpo demasiado grande)
+        private ByteArrayOutputStream copia = new ByteArrayOutputStream();
+
+        CapturaResponse(ServerHttpResponse delegate, String clave, long generacion, Config config,
+                        CachedResponse revalidar, Sinks.One<Optional<CachedResponse>> sink) {
+            super(delegate);
+            this.clave = clave;
+            this.generacion = generacion;
+            this.config = config;
+            this.revalidar = revalidar;
+            this.sink = sink;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+
+            HttpStatusCode status = getStatusCode();
+            long ahora = System.currentTimeMillis();
+
+            // 304 a nuestra revalidación: se sirve lo guardado con TTL nuevo
+            if (revalidar != null && status != null && status.value() == HttpStatus.NOT_MODIFIED.value()) {
+
+                long ttl = ttlMillis(getHeaders(), config.getTtl());
+                CachedResponse renovada = revalidar.renovada(ahora, Math.max(ttl, 0));
+
+                // El 304 puede volver privado: entonces solo lo usa este cliente
+                if (ttl >= 0) {
+                    store.guardar(clave, renovada, generacion);
+                    sink.tryEmitValue(Optional.of(renovada));
+                } else {
+                    sink.tryEmitValue(Optional.empty());
+                }
+
+                setStatusCode(HttpStatusCode.valueOf(renovada.status()));
+                getHeaders().putAll(renovada.headers());
+                getHeaders().setContentLength(renovada.body().length);
+                getHeaders().set(X_CACHE, "REVALIDATED");
+
+                return Flux.from(body).doOnNext(DataBufferUtils::release)
+                        .then(super.writeWith(Mono.just(bufferFactory().wrap(renovada.body()))));
+            }
+
+            MediaType tipo = getHeaders().getContentType();
+            boolean streaming = tipo != null && STREAMING.stream().anyMatch(tipo::isCompatibleWith);
+
+            // X-Cache ya puesto = respuesta armada en el gateway (p. ej. STALE del fallback)
+            boolean generadaEnGateway = getHeaders().containsKey(X_CACHE);
+
+            if (status == null || status.value() != HttpStatus.OK.value() || streaming || generadaEnGateway) {
+                sink.tryEmitValue(Optional.empty());
+                return super.writeWith(body);
+            }
+
+            getHeaders().set(X_CACHE, "MISS");
+
+            long ttl = ttlMillis(getHeaders(), config.getTtl());
+
+            // Privada (no-store, private, Set-Cookie) o Content-Length mayor
+            // que el límite: ni se copia ni se comparte
+            if (ttl < 0 || getHeaders().getContentLength() > maxBodyBytes) {
+                sink.tryEmitValue(Optional.empty());
+                return super.writeWith(body);
+            }
+
+            return super.writeWith(Flux.from(body)
+                    .doOnNext(this::copiar)
+                    .doOnComplete(() -> {
+                        if (copia != null) {
+                            sink.tryEmitValue(Optional.of(capturar(copia.toByteArray(), ahora, ttl)));
+                        }
+                    }));
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            // Respuestas con flush explícito = streaming: no se guardan
+            sink.tryEmitValue(Optional.empty());
+            return super.writeAndFlushWith(body);
+        }
+
+        // Copia el buffer sin consumirlo; al superar el límite se suelta
+        // lo acumulado y los coalescidos van al upstream
+        private void copiar(DataBuffer buffer) {
+
+            if (copia == null) {
+                return;
+            }
+
+            int tamano = buffer.readableByteCount();
+            if (copia.size() + tamano > maxBodyBytes) {
+                copia = null;
+                sink.tryEmitValue(Optional.empty());
+                return;
+            }
+
+            byte[] bytes = new byte[tamano];
+            int posicion = buffer.readPosition();
+            buffer.read(bytes);
+            buffer.readPosition(posicion);
+            copia.writeBytes(bytes);
+        }
+
+        private CachedResponse capturar(byte[] bytes, long ahora, long ttl) {
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(getHeaders());
+            NO_COMPARTIDOS.forEach(headers::remove);
+
+            CachedResponse respuesta = new CachedResponse(HttpStatus.OK.value(), HttpHeaders.readOnlyHttpHeaders(headers),
+                    bytes, ahora, ahora + ttl);
+
+            store.guardar(clave, respuesta, generacion);
+            return respuesta;
+        }
+    }
+}
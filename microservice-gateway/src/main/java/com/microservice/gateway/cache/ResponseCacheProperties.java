@@ -0,0 +1,47 @@
+package com.microservice.gateway.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+// ============================================================
+//  gateway.cache.* — límites globales de la caché de respuestas
+//  (el TTL por defecto se configura por ruta en el filtro)
+// ============================================================
+@ConfigurationProperties(prefix = "gateway.cache")
+public class ResponseCacheProperties {
+
+    // Memoria máxima ocupada por cuerpos + headers
+    private DataSize maxSize = DataSize.ofMegabytes(64);
+
+    // Respuestas más grandes se sirven pero no se guardan
+    private DataSize maxBodySize = DataSize.ofMegabytes(1);
+
+    // Cuánto tiempo se conserva una entrada vencida (revalidación / respaldo)
+    private Duration staleRetention = Duration.ofMinutes(10);
+
+    public DataSize getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(DataSize maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public DataSize getMaxBodySize() {
+        return maxBodySize;
+    }
+
+    public void setMaxBodySize(DataSize maxBodySize) {
+        this.maxBodySize = maxBodySize;
+    }
+
+    public Duration getStaleRetention() {
+        return staleRetention;
+    }
+
+    public void setStaleRetention(Duration staleRetention) {
+        this.staleRetention = staleRetention;
+    }
+}
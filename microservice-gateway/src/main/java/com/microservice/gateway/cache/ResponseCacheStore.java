@@ -0,0 +1,141 @@
+package com.microservice.gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// ============================================================
+//  Almacén de respuestas GET del gateway (Caffeine, acotado por bytes)
+//
+//  Clave: "<path>?<query>|<accept>[|gzip]". Cada entrada vive su TTL más
+//  staleRetention. La generación se incrementa con cada invalidación:
+//  una respuesta pedida antes de una escritura no se guarda después.
+// ============================================================
+@Component
+public class ResponseCacheStore {
+
+    private final Cache<String, CachedResponse> cache;
+    private final AtomicLong generacion = new AtomicLong();
+    private final Object escritura = new Object();
+
+    public ResponseCacheStore(ResponseCacheProperties properties) {
+
+        long retencion = properties.getStaleRetention().toNanos();
+
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxSize().toBytes())
+                .weigher((String clave, CachedResponse r) -> clave.length() + r.bytes())
+                .expireAfter(new Expiry<String, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(String clave, CachedResponse r, long ahora) {
+                        long fresca = TimeUnit.MILLISECONDS.toNanos(Math.max(0, r.frescaHasta() - System.currentTimeMillis()));
+                        return fresca + retencion;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String clave, CachedResponse r, long ahora, long restante) {
+                        return expireAfterCreate(clave, r, ahora);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String clave, CachedResponse r, long ahora, long restante) {
+                        return restante;
+                    }
+                })
+                .build();
+    }
+
+    public static String clave(String path, String query, String accept) {
+        return clave(path, query, accept, null);
+    }
+
+    // Con gzip el upstream responde otro cuerpo (Vary: Accept-Encoding)
+    public static String clave(String path, String query, String accept, String acceptEncoding) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        return path + "?" + (query == null ? "" : query) + "|" + (accept == null ? "" : accept) + (gzip ? "|gzip" : "");
+    }
+
+    public CachedResponse get(String clave) {
+        return cache.getIfPresent(clave);
+    }
+
+    public long generacion() {
+        return generacion.get();
+    }
+
+    // Guarda solo si no hubo invalidaciones desde que se pidió al upstream
+    public boolean guardar(String clave, CachedResponse respuesta, long generacionInicial) {
+        synchronized (escritura) {
+            if (generacion.get() != generacionInicial) {
+                return false;
+            }
+            cache.put(clave, respuesta);
+            return true;
+        }
+    }
+
+    // ============================================================
+    //  Invalidación por escritura en pathEscrito:
+    //  - con id (/api/v1/libros/12/stock): ese recurso y todas las
+    //    vistas de colección (listados, búsquedas) de /api/v1/libros
+    //  - sin id (/api/v1/libros/bulk): todo bajo /api/v1/libros
+    // ============================================================
+    public void invalidar(String pathEscrito) {
+
+        String recurso = raizDeRecurso(pathEscrito);
+        String coleccion = recurso != null ? padre(recurso) : padre(pathEscrito);
+
+        synchronized (escritura) {
+            generacion.incrementAndGet();
+
+            cache.asMap().keySet().removeIf(clave -> {
+                String path = pathDe(clave);
+                if (recurso == null) {
+                    return path.startsWith(coleccion);
+                }
+                return path.equals(recurso) || path.startsWith(recurso + "/")
+                        || (path.startsWith(coleccion) && raizDeRecurso(path) == null);
+            });
+        }
+    }
+
+    public long tamano() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    static String pathDe(String clave) {
+        return clave.substring(0, clave.indexOf('?'));
+    }
+
+    // Path hasta el primer segmento numérico inclusive (null si no hay)
+    static String raizDeRecurso(String path) {
+
+        int inicio = 0;
+
+        while (inicio < path.length()) {
+            int fin = path.indexOf('/', inicio + 1);
+            if (fin < 0) {
+                fin = path.length();
+            }
+
+            String segmento = path.substring(inicio + 1, fin);
+            if (!segmento.isEmpty() && segmento.chars().allMatch(Character::isDigit)) {
+                return path.substring(0, fin);
+            }
+            inicio = fin;
+        }
+
+        return null;
+    }
+
+    private static String padre(String path) {
+        int i = path.lastIndexOf('/');
+        return i > 0 ? path.substring(0, i) : path;
+    }
+}
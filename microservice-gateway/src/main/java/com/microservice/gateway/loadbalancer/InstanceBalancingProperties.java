@@ -0,0 +1,35 @@
+package com.microservice.gateway.loadbalancer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+// ============================================================
+//  gateway.balancer.* — exclusión pasiva de instancias con fallos
+//  (el peso de cada instancia viene de su metadata "weight" en Eureka)
+// ============================================================
+@ConfigurationProperties(prefix = "gateway.balancer")
+public class InstanceBalancingProperties {
+
+    // Fallos seguidos (error de conexión o 5xx) para sacar una instancia
+    private int failureThreshold = 3;
+
+    // Tiempo que la instancia queda fuera de la rotación
+    private Duration ejectionTime = Duration.ofSeconds(30);
+
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    public void setFailureThreshold(int failureThreshold) {
+        this.failureThreshold = failureThreshold;
+    }
+
+    public Duration getEjectionTime() {
+        return ejectionTime;
+    }
+
+    public void setEjectionTime(Duration ejectionTime) {
+        this.ejectionTime = ejectionTime;
+    }
+}
@@ -0,0 +1,26 @@
+package com.microservice.gateway.loadbalancer;
+
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+// ============================================================
+//  Configuración de cada cliente de balanceo (contexto hijo por
+//  servicio). Sin @Configuration a propósito: no debe entrar en el
+//  escaneo del contexto principal.
+//
+//  El tipo de retorno es la clase concreta para que el gateway la
+//  encuentre también como LoadBalancerLifecycle.
+// ============================================================
+public class LeastOutstandingConfiguration {
+
+    @Bean
+    public LeastOutstandingLoadBalancer leastOutstandingLoadBalancer(Environment environment,
+                                                                     LoadBalancerClientFactory clientFactory,
+                                                                     InstanceBalancingProperties properties) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new LeastOutstandingLoadBalancer(
+                clientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class), serviceId, properties);
+    }
+}
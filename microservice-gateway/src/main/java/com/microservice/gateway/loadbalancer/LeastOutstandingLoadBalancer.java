@@ -0,0 +1,190 @@
+package com.microservice.gateway.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// ============================================================
+//  Balanceo por menor carga pendiente, ponderado por instancia
+//
+//  Elige la instancia con menor (peticiones en curso + 1) / peso;
+//  los empates se reparten al azar. El peso se lee de la metadata
+//  "weight" que cada instancia registra en Eureka (1 por defecto).
+//
+//  Salud: Eureka solo entrega instancias UP (health de actuator);
+//  además, una instancia con failureThreshold fallos seguidos
+//  queda fuera durante ejectionTime. Si todas están fuera se usan
+//  igual (mejor intentar que responder 503 sin probar).
+//
+//  También es LoadBalancerLifecycle: el gateway avisa inicio y fin
+//  de cada petición para llevar la cuenta en curso.
+// ============================================================
+public class LeastOutstandingLoadBalancer implements ReactorServiceInstanceLoadBalancer,
+        LoadBalancerLifecycle<RequestDataContext, ResponseData, ServiceInstance> {
+
+    public static final String WEIGHT_METADATA = "weight";
+
+    private final ObjectProvider<ServiceInstanceListSupplier> supplierProvider;
+    private final String serviceId;
+    private final int umbralFallos;
+    private final long expulsionMillis;
+
+    private final ConcurrentHashMap<String, Estado> estados = new ConcurrentHashMap<>();
+
+    public LeastOutstandingLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> supplierProvider,
+                                        String serviceId,
+                                        InstanceBalancingProperties properties) {
+        this.supplierProvider = supplierProvider;
+        this.serviceId = serviceId;
+        this.umbralFallos = properties.getFailureThreshold();
+        this.expulsionMillis = properties.getEjectionTime().toMillis();
+    }
+
+    // Estado por instancia (clave host:puerto)
+    static class Estado {
+        final AtomicInteger enCurso = new AtomicInteger();
+        final AtomicInteger fallosSeguidos = new AtomicInteger();
+        volatile long excluidaHasta;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = supplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(this::elegir);
+    }
+
+    Response<ServiceInstance> elegir(List<ServiceInstance> instancias) {
+
+        if (instancias.isEmpty()) {
+            return new EmptyResponse();
+        }
+
+        long ahora = System.currentTimeMillis();
+
+        List<ServiceInstance> candidatas = new ArrayList<>(instancias.size());
+        for (ServiceInstance instancia : instancias) {
+            if (estado(instancia).excluidaHasta <= ahora) {
+                candidatas.add(instancia);
+            }
+        }
+        if (candidatas.isEmpty()) {
+            candidatas = instancias;
+        }
+
+        // Recorrido desde un offset aleatorio: los empates no van siempre a la primera
+        int n = candidatas.size();
+        int inicio = ThreadLocalRandom.current().nextInt(n);
+
+        ServiceInstance elegida = null;
+        double mejor = Double.MAX_VALUE;
+
+        for (int i = 0; i < n; i++) {
+            ServiceInstance instancia = candidatas.get((inicio + i) % n);
+            double carga = (estado(instancia).enCurso.get() + 1) / (double) peso(instancia);
+            if (carga < mejor) {
+                mejor = carga;
+                elegida = instancia;
+            }
+        }
+
+        if (estados.size() > 2 * instancias.size()) {
+            purgar(instancias);
+        }
+
+        return new DefaultResponse(elegida);
+    }
+
+    // ============================================================
+    //  LoadBalancerLifecycle
+    // ============================================================
+    @Override
+    public void onStart(Request<RequestDataContext> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<RequestDataContext> request, Response<ServiceInstance> lbResponse) {
+        if (lbResponse != null && lbResponse.hasServer()) {
+            estado(lbResponse.getServer()).enCurso.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void onComplete(CompletionContext<ResponseData, ServiceInstance, RequestDataContext> context) {
+
+        Response<ServiceInstance> lbResponse = context.getLoadBalancerResponse();
+        if (lbResponse == null || !lbResponse.hasServer()
+                || context.status() == CompletionContext.Status.DISCARD) {
+            return;
+        }
+
+        Estado estado = estado(lbResponse.getServer());
+        estado.enCurso.updateAndGet(v -> Math.max(0, v - 1));
+
+        ResponseData respuesta = context.getClientResponse();
+        boolean fallo = context.status() == CompletionContext.Status.FAILED
+                || (respuesta != null && respuesta.getHttpStatus() != null && respuesta.getHttpStatus().is5xxServerError());
+
+        if (!fallo) {
+            estado.fallosSeguidos.set(0);
+            return;
+        }
+
+        if (estado.fallosSeguidos.incrementAndGet() >= umbralFallos) {
+            estado.excluidaHasta = System.currentTimeMillis() + expulsionMillis;
+            estado.fallosSeguidos.set(0);
+        }
+    }
+
+    public String getServiceId() {
+        return serviceId;
+    }
+
+    int enCurso(ServiceInstance instancia) {
+        return estado(instancia).enCurso.get();
+    }
+
+    private Estado estado(ServiceInstance instancia) {
+        return estados.computeIfAbsent(clave(instancia), k -> new Estado());
+    }
+
+    // Instancias dadas de baja en Eureka y sin peticiones pendientes
+    private void purgar(List<ServiceInstance> vigentes) {
+        List<String> claves = vigentes.stream().map(LeastOutstandingLoadBalancer::clave).toList();
+        estados.entrySet().removeIf(e -> !claves.contains(e.getKey()) && e.getValue().enCurso.get() == 0);
+    }
+
+    private static String clave(ServiceInstance instancia) {
+        return instancia.getHost() + ":" + instancia.getPort();
+    }
+
+    static int peso(ServiceInstance instancia) {
+        String valor = instancia.getMetadata() == null ? null : instancia.getMetadata().get(WEIGHT_METADATA);
+        if (valor == null) {
+            return 1;
+        }
+        try {
+            return Math.max(1, Integer.parseInt(valor.trim()));
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.microservice.gateway.loadbalancer;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+// ============================================================
+//  Rutas lb://<servicio>: todas usan LeastOutstandingLoadBalancer
+// ============================================================
+@Configuration
+@EnableConfigurationProperties(InstanceBalancingProperties.class)
+@LoadBalancerClients(defaultConfiguration = LeastOutstandingConfiguration.class)
+public class LoadBalancerConfig {
+}
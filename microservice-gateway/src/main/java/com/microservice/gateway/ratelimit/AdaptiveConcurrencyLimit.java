@@ -0,0 +1,88 @@
+package com.microservice.gateway.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// ============================================================
+//  Límite de concurrencia adaptativo por ruta (AIMD por latencia)
+//
+//  Se compara la latencia reciente (EWMA) con la mínima observada
+//  en la ventana: si supera tolerance × mínima, el upstream está
+//  encolando y el límite baja un 10 %; si no, y el límite se está
+//  usando (en curso ≥ mitad), sube en 1. La mínima se reinicia
+//  cada ventana para seguir cambios de despliegue o de datos.
+// ============================================================
+final class AdaptiveConcurrencyLimit {
+
+    private static final double TOLERANCIA = 2.0;
+    private static final double SUAVIZADO = 0.2;
+    private static final double REDUCCION = 0.9;
+    private static final long VENTANA_NANOS = 30_000_000_000L;
+
+    private final int minimo;
+    private final int maximo;
+    private final AtomicInteger enCurso = new AtomicInteger();
+
+    private volatile double limite;
+
+    private long rttMinimo = Long.MAX_VALUE;
+    private long rttMinimoDesde;
+    private double rttReciente;
+
+    AdaptiveConcurrencyLimit(int minimo, int maximo, int inicial) {
+        this.minimo = Math.max(1, minimo);
+        this.maximo = Math.max(this.minimo, maximo);
+        this.limite = Math.min(this.maximo, Math.max(this.minimo, inicial));
+    }
+
+    // Reserva un lugar; devuelve las peticiones en curso al entrar o -1 si está lleno
+    int adquirir() {
+        while (true) {
+            int actual = enCurso.get();
+            if (actual >= (int) limite) {
+                return -1;
+            }
+            if (enCurso.compareAndSet(actual, actual + 1)) {
+                return actual + 1;
+            }
+        }
+    }
+
+    // Libera el lugar; rttNanos < 0 = sin muestra (cancelada)
+    void liberar(long rttNanos, int enCursoAlEntrar, boolean sobrecarga, long ahoraNanos) {
+        enCurso.decrementAndGet();
+        if (rttNanos >= 0 || sobrecarga) {
+            muestra(rttNanos, enCursoAlEntrar, sobrecarga, ahoraNanos);
+        }
+    }
+
+    private synchronized void muestra(long rttNanos, int enCursoAlEntrar, boolean sobrecarga, long ahoraNanos) {
+
+        if (sobrecarga) {
+            limite = Math.max(minimo, limite * REDUCCION);
+            return;
+        }
+
+        if (rttMinimo == Long.MAX_VALUE || ahoraNanos - rttMinimoDesde > VENTANA_NANOS) {
+            rttMinimo = rttNanos;
+            rttMinimoDesde = ahoraNanos;
+            rttReciente = rttNanos;
+        } else {
+            rttMinimo = Math.min(rttMinimo, rttNanos);
+            rttReciente = rttReciente + SUAVIZADO * (rttNanos - rttReciente);
+        }
+
+        if (rttReciente > TOLERANCIA * rttMinimo) {
+            limite = Math.max(minimo, limite * REDUCCION);
+        } else if (enCursoAlEntrar * 2 >= limite) {
+            limite = Math.min(maximo, limite + 1);
+        }
+    }
+
+    int limite() {
+        return (int) limite;
+    }
+
+    int enCurso() {
+        return enCurso.get();
+    }
+}
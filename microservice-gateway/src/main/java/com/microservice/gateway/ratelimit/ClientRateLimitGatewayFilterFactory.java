@@ -0,0 +1,226 @@
+package com.microservice.gateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// ============================================================
+//  Filtro de ruta "ClientRateLimit": límites por cliente en memoria
+//
+//  1. Token bucket por cliente (API key o, si no hay, IP de origen):
+//     `rate` peticiones/s con ráfagas de hasta `burst`.
+//  2. Concurrencia por cliente: como mucho `clientConcurrency`
+//     peticiones en curso (0 = sin tope).
+//  3. Límite adaptativo de la ruta (`adaptive: true`): baja cuando
+//     la latencia del upstream crece (ver AdaptiveConcurrencyLimit).
+//
+//  Si se supera cualquiera: 429 con Retry-After. Todo el estado es
+//  local a cada instancia del gateway (sin Redis): con N gateways
+//  detrás de un balanceador el límite efectivo es N × rate.
+// ============================================================
+@Component
+public class ClientRateLimitGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ClientRateLimitGatewayFilterFactory.Config> {
+
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    private final RateLimitProperties properties;
+
+    public ClientRateLimitGatewayFilterFactory(RateLimitProperties properties) {
+        super(Config.class);
+        this.properties = properties;
+    }
+
+    public static class Config {
+
+        // Peticiones por segundo sostenidas por cliente
+        private double rate = 20;
+
+        // Peticiones acumulables para ráfagas
+        private int burst = 40;
+
+        // Peticiones simultáneas por cliente (0 = sin tope)
+        private int clientConcurrency = 0;
+
+        // Límite de concurrencia de la ruta según latencia del upstream
+        private boolean adaptive = false;
+        private int minLimit = 10;
+        private int maxLimit = 200;
+        private int initialLimit = 50;
+
+        public double getRate() {
+            return rate;
+        }
+
+        public void setRate(double rate) {
+            this.rate = rate;
+        }
+
+        public int getBurst() {
+            return burst;
+        }
+
+        public void setBurst(int burst) {
+            this.burst = burst;
+        }
+
+        public int getClientConcurrency() {
+            return clientConcurrency;
+        }
+
+        public void setClientConcurrency(int clientConcurrency) {
+            this.clientConcurrency = clientConcurrency;
+        }
+
+        public boolean isAdaptive() {
+            return adaptive;
+        }
+
+        public void setAdaptive(boolean adaptive) {
+            this.adaptive = adaptive;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+    }
+
+    // Estado de un cliente dentro de una ruta
+    private static final class Cliente {
+        final TokenBucket bucket;
+        final AtomicInteger enCurso = new AtomicInteger();
+
+        Cliente(TokenBucket bucket) {
+            this.bucket = bucket;
+        }
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+
+        // Estado propio de cada ruta; clientes inactivos se descartan
+        Cache<String, Cliente> clientes = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxClients())
+                .expireAfterAccess(properties.getIdleExpiration())
+                .build();
+
+        AdaptiveConcurrencyLimit limite = config.isAdaptive()
+                ? new AdaptiveConcurrencyLimit(config.getMinLimit(), config.getMaxLimit(), config.getInitialLimit())
+                : null;
+
+        return (exchange, chain) -> {
+
+            long ahora = System.nanoTime();
+            Cliente cliente = clientes.get(cliente(exchange),
+                    k -> new Cliente(new TokenBucket(config.getRate(), config.getBurst(), ahora)));
+
+            // 1. Token bucket
+            long espera = cliente.bucket.consumir(ahora);
+            if (espera > 0) {
+                return rechazar(exchange, TimeUnit.NANOSECONDS.toSeconds(espera) + 1);
+            }
+
+            // 2. Concurrencia por cliente
+            if (config.getClientConcurrency() > 0
+                    && cliente.enCurso.incrementAndGet() > config.getClientConcurrency()) {
+                cliente.enCurso.decrementAndGet();
+                return rechazar(exchange, 1);
+            }
+
+            // 3. Límite adaptativo de la ruta
+            int enCursoRuta = limite != null ? limite.adquirir() : 0;
+            if (enCursoRuta < 0) {
+                if (config.getClientConcurrency() > 0) {
+                    cliente.enCurso.decrementAndGet();
+                }
+                return rechazar(exchange, 1);
+            }
+
+            exchange.getResponse().getHeaders().set(REMAINING_HEADER,
+                    Long.toString(cliente.bucket.disponibles(ahora)));
+
+            return chain.filter(exchange).doFinally(signal -> {
+
+                if (config.getClientConcurrency() > 0) {
+                    cliente.enCurso.decrementAndGet();
+                }
+
+                if (limite != null) {
+                    long fin = System.nanoTime();
+                    long rtt = signal == SignalType.CANCEL ? -1 : fin - ahora;
+                    limite.liberar(rtt, enCursoRuta, sobrecarga(exchange, signal), fin);
+                }
+            });
+        };
+    }
+
+    // API key si viene; si no, IP de origen
+    String cliente(ServerWebExchange exchange) {
+
+        String apiKey = exchange.getRequest().getHeaders().getFirst(properties.getApiKeyHeader());
+        if (apiKey != null && !apiKey.isBlank()) {
+            return "key:" + apiKey;
+        }
+
+        InetSocketAddress remoto = exchange.getRequest().getRemoteAddress();
+        if (remoto == null) {
+            return "ip:desconocida";
+        }
+        return "ip:" + (remoto.getAddress() != null ? remoto.getAddress().getHostAddress() : remoto.getHostString());
+    }
+
+    // Errores de conexión, 503 y 504 cuentan como sobrecarga del upstream
+    private static boolean sobrecarga(ServerWebExchange exchange, SignalType signal) {
+
+        if (signal == SignalType.ON_ERROR) {
+            return true;
+        }
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        return status != null && (status.value() == HttpStatus.SERVICE_UNAVAILABLE.value()
+                || status.value() == HttpStatus.GATEWAY_TIMEOUT.value());
+    }
+
+    private static Mono<Void> rechazar(ServerWebExchange exchange, long retryAfterSegundos) {
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, retryAfterSegundos)));
+        response.getHeaders().set(REMAINING_HEADER, "0");
+        return response.setComplete();
+    }
+}
@@ -0,0 +1,12 @@
+package com.microservice.gateway.ratelimit;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+// ============================================================
+//  Registra gateway.rate-limit.* para el filtro ClientRateLimit
+// ============================================================
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+}
@@ -0,0 +1,46 @@
+package com.microservice.gateway.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+// ============================================================
+//  gateway.rate-limit.* — identificación de clientes y memoria de
+//  los buckets (los límites en sí se configuran por ruta)
+// ============================================================
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitProperties {
+
+    // Header con la API key; sin él se limita por IP de origen
+    private String apiKeyHeader = "X-API-Key";
+
+    // Clientes sin actividad en este tiempo liberan su bucket
+    private Duration idleExpiration = Duration.ofMinutes(10);
+
+    // Máximo de clientes con estado por ruta
+    private long maxClients = 100_000;
+
+    public String getApiKeyHeader() {
+        return apiKeyHeader;
+    }
+
+    public void setApiKeyHeader(String apiKeyHeader) {
+        this.apiKeyHeader = apiKeyHeader;
+    }
+
+    public Duration getIdleExpiration() {
+        return idleExpiration;
+    }
+
+    public void setIdleExpiration(Duration idleExpiration) {
+        this.idleExpiration = idleExpiration;
+    }
+
+    public long getMaxClients() {
+        return maxClients;
+    }
+
+    public void setMaxClients(long maxClients) {
+        this.maxClients = maxClients;
+    }
+}
@@ -0,0 +1,48 @@
+package com.microservice.gateway.ratelimit;
+
+// ============================================================
+//  Token bucket en memoria: `rate` tokens por segundo, hasta
+//  `burst` acumulados. El relleno se calcula al consumir (sin
+//  hilos ni timers). Los tiempos se pasan en nanos para poder
+//  probarlo sin esperar.
+// ============================================================
+final class TokenBucket {
+
+    private final double capacidad;
+    private final double porNano;
+
+    private double tokens;
+    private long ultimo;
+
+    TokenBucket(double rate, double burst, long ahoraNanos) {
+        this.capacidad = Math.max(1, burst);
+        this.porNano = rate / 1_000_000_000d;
+        this.tokens = capacidad;
+        this.ultimo = ahoraNanos;
+    }
+
+    // 0 si se consumió un token; si no, nanos hasta que haya uno
+    synchronized long consumir(long ahoraNanos) {
+
+        rellenar(ahoraNanos);
+
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / porNano);
+    }
+
+    synchronized long disponibles(long ahoraNanos) {
+        rellenar(ahoraNanos);
+        return (long) tokens;
+    }
+
+    private void rellenar(long ahoraNanos) {
+        long transcurrido = ahoraNanos - ultimo;
+        if (transcurrido > 0) {
+            tokens = Math.min(capacidad, tokens + transcurrido * porNano);
+            ultimo = ahoraNanos;
+        }
+    }
+}
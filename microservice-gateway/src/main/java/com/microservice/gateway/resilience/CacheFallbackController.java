@@ -0,0 +1,54 @@
+package com.microservice.gateway.resilience;
+
+import com.microservice.gateway.cache.CachedResponse;
+import com.microservice.gateway.cache.ResponseCacheGatewayFilterFactory;
+import com.microservice.gateway.cache.ResponseCacheStore;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+
+// ============================================================
+//  Fallback del circuit breaker (fallbackUri: forward:/fallback/cache)
+//
+//  GET con una respuesta en la caché del gateway, aunque esté
+//  vencida: se sirve con X-Cache: STALE y Warning 110. En otro caso
+//  (escrituras, sin copia, peticiones autenticadas): 503 con
+//  Retry-After, sin esperar al upstream.
+// ============================================================
+@RestController
+public class CacheFallbackController {
+
+    static final String RETRY_AFTER_SEGUNDOS = "5";
+
+    private final ResponseCacheStore store;
+
+    public CacheFallbackController(ResponseCacheStore store) {
+        this.store = store;
+    }
+
+    @RequestMapping("/fallback/cache")
+    public ResponseEntity<byte[]> fallback(ServerWebExchange exchange) {
+
+        String clave = exchange.getAttribute(ResponseCacheGatewayFilterFactory.CACHE_KEY_ATTR);
+        CachedResponse guardada = clave != null ? store.get(clave) : null;
+
+        if (guardada == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SEGUNDOS)
+                    .build();
+        }
+
+        long ahora = System.currentTimeMillis();
+
+        return ResponseEntity.status(guardada.status())
+                .headers(guardada.headers())
+                .header(ResponseCacheGatewayFilterFactory.X_CACHE, "STALE")
+                .header(HttpHeaders.AGE, Long.toString(guardada.edadSegundos(ahora)))
+                .header(HttpHeaders.WARNING, "110 - \"Response is Stale\"")
+                .body(guardada.body());
+    }
+}
@@ -0,0 +1,51 @@
+package com.microservice.gateway.resilience;
+
+// ============================================================
+//  Presupuesto de reintentos de una ruta
+//
+//  Cada petición original aporta `ratio` de saldo (0.2 = como mucho
+//  un reintento cada 5 peticiones) y cada reintento gasta 1. Con
+//  poco tráfico se permiten igual `minimoPorSegundo` reintentos.
+//  Así, si el upstream falla entero, los reintentos no multiplican
+//  la carga: se agotan y el error llega al circuit breaker.
+// ============================================================
+final class RetryBudget {
+
+    private final double ratio;
+    private final double saldoMaximo;
+    private final int minimoPorSegundo;
+
+    private double saldo;
+    private long segundoActual = Long.MIN_VALUE;
+    private int usadosEnSegundo;
+
+    RetryBudget(double ratio, int minimoPorSegundo) {
+        this.ratio = Math.max(0, ratio);
+        // Memoria del saldo: unas 100 peticiones
+        this.saldoMaximo = Math.max(1, this.ratio * 100);
+        this.minimoPorSegundo = Math.max(0, minimoPorSegundo);
+    }
+
+    synchronized void registrarPeticion() {
+        saldo = Math.min(saldoMaximo, saldo + ratio);
+    }
+
+    synchronized boolean retirar(long ahoraNanos) {
+
+        if (saldo >= 1) {
+            saldo -= 1;
+            return true;
+        }
+
+        long segundo = ahoraNanos / 1_000_000_000L;
+        if (segundo != segundoActual) {
+            segundoActual = segundo;
+            usadosEnSegundo = 0;
+        }
+        if (usadosEnSegundo < minimoPorSegundo) {
+            usadosEnSegundo++;
+            return true;
+        }
+        return false;
+    }
+}
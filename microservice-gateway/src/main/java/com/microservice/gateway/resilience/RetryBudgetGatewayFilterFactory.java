@@ -0,0 +1,133 @@
+package com.microservice.gateway.resilience;
+
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// ============================================================
+//  Filtro de ruta "RetryBudget": reintentos acotados
+//
+//  - Solo métodos idempotentes y sin cuerpo (GET, HEAD por defecto).
+//  - Solo errores antes de empezar a responder (conexión rechazada,
+//    response-timeout, instancia caída): lo ya enviado no se repite.
+//  - Hasta `retries` reintentos con backoff exponencial y jitter;
+//    el balanceador vuelve a elegir instancia en cada intento.
+//  - Todos limitados por el presupuesto de la ruta (RetryBudget).
+//
+//  El RetryGatewayFilterFactory estándar no tiene presupuesto: con
+//  el upstream caído multiplica la carga por (retries + 1).
+// ============================================================
+@Component
+public class RetryBudgetGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<RetryBudgetGatewayFilterFactory.Config> {
+
+    private static final List<HttpMethod> SIN_CUERPO = List.of(
+            HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS, HttpMethod.DELETE);
+
+    public RetryBudgetGatewayFilterFactory() {
+        super(Config.class);
+    }
+
+    public static class Config {
+
+        private int retries = 2;
+        private List<HttpMethod> methods = List.of(HttpMethod.GET, HttpMethod.HEAD);
+
+        // Reintentos por petición original y mínimo por segundo
+        private double budgetRatio = 0.2;
+        private int minRetriesPerSecond = 2;
+
+        private Duration firstBackoff = Duration.ofMillis(50);
+
+        public int getRetries() {
+            return retries;
+        }
+
+        public void setRetries(int retries) {
+            this.retries = retries;
+        }
+
+        public List<HttpMethod> getMethods() {
+            return methods;
+        }
+
+        public void setMethods(List<HttpMethod> methods) {
+            this.methods = methods;
+        }
+
+        public double getBudgetRatio() {
+            return budgetRatio;
+        }
+
+        public void setBudgetRatio(double budgetRatio) {
+            this.budgetRatio = budgetRatio;
+        }
+
+        public int getMinRetriesPerSecond() {
+            return minRetriesPerSecond;
+        }
+
+        public void setMinRetriesPerSecond(int minRetriesPerSecond) {
+            this.minRetriesPerSecond = minRetriesPerSecond;
+        }
+
+        public Duration getFirstBackoff() {
+            return firstBackoff;
+        }
+
+        public void setFirstBackoff(Duration firstBackoff) {
+            this.firstBackoff = firstBackoff;
+        }
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+
+        RetryBudget budget = new RetryBudget(config.getBudgetRatio(), config.getMinRetriesPerSecond());
+
+        return (exchange, chain) -> {
+
+            HttpMethod method = exchange.getRequest().getMethod();
+            if (!config.getMethods().contains(method) || !SIN_CUERPO.contains(method)) {
+                return chain.filter(exchange);
+            }
+
+            budget.registrarPeticion();
+            return intentar(exchange, chain, config, budget, 0);
+        };
+    }
+
+    private Mono<Void> intentar(ServerWebExchange exchange, GatewayFilterChain chain,
+                                Config config, RetryBudget budget, int intento) {
+
+        return chain.filter(exchange).onErrorResume(error -> {
+
+            if (intento >= config.getRetries() || exchange.getResponse().isCommitted()
+                    || !budget.retirar(System.nanoTime())) {
+                return Mono.error(error);
+            }
+
+            // Quita la marca de "ya ruteado" y headers del intento anterior
+            ServerWebExchangeUtils.reset(exchange);
+
+            return Mono.delay(espera(config.getFirstBackoff(), intento))
+                    .then(Mono.defer(() -> intentar(exchange, chain, config, budget, intento + 1)));
+        });
+    }
+
+    // first × 2^intento, con jitter entre 50 % y 100 %
+    static Duration espera(Duration primera, int intento) {
+        long base = primera.toMillis() << Math.min(intento, 10);
+        return Duration.ofMillis((long) (base * (0.5 + ThreadLocalRandom.current().nextDouble() * 0.5)));
+    }
+}
@@ -0,0 +1,39 @@
+package com.microservice.gateway.tracing;
+
+import com.microservice.tracing.TailSamplingSpanExporter;
+import com.microservice.tracing.TracingProperties;
+
+import org.springframework.boot.actuate.autoconfigure.tracing.ConditionalOnEnabledTracing;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// ============================================================
+//  Trazas del gateway (Micrometer Tracing + OpenTelemetry)
+//
+//    - http get                span de la petición entrante (raíz)
+//    - HTTP GET (ruta libros)  llamada a la instancia elegida, con
+//                              spring.cloud.gateway.route.id; cada
+//                              reintento de RetryBudget es un span
+//
+//  El filtro de observabilidad de Spring Cloud Gateway agrega el
+//  header traceparent, así libros continúa la misma traza.
+//  Boot registra este SpanExporter en su BatchSpanProcessor.
+//  Exportador y muestreo vienen de microservice-tracing (los
+//  mismos que usa libros); aquí solo el prefijo gateway.tracing.
+// ============================================================
+@Configuration
+@ConditionalOnEnabledTracing
+public class TracingConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "gateway.tracing")
+    public TracingProperties tracingProperties() {
+        return new TracingProperties("./data/traces/gateway-spans.jsonl");
+    }
+
+    @Bean
+    public TailSamplingSpanExporter tailSamplingSpanExporter(TracingProperties properties) {
+        return properties.crearExporter();
+    }
+}
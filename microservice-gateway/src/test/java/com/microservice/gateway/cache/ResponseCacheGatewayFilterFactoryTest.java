@@ -0,0 +1,395 @@
+package com.microservice.gateway.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheGatewayFilterFactoryTest {
+
+    private ResponseCacheStore store;
+    private GatewayFilter filter;
+    private AtomicInteger llamadas;
+
+    @BeforeEach
+    void setUp() {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        store = new ResponseCacheStore(properties);
+
+        ResponseCacheGatewayFilterFactory factory = new ResponseCacheGatewayFilterFactory(store, properties);
+        ResponseCacheGatewayFilterFactory.Config config = new ResponseCacheGatewayFilterFactory.Config();
+        config.setTtl(Duration.ofSeconds(30));
+        filter = factory.apply(config);
+
+        llamadas = new AtomicInteger();
+    }
+
+    // ============================================================
+    //  Upstream simulado: 200 JSON con ETag "1-0"
+    // ============================================================
+    private GatewayFilterChain upstream(String cacheControl) {
+        return exchange -> {
+            llamadas.incrementAndGet();
+            return responder(exchange, HttpStatus.OK, cacheControl, "{\"id\":1}");
+        };
+    }
+
+    private static Mono<Void> responder(ServerWebExchange exchange, HttpStatus status, String cacheControl, String body) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setETag("\"1-0\"");
+        if (cacheControl != null) {
+            response.getHeaders().setCacheControl(cacheControl);
+        }
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private static MockServerWebExchange get(String path) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path).accept(MediaType.APPLICATION_JSON));
+    }
+
+    private static String cuerpo(MockServerWebExchange exchange) {
+        return exchange.getResponse().getBodyAsString().block();
+    }
+
+    // ============================================================
+    //  MISS → HIT
+    // ============================================================
+    @Test
+    void segundoGet_seSirveDesdeCache() {
+        GatewayFilterChain chain = upstream(null);
+
+        MockServerWebExchange primero = get("/api/v1/libros/1");
+        filter.filter(primero, chain).block();
+
+        MockServerWebExchange segundo = get("/api/v1/libros/1");
+        filter.filter(segundo, chain).block();
+
+        assertEquals(1, llamadas.get());
+        assertEquals("MISS", primero.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.X_CACHE));
+        assertEquals("HIT", segundo.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.X_CACHE));
+        assertEquals(HttpStatus.OK, segundo.getResponse().getStatusCode());
+        assertEquals("{\"id\":1}", cuerpo(segundo));
+        assertEquals("\"1-0\"", segundo.getResponse().getHeaders().getETag());
+    }
+
+    @Test
+    void queryDistinta_esOtraEntrada() {
+        GatewayFilterChain chain = upstream(null);
+
+        filter.filter(get("/api/v1/libros?size=10"), chain).block();
+        filter.filter(get("/api/v1/libros?size=20"), chain).block();
+
+        assertEquals(2, llamadas.get());
+    }
+
+    @Test
+    void hitConIfNoneMatchCoincidente_devuelve304() {
+        GatewayFilterChain chain = upstream(null);
+        filter.filter(get("/api/v1/libros/1"), chain).block();
+
+        MockServerWebExchange condicional = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/api/v1/libros/1").accept(MediaType.APPLICATION_JSON).ifNoneMatch("\"1-0\""));
+        filter.filter(condicional, chain).block();
+
+        assertEquals(1, llamadas.get());
+        assertEquals(HttpStatus.NOT_MODIFIED, condicional.getResponse().getStatusCode());
+    }
+
+    @Test
+    void hitConIfNoneMatchDebil_comparaEnFormaDebilY304() {
+        GatewayFilterChain chain = upstream(null);
+        filter.filter(get("/api/v1/libros/1"), chain).block();
+
+        MockServerWebExchange condicional = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/api/v1/libros/1").accept(MediaType.APPLICATION_JSON).ifNoneMatch("W/\"1-0\""));
+        filter.filter(condicional, chain).block();
+
+        assertEquals(1, llamadas.get());
+        assertEquals(HttpStatus.NOT_MODIFIED, condicional.getResponse().getStatusCode());
+    }
+
+    // ============================================================
+    //  Cache-Control y peticiones que no se cachean
+    // ============================================================
+    @Test
+    void respuestaNoStore_noSeGuarda() {
+        GatewayFilterChain chain = upstream("no-store");
+
+        filter.filter(get("/api/v1/libros/1"), chain).block();
+        filter.filter(get("/api/v1/libros/1"), chain).block();
+
+        assertEquals(2, llamadas.get());
+    }
+
+    @Test
+    void peticionConAuthorization_vaSiempreAlUpstream() {
+        GatewayFilterChain chain = upstream(null);
+
+        for (int i = 0; i < 2; i++) {
+            MockServerWebExchange exchange = MockServerWebExchange.from(
+                    MockServerHttpRequest.get("/api/v1/libros/1").header(HttpHeaders.AUTHORIZATION, "Bearer x"));
+            filter.filter(exchange, chain).block();
+        }
+
+        assertEquals(2, llamadas.get());
+        assertEquals(0, store.tamano());
+    }
+
+    @Test
+    void respuestaDeError_noSeGuarda() {
+        GatewayFilterChain chain = exchange -> {
+            llamadas.incrementAndGet();
+            return responder(exchange, HttpStatus.NOT_FOUND, null, "{}");
+        };
+
+        filter.filter(get("/api/v1/libros/9"), chain).block();
+        filter.filter(get("/api/v1/libros/9"), chain).block();
+
+        assertEquals(2, llamadas.get());
+    }
+
+    @Test
+    void ttlMillis_respetaSMaxAgeYNoCache() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl("max-age=5, s-maxage=60");
+        assertEquals(60_000, ResponseCacheGatewayFilterFactory.ttlMillis(headers, Duration.ofSeconds(10)));
+
+        headers.setCacheControl("no-cache");
+        assertEquals(-1, ResponseCacheGatewayFilterFactory.ttlMillis(headers, Duration.ofSeconds(10)));
+
+        headers.setETag("\"1-0\"");
+        assertEquals(0, ResponseCacheGatewayFilterFactory.ttlMillis(headers, Duration.ofSeconds(10)));
+
+        headers.setCacheControl("private, max-age=60");
+        assertEquals(-1, ResponseCacheGatewayFilterFactory.ttlMillis(headers, Duration.ofSeconds(10)));
+    }
+
+    @Test
+    void respuestaStaleDelFallback_noSeVuelveAGuardar() {
+        GatewayFilterChain fallback = exchange -> {
+            llamadas.incrementAndGet();
+            exchange.getResponse().getHeaders().set(ResponseCacheGatewayFilterFactory.X_CACHE, "STALE");
+            return responder(exchange, HttpStatus.OK, null, "{\"id\":1}");
+        };
+
+        MockServerWebExchange exchange = get("/api/v1/libros/1");
+        filter.filter(exchange, fallback).block();
+
+        assertEquals("STALE", exchange.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.X_CACHE));
+        assertNotNull(exchange.getAttribute(ResponseCacheGatewayFilterFactory.CACHE_KEY_ATTR));
+        assertEquals(0, store.tamano());
+    }
+
+    // ============================================================
+    //  Revalidación con ETag
+    // ============================================================
+    @Test
+    void entradaVencidaConEtag_seRevalidaY304RenuevaElCuerpo() {
+        // max-age=0: se guarda vencida desde el inicio
+        filter.filter(get("/api/v1/libros/1"), upstream("max-age=0")).block();
+
+        AtomicReference<String> ifNoneMatch = new AtomicReference<>();
+        GatewayFilterChain noModificado = exchange -> {
+            llamadas.incrementAndGet();
+            ifNoneMatch.set(exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH));
+            exchange.getResponse().setStatusCode(HttpStatus.NOT_MODIFIED);
+            exchange.getResponse().getHeaders().setCacheControl("max-age=60");
+            return exchange.getResponse().writeWith(Mono.empty());
+        };
+
+        MockServerWebExchange revalidado = get("/api/v1/libros/1");
+        filter.filter(revalidado, noModificado).block();
+
+        assertEquals("\"1-0\"", ifNoneMatch.get());
+        assertEquals(HttpStatus.OK, revalidado.getResponse().getStatusCode());
+        assertEquals("REVALIDATED", revalidado.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.X_CACHE));
+        assertEquals("{\"id\":1}", cuerpo(revalidado));
+
+        // Con el TTL renovado el siguiente GET ya es HIT
+        MockServerWebExchange siguiente = get("/api/v1/libros/1");
+        filter.filter(siguiente, noModificado).block();
+        assertEquals("HIT", siguiente.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.X_CACHE));
+        assertEquals(2, llamadas.get());
+    }
+
+    // ============================================================
+    //  Coalescing de MISS concurrentes
+    // ============================================================
+    @Test
+    void missConcurrentes_unSoloRequestUpstream() {
+        Sinks.Empty<Void> compuerta = Sinks.empty();
+
+        GatewayFilterChain lento = exchange -> {
+            llamadas.incrementAndGet();
+            return compuerta.asMono().then(responder(exchange, HttpStatus.OK, null, "{\"id\":1}"));
+        };
+
+        MockServerWebExchange lider = get("/api/v1/libros/1");
+        MockServerWebExchange seguidor = get("/api/v1/libros/1");
+
+        Mono<Void> primero = filter.filter(lider, lento).cache();
+        Mono<Void> segundo = filter.filter(seguidor, lento).cache();
+        primero.subscribe();
+        segundo.subscribe();
+
+        compuerta.tryEmitEmpty();
+        primero.block(Duration.ofSeconds(5));
+        segundo.block(Duration.ofSeconds(5));
+
+        assertEquals(1, llamadas.get());
+        assertEquals("COALESCED", seguidor.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.X_CACHE));
+        assertEquals("{\"id\":1}", cuerpo(seguidor));
+    }
+
+    @Test
+    void missConcurrentesConRespuestaPrivada_noSeComparte() {
+        Sinks.Empty<Void> compuerta = Sinks.empty();
+
+        GatewayFilterChain conSesion = exchange -> {
+            int n = llamadas.incrementAndGet();
+            exchange.getResponse().getHeaders().add(HttpHeaders.SET_COOKIE, "SESSION=" + n);
+            return compuerta.asMono().then(responder(exchange, HttpStatus.OK, null, "{\"usuario\":" + n + "}"));
+        };
+
+        MockServerWebExchange lider = get("/api/v1/libros/1");
+        MockServerWebExchange seguidor = get("/api/v1/libros/1");
+
+        Mono<Void> primero = filter.filter(lider, conSesion).cache();
+        Mono<Void> segundo = filter.filter(seguidor, conSesion).cache();
+        primero.subscribe();
+        segundo.subscribe();
+
+        compuerta.tryEmitEmpty();
+        primero.block(Duration.ofSeconds(5));
+        segundo.block(Duration.ofSeconds(5));
+
+        // El seguidor fue al upstream con su propia sesión
+        assertEquals(2, llamadas.get());
+        assertEquals("SESSION=2", seguidor.getResponse().getHeaders().getFirst(HttpHeaders.SET_COOKIE));
+        assertEquals("{\"usuario\":2}", cuerpo(seguidor));
+        assertEquals(0, store.tamano());
+    }
+
+    @Test
+    void copiaCompartida_noLlevaSetCookie() {
+        // Set-Cookie agregado después del TTL (p. ej. por otro filtro) no se guarda
+        GatewayFilterChain chain = exchange -> {
+            llamadas.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return response.writeWith(Flux.defer(() -> {
+                response.getHeaders().add(HttpHeaders.SET_COOKIE, "SESSION=1");
+                return Mono.just(response.bufferFactory().wrap("{}".getBytes(StandardCharsets.UTF_8)));
+            }));
+        };
+
+        filter.filter(get("/api/v1/libros/1"), chain).block();
+
+        MockServerWebExchange segundo = get("/api/v1/libros/1");
+        filter.filter(segundo, chain).block();
+
+        assertEquals("HIT", segundo.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.X_CACHE));
+        assertNull(segundo.getResponse().getHeaders().get(HttpHeaders.SET_COOKIE));
+    }
+
+    // ============================================================
+    //  Límite de tamaño del cuerpo
+    // ============================================================
+    private GatewayFilter filtroConLimite(int bytes) {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setMaxBodySize(DataSize.ofBytes(bytes));
+        return new ResponseCacheGatewayFilterFactory(store, properties)
+                .apply(new ResponseCacheGatewayFilterFactory.Config());
+    }
+
+    @Test
+    void contentLengthMayorQueElLimite_noSeGuarda() {
+        GatewayFilter limitado = filtroConLimite(4);
+        GatewayFilterChain chain = exchange -> {
+            exchange.getResponse().getHeaders().setContentLength(8);
+            return upstream(null).filter(exchange);
+        };
+
+        MockServerWebExchange exchange = get("/api/v1/libros/1");
+        limitado.filter(exchange, chain).block();
+
+        assertEquals("{\"id\":1}", cuerpo(exchange));
+        assertEquals(0, store.tamano());
+    }
+
+    @Test
+    void cuerpoSinContentLengthQueSuperaElLimite_seEntregaSinGuardar() {
+        GatewayFilter limitado = filtroConLimite(6);
+        GatewayFilterChain enTrozos = exchange -> {
+            llamadas.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return response.writeWith(Flux.just("{\"id\"", ":", "1}")
+                    .map(t -> response.bufferFactory().wrap(t.getBytes(StandardCharsets.UTF_8))));
+        };
+
+        MockServerWebExchange exchange = get("/api/v1/libros/1");
+        limitado.filter(exchange, enTrozos).block();
+
+        assertEquals("{\"id\":1}", cuerpo(exchange));
+        assertEquals(0, store.tamano());
+    }
+
+    // ============================================================
+    //  Invalidación por escrituras
+    // ============================================================
+    @Test
+    void putExitoso_invalidaRecursoYListados() {
+        GatewayFilterChain chain = upstream(null);
+        filter.filter(get("/api/v1/libros/1"), chain).block();
+        filter.filter(get("/api/v1/libros?view=summary"), chain).block();
+        filter.filter(get("/api/v1/libros/2"), chain).block();
+
+        MockServerWebExchange put = MockServerWebExchange.from(MockServerHttpRequest.put("/api/v1/libros/1"));
+        filter.filter(put, exchange -> {
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            return exchange.getResponse().setComplete();
+        }).block();
+
+        assertEquals(1, store.tamano());
+
+        filter.filter(get("/api/v1/libros/2"), chain).block();
+        assertEquals(3, llamadas.get());
+    }
+
+    @Test
+    void escrituraRechazada_noInvalida() {
+        filter.filter(get("/api/v1/libros/1"), upstream(null)).block();
+
+        MockServerWebExchange put = MockServerWebExchange.from(MockServerHttpRequest.put("/api/v1/libros/1"));
+        filter.filter(put, exchange -> {
+            exchange.getResponse().setStatusCode(HttpStatus.PRECONDITION_FAILED);
+            return exchange.getResponse().setComplete();
+        }).block();
+
+        assertEquals(1, store.tamano());
+    }
+}
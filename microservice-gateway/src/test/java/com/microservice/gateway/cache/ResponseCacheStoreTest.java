@@ -0,0 +1,76 @@
+package com.microservice.gateway.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheStoreTest {
+
+    private ResponseCacheStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new ResponseCacheStore(new ResponseCacheProperties());
+    }
+
+    private static CachedResponse respuesta() {
+        long ahora = System.currentTimeMillis();
+        return new CachedResponse(200, new HttpHeaders(), new byte[]{1}, ahora, ahora + 60_000);
+    }
+
+    private void guardar(String path, String query) {
+        store.guardar(ResponseCacheStore.clave(path, query, "application/json"), respuesta(), store.generacion());
+    }
+
+    @Test
+    void raizDeRecurso_cortaEnElPrimerSegmentoNumerico() {
+        assertEquals("/api/v1/libros/12", ResponseCacheStore.raizDeRecurso("/api/v1/libros/12/stock"));
+        assertEquals("/api/v1/libros/12", ResponseCacheStore.raizDeRecurso("/api/v1/libros/12"));
+        assertNull(ResponseCacheStore.raizDeRecurso("/api/v1/libros/bulk"));
+    }
+
+    @Test
+    void invalidarConId_conservaOtrosRecursos() {
+        guardar("/api/v1/libros/12", null);
+        guardar("/api/v1/libros/13", null);
+        guardar("/api/v1/libros", "view=summary");
+        guardar("/api/v1/libros/search", "q=borges");
+
+        store.invalidar("/api/v1/libros/12/stock");
+
+        assertNull(store.get(ResponseCacheStore.clave("/api/v1/libros/12", null, "application/json")));
+        assertNull(store.get(ResponseCacheStore.clave("/api/v1/libros", "view=summary", "application/json")));
+        assertNull(store.get(ResponseCacheStore.clave("/api/v1/libros/search", "q=borges", "application/json")));
+        assertNotNull(store.get(ResponseCacheStore.clave("/api/v1/libros/13", null, "application/json")));
+    }
+
+    @Test
+    void clave_separaRespuestasComprimidas() {
+        String plana = ResponseCacheStore.clave("/api/v1/libros", null, "application/json", null);
+        String gzip = ResponseCacheStore.clave("/api/v1/libros", null, "application/json", "gzip, deflate, br");
+
+        assertNotEquals(plana, gzip);
+        assertEquals("/api/v1/libros", ResponseCacheStore.pathDe(gzip));
+    }
+
+    @Test
+    void invalidarSinId_borraTodaLaColeccion() {
+        guardar("/api/v1/libros/12", null);
+        guardar("/api/v1/libros", null);
+
+        store.invalidar("/api/v1/libros/bulk");
+
+        assertEquals(0, store.tamano());
+    }
+
+    @Test
+    void guardar_descartaRespuestaPedidaAntesDeUnaInvalidacion() {
+        long generacion = store.generacion();
+        store.invalidar("/api/v1/libros/1");
+
+        assertFalse(store.guardar(ResponseCacheStore.clave("/api/v1/libros/1", null, null), respuesta(), generacion));
+        assertEquals(0, store.tamano());
+    }
+}
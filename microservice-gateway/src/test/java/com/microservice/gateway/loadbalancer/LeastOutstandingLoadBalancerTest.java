@@ -0,0 +1,160 @@
+package com.microservice.gateway.loadbalancer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.LinkedMultiValueMap;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeastOutstandingLoadBalancerTest {
+
+    private static final String SERVICE = "msvc-libros";
+
+    private InstanceBalancingProperties properties;
+    private final Request<RequestDataContext> request = new DefaultRequest<>(new RequestDataContext());
+
+    @BeforeEach
+    void setUp() {
+        properties = new InstanceBalancingProperties();
+        properties.setFailureThreshold(2);
+        properties.setEjectionTime(Duration.ofMinutes(1));
+    }
+
+    private static ServiceInstance instancia(int puerto, int peso) {
+        return new DefaultServiceInstance(SERVICE + "-" + puerto, SERVICE, "localhost", puerto, false,
+                Map.of(LeastOutstandingLoadBalancer.WEIGHT_METADATA, Integer.toString(peso)));
+    }
+
+    private LeastOutstandingLoadBalancer balanceador(ServiceInstance... instancias) {
+        return new LeastOutstandingLoadBalancer(ServiceInstanceListSuppliers.toProvider(SERVICE, instancias), SERVICE, properties);
+    }
+
+    // Elige e informa el inicio, como hace el gateway
+    private ServiceInstance iniciar(LeastOutstandingLoadBalancer lb) {
+        Response<ServiceInstance> response = lb.choose(request).block();
+        lb.onStartRequest(request, response);
+        return response.getServer();
+    }
+
+    private void completar(LeastOutstandingLoadBalancer lb, ServiceInstance instancia, HttpStatus status) {
+        ResponseData data = new ResponseData(status, new HttpHeaders(), new LinkedMultiValueMap<>(), null);
+        lb.onComplete(new CompletionContext<>(CompletionContext.Status.SUCCESS, request, new DefaultResponse(instancia), data));
+    }
+
+    private void fallar(LeastOutstandingLoadBalancer lb, ServiceInstance instancia) {
+        lb.onComplete(new CompletionContext<>(CompletionContext.Status.FAILED, new RuntimeException("refused"),
+                request, new DefaultResponse(instancia)));
+    }
+
+    // ============================================================
+    //  Selección
+    // ============================================================
+    @Test
+    void eligeLaInstanciaConMenosPeticionesEnCurso() {
+        ServiceInstance a = instancia(8090, 1);
+        ServiceInstance b = instancia(8091, 1);
+        LeastOutstandingLoadBalancer lb = balanceador(a, b);
+
+        ServiceInstance primera = iniciar(lb);
+        ServiceInstance segunda = iniciar(lb);
+
+        assertNotEquals(primera, segunda);
+        assertEquals(1, lb.enCurso(a));
+        assertEquals(1, lb.enCurso(b));
+
+        // Se libera a: la siguiente va a a
+        completar(lb, a, HttpStatus.OK);
+        assertEquals(a, iniciar(lb));
+    }
+
+    @Test
+    void repartoProporcionalAlPeso() {
+        ServiceInstance grande = instancia(8090, 3);
+        ServiceInstance chica = instancia(8091, 1);
+        LeastOutstandingLoadBalancer lb = balanceador(grande, chica);
+
+        for (int i = 0; i < 40; i++) {
+            iniciar(lb);
+        }
+
+        assertEquals(30, lb.enCurso(grande));
+        assertEquals(10, lb.enCurso(chica));
+    }
+
+    @Test
+    void pesoInvalidoOAusente_valeUno() {
+        ServiceInstance sinPeso = new DefaultServiceInstance("x", SERVICE, "localhost", 1, false);
+        ServiceInstance basura = new DefaultServiceInstance("y", SERVICE, "localhost", 2, false, Map.of("weight", "abc"));
+
+        assertEquals(1, LeastOutstandingLoadBalancer.peso(sinPeso));
+        assertEquals(1, LeastOutstandingLoadBalancer.peso(basura));
+    }
+
+    @Test
+    void sinInstancias_respuestaVacia() {
+        LeastOutstandingLoadBalancer lb = balanceador();
+
+        assertFalse(lb.choose(request).block().hasServer());
+    }
+
+    // ============================================================
+    //  Exclusión pasiva por fallos
+    // ============================================================
+    @Test
+    void instanciaConFallosSeguidos_quedaFuera() {
+        ServiceInstance sana = instancia(8090, 1);
+        ServiceInstance caida = instancia(8091, 1);
+        LeastOutstandingLoadBalancer lb = balanceador(sana, caida);
+
+        fallar(lb, caida);
+        completar(lb, caida, HttpStatus.SERVICE_UNAVAILABLE);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(sana, iniciar(lb));
+        }
+    }
+
+    @Test
+    void unExitoReiniciaLaCuentaDeFallos() {
+        ServiceInstance a = instancia(8090, 1);
+        ServiceInstance b = instancia(8091, 1);
+        LeastOutstandingLoadBalancer lb = balanceador(a, b);
+
+        fallar(lb, b);
+        completar(lb, b, HttpStatus.OK);
+        fallar(lb, b);
+
+        Map<ServiceInstance, Integer> elegidas = new HashMap<>();
+        for (int i = 0; i < 10; i++) {
+            elegidas.merge(iniciar(lb), 1, Integer::sum);
+        }
+        assertEquals(5, elegidas.get(b));
+    }
+
+    @Test
+    void todasExcluidas_seSigueBalanceando() {
+        ServiceInstance unica = instancia(8090, 1);
+        LeastOutstandingLoadBalancer lb = balanceador(unica);
+
+        fallar(lb, unica);
+        fallar(lb, unica);
+
+        assertEquals(unica, iniciar(lb));
+    }
+}
@@ -0,0 +1,70 @@
+package com.microservice.gateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long MS = 1_000_000L;
+
+    // Una petición completa con la latencia dada
+    private static void peticion(AdaptiveConcurrencyLimit limite, long rttMs, long ahora) {
+        int enCurso = limite.adquirir();
+        assertTrue(enCurso > 0);
+        limite.liberar(rttMs * MS, enCurso, false, ahora);
+    }
+
+    @Test
+    void rechazaAlAlcanzarElLimite() {
+        AdaptiveConcurrencyLimit limite = new AdaptiveConcurrencyLimit(1, 10, 2);
+
+        assertEquals(1, limite.adquirir());
+        assertEquals(2, limite.adquirir());
+        assertEquals(-1, limite.adquirir());
+    }
+
+    @Test
+    void latenciaCreciente_bajaElLimite() {
+        AdaptiveConcurrencyLimit limite = new AdaptiveConcurrencyLimit(5, 100, 50);
+
+        for (int i = 0; i < 5; i++) {
+            peticion(limite, 10, i * MS);
+        }
+        int antes = limite.limite();
+
+        // El upstream empieza a encolar: 10 ms → 100 ms
+        for (int i = 0; i < 20; i++) {
+            peticion(limite, 100, (10 + i) * MS);
+        }
+
+        assertTrue(limite.limite() < antes, () -> "límite " + limite.limite() + " no bajó de " + antes);
+        assertTrue(limite.limite() >= 5);
+    }
+
+    @Test
+    void latenciaEstableYLimiteEnUso_subeElLimite() {
+        AdaptiveConcurrencyLimit limite = new AdaptiveConcurrencyLimit(1, 100, 2);
+
+        // Dos en curso (= límite) y ambas responden rápido
+        for (int i = 0; i < 10; i++) {
+            int a = limite.adquirir();
+            int b = limite.adquirir();
+            limite.liberar(10 * MS, a, false, i * MS);
+            limite.liberar(10 * MS, b, false, i * MS);
+        }
+
+        assertTrue(limite.limite() > 2);
+    }
+
+    @Test
+    void sobrecarga_bajaElLimiteSinMuestraDeLatencia() {
+        AdaptiveConcurrencyLimit limite = new AdaptiveConcurrencyLimit(1, 100, 20);
+
+        int enCurso = limite.adquirir();
+        limite.liberar(-1, enCurso, true, 0);
+
+        assertEquals(18, limite.limite());
+        assertEquals(0, limite.enCurso());
+    }
+}
@@ -0,0 +1,147 @@
+package com.microservice.gateway.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientRateLimitGatewayFilterFactoryTest {
+
+    private ClientRateLimitGatewayFilterFactory factory;
+    private AtomicInteger llamadas;
+    private GatewayFilterChain upstream;
+
+    @BeforeEach
+    void setUp() {
+        factory = new ClientRateLimitGatewayFilterFactory(new RateLimitProperties());
+        llamadas = new AtomicInteger();
+        upstream = exchange -> {
+            llamadas.incrementAndGet();
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            return exchange.getResponse().setComplete();
+        };
+    }
+
+    private GatewayFilter filtro(double rate, int burst, int clientConcurrency) {
+        ClientRateLimitGatewayFilterFactory.Config config = new ClientRateLimitGatewayFilterFactory.Config();
+        config.setRate(rate);
+        config.setBurst(burst);
+        config.setClientConcurrency(clientConcurrency);
+        return factory.apply(config);
+    }
+
+    private static MockServerWebExchange desdeIp(String ip) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/libros")
+                .remoteAddress(new InetSocketAddress(ip, 40000)));
+    }
+
+    private static MockServerWebExchange conApiKey(String key) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/libros")
+                .remoteAddress(new InetSocketAddress("10.0.0.1", 40000))
+                .header("X-API-Key", key));
+    }
+
+    @Test
+    void superarLaRafaga_devuelve429ConRetryAfter() {
+        GatewayFilter filter = filtro(1, 2, 0);
+
+        filter.filter(desdeIp("10.0.0.1"), upstream).block();
+        filter.filter(desdeIp("10.0.0.1"), upstream).block();
+
+        MockServerWebExchange tercero = desdeIp("10.0.0.1");
+        filter.filter(tercero, upstream).block();
+
+        assertEquals(2, llamadas.get());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, tercero.getResponse().getStatusCode());
+        assertEquals("1", tercero.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals("0", tercero.getResponse().getHeaders().getFirst(ClientRateLimitGatewayFilterFactory.REMAINING_HEADER));
+    }
+
+    @Test
+    void cadaClienteTieneSuPropioBucket() {
+        GatewayFilter filter = filtro(1, 1, 0);
+
+        filter.filter(desdeIp("10.0.0.1"), upstream).block();
+        MockServerWebExchange otro = desdeIp("10.0.0.2");
+        filter.filter(otro, upstream).block();
+
+        assertEquals(2, llamadas.get());
+        assertEquals(HttpStatus.OK, otro.getResponse().getStatusCode());
+    }
+
+    @Test
+    void apiKey_tienePrioridadSobreLaIp() {
+        GatewayFilter filter = filtro(1, 1, 0);
+
+        // Misma IP, distintas keys: no comparten bucket
+        filter.filter(conApiKey("scraper"), upstream).block();
+        filter.filter(conApiKey("interactivo"), upstream).block();
+
+        MockServerWebExchange repetido = conApiKey("scraper");
+        filter.filter(repetido, upstream).block();
+
+        assertEquals(2, llamadas.get());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, repetido.getResponse().getStatusCode());
+        assertEquals("key:scraper", factory.cliente(repetido));
+    }
+
+    @Test
+    void concurrenciaPorCliente_rechazaMientrasHayPeticionesEnCurso() {
+        GatewayFilter filter = filtro(100, 100, 1);
+
+        Sinks.Empty<Void> compuerta = Sinks.empty();
+        GatewayFilterChain lento = exchange -> {
+            llamadas.incrementAndGet();
+            return compuerta.asMono();
+        };
+
+        Mono<Void> primera = filter.filter(desdeIp("10.0.0.1"), lento).cache();
+        primera.subscribe();
+
+        MockServerWebExchange segunda = desdeIp("10.0.0.1");
+        filter.filter(segunda, lento).block();
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, segunda.getResponse().getStatusCode());
+
+        // Terminada la primera, el cliente vuelve a tener lugar
+        compuerta.tryEmitEmpty();
+        primera.block();
+
+        MockServerWebExchange tercera = desdeIp("10.0.0.1");
+        filter.filter(tercera, upstream).block();
+        assertEquals(HttpStatus.OK, tercera.getResponse().getStatusCode());
+    }
+
+    @Test
+    void limiteAdaptativo_rechazaAlLlenarse() {
+        ClientRateLimitGatewayFilterFactory.Config config = new ClientRateLimitGatewayFilterFactory.Config();
+        config.setRate(100);
+        config.setBurst(100);
+        config.setAdaptive(true);
+        config.setMinLimit(1);
+        config.setInitialLimit(1);
+        GatewayFilter filter = factory.apply(config);
+
+        Sinks.Empty<Void> compuerta = Sinks.empty();
+        Mono<Void> primera = filter.filter(desdeIp("10.0.0.1"), exchange -> compuerta.asMono()).cache();
+        primera.subscribe();
+
+        MockServerWebExchange segunda = desdeIp("10.0.0.2");
+        filter.filter(segunda, upstream).block();
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, segunda.getResponse().getStatusCode());
+        compuerta.tryEmitEmpty();
+        primera.block();
+    }
+}
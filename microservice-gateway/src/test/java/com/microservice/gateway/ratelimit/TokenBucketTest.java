@@ -0,0 +1,37 @@
+package com.microservice.gateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long SEGUNDO = 1_000_000_000L;
+
+    @Test
+    void permiteLaRafagaYLuegoRechaza() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.consumir(0));
+        }
+        assertTrue(bucket.consumir(0) > 0);
+    }
+
+    @Test
+    void esperaHastaElSiguienteToken() {
+        TokenBucket bucket = new TokenBucket(2, 1, 0);
+        bucket.consumir(0);
+
+        // 2 tokens/s → medio segundo para el siguiente
+        assertEquals(SEGUNDO / 2, bucket.consumir(0));
+        assertEquals(0, bucket.consumir(SEGUNDO / 2));
+    }
+
+    @Test
+    void elRellenoNoSuperaLaCapacidad() {
+        TokenBucket bucket = new TokenBucket(100, 3, 0);
+
+        assertEquals(3, bucket.disponibles(60 * SEGUNDO));
+    }
+}
@@ -0,0 +1,74 @@
+package com.microservice.gateway.resilience;
+
+import com.microservice.gateway.cache.CachedResponse;
+import com.microservice.gateway.cache.ResponseCacheGatewayFilterFactory;
+import com.microservice.gateway.cache.ResponseCacheProperties;
+import com.microservice.gateway.cache.ResponseCacheStore;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheFallbackControllerTest {
+
+    private static final String CLAVE = ResponseCacheStore.clave("/api/v1/libros/1", null, "application/json");
+
+    private ResponseCacheStore store;
+    private CacheFallbackController controller;
+
+    @BeforeEach
+    void setUp() {
+        store = new ResponseCacheStore(new ResponseCacheProperties());
+        controller = new CacheFallbackController(store);
+    }
+
+    private static MockServerWebExchange forward(String clave) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/fallback/cache"));
+        if (clave != null) {
+            exchange.getAttributes().put(ResponseCacheGatewayFilterFactory.CACHE_KEY_ATTR, clave);
+        }
+        return exchange;
+    }
+
+    @Test
+    void conCopiaVencida_laSirveComoStale() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setETag("\"1-3\"");
+        long hace = System.currentTimeMillis() - 120_000;
+        store.guardar(CLAVE, new CachedResponse(200, headers, "{\"id\":1}".getBytes(StandardCharsets.UTF_8), hace, hace + 10_000),
+                store.generacion());
+
+        ResponseEntity<byte[]> respuesta = controller.fallback(forward(CLAVE));
+
+        assertEquals(HttpStatus.OK, respuesta.getStatusCode());
+        assertEquals("STALE", respuesta.getHeaders().getFirst(ResponseCacheGatewayFilterFactory.X_CACHE));
+        assertEquals("\"1-3\"", respuesta.getHeaders().getETag());
+        assertTrue(Long.parseLong(respuesta.getHeaders().getFirst(HttpHeaders.AGE)) >= 120);
+        assertEquals("{\"id\":1}", new String(respuesta.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void sinCopia_devuelve503ConRetryAfter() {
+        ResponseEntity<byte[]> respuesta = controller.fallback(forward(CLAVE));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, respuesta.getStatusCode());
+        assertEquals(CacheFallbackController.RETRY_AFTER_SEGUNDOS, respuesta.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void sinClave_escrituraOPeticionAutenticada_devuelve503() {
+        ResponseEntity<byte[]> respuesta = controller.fallback(forward(null));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, respuesta.getStatusCode());
+    }
+}
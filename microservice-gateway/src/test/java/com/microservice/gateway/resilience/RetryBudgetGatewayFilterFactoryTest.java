@@ -0,0 +1,114 @@
+package com.microservice.gateway.resilience;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryBudgetGatewayFilterFactoryTest {
+
+    private final RetryBudgetGatewayFilterFactory factory = new RetryBudgetGatewayFilterFactory();
+    private RetryBudgetGatewayFilterFactory.Config config;
+    private AtomicInteger llamadas;
+
+    @BeforeEach
+    void setUp() {
+        config = new RetryBudgetGatewayFilterFactory.Config();
+        config.setFirstBackoff(Duration.ofMillis(1));
+        llamadas = new AtomicInteger();
+    }
+
+    // Falla las primeras `fallos` llamadas con error de conexión
+    private GatewayFilterChain fallaPrimeras(int fallos) {
+        return exchange -> {
+            if (llamadas.incrementAndGet() <= fallos) {
+                return Mono.error(new ConnectException("Connection refused"));
+            }
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            return exchange.getResponse().setComplete();
+        };
+    }
+
+    private static MockServerWebExchange get() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/libros/1"));
+    }
+
+    @Test
+    void getConErrorDeConexion_seReintenta() {
+        GatewayFilter filter = factory.apply(config);
+        MockServerWebExchange exchange = get();
+
+        filter.filter(exchange, fallaPrimeras(1)).block();
+
+        assertEquals(2, llamadas.get());
+        assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+    }
+
+    @Test
+    void reintentosAcotadosPorRetries() {
+        config.setRetries(2);
+        GatewayFilter filter = factory.apply(config);
+
+        assertThrows(Exception.class, () -> filter.filter(get(), fallaPrimeras(10)).block());
+        assertEquals(3, llamadas.get());
+    }
+
+    @Test
+    void metodoNoIdempotente_noSeReintenta() {
+        GatewayFilter filter = factory.apply(config);
+        MockServerWebExchange post = MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/libros"));
+
+        assertThrows(Exception.class, () -> filter.filter(post, fallaPrimeras(1)).block());
+        assertEquals(1, llamadas.get());
+    }
+
+    @Test
+    void presupuestoAgotado_noSeReintenta() {
+        config.setBudgetRatio(0);
+        config.setMinRetriesPerSecond(0);
+        GatewayFilter filter = factory.apply(config);
+
+        assertThrows(Exception.class, () -> filter.filter(get(), fallaPrimeras(1)).block());
+        assertEquals(1, llamadas.get());
+    }
+
+    @Test
+    void respuestaYaEnviada_noSeReintenta() {
+        GatewayFilter filter = factory.apply(config);
+
+        GatewayFilterChain cortaAMitad = exchange -> {
+            llamadas.incrementAndGet();
+            return exchange.getResponse().setComplete()
+                    .then(Mono.error(new ConnectException("Connection reset")));
+        };
+
+        assertThrows(Exception.class, () -> filter.filter(get(), cortaAMitad).block());
+        assertEquals(1, llamadas.get());
+    }
+
+    @Test
+    void presupuesto_limitaLaProporcionDeReintentos() {
+        RetryBudget budget = new RetryBudget(0.2, 0);
+
+        int permitidos = 0;
+        for (int i = 0; i < 100; i++) {
+            budget.registrarPeticion();
+            if (budget.retirar(0)) {
+                permitidos++;
+            }
+        }
+
+        assertEquals(20, permitidos, 1);
+    }
+}
@@ -0,0 +1,115 @@
+package com.microservice.libros.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// ============================================================
+//  Compara dos resultados JMH en JSON (-rf json) y marca como
+//  regresión todo benchmark que empeore más que el umbral (%).
+//
+//  thrpt             → peor si baja el score
+//  avgt, sample, ss  → peor si sube el score
+//
+//  Ejecutar (desde microservice-libros-benchmarks):
+//    mvn compile exec:exec -Dexec.args="-cp %classpath \
+//        com.microservice.libros.benchmark.ComparadorResultados \
+//        base/jmh-result.json target/jmh-result.json 10"
+//
+//  Sale con código 1 si hay regresiones (para cortar el pipeline).
+// ============================================================
+public class ComparadorResultados {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // Cambio de un benchmark entre base y actual (cambioPct > 0 = peor)
+    public record Diferencia(String clave, String modo, double base, double actual,
+                             String unidad, double cambioPct, boolean regresion) {
+    }
+
+    public static List<Diferencia> comparar(JsonNode base, JsonNode actual, double umbralPct) {
+
+        Map<String, JsonNode> previos = indexar(base);
+        List<Diferencia> diferencias = new ArrayList<>();
+
+        for (Map.Entry<String, JsonNode> e : indexar(actual).entrySet()) {
+
+            JsonNode anterior = previos.get(e.getKey());
+            if (anterior == null) {
+                continue;
+            }
+
+            String modo = e.getValue().path("mode").asText();
+            double antes = anterior.path("primaryMetric").path("score").asDouble();
+            double ahora = e.getValue().path("primaryMetric").path("score").asDouble();
+            String unidad = e.getValue().path("primaryMetric").path("scoreUnit").asText();
+
+            double cambio = antes == 0 ? 0 : (ahora - antes) / antes * 100;
+            double empeora = modo.equals("thrpt") ? -cambio : cambio;
+
+            diferencias.add(new Diferencia(e.getKey(), modo, antes, ahora, unidad, empeora, empeora > umbralPct));
+        }
+
+        return diferencias;
+    }
+
+    // Clave: nombre del benchmark + modo + parámetros en orden alfabético
+    private static Map<String, JsonNode> indexar(JsonNode resultados) {
+
+        Map<String, JsonNode> porClave = new LinkedHashMap<>();
+
+        for (JsonNode r : resultados) {
+            StringBuilder clave = new StringBuilder(r.path("benchmark").asText())
+                    .append(" [").append(r.path("mode").asText()).append(']');
+
+            Map<String, String> params = new TreeMap<>();
+            Iterator<Map.Entry<String, JsonNode>> campos = r.path("params").fields();
+            while (campos.hasNext()) {
+                Map.Entry<String, JsonNode> campo = campos.next();
+                params.put(campo.getKey(), campo.getValue().asText());
+            }
+            params.forEach((k, v) -> clave.append(' ').append(k).append('=').append(v));
+
+            porClave.put(clave.toString(), r);
+        }
+
+        return porClave;
+    }
+
+    public static void main(String[] args) throws IOException {
+
+        if (args.length < 2) {
+            System.err.println("Uso: ComparadorResultados <base.json> <actual.json> [umbral %, 10 por defecto]");
+            System.exit(2);
+        }
+
+        double umbral = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+
+        List<Diferencia> diferencias = comparar(
+                MAPPER.readTree(new File(args[0])), MAPPER.readTree(new File(args[1])), umbral);
+
+        long regresiones = 0;
+        for (Diferencia d : diferencias) {
+            System.out.printf("%-3s %-90s %14.3f -> %14.3f %-8s %+7.1f%%%n",
+                    d.regresion() ? "!!" : "", d.clave(), d.base(), d.actual(), d.unidad(), d.cambioPct());
+            if (d.regresion()) {
+                regresiones++;
+            }
+        }
+
+        System.out.printf("%d benchmarks comparados, %d regresiones (umbral %.1f%%)%n",
+                diferencias.size(), regresiones, umbral);
+
+        if (regresiones > 0) {
+            System.exit(1);
+        }
+    }
+}
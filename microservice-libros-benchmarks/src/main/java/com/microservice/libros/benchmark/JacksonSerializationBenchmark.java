@@ -0,0 +1,117 @@
+package com.microservice.libros.benchmark;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.microservice.libros.assembler.LibrosModelAssembler;
+import com.microservice.libros.model.Libros;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+// ============================================================
+//  Benchmark JMH: (de)serialización Jackson de un Libros plano
+//  (cuerpo de POST/PUT) y de EntityModel<Libros> en HAL (respuesta
+//  de GET /api/v1/libros/{id}).
+//
+//  Ejecutar (desde microservice-libros-benchmarks):
+//    mvn compile exec:exec -Djmh.args=JacksonSerializationBenchmark
+// ============================================================
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JacksonSerializationBenchmark {
+
+    private ObjectMapper json;
+    private ObjectMapper hal;
+    private JavaType tipoModelo;
+
+    private Libros libro;
+    private EntityModel<Libros> modelo;
+    private byte[] libroJson;
+    private byte[] modeloHal;
+
+    @Setup
+    public void setup() throws Exception {
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        // Misma configuración que el ObjectMapper de Spring Boot (fechas ISO)
+        json = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        hal = json.copy().registerModule(new Jackson2HalModule());
+        hal.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new DefaultLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+        tipoModelo = hal.getTypeFactory().constructParametricType(EntityModel.class, Libros.class);
+
+        libro = Libros.builder()
+                .id(1234)
+                .titulo("Cien años de soledad")
+                .autor("Gabriel García Márquez")
+                .editorial("Sudamericana")
+                .fechaPublicacion(LocalDate.of(1967, 5, 30))
+                .categoria("Novela")
+                .stock(25)
+                .precio(new BigDecimal("15990.00"))
+                .idioma("ES")
+                .descripcion("La historia de la familia Buendía a lo largo de siete generaciones en Macondo.")
+                .version(3L)
+                .actualizadoEn(Instant.parse("2024-01-01T00:00:00Z"))
+                .build();
+
+        modelo = new LibrosModelAssembler().toModel(libro);
+        libroJson = json.writeValueAsBytes(libro);
+        modeloHal = hal.writeValueAsBytes(modelo);
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public byte[] serializarLibro() throws Exception {
+        return json.writeValueAsBytes(libro);
+    }
+
+    @Benchmark
+    public Libros deserializarLibro() throws Exception {
+        return json.readValue(libroJson, Libros.class);
+    }
+
+    @Benchmark
+    public byte[] serializarModeloHal() throws Exception {
+        return hal.writeValueAsBytes(modelo);
+    }
+
+    @Benchmark
+    public EntityModel<Libros> deserializarModeloHal() throws Exception {
+        return hal.readValue(modeloHal, tipoModelo);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JacksonSerializationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,173 @@
+package com.microservice.libros.benchmark;
+
+import com.microservice.libros.MicroserviceLibrosApplication;
+import com.microservice.libros.dto.LibroResumen;
+import com.microservice.libros.model.Libros;
+import com.microservice.libros.repository.LibrosRepository;
+import com.microservice.libros.service.LibrosService;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// ============================================================
+//  Benchmark JMH de LibrosService contra H2 en memoria: el
+//  contexto real de la app (JPA, Hibernate, caché Caffeine),
+//  sin web, Eureka ni config server.
+//
+//  cache=caliente → lecturas servidas mayormente por Caffeine
+//  cache=fria     → cachés vaciadas antes de cada invocación
+//                   (mide Hibernate + JDBC; el vaciado cuenta en
+//                   el tiempo, ver Level.Invocation en JMH)
+//
+//  Ejecutar (desde microservice-libros-benchmarks):
+//    mvn compile exec:exec -Djmh.args="LibrosServiceBenchmark -p cache=fria"
+// ============================================================
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LibrosServiceBenchmark {
+
+    private static final int LIBROS = 10_000;
+    private static final int PAGINA = 50;
+
+    private static final String[] AUTORES = {
+            "Garcia", "Cortazar", "Borges", "Allende", "Neruda", "Mistral", "Bolaño", "Rulfo"
+    };
+    private static final String[] CATEGORIAS = {"Novela", "Ensayo", "Poesía", "Fantasía", "Historia"};
+
+    @Param({"caliente", "fria"})
+    String cache;
+
+    private ConfigurableApplicationContext context;
+    private LibrosService service;
+    private CacheManager cacheManager;
+
+    @Setup(Level.Trial)
+    public void setup() {
+
+        context = new SpringApplicationBuilder(MicroserviceLibrosApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.cloud.config.enabled=false",
+                        "--spring.cloud.discovery.enabled=false",
+                        "--eureka.client.enabled=false",
+                        "--management.tracing.enabled=false",
+                        "--spring.datasource.url=jdbc:h2:mem:libros;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                        "--spring.jpa.properties.hibernate.order_inserts=true",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN");
+
+        service = context.getBean(LibrosService.class);
+        cacheManager = context.getBean(CacheManager.class);
+
+        poblar(context.getBean(LibrosRepository.class));
+
+        // Con 10k ids al azar el warmup no alcanza a llenar la caché por id
+        if (cache.equals("caliente")) {
+            for (int id = 1; id <= LIBROS; id++) {
+                service.getLibroById(id);
+            }
+        }
+    }
+
+    private static void poblar(LibrosRepository repository) {
+
+        Random random = new Random(42);
+        List<Libros> lote = new ArrayList<>(1000);
+
+        for (int i = 1; i <= LIBROS; i++) {
+            lote.add(Libros.builder()
+                    .titulo("Libro " + i)
+                    .autor(AUTORES[random.nextInt(AUTORES.length)])
+                    .editorial("Editorial " + random.nextInt(50))
+                    .fechaPublicacion(LocalDate.of(1950 + random.nextInt(70), 1, 1))
+                    .categoria(CATEGORIAS[random.nextInt(CATEGORIAS.length)])
+                    .stock(random.nextInt(100))
+                    .precio(BigDecimal.valueOf(1000 + random.nextInt(30000)))
+                    .idioma("ES")
+                    .disponible(random.nextInt(10) != 0)
+                    .build());
+
+            if (lote.size() == 1000) {
+                repository.saveAll(lote);
+                lote.clear();
+            }
+        }
+        repository.saveAll(lote);
+    }
+
+    @Setup(Level.Invocation)
+    public void vaciarCaches() {
+        if (cache.equals("fria")) {
+            for (String nombre : cacheManager.getCacheNames()) {
+                Cache c = cacheManager.getCache(nombre);
+                if (c != null) {
+                    c.clear();
+                }
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Libros> getLibroById() {
+        return service.getLibroById(1 + ThreadLocalRandom.current().nextInt(LIBROS));
+    }
+
+    @Benchmark
+    public List<Libros> getLibrosPage() {
+        return service.getLibrosPage(cursor(), PAGINA);
+    }
+
+    @Benchmark
+    public List<LibroResumen> getResumenPage() {
+        return service.getResumenPage(cursor(), PAGINA);
+    }
+
+    @Benchmark
+    public List<Libros> getLibrosPorAutor() {
+        return service.getLibrosPorAutor(AUTORES[ThreadLocalRandom.current().nextInt(AUTORES.length)], cursor(), PAGINA);
+    }
+
+    @Benchmark
+    public List<Libros> getLibrosPorCategoria() {
+        return service.getLibrosPorCategoria(
+                CATEGORIAS[ThreadLocalRandom.current().nextInt(CATEGORIAS.length)], true, cursor(), PAGINA);
+    }
+
+    // Cursor keyset en múltiplos de la página: como el cliente que recorre el listado
+    private static int cursor() {
+        return ThreadLocalRandom.current().nextInt(LIBROS / PAGINA) * PAGINA;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LibrosServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
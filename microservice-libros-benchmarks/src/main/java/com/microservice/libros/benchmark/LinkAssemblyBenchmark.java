@@ -0,0 +1,93 @@
+package com.microservice.libros.benchmark;
+
+import com.microservice.libros.assembler.LibrosModelAssembler;
+import com.microservice.libros.controller.LibrosController;
+import com.microservice.libros.model.Libros;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
+
+// ============================================================
+//  Benchmark JMH: links por fila con methodOn (implementación
+//  anterior) vs. LibrosModelAssembler con URI base precalculada.
+//
+//  Ejecutar (desde microservice-libros-benchmarks):
+//    mvn compile exec:exec -Djmh.args=LinkAssemblyBenchmark
+// ============================================================
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LinkAssemblyBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    int entidades;
+
+    private List<Libros> libros;
+    private LibrosModelAssembler assembler;
+
+    @Setup
+    public void setup() {
+
+        // El request actual es lo que usa WebMvcLinkBuilder para la URI base
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        assembler = new LibrosModelAssembler();
+        libros = new ArrayList<>(entidades);
+
+        for (int i = 1; i <= entidades; i++) {
+            libros.add(Libros.builder()
+                    .id(i)
+                    .titulo("Libro " + i)
+                    .autor("Autor")
+                    .stock(10)
+                    .precio(BigDecimal.TEN)
+                    .build());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    // Implementación previa de LibrosController.getAllLibros()
+    @Benchmark
+    public List<EntityModel<Libros>> methodOnPorFila() {
+        return libros.stream()
+                .map(libro -> EntityModel.of(
+                        libro,
+                        linkTo(methodOn(LibrosController.class).getLibroById(libro.getId(), null)).withSelfRel(),
+                        linkTo(methodOn(LibrosController.class).deleteLibro(libro.getId())).withRel("delete"),
+                        linkTo(methodOn(LibrosController.class).updateLibro(libro.getId(), libro, null)).withRel("update")
+                ))
+                .toList();
+    }
+
+    @Benchmark
+    public CollectionModel<EntityModel<Libros>> assemblerPrecalculado() {
+        return assembler.toCollectionModel(libros);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LinkAssemblyBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,138 @@
+package com.microservice.libros.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.microservice.libros.assembler.LibrosModelAssembler;
+import com.microservice.libros.model.Libros;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// ============================================================
+//  Benchmark JMH: tamaño y CPU de serialización de una página del
+//  listado (getAllLibros) en HAL JSON, HAL JSON + gzip, CBOR y Smile.
+//
+//  El tamaño en bytes de cada formato se imprime en el setup
+//  ("[payload] ..."); el tiempo medio por página es el resultado JMH.
+//
+//  Ejecutar (desde microservice-libros-benchmarks):
+//    mvn compile exec:exec -Djmh.args=PayloadFormatBenchmark
+// ============================================================
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadFormatBenchmark {
+
+    @Param({"100", "1000"})
+    int entidades;
+
+    @Param({"hal-json", "hal-json-gzip", "cbor", "smile"})
+    String formato;
+
+    private CollectionModel<EntityModel<Libros>> pagina;
+    private ObjectMapper mapper;
+    private boolean gzip;
+
+    @Setup
+    public void setup() throws IOException {
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        List<Libros> libros = new ArrayList<>(entidades);
+        for (int i = 1; i <= entidades; i++) {
+            libros.add(Libros.builder()
+                    .id(i)
+                    .titulo("Cien años de soledad, edición " + i)
+                    .autor("Gabriel García Márquez")
+                    .editorial("Sudamericana")
+                    .fechaPublicacion(LocalDate.of(1967, 5, 30))
+                    .categoria("Novela")
+                    .stock(10 + i % 50)
+                    .precio(BigDecimal.valueOf(12990 + i))
+                    .idioma("ES")
+                    .descripcion("Historia de la familia Buendía en Macondo")
+                    .disponible(true)
+                    .version((long) i % 7)
+                    .actualizadoEn(Instant.parse("2024-05-01T10:15:30Z"))
+                    .build());
+        }
+        pagina = new LibrosModelAssembler().toCollectionModel(libros);
+
+        gzip = formato.equals("hal-json-gzip");
+        mapper = switch (formato) {
+            case "cbor" -> base(new ObjectMapper(new CBORFactory()));
+            case "smile" -> base(new ObjectMapper(new SmileFactory()));
+            default -> hal();
+        };
+
+        System.out.printf("%n[payload] formato=%s entidades=%d bytes=%d%n", formato, entidades, serializar().length);
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public byte[] serializar() throws IOException {
+
+        if (!gzip) {
+            return mapper.writeValueAsBytes(pagina);
+        }
+
+        // Nivel por defecto del Deflater, igual que server.compression de Tomcat
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        try (GZIPOutputStream comprimido = new GZIPOutputStream(salida)) {
+            mapper.writeValue(comprimido, pagina);
+        }
+        return salida.toByteArray();
+    }
+
+    // Mismo formato que application/hal+json en la app
+    private static ObjectMapper hal() {
+        ObjectMapper hal = base(new ObjectMapper());
+        hal.registerModule(new Jackson2HalModule());
+        hal.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new DefaultLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+        return hal;
+    }
+
+    private static ObjectMapper base(ObjectMapper mapper) {
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return mapper;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PayloadFormatBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,154 @@
+package com.microservice.libros.benchmark;
+
+import com.microservice.libros.MicroserviceLibrosApplication;
+import com.microservice.libros.model.Libros;
+import com.microservice.libros.repository.LibrosRepository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// ============================================================
+//  Costo de cargar una página de entidades según el modo de la
+//  sesión de Hibernate (sin caché Caffeine: lo que paga cada
+//  fallo de caché o cada filtro del catálogo).
+//
+//  sin-transaccion     → consulta suelta, sesión normal
+//  lectura-escritura   → @Transactional: copia por entidad para
+//                        dirty checking y flush al commit
+//  solo-lectura        → @Transactional(readOnly = true)
+//  hint-solo-lectura   → consulta suelta con HINT_READ_ONLY
+//                        (LibrosRepository.findByIdGreaterThan...)
+//
+//  La métrica que interesa es gc.alloc.rate.norm (bytes por
+//  página), del profiler de GC:
+//    mvn compile exec:exec -Djmh.args="ReadPathBenchmark -prof gc"
+// ============================================================
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadPathBenchmark {
+
+    private static final int LIBROS = 10_000;
+
+    private static final String PAGINA_JPQL = "select l from Libros l where l.id > :afterId order by l.id";
+
+    @Param({"sin-transaccion", "lectura-escritura", "solo-lectura", "hint-solo-lectura"})
+    String modo;
+
+    // Página por defecto y máxima del listado (LibrosService)
+    @Param({"20", "100"})
+    int pagina;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TransactionTemplate lecturaEscritura;
+    private TransactionTemplate soloLectura;
+
+    @Setup(Level.Trial)
+    public void setup() {
+
+        context = new SpringApplicationBuilder(MicroserviceLibrosApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.cloud.config.enabled=false",
+                        "--spring.cloud.discovery.enabled=false",
+                        "--eureka.client.enabled=false",
+                        "--management.tracing.enabled=false",
+                        "--spring.datasource.url=jdbc:h2:mem:lectura;DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                        "--spring.jpa.properties.hibernate.order_inserts=true",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN");
+
+        entityManager = context.getBean(EntityManager.class);
+
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        lecturaEscritura = new TransactionTemplate(transactionManager);
+        soloLectura = new TransactionTemplate(transactionManager);
+        soloLectura.setReadOnly(true);
+
+        poblar(context.getBean(LibrosRepository.class));
+    }
+
+    private static void poblar(LibrosRepository repository) {
+
+        List<Libros> lote = new ArrayList<>(1000);
+
+        for (int i = 1; i <= LIBROS; i++) {
+            lote.add(Libros.builder()
+                    .titulo("Libro " + i)
+                    .autor("Autor " + (i % 200))
+                    .editorial("Editorial " + (i % 50))
+                    .categoria("Novela")
+                    .stock(i % 100)
+                    .precio(BigDecimal.valueOf(1000 + i))
+                    .idioma("ES")
+                    .descripcion("Descripción del libro " + i)
+                    .build());
+
+            if (lote.size() == 1000) {
+                repository.saveAll(lote);
+                lote.clear();
+            }
+        }
+        repository.saveAll(lote);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Libros> paginaKeyset() {
+
+        int afterId = ThreadLocalRandom.current().nextInt(LIBROS - pagina);
+
+        return switch (modo) {
+            case "lectura-escritura" -> lecturaEscritura.execute(status -> consulta(afterId, false));
+            case "solo-lectura" -> soloLectura.execute(status -> consulta(afterId, false));
+            case "hint-solo-lectura" -> consulta(afterId, true);
+            default -> consulta(afterId, false);
+        };
+    }
+
+    private List<Libros> consulta(int afterId, boolean hintSoloLectura) {
+
+        var query = entityManager.createQuery(PAGINA_JPQL, Libros.class)
+                .setParameter("afterId", afterId)
+                .setMaxResults(pagina);
+
+        if (hintSoloLectura) {
+            query.setHint(HibernateHints.HINT_READ_ONLY, true);
+        }
+
+        return query.getResultList();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ReadPathBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,105 @@
+package com.microservice.libros.benchmark;
+
+import com.microservice.libros.dto.ConsultaBusqueda;
+import com.microservice.libros.dto.LibroIndexado;
+import com.microservice.libros.dto.ResultadoBusqueda;
+import com.microservice.libros.service.LibrosSearchIndex;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// ============================================================
+//  Benchmark JMH de latencia del índice de búsqueda (SampleTime
+//  reporta percentiles: revisar p0.99 frente al objetivo de 10 ms).
+//
+//  Ejecutar (desde microservice-libros-benchmarks):
+//    mvn compile exec:exec -Djmh.args=SearchIndexBenchmark
+// ============================================================
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchIndexBenchmark {
+
+    private static final String[] PALABRAS = {
+            "amor", "guerra", "noche", "ciudad", "historia", "secreto", "sombra", "camino",
+            "tiempo", "mar", "fuego", "silencio", "jardin", "viaje", "memoria", "invierno"
+    };
+    private static final String[] AUTORES = {
+            "Garcia", "Cortazar", "Borges", "Allende", "Neruda", "Mistral", "Bolaño", "Rulfo"
+    };
+    private static final String[] CATEGORIAS = {"Novela", "Ensayo", "Poesía", "Fantasía", "Historia"};
+    private static final String[] IDIOMAS = {"ES", "EN", "PT"};
+
+    @Param({"10000", "100000"})
+    int libros;
+
+    private LibrosSearchIndex index;
+
+    private ConsultaBusqueda vacia;
+    private ConsultaBusqueda prefijo;
+    private ConsultaBusqueda difusa;
+    private ConsultaBusqueda facetasYRangos;
+
+    @Setup
+    public void setup() {
+
+        Random random = new Random(42);
+        index = new LibrosSearchIndex();
+
+        for (int i = 1; i <= libros; i++) {
+            String titulo = PALABRAS[random.nextInt(PALABRAS.length)] + " "
+                    + PALABRAS[random.nextInt(PALABRAS.length)] + " " + i;
+            index.indexar(new LibroIndexado(
+                    i,
+                    titulo,
+                    AUTORES[random.nextInt(AUTORES.length)],
+                    CATEGORIAS[random.nextInt(CATEGORIAS.length)],
+                    IDIOMAS[random.nextInt(IDIOMAS.length)],
+                    random.nextBoolean(),
+                    BigDecimal.valueOf(1000 + random.nextInt(30000)),
+                    LocalDate.of(1950 + random.nextInt(70), 1, 1)));
+        }
+
+        vacia = new ConsultaBusqueda(null, false, null, null, null, null, null, null, null, 20);
+        prefijo = new ConsultaBusqueda("memo bor", false, null, null, null, null, null, null, null, 20);
+        difusa = new ConsultaBusqueda("sielncio", true, null, null, null, null, null, null, null, 20);
+        facetasYRangos = new ConsultaBusqueda("camino", false, "novela", "es", true,
+                BigDecimal.valueOf(5000), BigDecimal.valueOf(20000), LocalDate.of(1980, 1, 1), null, 20);
+    }
+
+    @Benchmark
+    public ResultadoBusqueda vacia() {
+        return index.buscar(vacia);
+    }
+
+    @Benchmark
+    public ResultadoBusqueda prefijo() {
+        return index.buscar(prefijo);
+    }
+
+    @Benchmark
+    public ResultadoBusqueda difusa() {
+        return index.buscar(difusa);
+    }
+
+    @Benchmark
+    public ResultadoBusqueda facetasYRangos() {
+        return index.buscar(facetasYRangos);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SearchIndexBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
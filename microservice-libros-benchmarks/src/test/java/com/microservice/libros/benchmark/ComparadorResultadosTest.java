@@ -0,0 +1,76 @@
+package com.microservice.libros.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ComparadorResultadosTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static JsonNode resultado(String benchmark, String modo, String params, double score) throws Exception {
+        return MAPPER.readTree("""
+                [{"benchmark": "%s", "mode": "%s", "params": {%s},
+                  "primaryMetric": {"score": %s, "scoreUnit": "us/op"}}]
+                """.formatted(benchmark, modo, params, score));
+    }
+
+    @Test
+    void avgtQueSubeSobreElUmbral_esRegresion() throws Exception {
+        List<ComparadorResultados.Diferencia> d = ComparadorResultados.comparar(
+                resultado("a.B.get", "avgt", "", 100), resultado("a.B.get", "avgt", "", 120), 10);
+
+        assertEquals(1, d.size());
+        assertEquals(20, d.get(0).cambioPct(), 1e-9);
+        assertTrue(d.get(0).regresion());
+    }
+
+    @Test
+    void thrptQueSube_esMejora() throws Exception {
+        List<ComparadorResultados.Diferencia> d = ComparadorResultados.comparar(
+                resultado("a.B.get", "thrpt", "", 100), resultado("a.B.get", "thrpt", "", 150), 10);
+
+        assertEquals(-50, d.get(0).cambioPct(), 1e-9);
+        assertFalse(d.get(0).regresion());
+    }
+
+    @Test
+    void thrptQueBaja_esRegresion() throws Exception {
+        List<ComparadorResultados.Diferencia> d = ComparadorResultados.comparar(
+                resultado("a.B.get", "thrpt", "", 100), resultado("a.B.get", "thrpt", "", 80), 10);
+
+        assertTrue(d.get(0).regresion());
+    }
+
+    @Test
+    void cambioDentroDelUmbral_noEsRegresion() throws Exception {
+        List<ComparadorResultados.Diferencia> d = ComparadorResultados.comparar(
+                resultado("a.B.get", "sample", "", 100), resultado("a.B.get", "sample", "", 105), 10);
+
+        assertFalse(d.get(0).regresion());
+    }
+
+    @Test
+    void parametrosDistintos_noSeComparan() throws Exception {
+        List<ComparadorResultados.Diferencia> d = ComparadorResultados.comparar(
+                resultado("a.B.get", "avgt", "\"cache\": \"fria\"", 100),
+                resultado("a.B.get", "avgt", "\"cache\": \"caliente\"", 500), 10);
+
+        assertTrue(d.isEmpty());
+    }
+
+    @Test
+    void ordenDeLosParametros_noAfectaLaClave() throws Exception {
+        List<ComparadorResultados.Diferencia> d = ComparadorResultados.comparar(
+                resultado("a.B.get", "avgt", "\"x\": \"1\", \"y\": \"2\"", 100),
+                resultado("a.B.get", "avgt", "\"y\": \"2\", \"x\": \"1\"", 100), 10);
+
+        assertEquals(1, d.size());
+        assertEquals("a.B.get [avgt] x=1 y=2", d.get(0).clave());
+    }
+}
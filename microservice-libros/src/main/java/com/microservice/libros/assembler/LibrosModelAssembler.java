@@ -0,0 +1,67 @@
+package com.microservice.libros.assembler;
+
+import com.microservice.libros.config.MetricsConfig;
+import com.microservice.libros.controller.LibrosController;
+import com.microservice.libros.model.Libros;
+
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.server.RepresentationModelAssembler;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+// ============================================================
+//  Ensamblador HATEOAS de Libros
+//  La URI base del controlador se resuelve UNA vez por petición
+//  (host, puerto, context-path, X-Forwarded-*) y cada fila solo
+//  concatena su id, sin proxies methodOn ni expansión de plantillas.
+// ============================================================
+@Component
+@Observed(name = MetricsConfig.HATEOAS_TIMER)
+public class LibrosModelAssembler implements RepresentationModelAssembler<Libros, EntityModel<Libros>> {
+
+    @Override
+    public EntityModel<Libros> toModel(Libros libro) {
+        return toModel(libro, baseUri());
+    }
+
+    @Override
+    public CollectionModel<EntityModel<Libros>> toCollectionModel(Iterable<? extends Libros> libros) {
+
+        String base = baseUri();
+        List<EntityModel<Libros>> modelos = new ArrayList<>();
+
+        for (Libros libro : libros) {
+            modelos.add(toModel(libro, base));
+        }
+
+        return CollectionModel.of(modelos);
+    }
+
+    // ============================================================
+    //  URI base del recurso, p. ej. http://host:8090/api/v1/libros
+    // ============================================================
+    public String baseUri() {
+        return linkTo(LibrosController.class).toUri().toString();
+    }
+
+    // Links self / delete / update → todos apuntan a {base}/{id}
+    private EntityModel<Libros> toModel(Libros libro, String base) {
+
+        String href = base + "/" + libro.getId();
+
+        return EntityModel.of(
+                libro,
+                Link.of(href, IanaLinkRelations.SELF),
+                Link.of(href, "delete"),
+                Link.of(href, "update")
+        );
+    }
+}
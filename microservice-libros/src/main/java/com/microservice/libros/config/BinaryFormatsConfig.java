@@ -0,0 +1,34 @@
+package com.microservice.libros.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+// ============================================================
+//  Representaciones binarias para consumidores servicio-a-servicio
+//
+//  Solo se eligen si el cliente las pide en Accept
+//  (application/cbor o application/x-jackson-smile); navegadores
+//  y clientes con Accept genérico siguen recibiendo HAL JSON.
+//  Usan el mismo ObjectMapper builder de Spring Boot que el JSON
+//  (módulos, fechas, spring.jackson.*). Los links van en "links"
+//  (formato plano de Spring HATEOAS), no en "_links".
+// ============================================================
+@Configuration
+public class BinaryFormatsConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
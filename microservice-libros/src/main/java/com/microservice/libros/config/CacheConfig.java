@@ -0,0 +1,55 @@
+package com.microservice.libros.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// ============================================================
+//  Caché en memoria (Caffeine) para las lecturas de libros
+//  Acotada por tamaño y TTL; las estadísticas se publican en
+//  actuator (/actuator/metrics/cache.gets, cache.evictions, ...)
+//  Cada instancia tiene la suya: los cambios de otras instancias
+//  llegan por libros_outbox (ver outbox/OutboxFollower).
+// ============================================================
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // Libro individual por id (getLibroById)
+    public static final String LIBROS = "libros";
+
+    // Páginas keyset del listado (getLibrosPage)
+    public static final String LIBROS_PAGINAS = "libros-paginas";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${libros.cache.libros.max-size:10000}") long librosMaxSize,
+            @Value("${libros.cache.libros.ttl-seconds:600}") long librosTtl,
+            @Value("${libros.cache.paginas.max-size:1000}") long paginasMaxSize,
+            @Value("${libros.cache.paginas.ttl-seconds:60}") long paginasTtl) {
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+
+        cacheManager.registerCustomCache(LIBROS, caffeine(librosMaxSize, librosTtl).build());
+        cacheManager.registerCustomCache(LIBROS_PAGINAS, caffeine(paginasMaxSize, paginasTtl).build());
+
+        // Las evicciones se aplican tras el commit: una lectura concurrente
+        // no puede volver a cachear la fila antigua antes de confirmarse
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    private static Caffeine<Object, Object> caffeine(long maxSize, long ttlSeconds) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats();
+    }
+}
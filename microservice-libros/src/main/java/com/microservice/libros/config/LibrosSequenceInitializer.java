@@ -0,0 +1,61 @@
+package com.microservice.libros.config;
+
+import com.microservice.libros.model.Libros;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// ============================================================
+//  Semilla de libros_seq para bases con libros ya cargados
+//
+//  En MySQL la secuencia es la tabla libros_seq (una fila,
+//  next_val). Con el optimizador pooled Hibernate usa el bloque
+//  (next_val - 50, next_val]: si next_val no supera
+//  MAX(id_libro) + 50 se reentregan ids existentes y los INSERT
+//  fallan por clave duplicada. Al arrancar se sube next_val hasta
+//  ese mínimo; el UPDATE condicional nunca la baja, así que es
+//  seguro con varias instancias arrancando a la vez.
+//
+//  @DependsOn del EntityManagerFactory: corre tras el ddl-auto.
+//  Las bases con secuencias nativas (H2 del perfil local y de
+//  los tests) parten vacías y no lo necesitan.
+// ============================================================
+@Component
+@DependsOn("entityManagerFactory")
+public class LibrosSequenceInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(LibrosSequenceInitializer.class);
+
+    static final String SQL_MAX_ID = "select coalesce(max(id_libro), 0) from libros";
+
+    static final String SQL_SEMILLA = "update libros_seq set next_val = ? where next_val < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LibrosSequenceInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void sembrar() {
+
+        String producto = jdbcTemplate.execute((ConnectionCallback<String>) con ->
+                con.getMetaData().getDatabaseProductName());
+
+        if (producto == null || !(producto.contains("MySQL") || producto.contains("MariaDB"))) {
+            return;
+        }
+
+        Long maxId = jdbcTemplate.queryForObject(SQL_MAX_ID, Long.class);
+        long minimo = (maxId == null ? 0 : maxId) + Libros.ID_ALLOCATION_SIZE;
+
+        if (jdbcTemplate.update(SQL_SEMILLA, minimo, minimo) > 0) {
+            log.info("libros_seq ajustada a {} (MAX(id_libro) = {})", minimo, maxId);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.microservice.libros.config;
+
+import com.microservice.libros.metrics.LibrosMetricsInterceptor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// ============================================================
+//  Métricas propias de libros (Micrometer → /actuator/prometheus)
+//
+//  libros.controller     @Observed por método de los controladores
+//  libros.service        @Observed por método de los servicios
+//                        (tags class, method, error)
+//  libros.hateoas        armado de links (LibrosModelAssembler)
+//  libros.serialization  escritura del cuerpo de la respuesta
+//  libros.not_found      respuestas 404 por endpoint
+//  libros.validation.failures  respuestas 400 por endpoint
+//  libros.stock.clamped  ajustes de stock acotados a 0 (tag origen)
+//
+//  Ya provistas por Spring Boot: spring.data.repository.invocations
+//  (cada query de LibrosRepository), http.server.requests y los
+//  gauges del pool (hikaricp.connections.*).
+//
+//  Los histogramas de percentiles se activan en msvc-libros.yml
+//  (management.metrics.distribution.percentiles-histogram).
+//
+//  @Observed da a la vez el timer y el span de la traza (ver
+//  TracingConfig): una sola anotación por clase.
+// ============================================================
+@Configuration
+public class MetricsConfig {
+
+    public static final String CONTROLLER_TIMER = "libros.controller";
+    public static final String SERVICE_TIMER = "libros.service";
+    public static final String HATEOAS_TIMER = "libros.hateoas";
+    public static final String SERIALIZATION_TIMER = "libros.serialization";
+    public static final String NOT_FOUND_COUNTER = "libros.not_found";
+    public static final String VALIDATION_COUNTER = "libros.validation.failures";
+    public static final String STOCK_CLAMP_COUNTER = "libros.stock.clamped";
+
+    // Necesario para que @Observed en clases de Spring genere timers y spans
+    @Bean
+    public ObservedAspect observedAspect(ObservationRegistry registry) {
+        return new ObservedAspect(registry);
+    }
+
+    @Bean
+    public LibrosMetricsInterceptor librosMetricsInterceptor(MeterRegistry registry) {
+        return new LibrosMetricsInterceptor(registry);
+    }
+
+    // WebMvcConfigurer como @Bean (no en la clase) para que los tests
+    // @WebMvcTest, sin MeterRegistry, no levanten el interceptor
+    @Bean
+    public WebMvcConfigurer metricsWebMvcConfigurer(LibrosMetricsInterceptor interceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor).addPathPatterns("/api/**");
+            }
+        };
+    }
+}
@@ -0,0 +1,52 @@
+package com.microservice.libros.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservice.libros.outbox.FileOutboxSink;
+import com.microservice.libros.outbox.SseOutboxSink;
+import com.microservice.libros.service.LibrosEventosService;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.nio.file.Path;
+
+// ============================================================
+//  Flujo de cambios del catálogo (outbox transaccional)
+//
+//    LibrosService / LibrosBulkService
+//      └─ LibrosChangeEvent ─→ OutboxWriter   (misma transacción)
+//    OutboxRelay (@Scheduled) ─→ posiciones ─→ sinks:
+//      - SseOutboxSink  GET /api/v1/libros/eventos/stream
+//      - FileOutboxSink libros.outbox.file.path (opcional)
+//    OutboxFollower (@Scheduled) ─→ cachés e índice de esta instancia
+//
+//  GET /api/v1/libros/eventos?after=N sirve la misma secuencia
+//  desde la tabla para consumidores por polling.
+// ============================================================
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(OutboxProperties.class)
+@ConditionalOnProperty(prefix = "libros.outbox", name = "enabled", havingValue = "true")
+public class OutboxConfig {
+
+    // La puesta al día de cada suscriptor corre en el executor async de Boot
+    @Bean
+    public SseOutboxSink sseOutboxSink(
+            LibrosEventosService eventosService,
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor executor,
+            OutboxProperties properties) {
+        return new SseOutboxSink(eventosService, executor, properties.getSseTimeout());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "libros.outbox.file", name = "enabled", havingValue = "true")
+    public FileOutboxSink fileOutboxSink(OutboxProperties properties, ObjectMapper objectMapper) {
+        return new FileOutboxSink(Path.of(properties.getFile().getPath()), objectMapper);
+    }
+}
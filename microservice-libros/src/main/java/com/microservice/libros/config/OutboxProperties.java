@@ -0,0 +1,44 @@
+package com.microservice.libros.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+// ============================================================
+//  Outbox transaccional de cambios del catálogo (libros.outbox.*)
+//  Ver outbox/OutboxRelay
+// ============================================================
+@Data
+@ConfigurationProperties(prefix = "libros.outbox")
+public class OutboxProperties {
+
+    // Escribe un evento por cambio y activa el relay y /api/v1/libros/eventos
+    private boolean enabled = false;
+
+    // Cada cuánto el relay numera y publica los eventos pendientes
+    private long relayIntervalMs = 200;
+
+    // Eventos por lote del relay (una transacción y un envío por lote)
+    private int batchSize = 500;
+
+    // Eventos publicados que se conservan para sincronizar por posición
+    private Duration retention = Duration.ofDays(7);
+
+    // Cada cuánto se purgan los eventos fuera de la retención
+    private long purgeIntervalMs = 3_600_000;
+
+    // Conexiones SSE abiertas: el cliente reconecta con Last-Event-ID
+    private Duration sseTimeout = Duration.ofMinutes(30);
+
+    private Archivo file = new Archivo();
+
+    @Data
+    public static class Archivo {
+
+        // Copia de cada lote en un archivo JSON lines (modo append)
+        private boolean enabled = false;
+
+        private String path = "./data/outbox/libros-eventos.jsonl";
+    }
+}
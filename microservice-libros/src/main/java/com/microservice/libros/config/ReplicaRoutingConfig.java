@@ -0,0 +1,135 @@
+package com.microservice.libros.config;
+
+import com.microservice.libros.datasource.ReadYourWritesFilter;
+import com.microservice.libros.datasource.ReplicaMonitor;
+import com.microservice.libros.datasource.ReplicaRoutingDataSource;
+import com.microservice.libros.datasource.RoutingJpaTransactionManager;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// ============================================================
+//  Réplicas de lectura para libros
+//
+//  dataSource            ReplicaRoutingDataSource: escrituras a la
+//                        primaria, transacciones readOnly a una
+//                        réplica sana y al día (ReplicaMonitor)
+//  transactionManager    expone readOnly al tomar la conexión
+//  readYourWritesFilter  lecturas de quien acaba de escribir → primaria
+//
+//  Pools Hikari: "libros" (primaria, spring.datasource.hikari.*) y
+//  "libros-replica-N"; con gauges hikaricp.connections.* cada uno.
+//  El health "datasource" reemplaza al "db" de Boot: DOWN solo si
+//  falla la primaria (ver management.health.db en msvc-libros.yml).
+// ============================================================
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+@ConditionalOnProperty(prefix = "libros.datasource.routing", name = "enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    // Pools de primaria y réplicas: un solo bean que no es DataSource,
+    // así JPA y el proxy de trazas JDBC solo ven el dataSource ruteado
+    public record Bases(HikariDataSource primaria, Map<String, HikariDataSource> replicas) implements AutoCloseable {
+
+        @Override
+        public void close() {
+            replicas.values().forEach(HikariDataSource::close);
+            primaria.close();
+        }
+    }
+
+    @Bean
+    public Bases librosBases(DataSourceProperties dataSourceProperties, ReplicaRoutingProperties properties,
+                             Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+
+        MicrometerMetricsTrackerFactory metricas =
+                new MicrometerMetricsTrackerFactory(meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+
+        HikariDataSource primaria = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primaria));
+        primaria.setMetricsTrackerFactory(metricas);
+
+        Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+        int n = 0;
+        for (ReplicaRoutingProperties.Replica replica : properties.getReplicas()) {
+            String nombre = "replica-" + (++n);
+
+            HikariConfig config = new HikariConfig();
+            primaria.copyStateTo(config);
+            config.setPoolName(primaria.getPoolName() + "-" + nombre);
+            config.setJdbcUrl(replica.getUrl());
+            if (replica.getUsername() != null) {
+                config.setUsername(replica.getUsername());
+            }
+            if (replica.getPassword() != null) {
+                config.setPassword(replica.getPassword());
+            }
+            config.setMaximumPoolSize(properties.getReplicaPoolSize());
+            config.setMinimumIdle(properties.getReplicaPoolSize());
+            config.setReadOnly(true);
+
+            replicas.put(nombre, new HikariDataSource(config));
+        }
+
+        return new Bases(primaria, replicas);
+    }
+
+    @Bean
+    public ReplicaMonitor replicaMonitor(Bases bases, ReplicaRoutingProperties properties,
+                                         ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ReplicaMonitor(bases.primaria(), bases.replicas(), properties.getMaxLag(),
+                properties.isHeartbeat(), meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    @Bean
+    public DataSource dataSource(Bases bases, ReplicaMonitor monitor, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ReplicaRoutingDataSource(bases.primaria(), bases.replicas(), monitor,
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    @Bean
+    public PlatformTransactionManager transactionManager(ObjectProvider<TransactionManagerCustomizers> customizers) {
+        RoutingJpaTransactionManager transactionManager = new RoutingJpaTransactionManager();
+        customizers.ifAvailable(c -> c.customize(transactionManager));
+        return transactionManager;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ReplicaRoutingProperties properties) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(
+                new ReadYourWritesFilter(properties.getMaxLag(), properties.getApiKeyHeader(), properties.getMaxClients()));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    // Reemplaza el health "db" de Boot (mismo nombre de bean): DOWN solo
+    // si falla la primaria, no por una réplica caída o atrasada
+    @Bean
+    public HealthIndicator dbHealthContributor(ReplicaMonitor monitor) {
+        return monitor::salud;
+    }
+}
@@ -0,0 +1,46 @@
+package com.microservice.libros.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// ============================================================
+//  Réplicas de lectura (libros.datasource.routing.*)
+//  La primaria sigue siendo spring.datasource.*
+// ============================================================
+@Data
+@ConfigurationProperties(prefix = "libros.datasource.routing")
+public class ReplicaRoutingProperties {
+
+    // Activa el ruteo de transacciones readOnly a las réplicas
+    private boolean enabled = false;
+
+    // Réplicas; usuario y clave por defecto los de la primaria
+    private List<Replica> replicas = new ArrayList<>();
+
+    // Retraso máximo tolerado; también es la ventana de read-your-writes
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    // Cada cuánto se escribe el latido y se sondean las réplicas
+    private long healthCheckIntervalMs = 2000;
+
+    // Medir el retraso con la tabla de latido (false: solo salud)
+    private boolean heartbeat = true;
+
+    // Conexiones por réplica (la primaria usa spring.datasource.hikari.*)
+    private int replicaPoolSize = 10;
+
+    // Identificación del cliente para read-your-writes
+    private String apiKeyHeader = "X-API-Key";
+    private long maxClients = 100_000;
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,16 @@
+package com.microservice.libros.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// ============================================================
+//  Habilita el volcado periódico del stock en modo write-behind
+// ============================================================
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(StockWriteBehindProperties.class)
+@ConditionalOnProperty(prefix = "libros.stock.write-behind", name = "enabled", havingValue = "true")
+public class StockWriteBehindConfig {
+}
@@ -0,0 +1,34 @@
+package com.microservice.libros.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// ============================================================
+//  Modo write-behind del stock (libros.stock.write-behind.*)
+//  Se activa por despliegue desde msvc-libros.yml
+// ============================================================
+@Data
+@ConfigurationProperties(prefix = "libros.stock.write-behind")
+public class StockWriteBehindProperties {
+
+    // Activa la acumulación en memoria de los deltas de stock. Solo cubre
+    // reposiciones (release y adjust > 0); reserve y los ajustes negativos
+    // siguen yendo síncronos contra MySQL.
+    private boolean enabled = false;
+
+    // Ventana máxima de obsolescencia: cada cuánto se vuelcan los deltas
+    private long flushIntervalMs = 500;
+
+    // Identificador estable y único de la instancia (clave del checkpoint
+    // del journal). Obligatorio: con la ruta del journal como clave, dos
+    // instancias con la misma configuración compartían checkpoint.
+    private String instanceId;
+
+    // Directorio del journal de deltas (uno por instancia)
+    private String journalDir = "./data/stock-journal";
+
+    // Cada delta confirmado al cliente está en disco (fsync de grupo, ver
+    // StockJournal). Con false sobrevive a la caída del proceso pero no a la
+    // del SO o de la máquina: se pierden los deltas aún en el page cache.
+    private boolean journalFsync = true;
+}
@@ -0,0 +1,41 @@
+package com.microservice.libros.config;
+
+import com.microservice.tracing.TailSamplingSpanExporter;
+import com.microservice.tracing.TracingProperties;
+
+import org.springframework.boot.actuate.autoconfigure.tracing.ConditionalOnEnabledTracing;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// ============================================================
+//  Trazas distribuidas (Micrometer Tracing + OpenTelemetry)
+//
+//  El contexto llega del gateway en el header traceparent (W3C).
+//  Spans de libros, todos hijos del de la petición HTTP:
+//    - http get /api/v1/libros/{id}   (servidor, automático)
+//    - libros.controller              @Observed en controladores
+//    - libros.service / libros.hateoas @Observed en servicios y assembler
+//    - connection / query             cada sentencia SQL y la espera
+//                                      de conexión (datasource-micrometer)
+//
+//  Boot registra este SpanExporter en su BatchSpanProcessor; el
+//  muestreo por cola (microservice-tracing, compartido con el
+//  gateway) decide qué trazas llegan al archivo.
+//  Los tests @SpringBootTest desactivan el tracing y este bean.
+// ============================================================
+@Configuration
+@ConditionalOnEnabledTracing
+public class TracingConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "libros.tracing")
+    public TracingProperties tracingProperties() {
+        return new TracingProperties("./data/traces/libros-spans.jsonl");
+    }
+
+    @Bean
+    public TailSamplingSpanExporter tailSamplingSpanExporter(TracingProperties properties) {
+        return properties.crearExporter();
+    }
+}
@@ -0,0 +1,35 @@
+package com.microservice.libros.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+// ============================================================
+//  spring.threads.virtual.enabled=true solo tiene efecto en un JRE
+//  21+: en 17 Spring Boot lo ignora sin avisar. Se deja constancia
+//  en el log del modo con el que realmente arrancó el servicio.
+// ============================================================
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadsConfig.class);
+
+    static final int JRE_MINIMO = 21;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void informarModo() {
+
+        int jre = Runtime.version().feature();
+
+        if (jre < JRE_MINIMO) {
+            log.warn("spring.threads.virtual.enabled=true ignorado: el JRE es {} (se requiere {}+); "
+                    + "las peticiones usan el pool de hilos de plataforma", jre, JRE_MINIMO);
+        } else {
+            log.info("Peticiones y tareas async en hilos virtuales (JRE {})", jre);
+        }
+    }
+}
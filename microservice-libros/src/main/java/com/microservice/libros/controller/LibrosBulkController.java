@@ -0,0 +1,110 @@
+package com.microservice.libros.controller;
+
+import com.microservice.libros.config.MetricsConfig;
+import com.microservice.libros.dto.ApiResponse;
+import com.microservice.libros.dto.BulkItemResult;
+import com.microservice.libros.model.Libros;
+import com.microservice.libros.service.LibrosBulkService;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import io.micrometer.observation.annotation.Observed;
+import io.swagger.v3.oas.annotations.Operation;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/libros/bulk")
+@Observed(name = MetricsConfig.CONTROLLER_TIMER)
+public class LibrosBulkController {
+
+    private final LibrosBulkService librosBulkService;
+
+    public LibrosBulkController(LibrosBulkService librosBulkService) {
+        this.librosBulkService = librosBulkService;
+    }
+
+    // ============================================================
+    // BULK CREATE
+    // ============================================================
+    @Operation(summary = "Crear libros en lote (resultado por elemento)")
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Lote procesado")
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Lote vacío o demasiado grande")
+    @PostMapping
+    public ResponseEntity<ApiResponse<List<BulkItemResult>>> createLibros(@RequestBody List<Libros> libros) {
+
+        ResponseEntity<ApiResponse<List<BulkItemResult>>> invalido = validarTamano(libros);
+        if (invalido != null) {
+            return invalido;
+        }
+
+        return respuesta(librosBulkService.createLibros(libros));
+    }
+
+    // ============================================================
+    // BULK UPDATE
+    // ============================================================
+    @Operation(summary = "Actualizar libros en lote (cada elemento con id)")
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Lote procesado")
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Lote vacío o demasiado grande")
+    @PutMapping
+    public ResponseEntity<ApiResponse<List<BulkItemResult>>> updateLibros(@RequestBody List<Libros> libros) {
+
+        ResponseEntity<ApiResponse<List<BulkItemResult>>> invalido = validarTamano(libros);
+        if (invalido != null) {
+            return invalido;
+        }
+
+        return respuesta(librosBulkService.updateLibros(libros));
+    }
+
+    // ============================================================
+    // BULK DELETE (body = lista de ids)
+    // ============================================================
+    @Operation(summary = "Eliminar libros en lote")
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Lote procesado")
+    @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Lote vacío o demasiado grande")
+    @DeleteMapping
+    public ResponseEntity<ApiResponse<List<BulkItemResult>>> deleteLibros(@RequestBody List<Integer> ids) {
+
+        ResponseEntity<ApiResponse<List<BulkItemResult>>> invalido = validarTamano(ids);
+        if (invalido != null) {
+            return invalido;
+        }
+
+        return respuesta(librosBulkService.deleteLibros(ids));
+    }
+
+    private static ResponseEntity<ApiResponse<List<BulkItemResult>>> validarTamano(List<?> elementos) {
+
+        if (elementos == null || elementos.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(false, 400, "El lote está vacío", null, 0L));
+        }
+
+        if (elementos.size() > LibrosBulkService.MAX_BULK_ITEMS) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(false, 400,
+                            "El lote supera el máximo de " + LibrosBulkService.MAX_BULK_ITEMS + " elementos",
+                            null, (long) elementos.size()));
+        }
+
+        return null;
+    }
+
+    private static ResponseEntity<ApiResponse<List<BulkItemResult>>> respuesta(List<BulkItemResult> resultados) {
+
+        long exitosos = resultados.stream().filter(BulkItemResult::exitoso).count();
+        long fallidos = resultados.size() - exitosos;
+
+        return ResponseEntity.ok(new ApiResponse<>(
+                fallidos == 0,
+                200,
+                exitosos + " procesados correctamente, " + fallidos + " con error",
+                resultados,
+                (long) resultados.size()
+        ));
+    }
+}
@@ -1,17 +1,27 @@
 package com.microservice.libros.controller;
 
+import com.microservice.libros.assembler.LibrosModelAssembler;
+import com.microservice.libros.config.MetricsConfig;
+import com.microservice.libros.dto.LibroResumen;
+import com.microservice.libros.dto.LibroVersion;
 import com.microservice.libros.model.Libros;
 import com.microservice.libros.service.LibrosService;
 
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.CollectionModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import io.micrometer.observation.annotation.Observed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 
+import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,38 +30,178 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
 @SuppressWarnings("null")
 @RestController
 @RequestMapping("/api/v1/libros")
+@Observed(name = MetricsConfig.CONTROLLER_TIMER)
 public class LibrosController {
 
     private final LibrosService librosService;
+    private final LibrosModelAssembler librosModelAssembler;
 
-    public LibrosController(LibrosService librosService) {
+    public LibrosController(LibrosService librosService, LibrosModelAssembler librosModelAssembler) {
         this.librosService = librosService;
+        this.librosModelAssembler = librosModelAssembler;
     }
 
     // ============================================================
-    // GET ALL
+    // GET ALL (paginado keyset: ?after={ultimoId}&size={n})
     // ============================================================
-    @Operation(summary = "Obtener todos los libros")
-    @ApiResponse(responseCode = "200", description = "Lista obtenida correctamente")
+    @Operation(summary = "Obtener libros paginados por ID (keyset)")
+    @ApiResponse(responseCode = "200", description = "Página obtenida correctamente")
+    @ApiResponse(responseCode = "304", description = "La página no cambió (If-None-Match / If-Modified-Since)")
     @GetMapping
-    public ResponseEntity<CollectionModel<EntityModel<Libros>>> getAllLibros() {
-
-        List<EntityModel<Libros>> lista = librosService.getAllLibros()
-                .stream()
-                .map(libro -> EntityModel.of(
-                        libro,
-                        linkTo(methodOn(LibrosController.class).getLibroById(libro.getId())).withSelfRel(),
-                        linkTo(methodOn(LibrosController.class).deleteLibro(libro.getId())).withRel("delete"),
-                        linkTo(methodOn(LibrosController.class).updateLibro(libro.getId(), libro)).withRel("update")
-                ))
-                .toList();
-
-        return ResponseEntity.ok(
-                CollectionModel.of(
-                        lista,
-                        linkTo(methodOn(LibrosController.class).getAllLibros()).withSelfRel()
-                )
-        );
+    public ResponseEntity<CollectionModel<EntityModel<Libros>>> getAllLibros(
+            @RequestParam(required = false) Integer after,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+
+        int pageSize = LibrosService.normalizePageSize(size);
+
+        // GET condicional: se compara contra las versiones de la página
+        // y los borrados en su rango de ids
+        if (esCondicional(request)) {
+            List<LibroVersion> versiones = librosService.getVersionPage(after, pageSize);
+            Instant borrado = ultimoBorrado(after, pageSize, versiones);
+            Instant modificado = LibroVersion.ultimaModificacion(versiones, borrado);
+
+            if (request.checkNotModified(LibroVersion.etag(versiones, borrado),
+                    modificado != null ? modificado.toEpochMilli() : -1)) {
+                return null;
+            }
+        }
+
+        List<Libros> pagina = librosService.getLibrosPage(after, pageSize);
+
+        CollectionModel<EntityModel<Libros>> model = librosModelAssembler.toCollectionModel(pagina)
+                .add(linkTo(methodOn(LibrosController.class).getAllLibros(after, pageSize, null)).withSelfRel());
+
+        // Página completa → puede haber más resultados después del último id
+        if (pagina.size() == pageSize) {
+            Integer ultimoId = pagina.get(pagina.size() - 1).getId();
+            model.add(linkTo(methodOn(LibrosController.class).getAllLibros(ultimoId, pageSize, null)).withRel("next"));
+        }
+
+        List<LibroVersion> versiones = pagina.stream().map(LibroVersion::de).toList();
+        Instant borrado = ultimoBorrado(after, pageSize, versiones);
+
+        return conValidadores(LibroVersion.etag(versiones, borrado), LibroVersion.ultimaModificacion(versiones, borrado))
+                .body(model);
+    }
+
+    // ============================================================
+    // GET ALL — vista resumida (?view=summary): id, titulo, autor,
+    // precio y disponible, sin links por fila (los links de página
+    // heredan view=summary de la condición del mapping)
+    // ============================================================
+    @Operation(summary = "Obtener libros paginados en vista resumida (keyset)")
+    @ApiResponse(responseCode = "200", description = "Página obtenida correctamente")
+    @GetMapping(params = "view=summary")
+    public ResponseEntity<CollectionModel<LibroResumen>> getResumenLibros(
+            @RequestParam(required = false) Integer after,
+            @RequestParam(required = false) Integer size) {
+
+        int pageSize = LibrosService.normalizePageSize(size);
+
+        List<LibroResumen> pagina = librosService.getResumenPage(after, pageSize);
+
+        CollectionModel<LibroResumen> model = CollectionModel.of(pagina)
+                .add(linkTo(methodOn(LibrosController.class).getResumenLibros(after, pageSize)).withSelfRel());
+
+        if (pagina.size() == pageSize) {
+            Integer ultimoId = pagina.get(pagina.size() - 1).id();
+            model.add(linkTo(methodOn(LibrosController.class).getResumenLibros(ultimoId, pageSize)).withRel("next"));
+        }
+
+        return ResponseEntity.ok(model);
+    }
+
+    // ============================================================
+    // FILTRO POR AUTOR (keyset: ?after={ultimoId}&size={n})
+    // ============================================================
+    @Operation(summary = "Obtener libros de un autor (keyset)")
+    @ApiResponse(responseCode = "200", description = "Página obtenida correctamente")
+    @GetMapping("/autor/{autor}")
+    public ResponseEntity<CollectionModel<EntityModel<Libros>>> getLibrosPorAutor(
+            @PathVariable String autor,
+            @RequestParam(required = false) Integer after,
+            @RequestParam(required = false) Integer size) {
+
+        int pageSize = LibrosService.normalizePageSize(size);
+
+        List<Libros> pagina = librosService.getLibrosPorAutor(autor, after, pageSize);
+
+        CollectionModel<EntityModel<Libros>> model = librosModelAssembler.toCollectionModel(pagina)
+                .add(linkTo(methodOn(LibrosController.class).getLibrosPorAutor(autor, after, pageSize)).withSelfRel());
+
+        if (pagina.size() == pageSize) {
+            Integer ultimoId = pagina.get(pagina.size() - 1).getId();
+            model.add(linkTo(methodOn(LibrosController.class).getLibrosPorAutor(autor, ultimoId, pageSize)).withRel("next"));
+        }
+
+        return ResponseEntity.ok(model);
+    }
+
+    // ============================================================
+    // FILTRO POR CATEGORÍA + DISPONIBILIDAD (keyset)
+    // ============================================================
+    @Operation(summary = "Obtener libros de una categoría por disponibilidad (keyset)")
+    @ApiResponse(responseCode = "200", description = "Página obtenida correctamente")
+    @GetMapping("/categoria/{categoria}")
+    public ResponseEntity<CollectionModel<EntityModel<Libros>>> getLibrosPorCategoria(
+            @PathVariable String categoria,
+            @RequestParam(defaultValue = "true") boolean disponible,
+            @RequestParam(required = false) Integer after,
+            @RequestParam(required = false) Integer size) {
+
+        int pageSize = LibrosService.normalizePageSize(size);
+
+        List<Libros> pagina = librosService.getLibrosPorCategoria(categoria, disponible, after, pageSize);
+
+        CollectionModel<EntityModel<Libros>> model = librosModelAssembler.toCollectionModel(pagina)
+                .add(linkTo(methodOn(LibrosController.class)
+                        .getLibrosPorCategoria(categoria, disponible, after, pageSize)).withSelfRel());
+
+        if (pagina.size() == pageSize) {
+            Integer ultimoId = pagina.get(pagina.size() - 1).getId();
+            model.add(linkTo(methodOn(LibrosController.class)
+                    .getLibrosPorCategoria(categoria, disponible, ultimoId, pageSize)).withRel("next"));
+        }
+
+        return ResponseEntity.ok(model);
+    }
+
+    // ============================================================
+    // FILTRO POR RANGO DE PRECIO (orden por precio; cursor =
+    // ?afterPrecio={precio}&after={id} del último libro)
+    // ============================================================
+    @Operation(summary = "Obtener libros en un rango de precio (keyset por precio e id)")
+    @ApiResponse(responseCode = "200", description = "Página obtenida correctamente")
+    @ApiResponse(responseCode = "400", description = "Rango inválido")
+    @GetMapping("/precio")
+    public ResponseEntity<?> getLibrosPorPrecio(
+            @RequestParam BigDecimal min,
+            @RequestParam BigDecimal max,
+            @RequestParam(required = false) BigDecimal afterPrecio,
+            @RequestParam(required = false) Integer after,
+            @RequestParam(required = false) Integer size) {
+
+        if (min.compareTo(max) > 0) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("min no puede ser mayor que max");
+        }
+
+        int pageSize = LibrosService.normalizePageSize(size);
+
+        List<Libros> pagina = librosService.getLibrosPorPrecio(min, max, afterPrecio, after, pageSize);
+
+        CollectionModel<EntityModel<Libros>> model = librosModelAssembler.toCollectionModel(pagina)
+                .add(linkTo(methodOn(LibrosController.class)
+                        .getLibrosPorPrecio(min, max, afterPrecio, after, pageSize)).withSelfRel());
+
+        if (pagina.size() == pageSize) {
+            Libros ultimo = pagina.get(pagina.size() - 1);
+            model.add(linkTo(methodOn(LibrosController.class)
+                    .getLibrosPorPrecio(min, max, ultimo.getPrecio(), ultimo.getId(), pageSize)).withRel("next"));
+        }
+
+        return ResponseEntity.ok(model);
     }
 
     // ============================================================
@@ -59,9 +209,20 @@ public class LibrosController {
     // ============================================================
     @Operation(summary = "Obtener un libro por ID")
     @ApiResponse(responseCode = "200", description = "Libro encontrado")
+    @ApiResponse(responseCode = "304", description = "El libro no cambió (If-None-Match / If-Modified-Since)")
     @ApiResponse(responseCode = "404", description = "Libro no encontrado")
     @GetMapping("/{id}")
-    public ResponseEntity<?> getLibroById(@PathVariable Integer id) {
+    public ResponseEntity<?> getLibroById(@PathVariable Integer id, WebRequest request) {
+
+        // GET condicional: 304 con una consulta de solo versión
+        if (esCondicional(request)) {
+            Optional<LibroVersion> version = librosService.getVersion(id);
+
+            if (version.isPresent()
+                    && request.checkNotModified(version.get().etag(), version.get().ultimaModificacion())) {
+                return null;
+            }
+        }
 
         Optional<Libros> libroOpt = librosService.getLibroById(id);
 
@@ -69,16 +230,10 @@ public class LibrosController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Libro no encontrado");
         }
 
-        Libros libro = libroOpt.get();
-
-        EntityModel<Libros> model = EntityModel.of(
-                libro,
-                linkTo(methodOn(LibrosController.class).getLibroById(id)).withSelfRel(),
-                linkTo(methodOn(LibrosController.class).deleteLibro(id)).withRel("delete"),
-                linkTo(methodOn(LibrosController.class).updateLibro(id, libro)).withRel("update")
-        );
+        LibroVersion version = LibroVersion.de(libroOpt.get());
 
-        return ResponseEntity.ok(model);
+        return conValidadores(version.etag(), version.actualizadoEn())
+                .body(librosModelAssembler.toModel(libroOpt.get()));
     }
 
     // ============================================================
@@ -93,8 +248,8 @@ public class LibrosController {
 
         EntityModel<Libros> model = EntityModel.of(
                 creado,
-                linkTo(methodOn(LibrosController.class).getLibroById(creado.getId())).withSelfRel(),
-                linkTo(methodOn(LibrosController.class).getAllLibros()).withRel("all")
+                linkTo(methodOn(LibrosController.class).getLibroById(creado.getId(), null)).withSelfRel(),
+                linkTo(methodOn(LibrosController.class).getAllLibros(null, null, null)).withRel("all")
         );
 
         return ResponseEntity.status(HttpStatus.CREATED).body(model);
@@ -106,22 +261,22 @@ public class LibrosController {
     @Operation(summary = "Actualizar un libro completo")
     @ApiResponse(responseCode = "200", description = "Libro actualizado")
     @ApiResponse(responseCode = "404", description = "Libro no encontrado")
+    @ApiResponse(responseCode = "412", description = "If-Match no coincide con la versión actual")
     @PutMapping("/{id}")
-    public ResponseEntity<?> updateLibro(@PathVariable Integer id, @RequestBody Libros libroRequest) {
-
-        Libros updated = librosService.updateLibro(id, libroRequest);
+    public ResponseEntity<?> updateLibro(@PathVariable Integer id, @RequestBody Libros libroRequest,
+                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
-        if (updated == null) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Libro no encontrado");
-        }
+        Libros updated = librosService.updateLibro(id, libroRequest, LibroVersion.versionExigida(ifMatch, id));
 
         EntityModel<Libros> model = EntityModel.of(
                 updated,
-                linkTo(methodOn(LibrosController.class).getLibroById(id)).withSelfRel(),
-                linkTo(methodOn(LibrosController.class).getAllLibros()).withRel("all")
+                linkTo(methodOn(LibrosController.class).getLibroById(id, null)).withSelfRel(),
+                linkTo(methodOn(LibrosController.class).getAllLibros(null, null, null)).withRel("all")
         );
 
-        return ResponseEntity.ok(model);
+        LibroVersion version = LibroVersion.de(updated);
+
+        return conValidadores(version.etag(), version.actualizadoEn()).body(model);
     }
 
     // ============================================================
@@ -131,23 +286,23 @@ public class LibrosController {
     @ApiResponse(responseCode = "200", description = "Stock actualizado")
     @ApiResponse(responseCode = "400", description = "Campo faltante")
     @ApiResponse(responseCode = "404", description = "Libro no encontrado")
+    @ApiResponse(responseCode = "412", description = "If-Match no coincide con la versión actual")
     @PatchMapping("/{id}/stock")
-    public ResponseEntity<?> updateStock(@PathVariable Integer id, @RequestBody Libros body) {
+    public ResponseEntity<?> updateStock(@PathVariable Integer id, @RequestBody Libros body,
+                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
         if (body.getStock() == null) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Falta el campo 'stock'");
         }
 
-        Libros updated = librosService.updateStock(id, body.getStock());
+        Libros updated = librosService.updateStock(id, body.getStock(), LibroVersion.versionExigida(ifMatch, id));
 
-        if (updated == null) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Libro no encontrado");
-        }
+        LibroVersion version = LibroVersion.de(updated);
 
-        return ResponseEntity.ok(
+        return conValidadores(version.etag(), version.actualizadoEn()).body(
                 EntityModel.of(
                         updated,
-                        linkTo(methodOn(LibrosController.class).getLibroById(id)).withSelfRel()
+                        linkTo(methodOn(LibrosController.class).getLibroById(id, null)).withSelfRel()
                 )
         );
     }
@@ -165,4 +320,42 @@ public class LibrosController {
                 .map(l -> ResponseEntity.ok("Libro eliminado correctamente"))
                 .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).body("Libro no encontrado"));
     }
+
+    // ============================================================
+    // Errores: libro inexistente → 404; conflicto de versión (If-Match
+    // distinto, o escritura concurrente detectada por @Version) → 412
+    // ============================================================
+    @ExceptionHandler(LibrosService.LibroNotFoundException.class)
+    public ResponseEntity<String> handleNotFound(LibrosService.LibroNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Libro no encontrado");
+    }
+
+    @ExceptionHandler({LibrosService.VersionConflictException.class, ObjectOptimisticLockingFailureException.class})
+    public ResponseEntity<String> handleVersionConflict(RuntimeException e) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .body("El libro fue modificado por otra petición; vuelva a leerlo e intente de nuevo");
+    }
+
+    // ============================================================
+    // Validadores HTTP (ETag / Last-Modified)
+    // ============================================================
+    // Borrado más reciente que afecta a la página: hasta su último id
+    // si está completa, sin tope si es la última
+    private Instant ultimoBorrado(Integer after, int pageSize, List<LibroVersion> versiones) {
+        Integer hasta = versiones.size() == pageSize ? versiones.get(versiones.size() - 1).id() : null;
+        return librosService.getUltimoBorrado(after, hasta);
+    }
+
+    private static boolean esCondicional(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    private static ResponseEntity.BodyBuilder conValidadores(String etag, Instant modificado) {
+
+        // El ETag es el mismo en JSON, CBOR y Smile: las cachés separan por Accept
+        ResponseEntity.BodyBuilder ok = ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT);
+
+        return modificado != null ? ok.lastModified(modificado) : ok;
+    }
 }
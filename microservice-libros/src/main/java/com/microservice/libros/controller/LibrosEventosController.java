@@ -0,0 +1,103 @@
+package com.microservice.libros.controller;
+
+import com.microservice.libros.config.MetricsConfig;
+import com.microservice.libros.dto.EventoCatalogo;
+import com.microservice.libros.outbox.SseOutboxSink;
+import com.microservice.libros.service.LibrosEventosService;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.micrometer.observation.annotation.Observed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+
+import java.time.Duration;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/libros/eventos")
+@Observed(name = MetricsConfig.CONTROLLER_TIMER)
+@ConditionalOnProperty(prefix = "libros.outbox", name = "enabled", havingValue = "true")
+public class LibrosEventosController {
+
+    // Una página completa ya no cambia: sus posiciones son definitivas
+    static final Duration PAGINA_COMPLETA_MAX_AGE = Duration.ofHours(1);
+
+    private final LibrosEventosService librosEventosService;
+    private final SseOutboxSink sseOutboxSink;
+
+    public LibrosEventosController(LibrosEventosService librosEventosService, SseOutboxSink sseOutboxSink) {
+        this.librosEventosService = librosEventosService;
+        this.sseOutboxSink = sseOutboxSink;
+    }
+
+    // ============================================================
+    // GET — eventos posteriores a una posición (polling incremental)
+    // El consumidor guarda la última posición y vuelve con ?after=
+    // ============================================================
+    @Operation(summary = "Listar cambios del catálogo posteriores a una posición")
+    @ApiResponse(responseCode = "200", description = "Eventos en orden de posición (vacío = al día)")
+    @ApiResponse(responseCode = "400", description = "Posición negativa")
+    @ApiResponse(responseCode = "410", description = "La posición ya no está retenida: resincronizar con /export")
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> getEventos(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(required = false) Integer size) {
+
+        if (after < 0) {
+            return ResponseEntity.badRequest().body("El parámetro 'after' no puede ser negativo");
+        }
+
+        List<EventoCatalogo> eventos = librosEventosService.getEventos(after, size);
+
+        // La cola del flujo sigue creciendo: sin caché en el gateway
+        CacheControl cacheControl = eventos.size() == LibrosEventosService.normalizePageSize(size)
+                ? CacheControl.maxAge(PAGINA_COMPLETA_MAX_AGE)
+                : CacheControl.noStore();
+
+        return ResponseEntity.ok().cacheControl(cacheControl).body(eventos);
+    }
+
+    // ============================================================
+    // STREAM — Server-Sent Events (id = posición). Al reconectar el
+    // navegador envía Last-Event-ID y el flujo sigue desde ahí.
+    // ============================================================
+    @Operation(summary = "Suscribirse a los cambios del catálogo por Server-Sent Events")
+    @ApiResponse(responseCode = "200", description = "Flujo text/event-stream, un evento por cambio")
+    @ApiResponse(responseCode = "400", description = "Posición negativa")
+    @ApiResponse(responseCode = "410", description = "La posición ya no está retenida: resincronizar con /export")
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @RequestParam(required = false) Long after) {
+
+        long desde = lastEventId != null ? lastEventId : after != null ? after : 0;
+
+        if (desde < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        // Falla aquí (410) y no dentro del flujo si la posición ya se purgó
+        librosEventosService.getEventos(desde, 1);
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(sseOutboxSink.suscribir(desde));
+    }
+
+    @ExceptionHandler(LibrosEventosService.PosicionExpiradaException.class)
+    public ResponseEntity<String> handlePosicionExpirada(LibrosEventosService.PosicionExpiradaException e) {
+        return ResponseEntity.status(HttpStatus.GONE).body(e.getMessage());
+    }
+}
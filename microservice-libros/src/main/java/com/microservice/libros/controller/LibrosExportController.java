@@ -0,0 +1,42 @@
+package com.microservice.libros.controller;
+
+import com.microservice.libros.config.MetricsConfig;
+import com.microservice.libros.service.LibrosExportService;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import io.micrometer.observation.annotation.Observed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+
+@RestController
+@RequestMapping("/api/v1/libros")
+@Observed(name = MetricsConfig.CONTROLLER_TIMER)
+public class LibrosExportController {
+
+    private final LibrosExportService librosExportService;
+
+    public LibrosExportController(LibrosExportService librosExportService) {
+        this.librosExportService = librosExportService;
+    }
+
+    // ============================================================
+    // EXPORT — catálogo completo en NDJSON (streaming)
+    // ============================================================
+    @Operation(summary = "Exportar todo el catálogo como NDJSON en streaming")
+    @ApiResponse(responseCode = "200", description = "Un libro JSON por línea")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportLibros() {
+
+        StreamingResponseBody body = librosExportService::exportNdjson;
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+}
@@ -0,0 +1,74 @@
+package com.microservice.libros.controller;
+
+import com.microservice.libros.config.MetricsConfig;
+import com.microservice.libros.dto.ConsultaBusqueda;
+import com.microservice.libros.dto.ResultadoBusqueda;
+import com.microservice.libros.service.LibrosSearchService;
+import com.microservice.libros.service.LibrosService;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.micrometer.observation.annotation.Observed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/v1/libros")
+@Observed(name = MetricsConfig.CONTROLLER_TIMER)
+public class LibrosSearchController {
+
+    private final LibrosSearchService librosSearchService;
+
+    public LibrosSearchController(LibrosSearchService librosSearchService) {
+        this.librosSearchService = librosSearchService;
+    }
+
+    // ============================================================
+    // SEARCH — texto (prefijo/difuso), facetas y rangos
+    // ============================================================
+    @Operation(summary = "Buscar libros por título/autor con facetas y filtros")
+    @ApiResponse(responseCode = "200", description = "Resultados ordenados por relevancia y conteos por faceta")
+    @ApiResponse(responseCode = "400", description = "Rango inválido")
+    @ApiResponse(responseCode = "503", description = "El índice aún se está construyendo")
+    @GetMapping("/search")
+    public ResponseEntity<?> buscar(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "false") boolean fuzzy,
+            @RequestParam(required = false) String categoria,
+            @RequestParam(required = false) String idioma,
+            @RequestParam(required = false) Boolean disponible,
+            @RequestParam(required = false) BigDecimal precioMin,
+            @RequestParam(required = false) BigDecimal precioMax,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(required = false) Integer limit) {
+
+        if (!librosSearchService.listo()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("El índice de búsqueda se está construyendo");
+        }
+
+        if (precioMin != null && precioMax != null && precioMin.compareTo(precioMax) > 0) {
+            return ResponseEntity.badRequest().body("precioMin no puede ser mayor que precioMax");
+        }
+
+        if (desde != null && hasta != null && desde.isAfter(hasta)) {
+            return ResponseEntity.badRequest().body("desde no puede ser posterior a hasta");
+        }
+
+        ConsultaBusqueda consulta = new ConsultaBusqueda(q, fuzzy, categoria, idioma, disponible,
+                precioMin, precioMax, desde, hasta, LibrosService.normalizePageSize(limit));
+
+        ResultadoBusqueda resultado = librosSearchService.buscar(consulta);
+
+        return ResponseEntity.ok(resultado);
+    }
+}
@@ -0,0 +1,93 @@
+package com.microservice.libros.controller;
+
+import com.microservice.libros.config.MetricsConfig;
+import com.microservice.libros.dto.StockAjusteRequest;
+import com.microservice.libros.dto.StockRequest;
+import com.microservice.libros.dto.StockResponse;
+import com.microservice.libros.service.LibrosStockService;
+import com.microservice.libros.service.LibrosStockService.ResultadoStock;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import io.micrometer.observation.annotation.Observed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+
+@RestController
+@RequestMapping("/api/v1/libros/{id}/stock")
+@Observed(name = MetricsConfig.CONTROLLER_TIMER)
+public class LibrosStockController {
+
+    private final LibrosStockService librosStockService;
+
+    public LibrosStockController(LibrosStockService librosStockService) {
+        this.librosStockService = librosStockService;
+    }
+
+    // ============================================================
+    // RESERVE — descontar stock (checkout)
+    // ============================================================
+    @Operation(summary = "Reservar stock de un libro de forma atómica")
+    @ApiResponse(responseCode = "200", description = "Stock reservado")
+    @ApiResponse(responseCode = "400", description = "Cantidad inválida")
+    @ApiResponse(responseCode = "404", description = "Libro no encontrado")
+    @ApiResponse(responseCode = "409", description = "Stock insuficiente")
+    @PostMapping("/reserve")
+    public ResponseEntity<?> reservarStock(@PathVariable Integer id, @RequestBody StockRequest body) {
+
+        if (body.cantidad() == null || body.cantidad() <= 0) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("El campo 'cantidad' debe ser mayor que 0");
+        }
+
+        return respuesta(id, body.cantidad(), librosStockService.reservarStock(id, body.cantidad()));
+    }
+
+    // ============================================================
+    // RELEASE — devolver stock reservado
+    // ============================================================
+    @Operation(summary = "Liberar stock de un libro de forma atómica")
+    @ApiResponse(responseCode = "200", description = "Stock liberado")
+    @ApiResponse(responseCode = "400", description = "Cantidad inválida")
+    @ApiResponse(responseCode = "404", description = "Libro no encontrado")
+    @PostMapping("/release")
+    public ResponseEntity<?> liberarStock(@PathVariable Integer id, @RequestBody StockRequest body) {
+
+        if (body.cantidad() == null || body.cantidad() <= 0) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("El campo 'cantidad' debe ser mayor que 0");
+        }
+
+        return respuesta(id, body.cantidad(), librosStockService.liberarStock(id, body.cantidad()));
+    }
+
+    // ============================================================
+    // ADJUST — delta relativo (+/-); 202 si queda en write-behind
+    // ============================================================
+    @Operation(summary = "Ajustar el stock de un libro con un delta relativo")
+    @ApiResponse(responseCode = "200", description = "Stock ajustado")
+    @ApiResponse(responseCode = "202", description = "Delta aceptado (modo write-behind)")
+    @ApiResponse(responseCode = "400", description = "Delta inválido")
+    @ApiResponse(responseCode = "404", description = "Libro no encontrado")
+    @PostMapping("/adjust")
+    public ResponseEntity<?> ajustarStock(@PathVariable Integer id, @RequestBody StockAjusteRequest body) {
+
+        if (body.delta() == null || body.delta() == 0) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("El campo 'delta' es obligatorio y distinto de 0");
+        }
+
+        return respuesta(id, body.delta(), librosStockService.ajustarStock(id, body.delta()));
+    }
+
+    private static ResponseEntity<StockResponse> respuesta(Integer id, int cantidad, ResultadoStock resultado) {
+
+        HttpStatus status = switch (resultado) {
+            case RESERVADO, LIBERADO, AJUSTADO -> HttpStatus.OK;
+            case ENCOLADO -> HttpStatus.ACCEPTED;
+            case SIN_STOCK -> HttpStatus.CONFLICT;
+            case NO_ENCONTRADO -> HttpStatus.NOT_FOUND;
+        };
+
+        return ResponseEntity.status(status).body(new StockResponse(id, cantidad, resultado));
+    }
+}
@@ -0,0 +1,186 @@
+package com.microservice.libros.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Duration;
+import java.util.Set;
+
+// ============================================================
+//  Read-your-writes: tras una escritura, las lecturas del mismo
+//  cliente van a la primaria durante la ventana (= max-lag). Pasada
+//  la ventana cualquier réplica disponible ya tiene esa escritura,
+//  porque las que superan max-lag no reciben lecturas.
+//
+//  El cliente se reconoce de dos formas:
+//   - API key (o IP de origen), en memoria de esta instancia
+//   - cookie LIBROS_RYW con el instante de la escritura, que vale
+//     para cualquier instancia de libros detrás del gateway
+//
+//  La ventana corre desde que la escritura terminó (commit), no desde
+//  que llegó: una escritura lenta consumiría la ventana antes de que
+//  el dato exista. La entrada en memoria se marca al entrar (lecturas
+//  concurrentes del mismo cliente) y se renueva al salir; la cookie
+//  se emite cuando la respuesta empieza a escribirse, después del
+//  commit, o al final si no tiene cuerpo.
+// ============================================================
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String COOKIE = "LIBROS_RYW";
+
+    private static final long DESFASE_MS = 1000;
+
+    private static final Set<String> LECTURAS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final long ventanaMs;
+    private final String apiKeyHeader;
+    private final Cache<String, Long> escrituras;
+
+    public ReadYourWritesFilter(Duration ventana, String apiKeyHeader, long maxClientes) {
+        this.ventanaMs = ventana.toMillis();
+        this.apiKeyHeader = apiKeyHeader;
+        this.escrituras = Caffeine.newBuilder()
+                .expireAfterWrite(ventana)
+                .maximumSize(maxClientes)
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        long ahora = System.currentTimeMillis();
+        String cliente = cliente(request);
+        boolean escritura = !LECTURAS.contains(request.getMethod());
+
+        if (!escritura && escrituras.getIfPresent(cliente) == null && !cookieVigente(request, ahora)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        CookieAlResponder respuesta = null;
+        if (escritura) {
+            escrituras.put(cliente, ahora);
+            respuesta = new CookieAlResponder(response);
+        }
+
+        Boolean previo = RoutingContext.forzarPrimaria();
+        try {
+            chain.doFilter(request, respuesta != null ? respuesta : response);
+        } finally {
+            RoutingContext.restaurar(previo);
+            if (escritura) {
+                escrituras.put(cliente, System.currentTimeMillis());
+                respuesta.emitirCookie();
+            }
+        }
+    }
+
+    private String cliente(HttpServletRequest request) {
+        String apiKey = request.getHeader(apiKeyHeader);
+        if (apiKey != null && !apiKey.isBlank()) {
+            return "key:" + apiKey;
+        }
+        String forwarded = request.getHeader("X-Forwarded-For");
+        if (forwarded != null && !forwarded.isBlank()) {
+            int coma = forwarded.indexOf(',');
+            return "ip:" + (coma < 0 ? forwarded : forwarded.substring(0, coma)).trim();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private Cookie cookie(long instante) {
+        Cookie cookie = new Cookie(COOKIE, Long.toString(instante));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) Math.max(1, (ventanaMs + 999) / 1000));
+        return cookie;
+    }
+
+    // ============================================================
+    //  Agrega la cookie justo antes de que la respuesta pueda quedar
+    //  enviada: al pedir el cuerpo o al cortar con error/redirección.
+    //  Para entonces el servicio ya devolvió y la transacción confirmó.
+    // ============================================================
+    private class CookieAlResponder extends HttpServletResponseWrapper {
+
+        private boolean emitida;
+
+        CookieAlResponder(HttpServletResponse response) {
+            super(response);
+        }
+
+        void emitirCookie() {
+            if (!emitida && !isCommitted()) {
+                emitida = true;
+                addCookie(cookie(System.currentTimeMillis()));
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            emitirCookie();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            emitirCookie();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            emitirCookie();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            emitirCookie();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            emitirCookie();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            emitirCookie();
+            super.sendRedirect(location);
+        }
+    }
+
+    // Un instante futuro (más allá del desfase de relojes entre instancias)
+    // no se acepta: la cookie no puede fijar lecturas en la primaria
+    private boolean cookieVigente(HttpServletRequest request, long ahora) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    long escrita = Long.parseLong(cookie.getValue());
+                    return escrita - ahora <= DESFASE_MS && ahora - escrita < ventanaMs;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,212 @@
+package com.microservice.libros.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// ============================================================
+//  Salud y retraso de las réplicas de lectura.
+//
+//  En cada ciclo:
+//   1. Escribe el latido (epoch millis) en la primaria
+//   2. Lee el latido visible en cada réplica:
+//        retraso = último latido escrito - latido en la réplica
+//      (0 si la réplica ya ve el último)
+//   3. Réplicas que responden y con retraso <= max-lag quedan
+//      disponibles; el resto deja de recibir lecturas hasta el
+//      próximo ciclo en que se recuperen
+//
+//  Sin latido (heartbeat: false) solo cuenta que respondan: útil
+//  con dos bases locales sin replicación real entre ellas.
+//  Hasta el primer ciclo (ApplicationReadyEvent) ninguna réplica
+//  está disponible y todas las lecturas van a la primaria.
+// ============================================================
+public class ReplicaMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaMonitor.class);
+
+    static final String UPDATE_SQL = "UPDATE libros_replica_heartbeat SET ts = ? WHERE id = 1";
+    static final String INSERT_SQL = "INSERT INTO libros_replica_heartbeat (id, ts) VALUES (1, ?)";
+    static final String SELECT_SQL = "SELECT ts FROM libros_replica_heartbeat WHERE id = 1";
+
+    private static final int VALIDACION_SEGUNDOS = 2;
+
+    private final DataSource primaria;
+    private final Map<String, DataSource> replicas;
+    private final long maxLagMs;
+    private final boolean heartbeat;
+
+    private final Map<String, EstadoReplica> estados = new ConcurrentHashMap<>();
+    private final AtomicInteger turno = new AtomicInteger();
+
+    private volatile List<String> disponibles = List.of();
+    private volatile long ultimoLatido;
+    private volatile String errorPrimaria;
+
+    public ReplicaMonitor(DataSource primaria, Map<String, ? extends DataSource> replicas,
+                          Duration maxLag, boolean heartbeat, MeterRegistry registry) {
+        this.primaria = primaria;
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.maxLagMs = maxLag.toMillis();
+        this.heartbeat = heartbeat;
+
+        for (String nombre : this.replicas.keySet()) {
+            estados.put(nombre, EstadoReplica.SIN_VERIFICAR);
+            Gauge.builder("libros.datasource.replica.lag", () -> estados.get(nombre).lagMs())
+                    .tag("replica", nombre)
+                    .baseUnit("milliseconds")
+                    .register(registry);
+            Gauge.builder("libros.datasource.replica.available", () -> disponibles.contains(nombre) ? 1 : 0)
+                    .tag("replica", nombre)
+                    .register(registry);
+        }
+    }
+
+    // Primer ciclo al quedar lista la app (el esquema ya existe), luego periódico
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${libros.datasource.routing.health-check-interval-ms:2000}",
+            initialDelayString = "${libros.datasource.routing.health-check-interval-ms:2000}")
+    public synchronized void verificar() {
+
+        verificarPrimaria();
+
+        List<String> ok = new ArrayList<>();
+
+        for (Map.Entry<String, DataSource> replica : replicas.entrySet()) {
+            EstadoReplica estado = sondear(replica.getValue());
+            EstadoReplica anterior = estados.put(replica.getKey(), estado);
+
+            boolean disponible = estado.disponible(maxLagMs);
+            if (disponible) {
+                ok.add(replica.getKey());
+            }
+            if (anterior != null && anterior.disponible(maxLagMs) != disponible) {
+                log.warn("Réplica {} {}: {}", replica.getKey(),
+                        disponible ? "vuelve a recibir lecturas" : "fuera de servicio", estado);
+            }
+        }
+
+        disponibles = List.copyOf(ok);
+    }
+
+    // ============================================================
+    //  Réplica para la próxima lectura (round robin entre las
+    //  disponibles); null si no hay ninguna
+    // ============================================================
+    public String elegirReplica() {
+        List<String> candidatas = disponibles;
+        if (candidatas.isEmpty()) {
+            return null;
+        }
+        return candidatas.get(Math.floorMod(turno.getAndIncrement(), candidatas.size()));
+    }
+
+    public List<String> disponibles() {
+        return disponibles;
+    }
+
+    // ============================================================
+    //  Health: DOWN solo si falla la primaria; las réplicas van en
+    //  el detalle (una réplica caída no saca a libros de Eureka)
+    // ============================================================
+    public Health salud() {
+        Health.Builder builder = errorPrimaria == null ? Health.up() : Health.down().withDetail("primary", errorPrimaria);
+
+        Map<String, Object> detalle = new LinkedHashMap<>();
+        for (String nombre : replicas.keySet()) {
+            EstadoReplica estado = estados.get(nombre);
+            detalle.put(nombre, Map.of(
+                    "available", disponibles.contains(nombre),
+                    "lagMs", estado.lagMs(),
+                    "status", estado.toString()));
+        }
+        return builder.withDetail("replicas", detalle).build();
+    }
+
+    private void verificarPrimaria() {
+        try (Connection connection = primaria.getConnection()) {
+            if (heartbeat) {
+                long ahora = System.currentTimeMillis();
+                escribirLatido(connection, ahora);
+                ultimoLatido = ahora;
+            } else if (!connection.isValid(VALIDACION_SEGUNDOS)) {
+                throw new SQLException("conexión inválida");
+            }
+            errorPrimaria = null;
+        } catch (SQLException e) {
+            errorPrimaria = e.getMessage();
+            log.warn("Primaria no disponible para el latido de réplicas: {}", e.getMessage());
+        }
+    }
+
+    private static void escribirLatido(Connection connection, long ahora) throws SQLException {
+        try (PreparedStatement update = connection.prepareStatement(UPDATE_SQL)) {
+            update.setLong(1, ahora);
+            if (update.executeUpdate() > 0) {
+                return;
+            }
+        }
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+            insert.setLong(1, ahora);
+            insert.executeUpdate();
+        } catch (SQLException e) {
+            // Otra instancia insertó la fila a la vez: el próximo ciclo hace UPDATE
+            log.debug("Latido ya insertado por otra instancia: {}", e.getMessage());
+        }
+    }
+
+    private EstadoReplica sondear(DataSource replica) {
+        try (Connection connection = replica.getConnection()) {
+
+            if (!heartbeat) {
+                return connection.isValid(VALIDACION_SEGUNDOS)
+                        ? new EstadoReplica(true, 0, "ok")
+                        : new EstadoReplica(false, -1, "conexión inválida");
+            }
+
+            try (PreparedStatement select = connection.prepareStatement(SELECT_SQL);
+                 ResultSet rs = select.executeQuery()) {
+                if (!rs.next()) {
+                    return new EstadoReplica(true, -1, "sin latido replicado");
+                }
+                long lag = Math.max(0, ultimoLatido - rs.getLong(1));
+                return new EstadoReplica(true, lag, lag > maxLagMs ? "atrasada" : "ok");
+            }
+        } catch (SQLException e) {
+            return new EstadoReplica(false, -1, e.getMessage());
+        }
+    }
+
+    // lagMs = -1 → desconocido (réplica caída o sin latido)
+    record EstadoReplica(boolean responde, long lagMs, String detalle) {
+
+        static final EstadoReplica SIN_VERIFICAR = new EstadoReplica(false, -1, "sin verificar");
+
+        boolean disponible(long maxLagMs) {
+            return responde && lagMs >= 0 && lagMs <= maxLagMs;
+        }
+
+        @Override
+        public String toString() {
+            return lagMs >= 0 ? detalle + " (" + lagMs + " ms)" : detalle;
+        }
+    }
+}
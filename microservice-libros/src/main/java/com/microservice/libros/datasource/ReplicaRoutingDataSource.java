@@ -0,0 +1,78 @@
+package com.microservice.libros.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// ============================================================
+//  DataSource de libros con réplicas de lectura:
+//
+//    transacción de escritura             → primaria
+//    readOnly + primaria forzada          → primaria (read-your-writes,
+//                                           lecturas que llenan la caché)
+//    readOnly + réplica disponible        → réplica (round robin)
+//    readOnly sin réplicas disponibles    → primaria
+//
+//  Cada decisión suma en libros.datasource.route{target, reason}.
+// ============================================================
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARIA = "primary";
+
+    private final ReplicaMonitor monitor;
+    private final MeterRegistry registry;
+    private final Map<String, Counter> rutas = new ConcurrentHashMap<>();
+
+    public ReplicaRoutingDataSource(DataSource primaria, Map<String, ? extends DataSource> replicas,
+                                    ReplicaMonitor monitor, MeterRegistry registry) {
+        this.monitor = monitor;
+        this.registry = registry;
+
+        Map<Object, Object> destinos = new HashMap<>(replicas);
+        destinos.put(PRIMARIA, primaria);
+        setTargetDataSources(destinos);
+        setDefaultTargetDataSource(primaria);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+
+        if (!soloLectura()) {
+            return ruta(PRIMARIA, "write");
+        }
+        if (RoutingContext.primariaForzada()) {
+            return ruta(PRIMARIA, "forced");
+        }
+
+        String replica = monitor.elegirReplica();
+        return replica == null ? ruta(PRIMARIA, "no-replica") : ruta(replica, "read");
+    }
+
+    // Fuera de doBegin (conexión pedida ya dentro de la transacción)
+    // vale el flag que Spring fija al sincronizar la transacción
+    private static boolean soloLectura() {
+        Boolean inicio = RoutingContext.soloLectura();
+        if (inicio != null) {
+            return inicio;
+        }
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    private String ruta(String destino, String motivo) {
+        rutas.computeIfAbsent(destino + '/' + motivo, k -> Counter.builder("libros.datasource.route")
+                        .tag("target", destino)
+                        .tag("reason", motivo)
+                        .register(registry))
+                .increment();
+        return destino;
+    }
+}
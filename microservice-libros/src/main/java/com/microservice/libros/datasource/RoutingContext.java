@@ -0,0 +1,64 @@
+package com.microservice.libros.datasource;
+
+import java.util.function.Supplier;
+
+// ============================================================
+//  Estado por hilo que decide a qué base va cada conexión:
+//
+//   - soloLectura: lo fija RoutingJpaTransactionManager mientras
+//     abre la transacción (ahí Hibernate pide la conexión, antes
+//     de que Spring marque la transacción como readOnly)
+//   - primariaForzada: lecturas que no pueden ver una réplica
+//     atrasada (read-your-writes, datos que van a la caché)
+// ============================================================
+public final class RoutingContext {
+
+    private static final ThreadLocal<Boolean> SOLO_LECTURA = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> PRIMARIA_FORZADA = new ThreadLocal<>();
+
+    private RoutingContext() {
+    }
+
+    // ============================================================
+    //  Ejecuta la lectura contra la primaria aunque sea readOnly
+    // ============================================================
+    public static <T> T enPrimaria(Supplier<T> lectura) {
+        Boolean previo = forzarPrimaria();
+        try {
+            return lectura.get();
+        } finally {
+            restaurar(previo);
+        }
+    }
+
+    static Boolean forzarPrimaria() {
+        Boolean previo = PRIMARIA_FORZADA.get();
+        PRIMARIA_FORZADA.set(Boolean.TRUE);
+        return previo;
+    }
+
+    static void restaurar(Boolean previo) {
+        if (previo == null) {
+            PRIMARIA_FORZADA.remove();
+        } else {
+            PRIMARIA_FORZADA.set(previo);
+        }
+    }
+
+    static boolean primariaForzada() {
+        return Boolean.TRUE.equals(PRIMARIA_FORZADA.get());
+    }
+
+    static void inicioTransaccion(boolean soloLectura) {
+        SOLO_LECTURA.set(soloLectura);
+    }
+
+    static void finInicioTransaccion() {
+        SOLO_LECTURA.remove();
+    }
+
+    // null fuera del inicio de una transacción
+    static Boolean soloLectura() {
+        return SOLO_LECTURA.get();
+    }
+}
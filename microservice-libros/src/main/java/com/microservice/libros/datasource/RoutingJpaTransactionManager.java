@@ -0,0 +1,22 @@
+package com.microservice.libros.datasource;
+
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+// ============================================================
+//  JpaTransactionManager que expone readOnly mientras abre la
+//  transacción: Hibernate toma la conexión en doBegin, y
+//  ReplicaRoutingDataSource necesita saber ahí adónde mandarla.
+// ============================================================
+public class RoutingJpaTransactionManager extends JpaTransactionManager {
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        RoutingContext.inicioTransaccion(definition.isReadOnly());
+        try {
+            super.doBegin(transaction, definition);
+        } finally {
+            RoutingContext.finInicioTransaccion();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.microservice.libros.dto;
+
+// ============================================================
+//  Resultado por elemento de una operación masiva (bulk)
+//  indice = posición del elemento en la petición original
+// ============================================================
+public record BulkItemResult(int indice, Integer id, Estado estado, String mensaje) {
+
+    public enum Estado {
+        CREADO,
+        ACTUALIZADO,
+        ELIMINADO,
+        INVALIDO,
+        NO_ENCONTRADO
+    }
+
+    public boolean exitoso() {
+        return estado == Estado.CREADO || estado == Estado.ACTUALIZADO || estado == Estado.ELIMINADO;
+    }
+}
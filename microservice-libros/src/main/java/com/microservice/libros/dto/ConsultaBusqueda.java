@@ -0,0 +1,22 @@
+package com.microservice.libros.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// ============================================================
+//  Parámetros de GET /api/v1/libros/search
+//  q busca en titulo/autor (prefijo y, si fuzzy, errores de tipeo);
+//  el resto son filtros exactos o por rango (null = sin filtro).
+// ============================================================
+public record ConsultaBusqueda(
+        String q,
+        boolean fuzzy,
+        String categoria,
+        String idioma,
+        Boolean disponible,
+        BigDecimal precioMin,
+        BigDecimal precioMax,
+        LocalDate desde,
+        LocalDate hasta,
+        int limite) {
+}
@@ -0,0 +1,21 @@
+package com.microservice.libros.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.microservice.libros.event.LibrosChangeEvent;
+
+import java.time.Instant;
+
+// ============================================================
+//  Evento del catálogo tal como lo ven los consumidores
+//  posicion = offset ordenado y sin huecos (se retoma con
+//  ?after=<posicion> o Last-Event-ID). libro va en JSON crudo,
+//  el mismo que guardó el outbox; null en las eliminaciones.
+//  Los cambios de un mismo libro llegan en orden de commit,
+//  también entre instancias (ver LibrosOutboxEvento.id).
+// ============================================================
+public record EventoCatalogo(long posicion,
+                             LibrosChangeEvent.Tipo tipo,
+                             Integer libroId,
+                             @JsonRawValue String libro,
+                             Instant creadoEn) {
+}
@@ -0,0 +1,34 @@
+package com.microservice.libros.dto;
+
+import com.microservice.libros.model.Libros;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// ============================================================
+//  Documento del índice de búsqueda (y resultado de /search)
+//  Solo los campos buscables, filtrables o de facetas.
+// ============================================================
+public record LibroIndexado(
+        Integer id,
+        String titulo,
+        String autor,
+        String categoria,
+        String idioma,
+        Boolean disponible,
+        BigDecimal precio,
+        LocalDate fechaPublicacion) {
+
+    public static LibroIndexado de(Libros libro) {
+        return new LibroIndexado(
+                libro.getId(),
+                libro.getTitulo(),
+                libro.getAutor(),
+                libro.getCategoria(),
+                libro.getIdioma(),
+                libro.getDisponible(),
+                libro.getPrecio(),
+                libro.getFechaPublicacion()
+        );
+    }
+}
@@ -0,0 +1,16 @@
+package com.microservice.libros.dto;
+
+import java.math.BigDecimal;
+
+// ============================================================
+//  Vista resumida de un libro para grillas del catálogo
+//  (GET /api/v1/libros?view=summary). Se construye directo en la
+//  consulta JPQL: sin entidad, sin contexto de persistencia.
+// ============================================================
+public record LibroResumen(
+        Integer id,
+        String titulo,
+        String autor,
+        BigDecimal precio,
+        Boolean disponible) {
+}
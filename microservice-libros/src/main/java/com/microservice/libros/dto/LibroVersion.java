@@ -0,0 +1,95 @@
+package com.microservice.libros.dto;
+
+import com.microservice.libros.model.Libros;
+
+import org.springframework.http.ETag;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+// ============================================================
+//  Versión de un libro (id, version, actualizado_en): todo lo que
+//  hace falta para los validadores HTTP (ETag / Last-Modified)
+//  sin leer la fila completa.
+// ============================================================
+public record LibroVersion(Integer id, Long version, Instant actualizadoEn) {
+
+    // Versión imposible: If-Match que no corresponde a este libro
+    public static final long NINGUNA = -1;
+
+    public static LibroVersion de(Libros libro) {
+        return new LibroVersion(libro.getId(), libro.getVersion(), libro.getActualizadoEn());
+    }
+
+    // ============================================================
+    //  ETag débil de un libro: cambia con cada escritura de la fila.
+    //  Débil porque el mismo valor identifica la versión en JSON,
+    //  CBOR y Smile, comprimida o no (Tomcat no comprime respuestas
+    //  con ETag fuerte: el gzip cambiaría los bytes).
+    // ============================================================
+    public String etag() {
+        return "W/\"" + id + "-" + version + "\"";
+    }
+
+    public long ultimaModificacion() {
+        return actualizadoEn != null ? actualizadoEn.toEpochMilli() : -1;
+    }
+
+    // ============================================================
+    //  ETag de una página: MD5 de los pares id-version en orden más
+    //  la marca del último borrado en su rango (null = ninguno)
+    // ============================================================
+    public static String etag(List<LibroVersion> pagina, Instant ultimoBorrado) {
+
+        StringBuilder sb = new StringBuilder(pagina.size() * 12);
+        for (LibroVersion v : pagina) {
+            sb.append(v.id()).append('-').append(v.version()).append(',');
+        }
+        if (ultimoBorrado != null) {
+            sb.append('x').append(ultimoBorrado.toEpochMilli());
+        }
+
+        return "W/\"" + DigestUtils.md5DigestAsHex(sb.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    // ============================================================
+    //  Versión exigida por If-Match: null = sin precondición (header
+    //  ausente o "*"). Comparación débil: W/"1-3" y "1-3" exigen la
+    //  misma versión; un ETag de otro libro nunca coincide.
+    // ============================================================
+    public static Long versionExigida(String ifMatch, Integer id) {
+
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+
+        String prefijo = id + "-";
+
+        for (ETag etag : ETag.parse(ifMatch)) {
+            if (etag.isWildcard()) {
+                return null;
+            }
+            if (etag.tag().startsWith(prefijo)) {
+                try {
+                    return Long.parseLong(etag.tag().substring(prefijo.length()));
+                } catch (NumberFormatException e) {
+                    // ETag con formato ajeno: se trata como no coincidente
+                }
+            }
+        }
+
+        return NINGUNA;
+    }
+
+    // Last-Modified de una página: la modificación o el borrado más reciente
+    public static Instant ultimaModificacion(List<LibroVersion> pagina, Instant ultimoBorrado) {
+        return Stream.concat(pagina.stream().map(LibroVersion::actualizadoEn), Stream.of(ultimoBorrado))
+                .filter(Objects::nonNull)
+                .max(Instant::compareTo)
+                .orElse(null);
+    }
+}
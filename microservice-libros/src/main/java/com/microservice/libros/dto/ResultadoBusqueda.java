@@ -0,0 +1,15 @@
+package com.microservice.libros.dto;
+
+import java.util.List;
+import java.util.Map;
+
+// ============================================================
+//  Respuesta de búsqueda: total de coincidencias, la página de
+//  resultados ordenada por relevancia y los conteos por faceta
+//  (categoria, idioma, disponible) sobre el total filtrado.
+// ============================================================
+public record ResultadoBusqueda(
+        long total,
+        List<LibroIndexado> resultados,
+        Map<String, Map<String, Long>> facetas) {
+}
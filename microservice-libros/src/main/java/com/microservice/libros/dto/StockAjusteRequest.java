@@ -0,0 +1,7 @@
+package com.microservice.libros.dto;
+
+// ============================================================
+//  Cuerpo del ajuste relativo de stock: delta positivo o negativo
+// ============================================================
+public record StockAjusteRequest(Integer delta) {
+}
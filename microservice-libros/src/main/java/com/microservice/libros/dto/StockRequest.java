@@ -0,0 +1,7 @@
+package com.microservice.libros.dto;
+
+// ============================================================
+//  Cuerpo de las operaciones relativas de stock (reserve/release)
+// ============================================================
+public record StockRequest(Integer cantidad) {
+}
@@ -0,0 +1,9 @@
+package com.microservice.libros.dto;
+
+import com.microservice.libros.service.LibrosStockService.ResultadoStock;
+
+// ============================================================
+//  Resultado de una reserva o liberación de stock
+// ============================================================
+public record StockResponse(Integer id, int cantidad, ResultadoStock resultado) {
+}
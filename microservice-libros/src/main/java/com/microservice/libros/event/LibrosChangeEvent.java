@@ -0,0 +1,29 @@
+package com.microservice.libros.event;
+
+import com.microservice.libros.model.Libros;
+
+// ============================================================
+//  Evento de dominio: un libro fue creado, actualizado o eliminado.
+//  Se publica dentro de la transacción que hizo el cambio.
+//  libro es null en las eliminaciones.
+// ============================================================
+public record LibrosChangeEvent(Tipo tipo, Integer id, Libros libro) {
+
+    public enum Tipo {
+        CREADO,
+        ACTUALIZADO,
+        ELIMINADO
+    }
+
+    public static LibrosChangeEvent creado(Libros libro) {
+        return new LibrosChangeEvent(Tipo.CREADO, libro.getId(), libro);
+    }
+
+    public static LibrosChangeEvent actualizado(Libros libro) {
+        return new LibrosChangeEvent(Tipo.ACTUALIZADO, libro.getId(), libro);
+    }
+
+    public static LibrosChangeEvent eliminado(Integer id) {
+        return new LibrosChangeEvent(Tipo.ELIMINADO, id, null);
+    }
+}
@@ -0,0 +1,60 @@
+package com.microservice.libros.metrics;
+
+import com.microservice.libros.config.MetricsConfig;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+// ============================================================
+//  Al terminar cada petición de /api/**:
+//   - libros.serialization: desde que el controlador entrega el
+//     cuerpo (SerializationTimingAdvice) hasta el final de la
+//     escritura con el HttpMessageConverter elegido
+//   - libros.not_found / libros.validation.failures según el
+//     estado, sin importar qué controlador o handler lo produjo
+//  Tag uri = patrón de la ruta (/api/v1/libros/{id}), no la URL
+//  concreta, para acotar la cardinalidad.
+// ============================================================
+public class LibrosMetricsInterceptor implements HandlerInterceptor {
+
+    private final MeterRegistry registry;
+
+    public LibrosMetricsInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+
+        String uri = uri(request);
+
+        Object inicio = request.getAttribute(SerializationTimingAdvice.INICIO_ATTR);
+        if (inicio instanceof Long nanos) {
+            Object media = request.getAttribute(SerializationTimingAdvice.MEDIA_ATTR);
+            Timer.builder(MetricsConfig.SERIALIZATION_TIMER)
+                    .tag("uri", uri)
+                    .tag("media", media == null ? "none" : media.toString())
+                    .register(registry)
+                    .record(System.nanoTime() - nanos, TimeUnit.NANOSECONDS);
+        }
+
+        int status = response.getStatus();
+        if (status == HttpStatus.NOT_FOUND.value()) {
+            registry.counter(MetricsConfig.NOT_FOUND_COUNTER, "uri", uri).increment();
+        } else if (status == HttpStatus.BAD_REQUEST.value()) {
+            registry.counter(MetricsConfig.VALIDATION_COUNTER, "uri", uri).increment();
+        }
+    }
+
+    private static String uri(HttpServletRequest request) {
+        Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return patron == null ? "UNKNOWN" : patron.toString();
+    }
+}
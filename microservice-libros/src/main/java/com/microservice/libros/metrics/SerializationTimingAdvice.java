@@ -0,0 +1,40 @@
+package com.microservice.libros.metrics;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// ============================================================
+//  Marca el instante en que el cuerpo de la respuesta pasa al
+//  HttpMessageConverter (justo antes de serializar). El tiempo
+//  hasta el fin de la petición lo registra LibrosMetricsInterceptor
+//  como libros.serialization.
+// ============================================================
+@ControllerAdvice
+public class SerializationTimingAdvice implements ResponseBodyAdvice<Object> {
+
+    static final String INICIO_ATTR = SerializationTimingAdvice.class.getName() + ".inicio";
+    static final String MEDIA_ATTR = SerializationTimingAdvice.class.getName() + ".media";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+
+        if (request instanceof ServletServerHttpRequest servlet) {
+            servlet.getServletRequest().setAttribute(MEDIA_ATTR, selectedContentType.getSubtype());
+            servlet.getServletRequest().setAttribute(INICIO_ATTR, System.nanoTime());
+        }
+        return body;
+    }
+}
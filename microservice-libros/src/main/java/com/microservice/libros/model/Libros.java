@@ -3,12 +3,20 @@ package com.microservice.libros.model;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 @Entity
-@Table(name = "libros")
+// Índices para los filtros del catálogo: el id_libro al final permite
+// paginar por keyset (id_libro > ? ORDER BY id_libro) dentro del índice.
+@Table(name = "libros", indexes = {
+        @Index(name = "idx_libros_autor", columnList = "autor, id_libro"),
+        @Index(name = "idx_libros_categoria_disponible", columnList = "categoria, disponible, id_libro"),
+        @Index(name = "idx_libros_precio", columnList = "precio, id_libro")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -16,8 +24,18 @@ import io.swagger.v3.oas.annotations.media.Schema;
 @Schema(description = "Entidad que representa un libro dentro del sistema de biblioteca")
 public class Libros {
 
+    // Secuencia con pool de 50 ids (igual al batch_size de Hibernate):
+    // IDENTITY obliga a un INSERT por fila y desactiva el batching JDBC.
+    // En MySQL Hibernate emula la secuencia con la tabla libros_seq. El
+    // optimizador pooled entrega el bloque que termina en next_val, así
+    // que en una base existente next_val debe ser al menos
+    // MAX(id_libro) + ID_ALLOCATION_SIZE (LibrosSequenceInitializer lo
+    // ajusta al arrancar).
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "libros_seq")
+    @SequenceGenerator(name = "libros_seq", sequenceName = "libros_seq", allocationSize = ID_ALLOCATION_SIZE)
     @Column(name = "id_libro")
     @Schema(description = "ID único del libro", example = "1")
     private Integer id;   // ✔ YA ACEPTA NULL
@@ -76,4 +94,23 @@ public class Libros {
     @Column(name = "disponible", nullable = false)
     @Schema(description = "Indica si está disponible", example = "true")
     private Boolean disponible = true;
+
+    // Versión de la fila: base del ETag y del control optimista.
+    // Los UPDATE masivos de stock (JPQL y JDBC) también la incrementan.
+    @Version
+    @Column(name = "version", nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Schema(description = "Versión de la fila (solo lectura)", example = "3", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long version;
+
+    @Column(name = "actualizado_en")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Schema(description = "Última modificación (solo lectura)", accessMode = Schema.AccessMode.READ_ONLY)
+    private Instant actualizadoEn;
+
+    @PrePersist
+    @PreUpdate
+    void marcarActualizacion() {
+        actualizadoEn = Instant.now();
+    }
 }
@@ -0,0 +1,28 @@
+package com.microservice.libros.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+// ============================================================
+//  Marca de borrado de un libro (tombstone). Se inserta en la
+//  misma transacción que el DELETE: los validadores de las páginas
+//  del listado (ETag / Last-Modified) la incluyen, porque un libro
+//  borrado no deja ningún actualizado_en que los haga cambiar.
+//  Los ids no se reutilizan (secuencia), así que no hay choques.
+// ============================================================
+@Entity
+@Table(name = "libros_borrados")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LibrosBorrado {
+
+    @Id
+    @Column(name = "id_libro")
+    private Integer id;
+
+    @Column(name = "borrado_en", nullable = false)
+    private Instant borradoEn;
+}
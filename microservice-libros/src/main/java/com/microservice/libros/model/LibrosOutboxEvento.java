@@ -0,0 +1,59 @@
+package com.microservice.libros.model;
+
+import com.microservice.libros.event.LibrosChangeEvent;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+// ============================================================
+//  Fila del outbox: un cambio del catálogo escrito en la misma
+//  transacción que el cambio. posicion queda null hasta que el
+//  relay la numera; desde ahí es el offset que usan los
+//  consumidores (orden de publicación, sin huecos).
+//  El índice único sobre posicion sirve a la vez para buscar
+//  pendientes (posicion is null order by id) y para impedir que
+//  dos relays asignen la misma posición.
+// ============================================================
+@Entity
+@Table(name = "libros_outbox", indexes = {
+        @Index(name = "idx_libros_outbox_posicion", columnList = "posicion", unique = true),
+        @Index(name = "idx_libros_outbox_publicado", columnList = "publicado_en")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LibrosOutboxEvento {
+
+    // AUTO_INCREMENT asignado por la base en el INSERT, que OutboxWriter
+    // hace antes del commit y con el lock de la fila del libro ya tomado:
+    // para un mismo libro el id sigue el orden de commit (un pool de
+    // secuencia por instancia no lo garantiza). Los INSERT van por JDBC
+    // en batch, sin pedir las claves generadas.
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id_evento")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo", nullable = false, length = 12)
+    private LibrosChangeEvent.Tipo tipo;
+
+    @Column(name = "id_libro", nullable = false)
+    private Integer libroId;
+
+    // Libro en JSON tal como quedó tras el cambio (null en eliminaciones)
+    @Column(name = "payload", length = 4000)
+    private String payload;
+
+    @Column(name = "creado_en", nullable = false)
+    private Instant creadoEn;
+
+    @Column(name = "posicion")
+    private Long posicion;
+
+    @Column(name = "publicado_en")
+    private Instant publicadoEn;
+}
@@ -0,0 +1,27 @@
+package com.microservice.libros.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// ============================================================
+//  Latido para medir el retraso de las réplicas de lectura.
+//  Cada instancia escribe aquí en la primaria (una sola fila);
+//  el valor visible en cada réplica indica cuánto va atrasada.
+//  Solo se declara para que Hibernate cree la tabla: se lee y
+//  escribe por JDBC contra cada base (ver ReplicaMonitor).
+// ============================================================
+@Entity
+@Table(name = "libros_replica_heartbeat")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplicaHeartbeat {
+
+    @Id
+    @Column(name = "id")
+    private Integer id;
+
+    // Epoch millis de la última escritura en la primaria
+    @Column(name = "ts", nullable = false)
+    private Long ts;
+}
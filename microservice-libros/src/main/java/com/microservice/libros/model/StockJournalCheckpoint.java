@@ -0,0 +1,25 @@
+package com.microservice.libros.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// ============================================================
+//  Último segmento del journal de stock ya aplicado en la base.
+//  Se escribe en la misma transacción que los UPDATE de stock,
+//  así un reinicio nunca vuelve a aplicar un segmento.
+//  Una fila por instancia (libros.stock.write-behind.instance-id).
+// ============================================================
+@Entity
+@Table(name = "libros_stock_checkpoint")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockJournalCheckpoint {
+
+    @Id
+    @Column(name = "nodo", length = 255)
+    private String nodo;
+
+    @Column(name = "segmento", nullable = false)
+    private Long segmento;
+}
@@ -0,0 +1,84 @@
+package com.microservice.libros.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.microservice.libros.dto.EventoCatalogo;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+// ============================================================
+//  Sink local: un EventoCatalogo JSON por línea, en modo append.
+//  Sirve de registro de cambios para jobs por lotes y en
+//  desarrollo; se consulta con jq, p. ej.
+//
+//    jq -c 'select(.libroId==42)' data/outbox/libros-eventos.jsonl
+//
+//  Un lote que falla a medio escribir se vuelve a leer por
+//  posición desde libros_outbox; el lector descarta posiciones
+//  repetidas.
+//
+//  La escritura va bajo un ReentrantLock (no synchronized) para no
+//  fijar un hilo virtual a su portador mientras espera al disco.
+// ============================================================
+public class FileOutboxSink implements OutboxSink, Closeable {
+
+    private final Path archivo;
+    private final ObjectWriter writer;
+    private final ReentrantLock lock = new ReentrantLock();
+    private BufferedWriter out;
+
+    public FileOutboxSink(Path archivo, ObjectMapper objectMapper) {
+        this.archivo = archivo;
+        this.writer = objectMapper.writerFor(EventoCatalogo.class);
+    }
+
+    @Override
+    public void publicar(List<EventoCatalogo> lote) throws IOException {
+        lock.lock();
+        try {
+            BufferedWriter out = writer();
+            for (EventoCatalogo evento : lote) {
+                out.write(writer.writeValueAsString(evento));
+                out.newLine();
+            }
+            out.flush();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (out != null) {
+                try {
+                    out.close();
+                } finally {
+                    out = null;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private BufferedWriter writer() throws IOException {
+        if (out == null) {
+            if (archivo.getParent() != null) {
+                Files.createDirectories(archivo.getParent());
+            }
+            out = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,186 @@
+package com.microservice.libros.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.microservice.libros.config.CacheConfig;
+import com.microservice.libros.datasource.RoutingContext;
+import com.microservice.libros.dto.EventoCatalogo;
+import com.microservice.libros.event.LibrosChangeEvent;
+import com.microservice.libros.model.Libros;
+import com.microservice.libros.repository.LibrosOutboxRepository;
+import com.microservice.libros.service.LibrosEventosService;
+import com.microservice.libros.service.LibrosSearchService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+
+// ============================================================
+//  Estado local de cada instancia al día con libros_outbox
+//
+//  Las cachés Caffeine (libros, libros-paginas) y el índice de
+//  búsqueda son de cada instancia, y los LibrosChangeEvent solo
+//  llegan a la instancia que hizo la escritura. Este seguidor lee
+//  la tabla por posición cada relay-interval-ms (numere quien
+//  numere) y, por cada evento, invalida el libro en caché y lo
+//  aplica al índice; las páginas cacheadas se vacían por lote.
+//
+//  Los eventos propios también pasan por aquí: ya se aplicaron
+//  tras el commit y reaplicarlos es idempotente. Como se aplican
+//  en orden de posición, una versión vieja que se reaplique queda
+//  tapada por el evento siguiente del mismo libro en el mismo lote
+//  o en el siguiente.
+//
+//  Sin outbox (libros.outbox.enabled=false) no hay seguidor: en
+//  ese modo msvc-libros debe correr con una sola instancia.
+// ============================================================
+@Component
+@ConditionalOnProperty(prefix = "libros.outbox", name = "enabled", havingValue = "true")
+public class OutboxFollower {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxFollower.class);
+
+    // Antes de fijar la posición inicial no se sigue nada
+    static final long SIN_POSICION = -1;
+
+    private final LibrosEventosService eventosService;
+    private final LibrosOutboxRepository outboxRepository;
+    private final LibrosSearchService searchService;
+    private final CacheManager cacheManager;
+    private final ObjectReader reader;
+
+    private volatile long ultima = SIN_POSICION;
+
+    public OutboxFollower(LibrosEventosService eventosService,
+                          LibrosOutboxRepository outboxRepository,
+                          LibrosSearchService searchService,
+                          CacheManager cacheManager,
+                          ObjectMapper objectMapper) {
+        this.eventosService = eventosService;
+        this.outboxRepository = outboxRepository;
+        this.searchService = searchService;
+        this.cacheManager = cacheManager;
+        this.reader = objectMapper.readerFor(Libros.class);
+    }
+
+    // ============================================================
+    //  Posición de partida: la última publicada, tomada antes de que
+    //  el índice recorra la tabla (ApplicationReadyEvent). Lo que se
+    //  numere después se reaplica aunque el recorrido ya lo viera.
+    // ============================================================
+    @EventListener(ContextRefreshedEvent.class)
+    public void iniciar() {
+        if (ultima == SIN_POSICION) {
+            ultima = RoutingContext.enPrimaria(outboxRepository::findUltimaPosicion);
+        }
+    }
+
+    // ============================================================
+    //  Aplica lo publicado desde la última posición vista
+    //  Devuelve la cantidad de eventos aplicados.
+    // ============================================================
+    @Scheduled(fixedDelayString = "${libros.outbox.relay-interval-ms:200}")
+    public int seguir() {
+
+        if (ultima == SIN_POSICION) {
+            return 0;
+        }
+
+        int total = 0;
+        List<EventoCatalogo> lote;
+
+        do {
+            try {
+                lote = leer(ultima);
+            } catch (LibrosEventosService.PosicionExpiradaException e) {
+                resincronizar(e);
+                return total;
+            }
+
+            aplicar(lote);
+            total += lote.size();
+        } while (lote.size() == LibrosEventosService.MAX_PAGE_SIZE);
+
+        return total;
+    }
+
+    long ultima() {
+        return ultima;
+    }
+
+    // Desde la primaria: una réplica atrasada dejaría pasar la posición sin ver el evento
+    private List<EventoCatalogo> leer(long afterPosicion) {
+        return RoutingContext.enPrimaria(() ->
+                eventosService.getEventos(afterPosicion, LibrosEventosService.MAX_PAGE_SIZE));
+    }
+
+    private void aplicar(List<EventoCatalogo> lote) {
+
+        if (lote.isEmpty()) {
+            return;
+        }
+
+        Cache libros = cacheManager.getCache(CacheConfig.LIBROS);
+        Cache paginas = cacheManager.getCache(CacheConfig.LIBROS_PAGINAS);
+
+        for (EventoCatalogo evento : lote) {
+            if (libros != null) {
+                libros.evict(evento.libroId());
+            }
+            try {
+                searchService.onLibrosChange(cambio(evento));
+            } catch (IOException | RuntimeException e) {
+                // Un payload ilegible no frena al resto; la caché ya quedó invalidada
+                log.warn("No se pudo aplicar el evento {} del libro {} al índice de búsqueda",
+                        evento.posicion(), evento.libroId(), e);
+            }
+            ultima = evento.posicion();
+        }
+
+        if (paginas != null) {
+            paginas.clear();
+        }
+    }
+
+    private LibrosChangeEvent cambio(EventoCatalogo evento) throws IOException {
+
+        if (evento.tipo() == LibrosChangeEvent.Tipo.ELIMINADO) {
+            return LibrosChangeEvent.eliminado(evento.libroId());
+        }
+
+        Libros libro = reader.readValue(evento.libro());
+        libro.setId(evento.libroId());
+        return new LibrosChangeEvent(evento.tipo(), evento.libroId(), libro);
+    }
+
+    // ============================================================
+    //  La posición salió de la retención (instancia detenida más que
+    //  libros.outbox.retention): cachés vacías, índice recargado de
+    //  la tabla y seguimiento desde la última posición. Los libros
+    //  borrados en el hueco siguen en el índice hasta reiniciar.
+    // ============================================================
+    private void resincronizar(LibrosEventosService.PosicionExpiradaException e) {
+
+        log.warn("Outbox: la posición {} ya no está retenida; se recargan cachés e índice", ultima, e);
+
+        ultima = RoutingContext.enPrimaria(outboxRepository::findUltimaPosicion);
+
+        List.of(CacheConfig.LIBROS, CacheConfig.LIBROS_PAGINAS).forEach(nombre -> {
+            Cache cache = cacheManager.getCache(nombre);
+            if (cache != null) {
+                cache.clear();
+            }
+        });
+
+        searchService.construirIndice();
+    }
+}
@@ -0,0 +1,153 @@
+package com.microservice.libros.outbox;
+
+import com.microservice.libros.config.OutboxProperties;
+import com.microservice.libros.dto.EventoCatalogo;
+import com.microservice.libros.model.LibrosOutboxEvento;
+import com.microservice.libros.repository.LibrosOutboxRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+// ============================================================
+//  Relay del outbox: numera y publica los eventos pendientes
+//
+//  - En una transacción toma hasta batch-size filas sin posición
+//    (FOR UPDATE), les asigna posiciones consecutivas tras la
+//    última y las marca publicadas.
+//  - Tras el commit entrega el lote a cada sink en orden.
+//
+//  La posición se asigna al publicar, no al insertar: una
+//  transacción que confirma tarde recibe una posición posterior,
+//  así un consumidor que va por la posición N nunca se salta un
+//  evento confirmado después. Los pendientes se toman por id, que
+//  para un mismo libro sigue el orden de commit: el último evento
+//  de cada libro siempre queda con la posición mayor. Con varias instancias, el índice
+//  único de posicion descarta la asignación duplicada y el lote
+//  se reintenta en la siguiente vuelta.
+// ============================================================
+@Component
+@ConditionalOnProperty(prefix = "libros.outbox", name = "enabled", havingValue = "true")
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final LibrosOutboxRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final List<OutboxSink> sinks;
+    private final OutboxProperties properties;
+
+    // Una vuelta a la vez; lock y no synchronized porque la vuelta hace
+    // I/O (base de datos y sinks) y un monitor fijaría un hilo virtual
+    private final ReentrantLock vuelta = new ReentrantLock();
+
+    public OutboxRelay(LibrosOutboxRepository outboxRepository,
+                       PlatformTransactionManager transactionManager,
+                       List<OutboxSink> sinks,
+                       OutboxProperties properties) {
+        this.outboxRepository = outboxRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sinks = sinks;
+        this.properties = properties;
+    }
+
+    // ============================================================
+    //  Publica lotes hasta vaciar los pendientes
+    //  Devuelve la cantidad de eventos publicados.
+    // ============================================================
+    @Scheduled(fixedDelayString = "${libros.outbox.relay-interval-ms:200}")
+    public int publicar() {
+
+        vuelta.lock();
+        try {
+            int total = 0;
+            List<EventoCatalogo> lote;
+
+            do {
+                try {
+                    lote = transactionTemplate.execute(status -> numerar());
+                } catch (DataIntegrityViolationException e) {
+                    log.debug("Otra instancia numeró el mismo lote del outbox; se reintenta", e);
+                    return total;
+                }
+
+                entregar(lote);
+                total += lote.size();
+            } while (lote.size() == properties.getBatchSize());
+
+            return total;
+        } finally {
+            vuelta.unlock();
+        }
+    }
+
+    // ============================================================
+    //  Retención: cada purge-interval-ms se borran los eventos viejos
+    // ============================================================
+    @Scheduled(fixedDelayString = "${libros.outbox.purge-interval-ms:3600000}")
+    public int purgar() {
+
+        Instant limite = Instant.now().minus(properties.getRetention());
+
+        Integer borrados = transactionTemplate.execute(status ->
+                outboxRepository.deletePublicadosAntesDe(limite, outboxRepository.findUltimaPosicion()));
+
+        if (borrados != null && borrados > 0) {
+            log.info("Outbox: {} eventos anteriores a {} eliminados", borrados, limite);
+        }
+        return borrados == null ? 0 : borrados;
+    }
+
+    // Dirty checking: los UPDATE de posicion salen en batch con el commit
+    private List<EventoCatalogo> numerar() {
+
+        List<LibrosOutboxEvento> pendientes = outboxRepository.findPendientes(Limit.of(properties.getBatchSize()));
+
+        if (pendientes.isEmpty()) {
+            return List.of();
+        }
+
+        long posicion = outboxRepository.findUltimaPosicion();
+        Instant ahora = Instant.now();
+
+        List<EventoCatalogo> lote = new ArrayList<>(pendientes.size());
+
+        for (LibrosOutboxEvento evento : pendientes) {
+            evento.setPosicion(++posicion);
+            evento.setPublicadoEn(ahora);
+            lote.add(new EventoCatalogo(posicion, evento.getTipo(), evento.getLibroId(),
+                    evento.getPayload(), evento.getCreadoEn()));
+        }
+
+        return lote;
+    }
+
+    private void entregar(List<EventoCatalogo> lote) {
+
+        if (lote.isEmpty()) {
+            return;
+        }
+
+        for (OutboxSink sink : sinks) {
+            try {
+                sink.publicar(lote);
+            } catch (IOException | RuntimeException e) {
+                // Los consumidores recuperan el lote por posición desde libros_outbox
+                log.warn("No se pudo entregar el lote {}..{} a {}", lote.get(0).posicion(),
+                        lote.get(lote.size() - 1).posicion(), sink.getClass().getSimpleName(), e);
+            }
+        }
+    }
+}
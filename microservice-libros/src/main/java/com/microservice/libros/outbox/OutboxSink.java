@@ -0,0 +1,18 @@
+package com.microservice.libros.outbox;
+
+import com.microservice.libros.dto.EventoCatalogo;
+
+import java.io.IOException;
+import java.util.List;
+
+// ============================================================
+//  Destino de los lotes que publica el relay (SSE, archivo, ...)
+//  Recibe cada lote una vez, ya numerado y confirmado en la base,
+//  en orden de posición. Un fallo no detiene a los demás sinks:
+//  la tabla libros_outbox sigue siendo la fuente para ponerse al
+//  día por posición.
+// ============================================================
+public interface OutboxSink {
+
+    void publicar(List<EventoCatalogo> lote) throws IOException;
+}
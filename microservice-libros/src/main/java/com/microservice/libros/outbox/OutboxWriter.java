@@ -0,0 +1,127 @@
+package com.microservice.libros.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.microservice.libros.event.LibrosChangeEvent;
+import com.microservice.libros.model.Libros;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+// ============================================================
+//  Escribe cada LibrosChangeEvent en libros_outbox, en la misma
+//  transacción que el cambio (createLibro, updateLibro,
+//  updateStock, deleteLibroAndReturn y los /bulk).
+//
+//  Los eventos se juntan por transacción y se escriben en
+//  beforeCommit, tras un único flush: así el JSON lleva la
+//  version y actualizado_en que quedan en la base, los
+//  UPDATE/INSERT de un /bulk siguen yendo en batch, y el
+//  AUTO_INCREMENT de cada fila se asigna con el lock del libro
+//  ya tomado (orden de commit por libro, ver LibrosOutboxEvento).
+//  Un solo batch INSERT por JDBC, en la conexión de la
+//  transacción JPA.
+// ============================================================
+@Component
+@ConditionalOnProperty(prefix = "libros.outbox", name = "enabled", havingValue = "true")
+public class OutboxWriter {
+
+    static final String SQL_INSERT = "insert into libros_outbox (tipo, id_libro, payload, creado_en) "
+            + "values (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final ObjectWriter writer;
+
+    public OutboxWriter(JdbcTemplate jdbcTemplate,
+                        EntityManager entityManager,
+                        ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.writer = objectMapper.writerFor(Libros.class);
+    }
+
+    // ============================================================
+    //  @EventListener (no @TransactionalEventListener): corre en el
+    //  hilo y la transacción del publicador
+    // ============================================================
+    @EventListener
+    public void onLibrosChange(LibrosChangeEvent event) {
+
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            jdbcTemplate.update(SQL_INSERT, fila(event, Timestamp.from(Instant.now())));
+            return;
+        }
+
+        pendientes().add(event);
+    }
+
+    // Eventos de la transacción actual (se registra al primer evento)
+    @SuppressWarnings("unchecked")
+    private List<LibrosChangeEvent> pendientes() {
+
+        List<LibrosChangeEvent> pendientes = (List<LibrosChangeEvent>) TransactionSynchronizationManager.getResource(this);
+
+        if (pendientes == null) {
+            List<LibrosChangeEvent> nuevos = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, nuevos);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    escribir(nuevos);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(OutboxWriter.this);
+                }
+            });
+            pendientes = nuevos;
+        }
+
+        return pendientes;
+    }
+
+    // Flush de los cambios (locks tomados) y luego el batch INSERT del outbox
+    private void escribir(List<LibrosChangeEvent> eventos) {
+
+        entityManager.flush();
+
+        Timestamp ahora = Timestamp.from(Instant.now());
+
+        List<Object[]> filas = new ArrayList<>(eventos.size());
+        eventos.forEach(event -> filas.add(fila(event, ahora)));
+
+        jdbcTemplate.batchUpdate(SQL_INSERT, filas);
+    }
+
+    private Object[] fila(LibrosChangeEvent event, Timestamp creadoEn) {
+        return new Object[]{event.tipo().name(), event.id(), payload(event.libro()), creadoEn};
+    }
+
+    private String payload(Libros libro) {
+
+        if (libro == null) {
+            return null;
+        }
+
+        try {
+            return writer.writeValueAsString(libro);
+        } catch (JsonProcessingException e) {
+            // Hace fallar la transacción: un cambio sin evento rompería la sincronización
+            throw new IllegalStateException("No se pudo serializar el libro " + libro.getId() + " para el outbox", e);
+        }
+    }
+}
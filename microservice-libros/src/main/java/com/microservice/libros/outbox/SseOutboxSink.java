@@ -0,0 +1,230 @@
+package com.microservice.libros.outbox;
+
+import com.microservice.libros.datasource.RoutingContext;
+import com.microservice.libros.dto.EventoCatalogo;
+import com.microservice.libros.service.LibrosEventosService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// ============================================================
+//  Sink Server-Sent Events: un evento SSE por evento del catálogo
+//  (id = posicion, event = tipo, data = EventoCatalogo en JSON)
+//
+//  Cada suscriptor se pone primero al día desde libros_outbox y
+//  después recibe los lotes en vivo. Lo que llega en vivo durante
+//  la puesta al día se guarda y se envía después, descartando las
+//  posiciones ya enviadas.
+//
+//  Con varias instancias el relay local solo entrega las
+//  posiciones que numeró esta instancia: seguir() lee además la
+//  tabla cada relay-interval-ms, y un lote que no empieza en
+//  ultima + 1 se completa antes desde la tabla. Así no hay huecos
+//  ni duplicados, numere quien numere.
+// ============================================================
+public class SseOutboxSink implements OutboxSink {
+
+    private static final Logger log = LoggerFactory.getLogger(SseOutboxSink.class);
+
+    private final Set<Suscriptor> suscriptores = ConcurrentHashMap.newKeySet();
+
+    private final LibrosEventosService eventosService;
+    private final TaskExecutor executor;
+    private final long timeoutMs;
+
+    // Mayor posición entregada en vivo; seguir() lee a partir de aquí
+    private volatile long ultimaVista;
+
+    public SseOutboxSink(LibrosEventosService eventosService, TaskExecutor executor, Duration timeout) {
+        this.eventosService = eventosService;
+        this.executor = executor;
+        this.timeoutMs = timeout.toMillis();
+    }
+
+    // ============================================================
+    //  Nueva suscripción a partir de una posición (0 = desde el
+    //  evento más antiguo retenido). La puesta al día corre en el
+    //  executor async, no en el hilo de la petición.
+    // ============================================================
+    public SseEmitter suscribir(long afterPosicion) {
+
+        SseEmitter emitter = nuevoEmitter(timeoutMs);
+        Suscriptor suscriptor = new Suscriptor(emitter, afterPosicion);
+
+        suscriptores.add(suscriptor);
+        emitter.onCompletion(() -> suscriptores.remove(suscriptor));
+        emitter.onTimeout(() -> suscriptores.remove(suscriptor));
+        emitter.onError(e -> suscriptores.remove(suscriptor));
+
+        executor.execute(() -> ponerAlDia(suscriptor));
+        return emitter;
+    }
+
+    @Override
+    public void publicar(List<EventoCatalogo> lote) {
+
+        if (lote.isEmpty()) {
+            return;
+        }
+
+        for (Suscriptor suscriptor : suscriptores) {
+            try {
+                suscriptor.enVivo(lote);
+            } catch (IOException | RuntimeException e) {
+                // Cliente desconectado: reconecta con Last-Event-ID
+                descartar(suscriptor, e);
+            }
+        }
+
+        ultimaVista = Math.max(ultimaVista, lote.get(lote.size() - 1).posicion());
+    }
+
+    // ============================================================
+    //  Posiciones numeradas por otras instancias (o por este relay
+    //  antes de entregar): se leen de la tabla y se reparten igual
+    // ============================================================
+    @Scheduled(fixedDelayString = "${libros.outbox.relay-interval-ms:200}")
+    public void seguir() {
+
+        if (suscriptores.isEmpty()) {
+            return;
+        }
+
+        List<EventoCatalogo> nuevos;
+        do {
+            nuevos = leer(ultimaVista);
+            publicar(nuevos);
+        } while (nuevos.size() == LibrosEventosService.MAX_PAGE_SIZE);
+    }
+
+    SseEmitter nuevoEmitter(long timeoutMs) {
+        return new SseEmitter(timeoutMs);
+    }
+
+    public int suscriptores() {
+        return suscriptores.size();
+    }
+
+    private void ponerAlDia(Suscriptor suscriptor) {
+        try {
+            suscriptor.completarHasta(Long.MAX_VALUE);
+            suscriptor.alDia();
+            ultimaVista = Math.max(ultimaVista, suscriptor.ultima());
+        } catch (IOException | RuntimeException e) {
+            descartar(suscriptor, e);
+        }
+    }
+
+    // Desde la primaria: una réplica atrasada dejaría un hueco antes de lo recibido en vivo
+    private List<EventoCatalogo> leer(long afterPosicion) {
+        return RoutingContext.enPrimaria(() ->
+                eventosService.getEventos(afterPosicion, LibrosEventosService.MAX_PAGE_SIZE));
+    }
+
+    private void descartar(Suscriptor suscriptor, Exception e) {
+        log.debug("Suscriptor SSE del catálogo descartado", e);
+        suscriptores.remove(suscriptor);
+        suscriptor.emitter.completeWithError(e);
+    }
+
+    // ============================================================
+    //  Estado de un cliente: última posición enviada y lotes en
+    //  vivo pendientes mientras se pone al día
+    //
+    //  ReentrantLock y no synchronized: emitter.send escribe en el
+    //  socket con el lock tomado, y con hilos virtuales (Java 21)
+    //  un monitor fija el hilo a su portador durante ese bloqueo.
+    // ============================================================
+    final class Suscriptor {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final SseEmitter emitter;
+        private final List<EventoCatalogo> enEspera = new ArrayList<>();
+        private long ultima;
+        private boolean alDia;
+
+        Suscriptor(SseEmitter emitter, long ultima) {
+            this.emitter = emitter;
+            this.ultima = ultima;
+        }
+
+        long ultima() {
+            lock.lock();
+            try {
+                return ultima;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void enVivo(List<EventoCatalogo> lote) throws IOException {
+            lock.lock();
+            try {
+                if (alDia) {
+                    enviarSinHuecos(lote);
+                } else {
+                    enEspera.addAll(lote);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void alDia() throws IOException {
+            lock.lock();
+            try {
+                alDia = true;
+                enviarSinHuecos(enEspera);
+                enEspera.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Lo que falte entre ultima y el primer evento del lote sale de la tabla
+        private void enviarSinHuecos(List<EventoCatalogo> lote) throws IOException {
+            if (!lote.isEmpty() && lote.get(0).posicion() > ultima + 1) {
+                completarHasta(lote.get(0).posicion() - 1);
+            }
+            enviar(lote);
+        }
+
+        // Páginas de la tabla hasta llegar a la posición (o al final)
+        void completarHasta(long posicion) throws IOException {
+            lock.lock();
+            try {
+                List<EventoCatalogo> pagina;
+                do {
+                    pagina = leer(ultima);
+                    enviar(pagina);
+                } while (ultima < posicion && pagina.size() == LibrosEventosService.MAX_PAGE_SIZE);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void enviar(List<EventoCatalogo> eventos) throws IOException {
+            for (EventoCatalogo evento : eventos) {
+                if (evento.posicion() > ultima) {
+                    emitter.send(SseEmitter.event()
+                            .id(Long.toString(evento.posicion()))
+                            .name(evento.tipo().name())
+                            .data(evento, MediaType.APPLICATION_JSON));
+                    ultima = evento.posicion();
+                }
+            }
+        }
+    }
+}
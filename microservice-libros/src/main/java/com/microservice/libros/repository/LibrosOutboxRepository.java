@@ -0,0 +1,52 @@
+package com.microservice.libros.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.microservice.libros.dto.EventoCatalogo;
+import com.microservice.libros.model.LibrosOutboxEvento;
+
+import jakarta.persistence.LockModeType;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface LibrosOutboxRepository extends JpaRepository<LibrosOutboxEvento, Long> {
+
+    // ============================================================
+    //  Eventos aún sin numerar, en orden de inserción
+    //  FOR UPDATE: un segundo relay espera a que el primero confirme
+    // ============================================================
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from LibrosOutboxEvento e where e.posicion is null order by e.id")
+    List<LibrosOutboxEvento> findPendientes(Limit limit);
+
+    // Última posición asignada (0 si no hay ninguna); MAX sobre el índice
+    @Query("select coalesce(max(e.posicion), 0) from LibrosOutboxEvento e")
+    long findUltimaPosicion();
+
+    // Primera posición aún retenida (null si el outbox está vacío)
+    @Query("select min(e.posicion) from LibrosOutboxEvento e")
+    Long findPrimeraPosicion();
+
+    // ============================================================
+    //  Página keyset sobre posicion, proyectada al evento publicado
+    //  WHERE posicion > ? ORDER BY posicion LIMIT ? → usa el índice
+    // ============================================================
+    @Query("select new com.microservice.libros.dto.EventoCatalogo(e.posicion, e.tipo, e.libroId, e.payload, e.creadoEn) "
+            + "from LibrosOutboxEvento e where e.posicion > :afterPosicion order by e.posicion")
+    List<EventoCatalogo> findPublicados(long afterPosicion, Limit limit);
+
+    // ============================================================
+    //  Retención: borra los eventos publicados antes del límite,
+    //  salvo el último (de él sigue la numeración tras una purga)
+    // ============================================================
+    @Modifying
+    @Query("delete from LibrosOutboxEvento e where e.publicadoEn < :limite and e.posicion < :ultimaPosicion")
+    int deletePublicadosAntesDe(Instant limite, long ultimaPosicion);
+}
@@ -1,13 +1,144 @@
 package com.microservice.libros.repository;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import com.microservice.libros.dto.LibroResumen;
+import com.microservice.libros.dto.LibroVersion;
 import com.microservice.libros.model.Libros;
 
+import jakarta.persistence.QueryHint;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface LibrosRepository extends JpaRepository<Libros, Integer> {
 
-    
-}
+    // ============================================================
+    //  Paginación keyset sobre id_libro (primera página)
+    //  Solo lectura: las entidades van a la caché de páginas, así
+    //  que Hibernate no guarda su copia para dirty checking
+    // ============================================================
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Libros> findAllByOrderByIdAsc(Limit limit);
+
+    // ============================================================
+    //  Paginación keyset sobre id_libro (páginas siguientes)
+    //  WHERE id_libro > ? ORDER BY id_libro LIMIT ? → usa la PK
+    // ============================================================
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Libros> findByIdGreaterThanOrderByIdAsc(Integer id, Limit limit);
+
+    // ============================================================
+    //  Página keyset en vista resumida: solo 5 columnas, proyectadas
+    //  a un record (sin hidratar ni registrar entidades)
+    // ============================================================
+    @Query("select new com.microservice.libros.dto.LibroResumen(l.id, l.titulo, l.autor, l.precio, l.disponible) "
+            + "from Libros l where l.id > :afterId order by l.id")
+    List<LibroResumen> findResumenPage(Integer afterId, Limit limit);
+
+    // ============================================================
+    //  Solo versión y fecha de modificación (GET condicional):
+    //  responde 304 sin leer la fila completa
+    // ============================================================
+    @Query("select new com.microservice.libros.dto.LibroVersion(l.id, l.version, l.actualizadoEn) "
+            + "from Libros l where l.id = :id")
+    Optional<LibroVersion> findVersionById(Integer id);
+
+    @Query("select new com.microservice.libros.dto.LibroVersion(l.id, l.version, l.actualizadoEn) "
+            + "from Libros l where l.id > :afterId order by l.id")
+    List<LibroVersion> findVersionPage(Integer afterId, Limit limit);
+
+    // ============================================================
+    //  Marcas de borrado (ver LibrosBorrado): se registran antes del
+    //  DELETE, en la misma transacción, y el último borrado dentro
+    //  del rango de ids de una página entra en sus validadores
+    // ============================================================
+    @Modifying(flushAutomatically = true)
+    @Query("insert into LibrosBorrado (id, borradoEn) "
+            + "select l.id, current_instant from Libros l where l.id in :ids")
+    int registrarBorrados(Collection<Integer> ids);
+
+    @Query("select max(b.borradoEn) from LibrosBorrado b where b.id > :afterId and b.id <= :hastaId")
+    Instant findUltimoBorrado(Integer afterId, Integer hastaId);
 
+    // ============================================================
+    //  Filtros del catálogo (keyset sobre id_libro)
+    //  Cada uno se resuelve con su índice de @Table en Libros.
+    // ============================================================
+    List<Libros> findByAutorAndIdGreaterThanOrderByIdAsc(String autor, Integer id, Limit limit);
+
+    List<Libros> findByCategoriaAndDisponibleAndIdGreaterThanOrderByIdAsc(String categoria, Boolean disponible,
+                                                                           Integer id, Limit limit);
+
+    // ============================================================
+    //  Rango de precio ordenado por (precio, id_libro): el índice
+    //  resuelve el rango y el orden. Cursor = último (precio, id);
+    //  en la primera página afterPrecio = min y afterId = 0.
+    // ============================================================
+    @Query("select l from Libros l where l.precio >= :afterPrecio and l.precio <= :max "
+            + "and (l.precio > :afterPrecio or l.id > :afterId) order by l.precio, l.id")
+    List<Libros> findByPrecioRange(BigDecimal afterPrecio, Integer afterId, BigDecimal max, Limit limit);
+
+    // ============================================================
+    //  Recorrido completo en streaming para exportaciones
+    //  Debe consumirse dentro de una transacción y cerrarse al final.
+    //  En MySQL requiere useCursorFetch=true para respetar el fetch size.
+    // ============================================================
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select l from Libros l order by l.id")
+    Stream<Libros> streamAllOrderById();
+
+    // ============================================================
+    //  Ids existentes de un lote (solo la PK, sin hidratar entidades)
+    // ============================================================
+    @Query("select l.id from Libros l where l.id in :ids")
+    List<Integer> findExistingIds(Collection<Integer> ids);
+
+    // ============================================================
+    //  Reserva atómica: un solo UPDATE condicional, sin cargar la
+    //  entidad. Devuelve 0 si no hay stock suficiente o no existe.
+    // ============================================================
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Libros l set l.stock = l.stock - :cantidad, l.version = l.version + 1, "
+            + "l.actualizadoEn = current_instant where l.id = :id and l.stock >= :cantidad")
+    int reservarStock(Integer id, int cantidad);
+
+    // ============================================================
+    //  Liberación atómica (devolución de stock reservado)
+    // ============================================================
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Libros l set l.stock = l.stock + :cantidad, l.version = l.version + 1, "
+            + "l.actualizadoEn = current_instant where l.id = :id")
+    int liberarStock(Integer id, int cantidad);
+
+    // ============================================================
+    //  Ajuste relativo (delta +/-) solo si el stock no queda negativo
+    // ============================================================
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Libros l set l.stock = l.stock + :delta, l.version = l.version + 1, "
+            + "l.actualizadoEn = current_instant where l.id = :id and l.stock + :delta >= 0")
+    int sumarStock(Integer id, int delta);
+
+    // ============================================================
+    //  Ajuste que dejaría el stock negativo: se acota a 0
+    //  (el servicio lo registra; ver LibrosStockService.ajustarStock)
+    // ============================================================
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Libros l set l.stock = 0, l.version = l.version + 1, "
+            + "l.actualizadoEn = current_instant where l.id = :id and l.stock + :delta < 0")
+    int agotarStock(Integer id, int delta);
+}
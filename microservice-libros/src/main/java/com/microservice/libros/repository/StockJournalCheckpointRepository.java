@@ -0,0 +1,10 @@
+package com.microservice.libros.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.microservice.libros.model.StockJournalCheckpoint;
+
+@Repository
+public interface StockJournalCheckpointRepository extends JpaRepository<StockJournalCheckpoint, String> {
+}
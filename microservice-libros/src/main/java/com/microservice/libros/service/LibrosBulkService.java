@@ -0,0 +1,251 @@
+package com.microservice.libros.service;
+
+import com.microservice.libros.config.CacheConfig;
+import com.microservice.libros.config.MetricsConfig;
+import com.microservice.libros.dto.BulkItemResult;
+import com.microservice.libros.dto.BulkItemResult.Estado;
+import com.microservice.libros.event.LibrosChangeEvent;
+import com.microservice.libros.model.Libros;
+import com.microservice.libros.repository.LibrosRepository;
+
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@Observed(name = MetricsConfig.SERVICE_TIMER)
+public class LibrosBulkService {
+
+    // Máximo de elementos aceptados en una sola petición masiva
+    public static final int MAX_BULK_ITEMS = 5000;
+
+    private final LibrosRepository librosRepository;
+    private final EntityManager entityManager;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final int batchSize;
+
+    public LibrosBulkService(LibrosRepository librosRepository,
+                             EntityManager entityManager,
+                             CacheManager cacheManager,
+                             ApplicationEventPublisher eventPublisher,
+                             Validator validator,
+                             @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        this.librosRepository = librosRepository;
+        this.entityManager = entityManager;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.batchSize = batchSize;
+    }
+
+    // ============================================================
+    //  Crear libros en lote
+    //  Se valida todo en una pasada; los válidos se insertan en
+    //  bloques de batchSize (flush + clear por bloque).
+    // ============================================================
+    @Transactional
+    public List<BulkItemResult> createLibros(List<Libros> libros) {
+
+        BulkItemResult[] resultados = new BulkItemResult[libros.size()];
+        List<Libros> bloque = new ArrayList<>(batchSize);
+        List<Integer> indices = new ArrayList<>(batchSize);
+
+        for (int i = 0; i < libros.size(); i++) {
+            Libros libro = libros.get(i);
+            String error = validar(libro);
+
+            if (error != null) {
+                resultados[i] = new BulkItemResult(i, null, Estado.INVALIDO, error);
+                continue;
+            }
+
+            libro.setId(null);
+            bloque.add(libro);
+            indices.add(i);
+
+            if (bloque.size() == batchSize) {
+                insertarBloque(bloque, indices, resultados);
+            }
+        }
+
+        insertarBloque(bloque, indices, resultados);
+
+        return Arrays.asList(resultados);
+    }
+
+    // ============================================================
+    //  Actualizar libros en lote (cada elemento debe traer id)
+    //  Carga por bloques con un solo SELECT ... IN y deja que el
+    //  dirty checking emita los UPDATE agrupados en el flush.
+    //  Los ids repetidos se detectan en toda la petición, no solo
+    //  dentro del bloque en curso. Un elemento null (body [null, ...])
+    //  es INVALIDO sin id.
+    // ============================================================
+    @Transactional
+    public List<BulkItemResult> updateLibros(List<Libros> libros) {
+
+        BulkItemResult[] resultados = new BulkItemResult[libros.size()];
+        Map<Integer, Integer> bloque = new HashMap<>();
+        Set<Integer> vistos = new HashSet<>();
+
+        for (int i = 0; i < libros.size(); i++) {
+            Libros libro = libros.get(i);
+            Integer id = libro != null ? libro.getId() : null;
+            String error = libro != null && id == null ? "El id es obligatorio" : validar(libro);
+
+            if (error != null) {
+                resultados[i] = new BulkItemResult(i, id, Estado.INVALIDO, error);
+                continue;
+            }
+
+            if (!vistos.add(id)) {
+                resultados[i] = new BulkItemResult(i, id, Estado.INVALIDO, "Id duplicado en la petición");
+                continue;
+            }
+
+            bloque.put(id, i);
+
+            if (bloque.size() == batchSize) {
+                actualizarBloque(libros, bloque, resultados);
+            }
+        }
+
+        actualizarBloque(libros, bloque, resultados);
+
+        return Arrays.asList(resultados);
+    }
+
+    // ============================================================
+    //  Eliminar libros en lote con un único DELETE ... WHERE id IN
+    // ============================================================
+    @Transactional
+    public List<BulkItemResult> deleteLibros(List<Integer> ids) {
+
+        Set<Integer> existentes = new HashSet<>(librosRepository.findExistingIds(new HashSet<>(ids)));
+
+        if (!existentes.isEmpty()) {
+            librosRepository.registrarBorrados(existentes);
+            librosRepository.deleteAllByIdInBatch(existentes);
+        }
+
+        List<BulkItemResult> resultados = new ArrayList<>(ids.size());
+
+        for (int i = 0; i < ids.size(); i++) {
+            Integer id = ids.get(i);
+            resultados.add(existentes.contains(id)
+                    ? new BulkItemResult(i, id, Estado.ELIMINADO, null)
+                    : new BulkItemResult(i, id, Estado.NO_ENCONTRADO, "Libro no encontrado"));
+        }
+
+        existentes.forEach(id -> eventPublisher.publishEvent(LibrosChangeEvent.eliminado(id)));
+
+        evictLibros(existentes);
+        return resultados;
+    }
+
+    // ============================================================
+    //  Validación con las restricciones de la entidad (@Size,
+    //  @Digits, @PastOrPresent...): un elemento inválido se informa
+    //  como INVALIDO en vez de hacer fallar el flush de todo el lote.
+    // ============================================================
+    String validar(Libros libro) {
+
+        if (libro == null) {
+            return "El libro no puede ser nulo";
+        }
+
+        Set<ConstraintViolation<Libros>> violaciones = validator.validate(libro);
+
+        if (violaciones.isEmpty()) {
+            return null;
+        }
+
+        return violaciones.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void insertarBloque(List<Libros> bloque, List<Integer> indices, BulkItemResult[] resultados) {
+
+        if (bloque.isEmpty()) {
+            return;
+        }
+
+        librosRepository.saveAll(bloque);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Integer> ids = new ArrayList<>(bloque.size());
+
+        for (int j = 0; j < bloque.size(); j++) {
+            Libros creado = bloque.get(j);
+            resultados[indices.get(j)] = new BulkItemResult(indices.get(j), creado.getId(), Estado.CREADO, null);
+            ids.add(creado.getId());
+            eventPublisher.publishEvent(LibrosChangeEvent.creado(creado));
+        }
+
+        evictLibros(ids);
+        bloque.clear();
+        indices.clear();
+    }
+
+    private void actualizarBloque(List<Libros> libros, Map<Integer, Integer> bloque, BulkItemResult[] resultados) {
+
+        if (bloque.isEmpty()) {
+            return;
+        }
+
+        List<Integer> ids = new ArrayList<>(bloque.size());
+
+        for (Libros existente : librosRepository.findAllById(bloque.keySet())) {
+            int indice = bloque.remove(existente.getId());
+            LibrosService.copiarCampos(existente, libros.get(indice));
+            resultados[indice] = new BulkItemResult(indice, existente.getId(), Estado.ACTUALIZADO, null);
+            ids.add(existente.getId());
+            eventPublisher.publishEvent(LibrosChangeEvent.actualizado(existente));
+        }
+
+        // Lo que queda en el bloque no existe en la base
+        bloque.forEach((id, indice) ->
+                resultados[indice] = new BulkItemResult(indice, id, Estado.NO_ENCONTRADO, "Libro no encontrado"));
+
+        entityManager.flush();
+        entityManager.clear();
+
+        evictLibros(ids);
+        bloque.clear();
+    }
+
+    // Invalida solo los ids tocados; las páginas se invalidan completas
+    private void evictLibros(Iterable<Integer> ids) {
+
+        Cache libros = cacheManager.getCache(CacheConfig.LIBROS);
+        Cache paginas = cacheManager.getCache(CacheConfig.LIBROS_PAGINAS);
+
+        if (libros != null) {
+            ids.forEach(libros::evict);
+        }
+        if (paginas != null) {
+            paginas.clear();
+        }
+    }
+}
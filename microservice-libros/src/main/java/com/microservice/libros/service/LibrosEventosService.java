@@ -0,0 +1,70 @@
+package com.microservice.libros.service;
+
+import com.microservice.libros.config.MetricsConfig;
+import com.microservice.libros.dto.EventoCatalogo;
+import com.microservice.libros.repository.LibrosOutboxRepository;
+
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// ============================================================
+//  Lectura del flujo de eventos del catálogo por posición
+//  (sincronización incremental en lugar de getAllLibros)
+// ============================================================
+@Service
+@Observed(name = MetricsConfig.SERVICE_TIMER)
+@ConditionalOnProperty(prefix = "libros.outbox", name = "enabled", havingValue = "true")
+public class LibrosEventosService {
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private final LibrosOutboxRepository outboxRepository;
+
+    public LibrosEventosService(LibrosOutboxRepository outboxRepository) {
+        this.outboxRepository = outboxRepository;
+    }
+
+    // La posición pedida ya salió de la retención: hay que resincronizar con /export
+    public static class PosicionExpiradaException extends RuntimeException {
+        public PosicionExpiradaException(String msg) {
+            super(msg);
+        }
+    }
+
+    // ============================================================
+    //  Eventos con posicion > afterPosicion, en orden
+    //  readOnly: con réplicas un consumidor puede ir algo atrasado,
+    //  pero nunca salta posiciones (se numeran sin huecos)
+    // ============================================================
+    @Transactional(readOnly = true)
+    public List<EventoCatalogo> getEventos(long afterPosicion, Integer size) {
+
+        List<EventoCatalogo> eventos = outboxRepository.findPublicados(afterPosicion, Limit.of(normalizePageSize(size)));
+
+        // Hueco entre lo que tiene el consumidor y lo retenido: se purgaron eventos
+        if (afterPosicion > 0 && (eventos.isEmpty() || eventos.get(0).posicion() > afterPosicion + 1)) {
+            Long primera = outboxRepository.findPrimeraPosicion();
+            if (primera != null && primera > afterPosicion + 1) {
+                throw new PosicionExpiradaException("La posición " + afterPosicion
+                        + " ya no está retenida (la más antigua es " + primera + ")");
+            }
+        }
+
+        return eventos;
+    }
+
+    public static int normalizePageSize(Integer size) {
+
+        if (size == null || size < 1) {
+            return DEFAULT_PAGE_SIZE;
+        }
+
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+}
@@ -0,0 +1,67 @@
+package com.microservice.libros.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.microservice.libros.model.Libros;
+import com.microservice.libros.repository.LibrosRepository;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class LibrosExportService {
+
+    // Cada cuántas filas se vacía el buffer hacia el cliente
+    static final int FLUSH_EVERY = 500;
+
+    private static final byte NEWLINE = '\n';
+
+    private final LibrosRepository librosRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter writer;
+
+    public LibrosExportService(LibrosRepository librosRepository,
+                               EntityManager entityManager,
+                               ObjectMapper objectMapper) {
+        this.librosRepository = librosRepository;
+        this.entityManager = entityManager;
+        this.writer = objectMapper.writerFor(Libros.class);
+    }
+
+    // ============================================================
+    //  Exportar el catálogo completo como NDJSON (un libro por línea)
+    //  Las entidades se desacoplan del contexto de persistencia a
+    //  medida que se escriben, así la memoria no crece con el catálogo.
+    // ============================================================
+    @Transactional(readOnly = true)
+    public long exportNdjson(OutputStream out) throws IOException {
+
+        long total = 0;
+
+        try (Stream<Libros> libros = librosRepository.streamAllOrderById()) {
+
+            Iterator<Libros> it = libros.iterator();
+
+            while (it.hasNext()) {
+                Libros libro = it.next();
+
+                out.write(writer.writeValueAsBytes(libro));
+                out.write(NEWLINE);
+                entityManager.detach(libro);
+
+                if (++total % FLUSH_EVERY == 0) {
+                    out.flush();
+                }
+            }
+        }
+
+        out.flush();
+        return total;
+    }
+}
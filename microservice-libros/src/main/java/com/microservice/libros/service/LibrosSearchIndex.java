@@ -0,0 +1,550 @@
+package com.microservice.libros.service;
+
+import com.microservice.libros.dto.ConsultaBusqueda;
+import com.microservice.libros.dto.LibroIndexado;
+import com.microservice.libros.dto.ResultadoBusqueda;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+// ============================================================
+//  Índice invertido en memoria del catálogo
+//
+//  - terminos: término normalizado (minúsculas, sin tildes) de
+//    titulo/autor → ids. Ordenado para resolver prefijos con un
+//    subMap y acotar la búsqueda difusa a la misma inicial.
+//  - facetas: valor normalizado de categoria/idioma/disponible → ids,
+//    con una etiqueta para mostrar por valor (la primera indexada:
+//    "Fantasía" y "fantasia" cuentan juntas y se muestran "Fantasía").
+//  - documentos: id → campos filtrables (rangos de precio y fecha) y
+//    claves de faceta ya normalizadas. ordenados: los mismos ids en orden
+//    (el mapa sigue siendo hash: la búsqueda lo consulta por candidato).
+//
+//  Una consulta sin texto ni filtros no recorre los documentos: el
+//  total, la página (los primeros ids) y los conteos por faceta
+//  (tamaño de cada conjunto de ids) se mantienen al indexar.
+//
+//  Lecturas concurrentes; las escrituras (alta, cambio, baja) toman
+//  el lock exclusivo y reemplazan el documento completo.
+// ============================================================
+public class LibrosSearchIndex {
+
+    public static final String FACETA_CATEGORIA = "categoria";
+    public static final String FACETA_IDIOMA = "idioma";
+    public static final String FACETA_DISPONIBLE = "disponible";
+
+    private static final List<String> FACETAS = List.of(FACETA_CATEGORIA, FACETA_IDIOMA, FACETA_DISPONIBLE);
+
+    // Puntaje por tipo de coincidencia de cada término de la consulta
+    // (enteros chicos: los Integer quedan en caché y no se asignan)
+    private static final int PUNTAJE_EXACTO = 3;
+    private static final int PUNTAJE_PREFIJO = 2;
+    private static final int PUNTAJE_DIFUSO = 1;
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final Map<Integer, Documento> documentos = new HashMap<>();
+    private final NavigableSet<Integer> ordenados = new TreeSet<>();
+    private final NavigableMap<String, Set<Integer>> terminos = new TreeMap<>();
+    private final Map<String, Map<String, Set<Integer>>> facetas = Map.of(
+            FACETA_CATEGORIA, new HashMap<>(),
+            FACETA_IDIOMA, new HashMap<>(),
+            FACETA_DISPONIBLE, new HashMap<>()
+    );
+    private final Map<String, Map<String, String>> etiquetas = Map.of(
+            FACETA_CATEGORIA, new HashMap<>(),
+            FACETA_IDIOMA, new HashMap<>(),
+            FACETA_DISPONIBLE, new HashMap<>()
+    );
+
+    // ============================================================
+    //  Documento indexado con sus claves de faceta normalizadas
+    //  (se normaliza una vez al indexar, no en cada búsqueda). Las
+    //  claves se internan: pocos valores distintos, y al contar
+    //  facetas equals resuelve por identidad en vez de comparar
+    //  caracteres en cada documento.
+    // ============================================================
+    private record Documento(LibroIndexado libro, String categoria, String idioma, String disponible) {
+
+        static Documento de(LibroIndexado libro) {
+            return new Documento(libro, interna(libro.categoria()), interna(libro.idioma()),
+                    libro.disponible() == null ? null : libro.disponible().toString());
+        }
+
+        private static String interna(String valor) {
+            String normalizado = normalizar(valor);
+            return normalizado == null ? null : normalizado.intern();
+        }
+
+        String clave(String faceta) {
+            return switch (faceta) {
+                case FACETA_CATEGORIA -> categoria;
+                case FACETA_IDIOMA -> idioma;
+                default -> disponible;
+            };
+        }
+
+        String etiqueta(String faceta) {
+            return switch (faceta) {
+                case FACETA_CATEGORIA -> libro.categoria().trim();
+                case FACETA_IDIOMA -> libro.idioma().trim();
+                default -> disponible;
+            };
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // ============================================================
+    //  Alta o reemplazo de un documento
+    // ============================================================
+    public void indexar(LibroIndexado doc) {
+
+        lock.writeLock().lock();
+        try {
+            eliminarInterno(doc.id());
+
+            Documento documento = Documento.de(doc);
+            documentos.put(doc.id(), documento);
+            ordenados.add(doc.id());
+
+            for (String termino : terminosDe(doc)) {
+                terminos.computeIfAbsent(termino, k -> new HashSet<>()).add(doc.id());
+            }
+
+            for (String faceta : FACETAS) {
+                String clave = documento.clave(faceta);
+                if (clave != null) {
+                    facetas.get(faceta).computeIfAbsent(clave, k -> new HashSet<>()).add(doc.id());
+                    etiquetas.get(faceta).putIfAbsent(clave, documento.etiqueta(faceta));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ============================================================
+    //  Baja de un documento
+    // ============================================================
+    public void eliminar(int id) {
+
+        lock.writeLock().lock();
+        try {
+            eliminarInterno(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int tamano() {
+
+        lock.readLock().lock();
+        try {
+            return documentos.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ============================================================
+    //  Búsqueda: texto (AND entre términos) + facetas + rangos
+    // ============================================================
+    public ResultadoBusqueda buscar(ConsultaBusqueda consulta) {
+
+        lock.readLock().lock();
+        try {
+            List<String> tokens = tokenizar(consulta.q());
+
+            if (tokens.isEmpty() && sinFiltros(consulta)) {
+                return todos(consulta.limite());
+            }
+
+            // null = todos los documentos (sin texto)
+            Map<Integer, Integer> puntajes = tokens.isEmpty() ? null : puntuar(tokens, consulta.fuzzy());
+
+            Collection<Integer> candidatos = puntajes != null ? puntajes.keySet() : documentos.keySet();
+            candidatos = filtrarFaceta(candidatos, FACETA_CATEGORIA, normalizar(consulta.categoria()));
+            candidatos = filtrarFaceta(candidatos, FACETA_IDIOMA, normalizar(consulta.idioma()));
+            candidatos = filtrarFaceta(candidatos, FACETA_DISPONIBLE,
+                    consulta.disponible() == null ? null : consulta.disponible().toString());
+
+            List<Documento> coincidencias = new ArrayList<>(candidatos.size());
+
+            for (Integer id : candidatos) {
+                Documento doc = documentos.get(id);
+                if (doc != null && enRango(doc.libro(), consulta)) {
+                    coincidencias.add(doc);
+                }
+            }
+
+            Comparator<LibroIndexado> orden = Comparator.comparing(LibroIndexado::id);
+            if (puntajes != null) {
+                orden = Comparator.<LibroIndexado>comparingInt(d -> -puntajes.get(d.id())).thenComparing(orden);
+            }
+
+            List<LibroIndexado> pagina = primeros(coincidencias, orden, consulta.limite());
+
+            return new ResultadoBusqueda(coincidencias.size(), pagina, contarFacetas(coincidencias));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ============================================================
+    //  Sin texto ni filtros: nada que recorrer. Página = primeros
+    //  ids ordenados; conteos = tamaño de cada conjunto de faceta.
+    // ============================================================
+    private ResultadoBusqueda todos(int limite) {
+
+        List<LibroIndexado> pagina = new ArrayList<>(Math.min(limite, ordenados.size()));
+        for (Integer id : ordenados) {
+            if (pagina.size() == limite) {
+                break;
+            }
+            pagina.add(documentos.get(id).libro());
+        }
+
+        Map<String, Map<String, Long>> conteos = new LinkedHashMap<>();
+        for (String faceta : FACETAS) {
+            Map<String, Long> porClave = new HashMap<>();
+            facetas.get(faceta).forEach((clave, ids) -> porClave.put(clave, (long) ids.size()));
+            conteos.put(faceta, conEtiquetas(faceta, porClave));
+        }
+
+        return new ResultadoBusqueda(documentos.size(), pagina, conteos);
+    }
+
+    // ============================================================
+    //  Normalización: minúsculas y sin tildes ("Fantasía" → "fantasia")
+    // ============================================================
+    static String normalizar(String texto) {
+
+        if (texto == null || texto.isBlank()) {
+            return null;
+        }
+
+        String sinTildes = MARCAS.matcher(Normalizer.normalize(texto.trim(), Normalizer.Form.NFD)).replaceAll("");
+        return sinTildes.toLowerCase(Locale.ROOT);
+    }
+
+    static List<String> tokenizar(String texto) {
+
+        String normalizado = normalizar(texto);
+        if (normalizado == null) {
+            return List.of();
+        }
+
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARADORES.split(normalizado)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // Distancia de edición permitida según el largo del término
+    static int maxEdiciones(String token) {
+        if (token.length() < 4) {
+            return 0;
+        }
+        return token.length() < 8 ? 1 : 2;
+    }
+
+    // ============================================================
+    //  Distancia de edición acotada (Damerau restringida: una
+    //  transposición de letras vecinas cuenta como un solo error).
+    //  Corta en cuanto toda la fila supera el máximo.
+    // ============================================================
+    static boolean dentroDeDistancia(String a, String b, int max) {
+
+        if (Math.abs(a.length() - b.length()) > max) {
+            return false;
+        }
+
+        int[] anterior = new int[b.length() + 1];
+        int[] previa = new int[b.length() + 1];
+        int[] actual = new int[b.length() + 1];
+
+        for (int j = 0; j <= b.length(); j++) {
+            previa[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            actual[0] = i;
+            int minFila = actual[0];
+
+            for (int j = 1; j <= b.length(); j++) {
+                int costo = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                actual[j] = Math.min(Math.min(actual[j - 1] + 1, previa[j] + 1), previa[j - 1] + costo);
+
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    actual[j] = Math.min(actual[j], anterior[j - 2] + 1);
+                }
+                minFila = Math.min(minFila, actual[j]);
+            }
+
+            if (minFila > max) {
+                return false;
+            }
+
+            int[] tmp = anterior;
+            anterior = previa;
+            previa = actual;
+            actual = tmp;
+        }
+
+        return previa[b.length()] <= max;
+    }
+
+    // Término del índice que coincide con un token de la consulta
+    private record Coincidencia(Set<Integer> ids, int puntaje) {
+    }
+
+    // ============================================================
+    //  Puntaje por documento: suma, por token, de la mejor
+    //  coincidencia. El token más selectivo define los candidatos y
+    //  los demás solo se consultan para esos ids (intersección).
+    // ============================================================
+    private Map<Integer, Integer> puntuar(List<String> tokens, boolean fuzzy) {
+
+        List<List<Coincidencia>> porToken = new ArrayList<>(tokens.size());
+
+        for (String token : tokens) {
+            List<Coincidencia> coincidencias = coincidencias(token, fuzzy);
+            if (coincidencias.isEmpty()) {
+                return Map.of();
+            }
+            porToken.add(coincidencias);
+        }
+
+        porToken.sort(Comparator.comparingInt(LibrosSearchIndex::postings));
+
+        Map<Integer, Integer> acumulado = new HashMap<>();
+        for (Coincidencia c : porToken.get(0)) {
+            c.ids().forEach(id -> acumulado.merge(id, c.puntaje(), Math::max));
+        }
+
+        for (List<Coincidencia> resto : porToken.subList(1, porToken.size())) {
+
+            Iterator<Map.Entry<Integer, Integer>> it = acumulado.entrySet().iterator();
+
+            while (it.hasNext()) {
+                Map.Entry<Integer, Integer> e = it.next();
+                int puntaje = mejorPuntaje(resto, e.getKey());
+
+                if (puntaje == 0) {
+                    it.remove();
+                } else {
+                    e.setValue(e.getValue() + puntaje);
+                }
+            }
+
+            if (acumulado.isEmpty()) {
+                break;
+            }
+        }
+
+        return acumulado;
+    }
+
+    // Exactas primero, luego prefijos, luego difusas (puntaje descendente)
+    private List<Coincidencia> coincidencias(String token, boolean fuzzy) {
+
+        List<Coincidencia> coincidencias = new ArrayList<>();
+
+        Set<Integer> exacto = terminos.get(token);
+        if (exacto != null) {
+            coincidencias.add(new Coincidencia(exacto, PUNTAJE_EXACTO));
+        }
+
+        // Prefijo: todos los términos en (token, token + MAX_VALUE)
+        for (Map.Entry<String, Set<Integer>> e : terminos.subMap(token, false, token + Character.MAX_VALUE, false).entrySet()) {
+            coincidencias.add(new Coincidencia(e.getValue(), PUNTAJE_PREFIJO));
+        }
+
+        // Difuso: solo términos con la misma inicial y largo compatible
+        int max = maxEdiciones(token);
+        if (fuzzy && max > 0) {
+            String inicial = token.substring(0, 1);
+            for (Map.Entry<String, Set<Integer>> e : terminos.subMap(inicial, true, inicial + Character.MAX_VALUE, false).entrySet()) {
+                if (!e.getKey().startsWith(token) && dentroDeDistancia(token, e.getKey(), max)) {
+                    coincidencias.add(new Coincidencia(e.getValue(), PUNTAJE_DIFUSO));
+                }
+            }
+        }
+
+        return coincidencias;
+    }
+
+    private static int mejorPuntaje(List<Coincidencia> coincidencias, Integer id) {
+        for (Coincidencia c : coincidencias) {
+            if (c.ids().contains(id)) {
+                return c.puntaje();
+            }
+        }
+        return 0;
+    }
+
+    private static int postings(List<Coincidencia> coincidencias) {
+        int total = 0;
+        for (Coincidencia c : coincidencias) {
+            total += c.ids().size();
+        }
+        return total;
+    }
+
+    private Collection<Integer> filtrarFaceta(Collection<Integer> candidatos, String faceta, String valor) {
+
+        if (valor == null) {
+            return candidatos;
+        }
+
+        Set<Integer> ids = facetas.get(faceta).getOrDefault(valor, Set.of());
+
+        // Se recorre el conjunto más chico
+        List<Integer> filtrados = new ArrayList<>();
+        if (ids.size() < candidatos.size()) {
+            Set<Integer> conjunto = candidatos instanceof Set<Integer> s ? s : new HashSet<>(candidatos);
+            ids.forEach(id -> {
+                if (conjunto.contains(id)) {
+                    filtrados.add(id);
+                }
+            });
+        } else {
+            candidatos.forEach(id -> {
+                if (ids.contains(id)) {
+                    filtrados.add(id);
+                }
+            });
+        }
+        return filtrados;
+    }
+
+    // ============================================================
+    //  Top-k con un heap acotado: O(n log k) en vez de ordenar todo
+    // ============================================================
+    private static List<LibroIndexado> primeros(List<Documento> docs, Comparator<LibroIndexado> orden, int k) {
+
+        PriorityQueue<LibroIndexado> heap = new PriorityQueue<>(k + 1, orden.reversed());
+
+        for (Documento documento : docs) {
+            LibroIndexado doc = documento.libro();
+            if (heap.size() < k) {
+                heap.add(doc);
+            } else if (orden.compare(doc, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(doc);
+            }
+        }
+
+        List<LibroIndexado> pagina = new ArrayList<>(heap);
+        pagina.sort(orden);
+        return pagina;
+    }
+
+    private static boolean sinFiltros(ConsultaBusqueda c) {
+        return normalizar(c.categoria()) == null && normalizar(c.idioma()) == null && c.disponible() == null
+                && c.precioMin() == null && c.precioMax() == null && c.desde() == null && c.hasta() == null;
+    }
+
+    private static boolean enRango(LibroIndexado doc, ConsultaBusqueda c) {
+
+        if (c.precioMin() != null && (doc.precio() == null || doc.precio().compareTo(c.precioMin()) < 0)) {
+            return false;
+        }
+        if (c.precioMax() != null && (doc.precio() == null || doc.precio().compareTo(c.precioMax()) > 0)) {
+            return false;
+        }
+        if (c.desde() != null && (doc.fechaPublicacion() == null || doc.fechaPublicacion().isBefore(c.desde()))) {
+            return false;
+        }
+        return c.hasta() == null || (doc.fechaPublicacion() != null && !doc.fechaPublicacion().isAfter(c.hasta()));
+    }
+
+    // ============================================================
+    //  Conteos por clave normalizada (la misma que usa el filtro),
+    //  devueltos con la etiqueta de cada clave
+    // ============================================================
+    private Map<String, Map<String, Long>> contarFacetas(List<Documento> docs) {
+
+        Map<String, Long> categorias = new HashMap<>();
+        Map<String, Long> idiomas = new HashMap<>();
+        Map<String, Long> disponibles = new HashMap<>();
+
+        for (Documento doc : docs) {
+            if (doc.categoria() != null) {
+                categorias.merge(doc.categoria(), 1L, Long::sum);
+            }
+            if (doc.idioma() != null) {
+                idiomas.merge(doc.idioma(), 1L, Long::sum);
+            }
+            if (doc.disponible() != null) {
+                disponibles.merge(doc.disponible(), 1L, Long::sum);
+            }
+        }
+
+        Map<String, Map<String, Long>> resultado = new LinkedHashMap<>();
+        resultado.put(FACETA_CATEGORIA, conEtiquetas(FACETA_CATEGORIA, categorias));
+        resultado.put(FACETA_IDIOMA, conEtiquetas(FACETA_IDIOMA, idiomas));
+        resultado.put(FACETA_DISPONIBLE, conEtiquetas(FACETA_DISPONIBLE, disponibles));
+        return resultado;
+    }
+
+    private Map<String, Long> conEtiquetas(String faceta, Map<String, Long> porClave) {
+        Map<String, Long> porEtiqueta = new HashMap<>(porClave.size() * 2);
+        porClave.forEach((clave, total) -> porEtiqueta.put(etiquetas.get(faceta).get(clave), total));
+        return porEtiqueta;
+    }
+
+    private void eliminarInterno(int id) {
+
+        Documento anterior = documentos.remove(id);
+        if (anterior == null) {
+            return;
+        }
+        ordenados.remove(id);
+
+        for (String termino : terminosDe(anterior.libro())) {
+            Set<Integer> ids = terminos.get(termino);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                terminos.remove(termino);
+            }
+        }
+
+        for (String faceta : FACETAS) {
+            String clave = anterior.clave(faceta);
+            Map<String, Set<Integer>> porValor = facetas.get(faceta);
+            Set<Integer> ids = clave == null ? null : porValor.get(clave);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                porValor.remove(clave);
+                etiquetas.get(faceta).remove(clave);
+            }
+        }
+    }
+
+    private static Set<String> terminosDe(LibroIndexado doc) {
+        Set<String> terminos = new HashSet<>(tokenizar(doc.titulo()));
+        terminos.addAll(tokenizar(doc.autor()));
+        return terminos;
+    }
+}
@@ -0,0 +1,138 @@
+package com.microservice.libros.service;
+
+import com.microservice.libros.config.MetricsConfig;
+import com.microservice.libros.dto.ConsultaBusqueda;
+import com.microservice.libros.dto.LibroIndexado;
+import com.microservice.libros.dto.ResultadoBusqueda;
+import com.microservice.libros.event.LibrosChangeEvent;
+import com.microservice.libros.model.Libros;
+import com.microservice.libros.repository.LibrosRepository;
+
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+@Service
+@Observed(name = MetricsConfig.SERVICE_TIMER)
+public class LibrosSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(LibrosSearchService.class);
+
+    // Cada cuántas filas se vacía el contexto de persistencia al indexar
+    static final int CLEAR_EVERY = 1000;
+
+    private final LibrosRepository librosRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate lectura;
+
+    private final LibrosSearchIndex index = new LibrosSearchIndex();
+
+    // Ids modificados por eventos mientras se construye el índice:
+    // esas filas del recorrido inicial ya están obsoletas y se saltan.
+    // compute() sobre la clave hace de lock por id: la comprobación y
+    // la escritura de la carga no pueden intercalarse con un evento.
+    private final ConcurrentHashMap<Integer, Boolean> tocadosDuranteCarga = new ConcurrentHashMap<>();
+
+    private volatile boolean cargando;
+    private volatile boolean listo;
+
+    public LibrosSearchService(LibrosRepository librosRepository,
+                               EntityManager entityManager,
+                               PlatformTransactionManager transactionManager) {
+        this.librosRepository = librosRepository;
+        this.entityManager = entityManager;
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setReadOnly(true);
+    }
+
+    // ============================================================
+    //  Carga inicial: un recorrido en streaming de la tabla libros
+    // ============================================================
+    @EventListener(ApplicationReadyEvent.class)
+    public void construirIndice() {
+
+        tocadosDuranteCarga.clear();
+        cargando = true;
+        long inicio = System.nanoTime();
+
+        Long total = lectura.execute(status -> {
+
+            long filas = 0;
+
+            try (Stream<Libros> libros = librosRepository.streamAllOrderById()) {
+
+                Iterator<Libros> it = libros.iterator();
+
+                while (it.hasNext()) {
+                    Libros libro = it.next();
+
+                    tocadosDuranteCarga.compute(libro.getId(), (id, tocado) -> {
+                        if (tocado == null) {
+                            index.indexar(LibroIndexado.de(libro));
+                        }
+                        return tocado;
+                    });
+
+                    if (++filas % CLEAR_EVERY == 0) {
+                        entityManager.clear();
+                    }
+                }
+            }
+            return filas;
+        });
+
+        cargando = false;
+        tocadosDuranteCarga.clear();
+        listo = true;
+
+        log.info("Índice de búsqueda construido: {} libros en {} ms",
+                total, (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    // ============================================================
+    //  Actualización incremental tras el commit de cada cambio
+    //  (fallbackExecution: también si se publica fuera de transacción)
+    //  Los cambios hechos en otras instancias llegan por el mismo
+    //  método desde outbox/OutboxFollower.
+    // ============================================================
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLibrosChange(LibrosChangeEvent event) {
+
+        if (cargando) {
+            // Marca y aplica bajo el lock del id
+            tocadosDuranteCarga.compute(event.id(), (id, tocado) -> {
+                aplicar(event);
+                return Boolean.TRUE;
+            });
+            return;
+        }
+
+        aplicar(event);
+    }
+
+    private void aplicar(LibrosChangeEvent event) {
+        switch (event.tipo()) {
+            case CREADO, ACTUALIZADO -> index.indexar(LibroIndexado.de(event.libro()));
+            case ELIMINADO -> index.eliminar(event.id());
+        }
+    }
+
+    public boolean listo() {
+        return listo;
+    }
+
+    public ResultadoBusqueda buscar(ConsultaBusqueda consulta) {
+        return index.buscar(consulta);
+    }
+}
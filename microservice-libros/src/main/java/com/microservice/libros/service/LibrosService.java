@@ -1,21 +1,42 @@
 package com.microservice.libros.service;
 
+import com.microservice.libros.config.CacheConfig;
+import com.microservice.libros.config.MetricsConfig;
+import com.microservice.libros.datasource.RoutingContext;
+import com.microservice.libros.dto.LibroResumen;
+import com.microservice.libros.dto.LibroVersion;
+import com.microservice.libros.event.LibrosChangeEvent;
 import com.microservice.libros.model.Libros;
 import com.microservice.libros.repository.LibrosRepository;
 
-import jakarta.transaction.Transactional;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
 @Service
+@Observed(name = MetricsConfig.SERVICE_TIMER)
 public class LibrosService {
 
+    // Tamaño de página por defecto y máximo permitido en los listados
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final LibrosRepository librosRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public LibrosService(LibrosRepository librosRepository) {
+    public LibrosService(LibrosRepository librosRepository, ApplicationEventPublisher eventPublisher) {
         this.librosRepository = librosRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     // ============================================================
@@ -27,24 +48,137 @@ public class LibrosService {
         }
     }
 
+    // If-Match no coincide con la versión actual del libro
+    public static class VersionConflictException extends RuntimeException {
+        public VersionConflictException(String msg) {
+            super(msg);
+        }
+    }
+
     // ============================================================
     //  Obtener todos los libros
+    //  Las lecturas readOnly van a una réplica cuando hay réplicas
+    //  de lectura (ver datasource/ReplicaRoutingDataSource)
     // ============================================================
+    @Transactional(readOnly = true)
     public List<Libros> getAllLibros() {
         return librosRepository.findAll();
     }
 
+    // ============================================================
+    //  Obtener una página de libros (keyset sobre id_libro)
+    //  afterId = último id de la página anterior (null = primera)
+    //  Sin transacción: la consulta ya es de solo lectura (hint en
+    //  LibrosRepository) y en MySQL una transacción suma los
+    //  SET autocommit y el COMMIT a cada fallo de caché
+    // ============================================================
+    @Cacheable(cacheNames = CacheConfig.LIBROS_PAGINAS, key = "#afterId + ':' + #size")
+    public List<Libros> getLibrosPage(Integer afterId, Integer size) {
+
+        Limit limit = Limit.of(normalizePageSize(size));
+
+        if (afterId == null) {
+            return RoutingContext.enPrimaria(() -> librosRepository.findAllByOrderByIdAsc(limit));
+        }
+
+        return RoutingContext.enPrimaria(() -> librosRepository.findByIdGreaterThanOrderByIdAsc(afterId, limit));
+    }
+
+    // ============================================================
+    //  Versiones (GET condicional): consultas de solo 3 columnas,
+    //  sin caché para no responder 304 con datos viejos
+    // ============================================================
+    @Transactional(readOnly = true)
+    public Optional<LibroVersion> getVersion(int id) {
+        return librosRepository.findVersionById(id);
+    }
+
+    @Transactional(readOnly = true)
+    public List<LibroVersion> getVersionPage(Integer afterId, Integer size) {
+        return librosRepository.findVersionPage(desde(afterId), Limit.of(normalizePageSize(size)));
+    }
+
+    // Último borrado con id en (afterId, hastaId]; hastaId null = página
+    // incompleta, sin tope (un borrado más adelante no la cambia si está llena)
+    @Transactional(readOnly = true)
+    public Instant getUltimoBorrado(Integer afterId, Integer hastaId) {
+        return librosRepository.findUltimoBorrado(desde(afterId), hastaId != null ? hastaId : Integer.MAX_VALUE);
+    }
+
+    // ============================================================
+    //  Página en vista resumida (misma caché de páginas, así se
+    //  invalida junto con las páginas completas)
+    // ============================================================
+    @Cacheable(cacheNames = CacheConfig.LIBROS_PAGINAS, key = "'resumen:' + #afterId + ':' + #size")
+    public List<LibroResumen> getResumenPage(Integer afterId, Integer size) {
+        return RoutingContext.enPrimaria(() ->
+                librosRepository.findResumenPage(desde(afterId), Limit.of(normalizePageSize(size))));
+    }
+
+    // ============================================================
+    //  Filtros del catálogo (keyset sobre id_libro, sin caché:
+    //  cada combinación de filtros sería una entrada distinta)
+    // ============================================================
+    @Transactional(readOnly = true)
+    public List<Libros> getLibrosPorAutor(String autor, Integer afterId, Integer size) {
+        return librosRepository.findByAutorAndIdGreaterThanOrderByIdAsc(
+                autor, desde(afterId), Limit.of(normalizePageSize(size)));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Libros> getLibrosPorCategoria(String categoria, boolean disponible, Integer afterId, Integer size) {
+        return librosRepository.findByCategoriaAndDisponibleAndIdGreaterThanOrderByIdAsc(
+                categoria, disponible, desde(afterId), Limit.of(normalizePageSize(size)));
+    }
+
+    // Ordenado por precio; el cursor es el (precio, id) del último libro
+    @Transactional(readOnly = true)
+    public List<Libros> getLibrosPorPrecio(BigDecimal min, BigDecimal max,
+                                           BigDecimal afterPrecio, Integer afterId, Integer size) {
+
+        if (afterPrecio == null || afterPrecio.compareTo(min) < 0) {
+            afterPrecio = min;
+            afterId = null;
+        }
+
+        return librosRepository.findByPrecioRange(afterPrecio, desde(afterId), max, Limit.of(normalizePageSize(size)));
+    }
+
+    // Los ids empiezan en 1: sin cursor se parte desde 0
+    private static int desde(Integer afterId) {
+        return afterId == null ? 0 : afterId;
+    }
+
+    // Aplica el tamaño por defecto y el máximo duro de página
+    public static int normalizePageSize(Integer size) {
+
+        if (size == null || size < 1) {
+            return DEFAULT_PAGE_SIZE;
+        }
+
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
     // ============================================================
     //  Buscar libro por ID
+    //  Lo que entra en caché se lee de la primaria: una réplica
+    //  atrasada dejaría el dato viejo hasta el TTL (lo mismo en
+    //  las páginas cacheadas). findById ya corre en la transacción
+    //  readOnly de SimpleJpaRepository.
     // ============================================================
+    @Cacheable(cacheNames = CacheConfig.LIBROS, key = "#id")
     public Optional<Libros> getLibroById(int id) {
-        return librosRepository.findById(id);
+        return RoutingContext.enPrimaria(() -> librosRepository.findById(id));
     }
 
     // ============================================================
     //  Crear libro
     // ============================================================
 @Transactional
+@Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.LIBROS, key = "#result.id"),
+        @CacheEvict(cacheNames = CacheConfig.LIBROS_PAGINAS, allEntries = true)
+})
 public Libros createLibro(Libros libro) {
 
     if (libro.getTitulo() == null || libro.getTitulo().isBlank()) {
@@ -55,7 +189,10 @@ public Libros createLibro(Libros libro) {
         throw new IllegalArgumentException("El autor no puede estar vacío");
     }
 
-    return librosRepository.save(libro);
+    Libros creado = librosRepository.save(libro);
+    eventPublisher.publishEvent(LibrosChangeEvent.creado(creado));
+
+    return creado;
 }
 
 
@@ -64,12 +201,18 @@ public Libros createLibro(Libros libro) {
     // Versión limpia sin lambdas ni warnings
     // ============================================================
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.LIBROS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.LIBROS_PAGINAS, allEntries = true)
+    })
     public Optional<Libros> deleteLibroAndReturn(int id) {
 
         Optional<Libros> encontrado = librosRepository.findById(id);
 
         if (encontrado.isPresent()) {
+            librosRepository.registrarBorrados(List.of(id));
             librosRepository.deleteById(id);
+            eventPublisher.publishEvent(LibrosChangeEvent.eliminado(id));
         }
 
         return encontrado;
@@ -79,11 +222,40 @@ public Libros createLibro(Libros libro) {
     // Actualizar libro COMPLETO (PUT)
     // ============================================================
     @Transactional
-    public Libros updateLibro(int id, Libros data) {
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.LIBROS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.LIBROS_PAGINAS, allEntries = true)
+    })
+    public Libros updateLibro(int id, Libros data, Long versionEsperada) {
 
         Libros libro = librosRepository.findById(id)
                 .orElseThrow(() -> new LibroNotFoundException("Libro no encontrado: " + id));
 
+        verificarVersion(libro, versionEsperada);
+
+        copiarCampos(libro, data);
+
+        Libros actualizado = librosRepository.save(libro);
+        eventPublisher.publishEvent(LibrosChangeEvent.actualizado(actualizado));
+
+        return actualizado;
+    }
+
+    // ============================================================
+    //  Precondición If-Match (null = sin precondición). Si otro
+    //  escritor confirma entre esta verificación y el commit, el
+    //  @Version de Libros hace fallar el UPDATE igualmente.
+    // ============================================================
+    static void verificarVersion(Libros libro, Long versionEsperada) {
+
+        if (versionEsperada != null && !versionEsperada.equals(libro.getVersion())) {
+            throw new VersionConflictException("El libro " + libro.getId() + " está en la versión "
+                    + libro.getVersion() + ", se esperaba " + versionEsperada);
+        }
+    }
+
+    // Copia los campos editables (todo excepto el id)
+    static void copiarCampos(Libros libro, Libros data) {
         libro.setTitulo(data.getTitulo());
         libro.setAutor(data.getAutor());
         libro.setEditorial(data.getEditorial());
@@ -94,21 +266,28 @@ public Libros createLibro(Libros libro) {
         libro.setIdioma(data.getIdioma());
         libro.setDescripcion(data.getDescripcion());
         libro.setDisponible(data.getDisponible());
-
-        return librosRepository.save(libro);
     }
 
     // ============================================================
     //  PATCH — actualizar solo stock
     // ============================================================
     @Transactional
-    public Libros updateStock(int id, int nuevoStock) {
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.LIBROS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.LIBROS_PAGINAS, allEntries = true)
+    })
+    public Libros updateStock(int id, int nuevoStock, Long versionEsperada) {
 
         Libros libro = librosRepository.findById(id)
                 .orElseThrow(() -> new LibroNotFoundException("Libro no encontrado: " + id));
 
+        verificarVersion(libro, versionEsperada);
+
         libro.setStock(nuevoStock);
 
-        return librosRepository.save(libro);
+        Libros actualizado = librosRepository.save(libro);
+        eventPublisher.publishEvent(LibrosChangeEvent.actualizado(actualizado));
+
+        return actualizado;
     }
 }
@@ -0,0 +1,166 @@
+package com.microservice.libros.service;
+
+import com.microservice.libros.config.CacheConfig;
+import com.microservice.libros.config.MetricsConfig;
+import com.microservice.libros.event.LibrosChangeEvent;
+import com.microservice.libros.repository.LibrosRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.annotation.Observed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@Observed(name = MetricsConfig.SERVICE_TIMER)
+public class LibrosStockService {
+
+    private static final Logger log = LoggerFactory.getLogger(LibrosStockService.class);
+
+    // ============================================================
+    //  Resultado de una operación relativa de stock
+    // ============================================================
+    public enum ResultadoStock {
+        RESERVADO,
+        LIBERADO,
+        AJUSTADO,
+        ENCOLADO,
+        SIN_STOCK,
+        NO_ENCONTRADO
+    }
+
+    private final LibrosRepository librosRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Counter acotados;
+
+    // Solo existe con libros.stock.write-behind.enabled=true
+    private final StockWriteBehindBuffer writeBehind;
+
+    public LibrosStockService(LibrosRepository librosRepository,
+                              ApplicationEventPublisher eventPublisher,
+                              ObjectProvider<StockWriteBehindBuffer> writeBehind,
+                              ObjectProvider<MeterRegistry> meterRegistry) {
+        this.librosRepository = librosRepository;
+        this.eventPublisher = eventPublisher;
+        this.writeBehind = writeBehind.getIfAvailable();
+        this.acotados = Counter.builder(MetricsConfig.STOCK_CLAMP_COUNTER)
+                .tag("origen", "adjust")
+                .register(meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    // ============================================================
+    //  Reservar (descontar) stock de forma atómica
+    //  UPDATE ... SET stock = stock - ? WHERE id_libro = ? AND stock >= ?
+    //  Solo si no se actualiza ninguna fila se consulta si existe.
+    // ============================================================
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.LIBROS, key = "#id", condition = "#result.name() == 'RESERVADO'"),
+            @CacheEvict(cacheNames = CacheConfig.LIBROS_PAGINAS, allEntries = true, condition = "#result.name() == 'RESERVADO'")
+    })
+    public ResultadoStock reservarStock(int id, int cantidad) {
+
+        validarCantidad(cantidad);
+
+        if (librosRepository.reservarStock(id, cantidad) == 1) {
+            publicarCambio(id);
+            return ResultadoStock.RESERVADO;
+        }
+
+        return librosRepository.existsById(id) ? ResultadoStock.SIN_STOCK : ResultadoStock.NO_ENCONTRADO;
+    }
+
+    // ============================================================
+    //  Liberar (devolver) stock de forma atómica
+    // ============================================================
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.LIBROS, key = "#id", condition = "#result.name() == 'LIBERADO'"),
+            @CacheEvict(cacheNames = CacheConfig.LIBROS_PAGINAS, allEntries = true, condition = "#result.name() == 'LIBERADO'")
+    })
+    public ResultadoStock liberarStock(int id, int cantidad) {
+
+        validarCantidad(cantidad);
+
+        // En modo write-behind la devolución se acumula y se vuelca después
+        if (writeBehind != null) {
+            writeBehind.registrar(id, cantidad);
+            return ResultadoStock.ENCOLADO;
+        }
+
+        if (librosRepository.liberarStock(id, cantidad) == 1) {
+            publicarCambio(id);
+            return ResultadoStock.LIBERADO;
+        }
+
+        return ResultadoStock.NO_ENCONTRADO;
+    }
+
+    // ============================================================
+    //  Ajustar stock con un delta (+/-), sin bajar de 0
+    //  En modo write-behind los deltas positivos se acumulan en
+    //  memoria (ENCOLADO) y se aplican en el próximo volcado; los
+    //  negativos van siempre a la base: un descuento pendiente sería
+    //  invisible para la guarda stock >= ? de reserve y se sobrevendería.
+    //  Un delta que dejaría el stock negativo se acota a 0 y se
+    //  registra (log + libros.stock.clamped).
+    // ============================================================
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.LIBROS, key = "#id", condition = "#result.name() == 'AJUSTADO'"),
+            @CacheEvict(cacheNames = CacheConfig.LIBROS_PAGINAS, allEntries = true, condition = "#result.name() == 'AJUSTADO'")
+    })
+    public ResultadoStock ajustarStock(int id, int delta) {
+
+        if (delta == 0) {
+            throw new IllegalArgumentException("El delta no puede ser 0");
+        }
+
+        if (writeBehind != null && delta > 0) {
+            writeBehind.registrar(id, delta);
+            return ResultadoStock.ENCOLADO;
+        }
+
+        // Si la fila cambia entre los dos UPDATE ninguno aplica: se reintenta
+        while (true) {
+            if (librosRepository.sumarStock(id, delta) == 1) {
+                publicarCambio(id);
+                return ResultadoStock.AJUSTADO;
+            }
+
+            if (librosRepository.agotarStock(id, delta) == 1) {
+                acotados.increment();
+                log.warn("Ajuste de stock {} del libro {} acotado a 0", delta, id);
+                publicarCambio(id);
+                return ResultadoStock.AJUSTADO;
+            }
+
+            if (!librosRepository.existsById(id)) {
+                return ResultadoStock.NO_ENCONTRADO;
+            }
+        }
+    }
+
+    // ============================================================
+    //  Evento de cambio en la misma transacción que el UPDATE
+    //  (outbox e índice de búsqueda). El UPDATE limpia el contexto
+    //  de persistencia: findById lee la fila ya actualizada.
+    // ============================================================
+    private void publicarCambio(int id) {
+        librosRepository.findById(id)
+                .ifPresent(libro -> eventPublisher.publishEvent(LibrosChangeEvent.actualizado(libro)));
+    }
+
+    private static void validarCantidad(int cantidad) {
+        if (cantidad <= 0) {
+            throw new IllegalArgumentException("La cantidad debe ser mayor que 0");
+        }
+    }
+}
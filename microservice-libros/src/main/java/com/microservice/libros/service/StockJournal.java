@@ -0,0 +1,249 @@
+package com.microservice.libros.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+// ============================================================
+//  Journal append-only de deltas de stock, por segmentos:
+//    stock-journal-<n>.log  →  una línea "id,delta" por delta
+//  Cada volcado rota a un segmento nuevo; los segmentos se
+//  eliminan una vez confirmados en la base.
+//
+//  Con fsync, registrar no vuelve hasta que su línea está en
+//  disco, pero el fsync es de grupo: el lock de escritura solo
+//  cubre el append, y un único force() confirma todas las líneas
+//  escritas hasta ese momento. Los registros concurrentes que
+//  esperan el mismo force no pagan uno cada uno.
+// ============================================================
+public class StockJournal implements Closeable {
+
+    private static final String PREFIJO = "stock-journal-";
+    private static final String SUFIJO = ".log";
+
+    private final Path directorio;
+    private final boolean fsync;
+
+    // Orden de adquisición: sincronizacion antes que escritura
+    private final ReentrantLock escritura = new ReentrantLock();
+    private final ReentrantLock sincronizacion = new ReentrantLock();
+
+    private long segmento;
+    private long escrituras;
+    private FileChannel canal;
+
+    // Líneas escritas (bajo escritura) y cuántas de ellas ya están en disco
+    private long secuencia;
+    private volatile long sincronizadas;
+
+    public StockJournal(Path directorio, boolean fsync) throws IOException {
+        this.directorio = directorio;
+        this.fsync = fsync;
+
+        Files.createDirectories(directorio);
+
+        // Nunca se reutiliza un segmento existente: pueden quedar pendientes de recuperar
+        this.segmento = segmentos().stream().mapToLong(Long::longValue).max().orElse(0L) + 1;
+        abrir();
+    }
+
+    // ============================================================
+    //  Registrar un delta (antes de confirmarlo al cliente)
+    // ============================================================
+    public void registrar(int id, long delta) throws IOException {
+
+        ByteBuffer linea = ByteBuffer.wrap((id + "," + delta + "\n").getBytes(StandardCharsets.US_ASCII));
+        long numero;
+
+        escritura.lock();
+        try {
+            while (linea.hasRemaining()) {
+                canal.write(linea);
+            }
+            escrituras++;
+            numero = ++secuencia;
+        } finally {
+            escritura.unlock();
+        }
+
+        if (fsync) {
+            sincronizarHasta(numero);
+        }
+    }
+
+    // ============================================================
+    //  fsync de grupo: si otro force ya cubrió la línea no se hace
+    //  nada; si no, un force() cubre todo lo escrito hasta ahora
+    // ============================================================
+    private void sincronizarHasta(long numero) throws IOException {
+
+        if (sincronizadas >= numero) {
+            return;
+        }
+
+        sincronizacion.lock();
+        try {
+            if (sincronizadas >= numero) {
+                return;
+            }
+
+            long hasta;
+            escritura.lock();
+            try {
+                hasta = secuencia;
+            } finally {
+                escritura.unlock();
+            }
+
+            // Fuera del lock de escritura: los appends siguen mientras tanto.
+            // rotar() toma sincronizacion, así que el canal no se cierra aquí.
+            canal.force(false);
+            sincronizadas = hasta;
+        } finally {
+            sincronizacion.unlock();
+        }
+    }
+
+    // True si el segmento actual no tiene deltas
+    public boolean vacio() {
+        escritura.lock();
+        try {
+            return escrituras == 0;
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    // ============================================================
+    //  Cerrar el segmento actual y abrir el siguiente.
+    //  Devuelve el número del segmento cerrado.
+    // ============================================================
+    public long rotar() throws IOException {
+
+        sincronizacion.lock();
+        escritura.lock();
+        try {
+            canal.force(false);
+            canal.close();
+            sincronizadas = secuencia;
+
+            long cerrado = segmento++;
+            abrir();
+
+            return cerrado;
+        } finally {
+            escritura.unlock();
+            sincronizacion.unlock();
+        }
+    }
+
+    // Segmento donde se escriben los deltas nuevos
+    public long segmentoActual() {
+        escritura.lock();
+        try {
+            return segmento;
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    // ============================================================
+    //  Segmentos presentes en disco, en orden ascendente
+    // ============================================================
+    public List<Long> segmentos() throws IOException {
+
+        List<Long> numeros = new ArrayList<>();
+
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            archivos.map(p -> p.getFileName().toString())
+                    .filter(n -> n.startsWith(PREFIJO) && n.endsWith(SUFIJO))
+                    .forEach(n -> {
+                        try {
+                            numeros.add(Long.parseLong(n.substring(PREFIJO.length(), n.length() - SUFIJO.length())));
+                        } catch (NumberFormatException ignorado) {
+                            // archivo ajeno al journal
+                        }
+                    });
+        }
+
+        numeros.sort(null);
+        return numeros;
+    }
+
+    // ============================================================
+    //  Leer un segmento y sumar sus deltas por id.
+    //  Una última línea truncada (caída a mitad de escritura) se ignora.
+    // ============================================================
+    public Map<Integer, Long> leer(long numero) throws IOException {
+
+        Map<Integer, Long> deltas = new HashMap<>();
+
+        try (BufferedReader reader = Files.newBufferedReader(archivo(numero), StandardCharsets.US_ASCII)) {
+            String linea;
+            while ((linea = reader.readLine()) != null) {
+                int coma = linea.indexOf(',');
+                if (coma <= 0) {
+                    continue;
+                }
+                try {
+                    int id = Integer.parseInt(linea.substring(0, coma));
+                    long delta = Long.parseLong(linea.substring(coma + 1));
+                    deltas.merge(id, delta, Long::sum);
+                } catch (NumberFormatException ignorado) {
+                    // línea incompleta
+                }
+            }
+        }
+
+        return deltas;
+    }
+
+    // ============================================================
+    //  Eliminar los segmentos ya aplicados (<= numero)
+    // ============================================================
+    public void eliminarHasta(long numero) throws IOException {
+        for (Long s : segmentos()) {
+            if (s <= numero) {
+                Files.deleteIfExists(archivo(s));
+            }
+        }
+    }
+
+    public Path getDirectorio() {
+        return directorio;
+    }
+
+    @Override
+    public void close() throws IOException {
+        sincronizacion.lock();
+        escritura.lock();
+        try {
+            canal.close();
+        } finally {
+            escritura.unlock();
+            sincronizacion.unlock();
+        }
+    }
+
+    private void abrir() throws IOException {
+        canal = FileChannel.open(archivo(segmento),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        escrituras = 0;
+    }
+
+    private Path archivo(long numero) {
+        return directorio.resolve(PREFIJO + numero + SUFIJO);
+    }
+}
@@ -0,0 +1,263 @@
+package com.microservice.libros.service;
+
+import com.microservice.libros.config.CacheConfig;
+import com.microservice.libros.config.StockWriteBehindProperties;
+import com.microservice.libros.event.LibrosChangeEvent;
+import com.microservice.libros.model.StockJournalCheckpoint;
+import com.microservice.libros.repository.LibrosRepository;
+import com.microservice.libros.repository.StockJournalCheckpointRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// ============================================================
+//  Acumulador write-behind de deltas de stock para títulos "calientes"
+//
+//  - Cada delta se escribe en el journal y se suma a un LongAdder
+//    por id (sin tocar la fila en MySQL).
+//  - Cada flush-interval-ms los contadores se vuelcan en un único
+//    batch UPDATE junto con el checkpoint del journal y un
+//    LibrosChangeEvent por libro (outbox e índice de búsqueda).
+//  - Al arrancar se reaplican los segmentos del journal posteriores
+//    al último checkpoint (caída entre registro y volcado).
+//
+//  Solo acepta deltas positivos (release y adjust > 0): un descuento
+//  pendiente sería invisible para la guarda de reserve, que sigue
+//  siendo síncrona, y permitiría sobrevender.
+//
+//  Los contadores de ids ya volcados se conservan (valen 0): el modo
+//  está pensado para un conjunto acotado de títulos en lanzamiento.
+// ============================================================
+@Component
+@ConditionalOnProperty(prefix = "libros.stock.write-behind", name = "enabled", havingValue = "true")
+public class StockWriteBehindBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(StockWriteBehindBuffer.class);
+
+    // Los deltas son positivos; greatest solo actúa con un journal
+    // escrito antes de rechazar los negativos (ver aplicar)
+    static final String SQL_AJUSTE = "update libros set stock = greatest(stock + ?, 0), "
+            + "version = version + 1, actualizado_en = ? where id_libro = ?";
+
+    private final ConcurrentHashMap<Integer, LongAdder> deltas = new ConcurrentHashMap<>();
+
+    // Lectura: registrar (concurrente). Escritura: rotar journal + drenar (atómico).
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Un volcado falló y sus deltas volvieron a memoria: el siguiente
+    // flush programado los reintenta aunque no llegue tráfico nuevo
+    private volatile boolean reintentar;
+
+    private final StockJournal journal;
+    private final String nodo;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final StockJournalCheckpointRepository checkpointRepository;
+    private final LibrosRepository librosRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+
+    public StockWriteBehindBuffer(StockWriteBehindProperties properties,
+                                  JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  StockJournalCheckpointRepository checkpointRepository,
+                                  LibrosRepository librosRepository,
+                                  ApplicationEventPublisher eventPublisher,
+                                  CacheManager cacheManager) throws IOException {
+
+        if (properties.getInstanceId() == null || properties.getInstanceId().isBlank()) {
+            throw new IllegalStateException("libros.stock.write-behind.instance-id es obligatorio con el modo "
+                    + "write-behind: identifica el checkpoint del journal de esta instancia");
+        }
+
+        Path directorio = Path.of(properties.getJournalDir()).toAbsolutePath().normalize();
+
+        this.journal = new StockJournal(directorio, properties.isJournalFsync());
+        this.nodo = properties.getInstanceId();
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.checkpointRepository = checkpointRepository;
+        this.librosRepository = librosRepository;
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
+    }
+
+    // ============================================================
+    //  Registrar un delta positivo para un libro
+    // ============================================================
+    public void registrar(int id, int delta) {
+
+        if (delta <= 0) {
+            throw new IllegalArgumentException("El write-behind solo acumula deltas positivos");
+        }
+
+        lock.readLock().lock();
+        try {
+            journal.registrar(id, delta);
+            deltas.computeIfAbsent(id, k -> new LongAdder()).add(delta);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir el journal de stock", e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Delta acumulado aún no volcado para un libro
+    public long pendiente(int id) {
+        LongAdder adder = deltas.get(id);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    // ============================================================
+    //  Volcar los deltas acumulados en un solo batch UPDATE
+    //  Devuelve la cantidad de libros actualizados.
+    // ============================================================
+    @Scheduled(fixedDelayString = "${libros.stock.write-behind.flush-interval-ms:500}")
+    public synchronized int flush() {
+
+        Map<Integer, Long> lote = new HashMap<>();
+        long segmento;
+
+        lock.writeLock().lock();
+        try {
+            if (journal.vacio() && !reintentar) {
+                return 0;
+            }
+
+            segmento = journal.rotar();
+
+            // sum() + add(-sum): conserva cualquier delta concurrente
+            deltas.forEach((id, adder) -> {
+                long delta = adder.sum();
+                if (delta != 0) {
+                    adder.add(-delta);
+                    lote.put(id, delta);
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo rotar el journal de stock", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            aplicar(lote, segmento);
+            reintentar = false;
+        } catch (RuntimeException e) {
+            // Se devuelven a memoria; el segmento sigue en disco hasta el próximo volcado
+            lote.forEach((id, delta) -> deltas.computeIfAbsent(id, k -> new LongAdder()).add(delta));
+            reintentar = true;
+            throw e;
+        }
+
+        eliminarSegmentos(segmento);
+        return lote.size();
+    }
+
+    // ============================================================
+    //  Recuperación al arrancar: reaplicar segmentos no confirmados
+    // ============================================================
+    @PostConstruct
+    public synchronized void recuperar() throws IOException {
+
+        long checkpoint = checkpointRepository.findById(nodo)
+                .map(StockJournalCheckpoint::getSegmento)
+                .orElse(0L);
+
+        long actual = journal.segmentoActual();
+        Map<Integer, Long> lote = new HashMap<>();
+        long ultimo = checkpoint;
+
+        for (Long segmento : journal.segmentos()) {
+            if (segmento > checkpoint && segmento < actual) {
+                journal.leer(segmento).forEach((id, delta) -> lote.merge(id, delta, Long::sum));
+                ultimo = Math.max(ultimo, segmento);
+            }
+        }
+
+        if (ultimo > checkpoint) {
+            log.info("Recuperando {} deltas de stock del journal (segmentos {}..{})", lote.size(), checkpoint + 1, ultimo);
+            aplicar(lote, ultimo);
+        }
+
+        eliminarSegmentos(ultimo);
+    }
+
+    @PreDestroy
+    public void cerrar() throws IOException {
+        try {
+            flush();
+        } finally {
+            journal.close();
+        }
+    }
+
+    // Batch UPDATE + checkpoint + eventos de cambio en la misma transacción
+    private void aplicar(Map<Integer, Long> lote, long segmento) {
+
+        Timestamp ahora = Timestamp.from(Instant.now());
+
+        List<Object[]> args = new ArrayList<>(lote.size());
+        lote.forEach((id, delta) -> {
+            if (delta < 0) {
+                log.warn("Delta de stock negativo {} del libro {} (journal anterior): se acota a 0 si no alcanza",
+                        delta, id);
+            }
+            args.add(new Object[]{delta, ahora, id});
+        });
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!args.isEmpty()) {
+                jdbcTemplate.batchUpdate(SQL_AJUSTE, args);
+                // Filas ya actualizadas (ids inexistentes no generan evento)
+                librosRepository.findAllById(lote.keySet())
+                        .forEach(libro -> eventPublisher.publishEvent(LibrosChangeEvent.actualizado(libro)));
+            }
+            checkpointRepository.save(new StockJournalCheckpoint(nodo, segmento));
+        });
+
+        Cache libros = cacheManager.getCache(CacheConfig.LIBROS);
+        Cache paginas = cacheManager.getCache(CacheConfig.LIBROS_PAGINAS);
+
+        if (libros != null) {
+            lote.keySet().forEach(libros::evict);
+        }
+        if (paginas != null && !lote.isEmpty()) {
+            paginas.clear();
+        }
+    }
+
+    private void eliminarSegmentos(long hasta) {
+        try {
+            journal.eliminarHasta(hasta);
+        } catch (IOException e) {
+            // Inofensivo: el checkpoint evita volver a aplicarlos
+            log.warn("No se pudieron eliminar segmentos del journal de stock", e);
+        }
+    }
+}
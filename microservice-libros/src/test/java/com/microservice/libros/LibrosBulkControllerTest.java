@@ -0,0 +1,109 @@
+package com.microservice.libros;
+
+import com.microservice.libros.controller.LibrosBulkController;
+import com.microservice.libros.dto.BulkItemResult;
+import com.microservice.libros.dto.BulkItemResult.Estado;
+import com.microservice.libros.service.LibrosBulkService;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(LibrosBulkController.class)
+class LibrosBulkControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private LibrosBulkService librosBulkService;
+
+    // ============================================================
+    // POST /bulk — resultado por elemento
+    // ============================================================
+    @Test
+    @DisplayName("POST /api/v1/libros/bulk → resultados por elemento")
+    void testCreateLibros() throws Exception {
+
+        when(librosBulkService.createLibros(anyList())).thenReturn(List.of(
+                new BulkItemResult(0, 101, Estado.CREADO, null),
+                new BulkItemResult(1, null, Estado.INVALIDO, "El título no puede estar vacío")
+        ));
+
+        mockMvc.perform(post("/api/v1/libros/bulk")
+                        .contentType("application/json")
+                        .content("[{\"titulo\":\"Libro 1\"},{\"titulo\":\"\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.size").value(2))
+                .andExpect(jsonPath("$.data[0].estado").value("CREADO"))
+                .andExpect(jsonPath("$.data[1].estado").value("INVALIDO"));
+    }
+
+    // ============================================================
+    // PUT /bulk — elemento null en el body
+    // ============================================================
+    @Test
+    @DisplayName("PUT /api/v1/libros/bulk con [null, {...}] → INVALIDO sin id para el null")
+    void testUpdateLibrosConElementoNulo() throws Exception {
+
+        when(librosBulkService.updateLibros(argThat(libros -> libros.size() == 2 && libros.get(0) == null)))
+                .thenReturn(List.of(
+                        new BulkItemResult(0, null, Estado.INVALIDO, "El libro no puede ser nulo"),
+                        new BulkItemResult(1, 1, Estado.ACTUALIZADO, null)
+                ));
+
+        mockMvc.perform(put("/api/v1/libros/bulk")
+                        .contentType("application/json")
+                        .content("[null,{\"id\":1,\"titulo\":\"Libro 1\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].estado").value("INVALIDO"))
+                .andExpect(jsonPath("$.data[0].id").doesNotExist())
+                .andExpect(jsonPath("$.data[1].estado").value("ACTUALIZADO"));
+    }
+
+    // ============================================================
+    // DELETE /bulk — lote demasiado grande
+    // ============================================================
+    @Test
+    @DisplayName("DELETE /api/v1/libros/bulk → 400 si supera el máximo")
+    void testDeleteLibrosTooLarge() throws Exception {
+
+        String ids = IntStream.rangeClosed(1, LibrosBulkService.MAX_BULK_ITEMS + 1)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(",", "[", "]"));
+
+        mockMvc.perform(delete("/api/v1/libros/bulk")
+                        .contentType("application/json")
+                        .content(ids))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(librosBulkService);
+    }
+
+    // ============================================================
+    // PUT /bulk — lote vacío
+    // ============================================================
+    @Test
+    @DisplayName("PUT /api/v1/libros/bulk → 400 si está vacío")
+    void testUpdateLibrosEmpty() throws Exception {
+
+        mockMvc.perform(put("/api/v1/libros/bulk")
+                        .contentType("application/json")
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,218 @@
+package com.microservice.libros;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservice.libros.dto.BulkItemResult;
+import com.microservice.libros.dto.BulkItemResult.Estado;
+import com.microservice.libros.model.Libros;
+import com.microservice.libros.repository.LibrosRepository;
+import com.microservice.libros.service.LibrosBulkService;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@SuppressWarnings("all")
+class LibrosBulkServiceTest {
+
+    private LibrosRepository librosRepository;
+    private EntityManager entityManager;
+    private LibrosBulkService bulkService;
+
+    @BeforeEach
+    void setUp() {
+        librosRepository = mock(LibrosRepository.class);
+        entityManager = mock(EntityManager.class);
+        bulkService = new LibrosBulkService(librosRepository, entityManager, new ConcurrentMapCacheManager(),
+                mock(ApplicationEventPublisher.class),
+                Validation.buildDefaultValidatorFactory().getValidator(), 2);
+
+        // Simula la asignación de ids de la secuencia al persistir
+        AtomicInteger secuencia = new AtomicInteger(100);
+        when(librosRepository.saveAll(anyList())).thenAnswer(inv -> {
+            List<Libros> libros = inv.getArgument(0);
+            libros.forEach(l -> l.setId(secuencia.incrementAndGet()));
+            return libros;
+        });
+    }
+
+    private Libros libro(Integer id, String titulo) {
+        return Libros.builder()
+                .id(id)
+                .titulo(titulo)
+                .autor("Autor")
+                .stock(5)
+                .precio(BigDecimal.TEN)
+                .build();
+    }
+
+    // ============================================================
+    // TEST: Crear en lote → bloques del tamaño de batch + inválidos
+    // ============================================================
+    @Test
+    void testCreateLibrosInBatches() {
+
+        List<Libros> libros = new ArrayList<>(List.of(
+                libro(null, "Uno"),
+                libro(null, ""),          // inválido: título vacío
+                libro(null, "Dos"),
+                libro(null, "Tres")
+        ));
+
+        List<BulkItemResult> resultados = bulkService.createLibros(libros);
+
+        assertEquals(4, resultados.size());
+        assertEquals(Estado.CREADO, resultados.get(0).estado());
+        assertEquals(Estado.INVALIDO, resultados.get(1).estado());
+        assertEquals(Estado.CREADO, resultados.get(2).estado());
+        assertEquals(Estado.CREADO, resultados.get(3).estado());
+        assertNotNull(resultados.get(3).id());
+
+        // 3 válidos con batch de 2 → 2 bloques
+        verify(librosRepository, times(2)).saveAll(anyList());
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+    }
+
+    // ============================================================
+    // TEST: Crear en lote ignora ids enviados por el cliente
+    // ============================================================
+    @Test
+    void testCreateLibrosIgnoresClientIds() {
+
+        List<BulkItemResult> resultados = bulkService.createLibros(new ArrayList<>(List.of(libro(999, "Uno"))));
+
+        assertNotEquals(999, resultados.get(0).id());
+    }
+
+    // ============================================================
+    // TEST: Actualizar en lote → actualizados, no encontrados e inválidos
+    // ============================================================
+    @Test
+    void testUpdateLibros() {
+
+        Libros existente = libro(1, "Viejo");
+        when(librosRepository.findAllById(any())).thenReturn(List.of(existente));
+
+        List<BulkItemResult> resultados = bulkService.updateLibros(List.of(
+                libro(1, "Nuevo"),
+                libro(2, "No existe"),
+                libro(null, "Sin id")
+        ));
+
+        assertEquals(Estado.ACTUALIZADO, resultados.get(0).estado());
+        assertEquals(Estado.NO_ENCONTRADO, resultados.get(1).estado());
+        assertEquals(Estado.INVALIDO, resultados.get(2).estado());
+        assertEquals("Nuevo", existente.getTitulo());
+        verify(entityManager).flush();
+    }
+
+    // ============================================================
+    // TEST: Body [null, {...}] → el null es INVALIDO sin id, el resto sigue
+    // ============================================================
+    @Test
+    void testUpdateLibrosConElementoNulo() throws Exception {
+
+        Libros existente = libro(1, "Viejo");
+        when(librosRepository.findAllById(any())).thenReturn(List.of(existente));
+
+        List<Libros> body = new ObjectMapper().findAndRegisterModules().readValue(
+                "[null, {\"id\":1,\"titulo\":\"Nuevo\",\"autor\":\"Autor\",\"stock\":5,\"precio\":10}]",
+                new TypeReference<List<Libros>>() {});
+
+        List<BulkItemResult> resultados = bulkService.updateLibros(body);
+
+        assertEquals(Estado.INVALIDO, resultados.get(0).estado());
+        assertNull(resultados.get(0).id());
+        assertEquals("El libro no puede ser nulo", resultados.get(0).mensaje());
+        assertEquals(Estado.ACTUALIZADO, resultados.get(1).estado());
+        assertEquals("Nuevo", existente.getTitulo());
+    }
+
+    // ============================================================
+    // TEST: Restricciones de la entidad → INVALIDO por elemento,
+    // sin llegar al flush
+    // ============================================================
+    @Test
+    void testCreateLibrosValidaRestriccionesDeLaEntidad() {
+
+        Libros idiomaLargo = libro(null, "Idioma");
+        idiomaLargo.setIdioma("ESP");                               // @Size(max = 2)
+        Libros futuro = libro(null, "Futuro");
+        futuro.setFechaPublicacion(LocalDate.now().plusDays(1));    // @PastOrPresent
+        Libros decimales = libro(null, "Decimales");
+        decimales.setPrecio(new BigDecimal("1.999"));               // @Digits(fraction = 2)
+
+        List<BulkItemResult> resultados = bulkService.createLibros(new ArrayList<>(List.of(
+                idiomaLargo, futuro, decimales, libro(null, "Valido"))));
+
+        assertEquals(Estado.INVALIDO, resultados.get(0).estado());
+        assertTrue(resultados.get(0).mensaje().startsWith("idioma"));
+        assertEquals(Estado.INVALIDO, resultados.get(1).estado());
+        assertTrue(resultados.get(1).mensaje().startsWith("fechaPublicacion"));
+        assertEquals(Estado.INVALIDO, resultados.get(2).estado());
+        assertTrue(resultados.get(2).mensaje().startsWith("precio"));
+        assertEquals(Estado.CREADO, resultados.get(3).estado());
+        verify(librosRepository, times(1)).saveAll(anyList());
+    }
+
+    // ============================================================
+    // TEST: Id repetido en bloques distintos también es INVALIDO
+    // ============================================================
+    @Test
+    void testUpdateLibrosDuplicadoEntreBloques() {
+
+        when(librosRepository.findAllById(any())).thenAnswer(inv -> {
+            List<Libros> encontrados = new ArrayList<>();
+            for (Integer id : (Iterable<Integer>) inv.getArgument(0)) {
+                encontrados.add(libro(id, "Viejo"));
+            }
+            return encontrados;
+        });
+
+        // batch de 2: el tercer elemento cae en otro bloque
+        List<BulkItemResult> resultados = bulkService.updateLibros(List.of(
+                libro(1, "Uno"),
+                libro(2, "Dos"),
+                libro(1, "Otra vez")
+        ));
+
+        assertEquals(Estado.ACTUALIZADO, resultados.get(0).estado());
+        assertEquals(Estado.ACTUALIZADO, resultados.get(1).estado());
+        assertEquals(Estado.INVALIDO, resultados.get(2).estado());
+        assertEquals("Id duplicado en la petición", resultados.get(2).mensaje());
+    }
+
+    // ============================================================
+    // TEST: Eliminar en lote → un solo DELETE con los existentes
+    // ============================================================
+    @Test
+    void testDeleteLibros() {
+
+        when(librosRepository.findExistingIds(anyCollection())).thenReturn(List.of(1, 3));
+
+        List<BulkItemResult> resultados = bulkService.deleteLibros(List.of(1, 2, 3));
+
+        assertEquals(Estado.ELIMINADO, resultados.get(0).estado());
+        assertEquals(Estado.NO_ENCONTRADO, resultados.get(1).estado());
+        assertEquals(Estado.ELIMINADO, resultados.get(2).estado());
+        verify(librosRepository, times(1)).deleteAllByIdInBatch(argThat(ids -> {
+            List<Integer> lista = new ArrayList<>();
+            ids.forEach(lista::add);
+            return lista.size() == 2 && lista.containsAll(List.of(1, 3));
+        }));
+    }
+}
@@ -0,0 +1,137 @@
+package com.microservice.libros;
+
+import com.microservice.libros.config.CacheConfig;
+import com.microservice.libros.model.Libros;
+import com.microservice.libros.repository.LibrosRepository;
+import com.microservice.libros.service.LibrosService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SuppressWarnings("all")
+@SpringJUnitConfig(LibrosCacheTest.Config.class)
+class LibrosCacheTest {
+
+    @Configuration
+    @Import({CacheConfig.class, LibrosService.class})
+    static class Config {
+
+        @Bean
+        LibrosRepository librosRepository() {
+            return mock(LibrosRepository.class);
+        }
+    }
+
+    @Autowired
+    private LibrosService librosService;
+
+    @Autowired
+    private LibrosRepository librosRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Libros libro;
+
+    @BeforeEach
+    void setUp() {
+        reset(librosRepository);
+        cacheManager.getCache(CacheConfig.LIBROS).clear();
+        cacheManager.getCache(CacheConfig.LIBROS_PAGINAS).clear();
+
+        libro = Libros.builder().id(1).titulo("Libro 1").autor("Autor").stock(10).precio(BigDecimal.TEN).build();
+        when(librosRepository.findById(1)).thenReturn(Optional.of(libro));
+        when(librosRepository.save(any(Libros.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(librosRepository.findAllByOrderByIdAsc(any(Limit.class))).thenReturn(List.of(libro));
+    }
+
+    // ============================================================
+    // TEST: Lecturas repetidas por id se sirven desde la caché
+    // ============================================================
+    @Test
+    void testGetLibroByIdIsCached() {
+
+        librosService.getLibroById(1);
+        librosService.getLibroById(1);
+
+        verify(librosRepository, times(1)).findById(1);
+    }
+
+    // ============================================================
+    // TEST: updateStock invalida el libro y las páginas
+    // ============================================================
+    @Test
+    void testUpdateStockEvicts() {
+
+        librosService.getLibroById(1);
+        librosService.getLibrosPage(null, 20);
+
+        librosService.updateStock(1, 3, null);   // findById #2
+
+        librosService.getLibroById(1);     // findById #3 (caché invalidada)
+        librosService.getLibrosPage(null, 20);
+
+        verify(librosRepository, times(3)).findById(1);
+        verify(librosRepository, times(2)).findAllByOrderByIdAsc(any(Limit.class));
+    }
+
+    // ============================================================
+    // TEST: Solo se invalida el id afectado en la caché de libros
+    // ============================================================
+    @Test
+    void testUpdateLibroEvictsOnlyThatId() {
+
+        Libros otro = Libros.builder().id(2).titulo("Libro 2").autor("Autor").build();
+        when(librosRepository.findById(2)).thenReturn(Optional.of(otro));
+
+        librosService.getLibroById(1);
+        librosService.getLibroById(2);
+
+        librosService.updateLibro(2, otro, null);
+
+        assertNotNull(cacheManager.getCache(CacheConfig.LIBROS).get(1));
+        assertNull(cacheManager.getCache(CacheConfig.LIBROS).get(2));
+    }
+
+    // ============================================================
+    // TEST: createLibro invalida un "no encontrado" cacheado
+    // ============================================================
+    @Test
+    void testCreateEvictsNegativeEntry() {
+
+        when(librosRepository.findById(5)).thenReturn(Optional.empty());
+        assertTrue(librosService.getLibroById(5).isEmpty());
+
+        Libros nuevo = Libros.builder().id(5).titulo("Nuevo").autor("Autor").build();
+        librosService.createLibro(nuevo);
+
+        assertNull(cacheManager.getCache(CacheConfig.LIBROS).get(5));
+    }
+
+    // ============================================================
+    // TEST: deleteLibroAndReturn invalida el libro eliminado
+    // ============================================================
+    @Test
+    void testDeleteEvicts() {
+
+        librosService.getLibroById(1);
+        librosService.deleteLibroAndReturn(1);
+
+        assertNull(cacheManager.getCache(CacheConfig.LIBROS).get(1));
+    }
+}
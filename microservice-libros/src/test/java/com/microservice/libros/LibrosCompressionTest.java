@@ -0,0 +1,115 @@
+package com.microservice.libros;
+
+import com.microservice.libros.assembler.LibrosModelAssembler;
+import com.microservice.libros.config.BinaryFormatsConfig;
+import com.microservice.libros.controller.LibrosController;
+import com.microservice.libros.model.Libros;
+import com.microservice.libros.service.LibrosService;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.hateoas.HypermediaAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// ============================================================
+//  Compresión de Tomcat sobre el listado HAL: necesita el servidor
+//  real (MockMvc no pasa por el conector). Mismos server.compression.*
+//  que msvc-libros.yml; el ETag débil es lo que permite comprimir.
+// ============================================================
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false",
+        "server.compression.enabled=true",
+        "server.compression.min-response-size=2KB",
+        "server.compression.mime-types=application/json,application/hal+json,application/problem+json"
+})
+class LibrosCompressionTest {
+
+    @Configuration
+    @ImportAutoConfiguration({
+            ServletWebServerFactoryAutoConfiguration.class,
+            DispatcherServletAutoConfiguration.class,
+            WebMvcAutoConfiguration.class,
+            HttpMessageConvertersAutoConfiguration.class,
+            JacksonAutoConfiguration.class,
+            HypermediaAutoConfiguration.class,
+            ValidationAutoConfiguration.class
+    })
+    @Import({LibrosController.class, LibrosModelAssembler.class, BinaryFormatsConfig.class})
+    static class Web {
+    }
+
+    @LocalServerPort
+    private int puerto;
+
+    @MockBean
+    private LibrosService librosService;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    @DisplayName("GET /api/v1/libros con Accept-Encoding: gzip → cuerpo comprimido y ETag débil")
+    void listadoHalSeComprime() throws Exception {
+
+        // Página completa: bastante más de 2KB de HAL JSON
+        List<Libros> pagina = IntStream.rangeClosed(1, LibrosService.DEFAULT_PAGE_SIZE)
+                .mapToObj(LibrosCompressionTest::libro)
+                .toList();
+        when(librosService.getLibrosPage(null, LibrosService.DEFAULT_PAGE_SIZE)).thenReturn(pagina);
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + puerto + "/api/v1/libros"))
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .GET()
+                .build();
+
+        // HttpClient no descomprime: los headers llegan tal como los envía Tomcat
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue(HttpHeaders.CONTENT_ENCODING).orElse(null));
+        assertTrue(response.headers().firstValue(HttpHeaders.ETAG).orElse("").startsWith("W/"));
+    }
+
+    private static Libros libro(int id) {
+        return Libros.builder()
+                .id(id)
+                .titulo("Libro " + id)
+                .autor("Autor " + id)
+                .editorial("Editorial")
+                .fechaPublicacion(LocalDate.of(2020, 1, 1))
+                .categoria("Drama")
+                .stock(10)
+                .precio(BigDecimal.valueOf(5000))
+                .idioma("ES")
+                .descripcion("Descripción del libro " + id)
+                .disponible(true)
+                .version(1L)
+                .actualizadoEn(Instant.parse("2024-05-01T10:15:30Z"))
+                .build();
+    }
+}
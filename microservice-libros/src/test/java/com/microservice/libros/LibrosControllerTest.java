@@ -1,7 +1,14 @@
 package com.microservice.libros;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.microservice.libros.assembler.LibrosModelAssembler;
+import com.microservice.libros.config.BinaryFormatsConfig;
 import com.microservice.libros.controller.LibrosController;
+import com.microservice.libros.dto.LibroResumen;
+import com.microservice.libros.dto.LibroVersion;
 import com.microservice.libros.model.Libros;
 import com.microservice.libros.service.LibrosService;
 
@@ -10,20 +17,28 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(LibrosController.class)
+@Import({LibrosModelAssembler.class, BinaryFormatsConfig.class})
 class LibrosControllerTest {
 
     @Autowired
@@ -35,6 +50,8 @@ class LibrosControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    private static final Instant MODIFICADO = Instant.parse("2024-05-01T10:15:30Z");
+
     private Libros libro;
 
     // ============================================================
@@ -54,24 +71,249 @@ class LibrosControllerTest {
                 .idioma("ES")
                 .descripcion("Desc")
                 .disponible(true)
+                .version(3L)
+                .actualizadoEn(MODIFICADO)
                 .build();
     }
 
     // ============================================================
-    // GET ALL — listar todos los libros
+    // GET ALL — listar la primera página de libros
     // ============================================================
     @Test
     @DisplayName("GET /api/v1/libros → lista OK")
     void testGetAllLibros() throws Exception {
 
-        // Simular que el servicio retorna una lista con 1 libro
-        when(librosService.getAllLibros()).thenReturn(Collections.singletonList(libro));
+        // Simular que el servicio retorna una página con 1 libro
+        when(librosService.getLibrosPage(null, LibrosService.DEFAULT_PAGE_SIZE))
+                .thenReturn(Collections.singletonList(libro));
 
         mockMvc.perform(get("/api/v1/libros"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.librosList[0].titulo").value("Libro 1"))
+                .andExpect(jsonPath("$._links.next").doesNotExist());
+    }
+
+    // ============================================================
+    // GET ALL — página completa incluye link "next"
+    // ============================================================
+    @Test
+    @DisplayName("GET /api/v1/libros?after=0&size=1 → link next")
+    void testGetAllLibrosNextLink() throws Exception {
+
+        when(librosService.getLibrosPage(0, 1)).thenReturn(Collections.singletonList(libro));
+
+        mockMvc.perform(get("/api/v1/libros").param("after", "0").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._links.next.href").value("http://localhost/api/v1/libros?after=1&size=1"));
+    }
+
+    // ============================================================
+    // GET ALL — el tamaño de página se limita al máximo
+    // ============================================================
+    @Test
+    @DisplayName("GET /api/v1/libros?size=5000 → size acotado")
+    void testGetAllLibrosMaxPageSize() throws Exception {
+
+        when(librosService.getLibrosPage(null, LibrosService.MAX_PAGE_SIZE))
+                .thenReturn(Collections.singletonList(libro));
+
+        mockMvc.perform(get("/api/v1/libros").param("size", "5000"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$._embedded.librosList[0].titulo").value("Libro 1"));
     }
 
+    // ============================================================
+    // GET ALL ?view=summary — solo columnas de la grilla
+    // ============================================================
+    @Test
+    @DisplayName("GET /api/v1/libros?view=summary → vista resumida")
+    void testGetResumenLibros() throws Exception {
+
+        when(librosService.getResumenPage(null, 1))
+                .thenReturn(List.of(new LibroResumen(1, "Libro 1", "Autor 1", BigDecimal.valueOf(5000), true)));
+
+        mockMvc.perform(get("/api/v1/libros").param("view", "summary").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.libroResumenList[0].titulo").value("Libro 1"))
+                .andExpect(jsonPath("$._embedded.libroResumenList[0].descripcion").doesNotExist())
+                .andExpect(jsonPath("$._embedded.libroResumenList[0]._links").doesNotExist())
+                .andExpect(jsonPath("$._links.next.href").value("http://localhost/api/v1/libros?after=1&size=1&view=summary"));
+    }
+
+    // ============================================================
+    // FILTROS — autor, categoría + disponible, rango de precio
+    // ============================================================
+    @Test
+    @DisplayName("GET /api/v1/libros/autor/{autor} → lista OK")
+    void testGetLibrosPorAutor() throws Exception {
+
+        when(librosService.getLibrosPorAutor("Autor 1", null, 1)).thenReturn(Collections.singletonList(libro));
+
+        mockMvc.perform(get("/api/v1/libros/autor/Autor 1").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.librosList[0].autor").value("Autor 1"))
+                .andExpect(jsonPath("$._links.next.href").value("http://localhost/api/v1/libros/autor/Autor%201?after=1&size=1"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/libros/categoria/{categoria}?disponible=false → lista OK")
+    void testGetLibrosPorCategoria() throws Exception {
+
+        when(librosService.getLibrosPorCategoria("Drama", false, null, LibrosService.DEFAULT_PAGE_SIZE))
+                .thenReturn(Collections.singletonList(libro));
+
+        mockMvc.perform(get("/api/v1/libros/categoria/Drama").param("disponible", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.librosList[0].categoria").value("Drama"))
+                .andExpect(jsonPath("$._links.next").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/libros/precio → cursor por precio e id")
+    void testGetLibrosPorPrecio() throws Exception {
+
+        BigDecimal min = new BigDecimal("1000");
+        BigDecimal max = new BigDecimal("9000");
+
+        when(librosService.getLibrosPorPrecio(min, max, null, null, 1)).thenReturn(Collections.singletonList(libro));
+
+        mockMvc.perform(get("/api/v1/libros/precio").param("min", "1000").param("max", "9000").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._links.next.href")
+                        .value("http://localhost/api/v1/libros/precio?min=1000&max=9000&afterPrecio=5000&after=1&size=1"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/libros/precio con min > max → 400")
+    void testGetLibrosPorPrecioRangoInvalido() throws Exception {
+
+        mockMvc.perform(get("/api/v1/libros/precio").param("min", "10").param("max", "5"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // ============================================================
+    // GET condicional — ETag / Last-Modified y 304
+    // ============================================================
+    @Test
+    @DisplayName("GET /api/v1/libros/1 → ETag y Last-Modified")
+    void testGetLibroByIdValidadores() throws Exception {
+
+        when(librosService.getLibroById(1)).thenReturn(Optional.of(libro));
+
+        mockMvc.perform(get("/api/v1/libros/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"1-3\""))
+                .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, MODIFICADO.toEpochMilli()));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/libros/1 con If-None-Match vigente → 304 sin leer el libro")
+    void testGetLibroByIdNotModified() throws Exception {
+
+        when(librosService.getVersion(1)).thenReturn(Optional.of(new LibroVersion(1, 3L, MODIFICADO)));
+
+        mockMvc.perform(get("/api/v1/libros/1").header(HttpHeaders.IF_NONE_MATCH, "W/\"1-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"1-3\""))
+                .andExpect(content().string(""));
+
+        verify(librosService, never()).getLibroById(anyInt());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/libros/1 con If-None-Match viejo → 200")
+    void testGetLibroByIdModified() throws Exception {
+
+        when(librosService.getVersion(1)).thenReturn(Optional.of(new LibroVersion(1, 3L, MODIFICADO)));
+        when(librosService.getLibroById(1)).thenReturn(Optional.of(libro));
+
+        mockMvc.perform(get("/api/v1/libros/1").header(HttpHeaders.IF_NONE_MATCH, "\"1-2\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"1-3\""));
+    }
+
+    // ============================================================
+    // GET BY ID — representaciones binarias pedidas por Accept
+    // ============================================================
+    @Test
+    @DisplayName("GET /api/v1/libros/1 Accept: application/cbor → CBOR")
+    void testGetLibroByIdCbor() throws Exception {
+
+        when(librosService.getLibroById(1)).thenReturn(Optional.of(libro));
+
+        byte[] cuerpo = mockMvc.perform(get("/api/v1/libros/1").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"1-3\""))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode json = new ObjectMapper(new CBORFactory()).readTree(cuerpo);
+        assertEquals("Libro 1", json.get("titulo").asText());
+        assertEquals("self", json.get("links").get(0).get("rel").asText());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/libros Accept: application/x-jackson-smile → Smile")
+    void testGetAllLibrosSmile() throws Exception {
+
+        when(librosService.getLibrosPage(null, LibrosService.DEFAULT_PAGE_SIZE))
+                .thenReturn(Collections.singletonList(libro));
+
+        byte[] cuerpo = mockMvc.perform(get("/api/v1/libros").accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode json = new ObjectMapper(new SmileFactory()).readTree(cuerpo);
+        assertEquals("Libro 1", json.get("content").get(0).get("titulo").asText());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/libros/1 sin Accept → sigue siendo HAL JSON")
+    void testGetLibroByIdPorDefectoHal() throws Exception {
+
+        when(librosService.getLibroById(1)).thenReturn(Optional.of(libro));
+
+        mockMvc.perform(get("/api/v1/libros/1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.parseMediaType("application/hal+json")))
+                .andExpect(jsonPath("$._links.self.href").exists());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/libros con If-Modified-Since vigente → 304")
+    void testGetAllLibrosNotModified() throws Exception {
+
+        when(librosService.getVersionPage(null, LibrosService.DEFAULT_PAGE_SIZE))
+                .thenReturn(List.of(new LibroVersion(1, 3L, MODIFICADO)));
+
+        HttpHeaders condicion = new HttpHeaders();
+        condicion.setIfModifiedSince(MODIFICADO.toEpochMilli());
+
+        mockMvc.perform(get("/api/v1/libros").headers(condicion))
+                .andExpect(status().isNotModified());
+
+        verify(librosService, never()).getLibrosPage(any(), any());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/libros con If-Modified-Since anterior a un borrado → 200")
+    void testGetAllLibrosCambiaTrasBorrado() throws Exception {
+
+        // Las filas que quedan no cambiaron, pero se borró un libro del rango
+        when(librosService.getVersionPage(null, LibrosService.DEFAULT_PAGE_SIZE))
+                .thenReturn(List.of(new LibroVersion(1, 3L, MODIFICADO)));
+        when(librosService.getUltimoBorrado(null, null)).thenReturn(MODIFICADO.plusSeconds(60));
+        when(librosService.getLibrosPage(null, LibrosService.DEFAULT_PAGE_SIZE)).thenReturn(List.of(libro));
+
+        HttpHeaders condicion = new HttpHeaders();
+        condicion.setIfModifiedSince(MODIFICADO.toEpochMilli());
+
+        mockMvc.perform(get("/api/v1/libros").headers(condicion))
+                .andExpect(status().isOk())
+                .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, MODIFICADO.plusSeconds(60).toEpochMilli()));
+    }
+
     // ============================================================
     //  GET BY ID — libro encontrado
     // ============================================================
@@ -83,7 +325,9 @@ class LibrosControllerTest {
 
         mockMvc.perform(get("/api/v1/libros/1"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.titulo").value("Libro 1"));
+                .andExpect(jsonPath("$.titulo").value("Libro 1"))
+                .andExpect(jsonPath("$._links.self.href").value("http://localhost/api/v1/libros/1"))
+                .andExpect(jsonPath("$._links.update.href").value("http://localhost/api/v1/libros/1"));
     }
 
     // ============================================================
@@ -106,7 +350,7 @@ class LibrosControllerTest {
     @DisplayName("PUT /api/v1/libros/{id} → actualizado correctamente")
     void testUpdateLibro() throws Exception {
 
-        when(librosService.updateLibro(eq(1), any(Libros.class))).thenReturn(libro);
+        when(librosService.updateLibro(eq(1), any(Libros.class), isNull())).thenReturn(libro);
 
         String libroJson = objectMapper.writeValueAsString(libro);
 
@@ -124,7 +368,7 @@ class LibrosControllerTest {
     @DisplayName("PATCH /api/v1/libros/{id}/stock → actualizado")
     void testUpdateStockSuccess() throws Exception {
 
-        when(librosService.updateStock(1, 25)).thenReturn(libro);
+        when(librosService.updateStock(1, 25, null)).thenReturn(libro);
 
         mockMvc.perform(patch("/api/v1/libros/1/stock")
                         .contentType("application/json")
@@ -146,6 +390,92 @@ class LibrosControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    // ============================================================
+    // If-Match — precondición en PUT y PATCH
+    // ============================================================
+    @Test
+    @DisplayName("PUT /api/v1/libros/1 con If-Match → versión al servicio y ETag nuevo")
+    void testUpdateLibroIfMatch() throws Exception {
+
+        when(librosService.updateLibro(eq(1), any(Libros.class), eq(3L))).thenReturn(libro);
+
+        mockMvc.perform(put("/api/v1/libros/1")
+                        .header(HttpHeaders.IF_MATCH, "\"1-3\"")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(libro)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"1-3\""));
+    }
+
+    @Test
+    @DisplayName("PUT /api/v1/libros/1 con If-Match débil (el ETag recibido) → misma versión")
+    void testUpdateLibroIfMatchDebil() throws Exception {
+
+        when(librosService.updateLibro(eq(1), any(Libros.class), eq(3L))).thenReturn(libro);
+
+        mockMvc.perform(put("/api/v1/libros/1")
+                        .header(HttpHeaders.IF_MATCH, "W/\"1-3\"")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(libro)))
+                .andExpect(status().isOk());
+
+        verify(librosService).updateLibro(eq(1), any(Libros.class), eq(3L));
+    }
+
+    @Test
+    @DisplayName("PUT /api/v1/libros/1 con If-Match viejo → 412")
+    void testUpdateLibroPreconditionFailed() throws Exception {
+
+        when(librosService.updateLibro(eq(1), any(Libros.class), eq(2L)))
+                .thenThrow(new LibrosService.VersionConflictException("conflicto"));
+
+        mockMvc.perform(put("/api/v1/libros/1")
+                        .header(HttpHeaders.IF_MATCH, "\"1-2\"")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(libro)))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @DisplayName("PATCH /api/v1/libros/1/stock con escritura concurrente → 412")
+    void testUpdateStockOptimisticLock() throws Exception {
+
+        when(librosService.updateStock(1, 25, null))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Libros.class, 1));
+
+        mockMvc.perform(patch("/api/v1/libros/1/stock")
+                        .contentType("application/json")
+                        .content("{\"stock\":25}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @DisplayName("PATCH /api/v1/libros/1/stock con ETag de otro libro → nunca coincide")
+    void testUpdateStockIfMatchAjeno() throws Exception {
+
+        when(librosService.updateStock(1, 25, LibroVersion.NINGUNA))
+                .thenThrow(new LibrosService.VersionConflictException("conflicto"));
+
+        mockMvc.perform(patch("/api/v1/libros/1/stock")
+                        .header(HttpHeaders.IF_MATCH, "\"2-3\"")
+                        .contentType("application/json")
+                        .content("{\"stock\":25}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @DisplayName("PUT /api/v1/libros/99 inexistente → 404")
+    void testUpdateLibroNotFound() throws Exception {
+
+        when(librosService.updateLibro(eq(99), any(Libros.class), isNull()))
+                .thenThrow(new LibrosService.LibroNotFoundException("Libro no encontrado: 99"));
+
+        mockMvc.perform(put("/api/v1/libros/99")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(libro)))
+                .andExpect(status().isNotFound());
+    }
+
     // ============================================================
     // DELETE — eliminación exitosa
     // ============================================================
@@ -0,0 +1,113 @@
+package com.microservice.libros;
+
+import com.microservice.libros.controller.LibrosEventosController;
+import com.microservice.libros.dto.EventoCatalogo;
+import com.microservice.libros.event.LibrosChangeEvent.Tipo;
+import com.microservice.libros.outbox.SseOutboxSink;
+import com.microservice.libros.service.LibrosEventosService;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = LibrosEventosController.class, properties = "libros.outbox.enabled=true")
+class LibrosEventosControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private LibrosEventosService librosEventosService;
+
+    @MockBean
+    private SseOutboxSink sseOutboxSink;
+
+    private static EventoCatalogo evento(long posicion) {
+        return new EventoCatalogo(posicion, Tipo.ACTUALIZADO, 7,
+                "{\"id\":7,\"titulo\":\"Rayuela\"}", Instant.parse("2026-10-18T10:00:00Z"));
+    }
+
+    // ============================================================
+    // GET — cola del flujo: JSON crudo del libro y sin caché
+    // ============================================================
+    @Test
+    @DisplayName("GET /api/v1/libros/eventos?after=4 → eventos, no-store")
+    void testGetEventos() throws Exception {
+
+        when(librosEventosService.getEventos(4, null)).thenReturn(List.of(evento(5), evento(6)));
+
+        mockMvc.perform(get("/api/v1/libros/eventos").param("after", "4"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-store"))
+                .andExpect(jsonPath("$[0].posicion").value(5))
+                .andExpect(jsonPath("$[0].tipo").value("ACTUALIZADO"))
+                .andExpect(jsonPath("$[0].libro.titulo").value("Rayuela"))
+                .andExpect(jsonPath("$[1].posicion").value(6));
+    }
+
+    // ============================================================
+    // GET — página completa: posiciones definitivas, cacheable
+    // ============================================================
+    @Test
+    @DisplayName("GET /api/v1/libros/eventos?size=2 completa → max-age")
+    void testGetEventosPaginaCompletaCacheable() throws Exception {
+
+        when(librosEventosService.getEventos(0, 2)).thenReturn(List.of(evento(1), evento(2)));
+
+        mockMvc.perform(get("/api/v1/libros/eventos").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=3600"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/libros/eventos?after=-1 → 400")
+    void testGetEventosPosicionNegativa() throws Exception {
+
+        mockMvc.perform(get("/api/v1/libros/eventos").param("after", "-1"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(librosEventosService);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/libros/eventos?after=1 purgada → 410")
+    void testGetEventosPosicionExpirada() throws Exception {
+
+        when(librosEventosService.getEventos(anyLong(), any()))
+                .thenThrow(new LibrosEventosService.PosicionExpiradaException("purgada"));
+
+        mockMvc.perform(get("/api/v1/libros/eventos").param("after", "1"))
+                .andExpect(status().isGone());
+    }
+
+    // ============================================================
+    // STREAM — Last-Event-ID tiene prioridad sobre ?after
+    // ============================================================
+    @Test
+    @DisplayName("GET /api/v1/libros/eventos/stream con Last-Event-ID → SSE desde esa posición")
+    void testStreamRetomaDesdeLastEventId() throws Exception {
+
+        when(sseOutboxSink.suscribir(42)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/v1/libros/eventos/stream")
+                        .header("Last-Event-ID", "42")
+                        .param("after", "3"))
+                .andExpect(request().asyncStarted());
+
+        verify(librosEventosService).getEventos(42, 1);
+        verify(sseOutboxSink).suscribir(42);
+    }
+}
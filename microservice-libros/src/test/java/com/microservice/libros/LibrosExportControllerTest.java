@@ -0,0 +1,54 @@
+package com.microservice.libros;
+
+import com.microservice.libros.controller.LibrosExportController;
+import com.microservice.libros.service.LibrosExportService;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(LibrosExportController.class)
+class LibrosExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private LibrosExportService librosExportService;
+
+    // ============================================================
+    // EXPORT — respuesta NDJSON en streaming
+    // ============================================================
+    @Test
+    @DisplayName("GET /api/v1/libros/export → NDJSON")
+    void testExportLibros() throws Exception {
+
+        doAnswer(inv -> {
+            OutputStream out = inv.getArgument(0);
+            out.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        }).when(librosExportService).exportNdjson(any());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/libros/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+    }
+}
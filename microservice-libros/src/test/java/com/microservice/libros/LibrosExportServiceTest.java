@@ -0,0 +1,86 @@
+package com.microservice.libros;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.microservice.libros.model.Libros;
+import com.microservice.libros.repository.LibrosRepository;
+import com.microservice.libros.service.LibrosExportService;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SuppressWarnings("all")
+class LibrosExportServiceTest {
+
+    private LibrosRepository librosRepository;
+    private EntityManager entityManager;
+    private LibrosExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        librosRepository = mock(LibrosRepository.class);
+        entityManager = mock(EntityManager.class);
+        exportService = new LibrosExportService(
+                librosRepository,
+                entityManager,
+                new ObjectMapper().registerModule(new JavaTimeModule())
+        );
+    }
+
+    private Libros libro(Integer id) {
+        return Libros.builder()
+                .id(id)
+                .titulo("Libro " + id)
+                .autor("Autor")
+                .stock(1)
+                .precio(BigDecimal.TEN)
+                .build();
+    }
+
+    // ============================================================
+    // TEST: Una línea JSON por libro y cada entidad se desacopla
+    // ============================================================
+    @Test
+    void testExportNdjson() throws Exception {
+
+        Libros l1 = libro(1);
+        Libros l2 = libro(2);
+        when(librosRepository.streamAllOrderById()).thenReturn(Stream.of(l1, l2));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long total = exportService.exportNdjson(out);
+
+        String[] lineas = out.toString(StandardCharsets.UTF_8).split("\n");
+
+        assertEquals(2, total);
+        assertEquals(2, lineas.length);
+        assertTrue(lineas[0].contains("\"titulo\":\"Libro 1\""));
+        assertTrue(lineas[1].contains("\"titulo\":\"Libro 2\""));
+        verify(entityManager).detach(l1);
+        verify(entityManager).detach(l2);
+    }
+
+    // ============================================================
+    // TEST: El stream del repositorio se cierra al terminar
+    // ============================================================
+    @Test
+    void testExportClosesStream() throws Exception {
+
+        boolean[] cerrado = {false};
+        when(librosRepository.streamAllOrderById())
+                .thenReturn(Stream.of(libro(1)).onClose(() -> cerrado[0] = true));
+
+        exportService.exportNdjson(new ByteArrayOutputStream());
+
+        assertTrue(cerrado[0]);
+    }
+}
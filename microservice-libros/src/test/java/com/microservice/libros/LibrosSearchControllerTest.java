@@ -0,0 +1,93 @@
+package com.microservice.libros;
+
+import com.microservice.libros.controller.LibrosSearchController;
+import com.microservice.libros.dto.ConsultaBusqueda;
+import com.microservice.libros.dto.LibroIndexado;
+import com.microservice.libros.dto.ResultadoBusqueda;
+import com.microservice.libros.service.LibrosSearchService;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(LibrosSearchController.class)
+class LibrosSearchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private LibrosSearchService librosSearchService;
+
+    // ============================================================
+    // SEARCH — parámetros mapeados a la consulta
+    // ============================================================
+    @Test
+    @DisplayName("GET /api/v1/libros/search → resultados y facetas")
+    void testBuscar() throws Exception {
+
+        LibroIndexado doc = new LibroIndexado(1, "Rayuela", "Julio Cortázar", "Novela", "ES",
+                true, BigDecimal.TEN, LocalDate.of(1963, 6, 28));
+
+        when(librosSearchService.listo()).thenReturn(true);
+        when(librosSearchService.buscar(any()))
+                .thenReturn(new ResultadoBusqueda(1, List.of(doc), Map.of("categoria", Map.of("Novela", 1L))));
+
+        mockMvc.perform(get("/api/v1/libros/search")
+                        .param("q", "rayuel")
+                        .param("fuzzy", "true")
+                        .param("categoria", "Novela")
+                        .param("precioMax", "20")
+                        .param("desde", "1960-01-01")
+                        .param("limit", "500"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.resultados[0].titulo").value("Rayuela"))
+                .andExpect(jsonPath("$.facetas.categoria.Novela").value(1));
+
+        ArgumentCaptor<ConsultaBusqueda> captor = ArgumentCaptor.forClass(ConsultaBusqueda.class);
+        verify(librosSearchService).buscar(captor.capture());
+
+        ConsultaBusqueda consulta = captor.getValue();
+        assertEquals("rayuel", consulta.q());
+        assertTrue(consulta.fuzzy());
+        assertEquals(new BigDecimal("20"), consulta.precioMax());
+        assertEquals(LocalDate.of(1960, 1, 1), consulta.desde());
+        assertEquals(100, consulta.limite());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/libros/search → 503 mientras se construye el índice")
+    void testIndiceNoListo() throws Exception {
+
+        when(librosSearchService.listo()).thenReturn(false);
+
+        mockMvc.perform(get("/api/v1/libros/search").param("q", "x"))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/libros/search → 400 con rango invertido")
+    void testRangoInvalido() throws Exception {
+
+        when(librosSearchService.listo()).thenReturn(true);
+
+        mockMvc.perform(get("/api/v1/libros/search").param("precioMin", "10").param("precioMax", "5"))
+                .andExpect(status().isBadRequest());
+    }
+}
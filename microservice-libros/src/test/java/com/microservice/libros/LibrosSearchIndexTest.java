@@ -0,0 +1,190 @@
+package com.microservice.libros;
+
+import com.microservice.libros.dto.ConsultaBusqueda;
+import com.microservice.libros.dto.LibroIndexado;
+import com.microservice.libros.dto.ResultadoBusqueda;
+import com.microservice.libros.service.LibrosSearchIndex;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LibrosSearchIndexTest {
+
+    private LibrosSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new LibrosSearchIndex();
+        index.indexar(doc(1, "Cien años de soledad", "Gabriel García Márquez", "Novela", "ES", true, 15000, 1967));
+        index.indexar(doc(2, "El amor en los tiempos del cólera", "Gabriel García Márquez", "Novela", "ES", false, 12000, 1985));
+        index.indexar(doc(3, "Harry Potter y la Piedra Filosofal", "J.K. Rowling", "Fantasía", "ES", true, 9990, 1997));
+        index.indexar(doc(4, "Harry Potter and the Chamber of Secrets", "J.K. Rowling", "Fantasía", "EN", true, 11000, 1998));
+    }
+
+    private static LibroIndexado doc(int id, String titulo, String autor, String categoria, String idioma,
+                                     boolean disponible, int precio, int anio) {
+        return new LibroIndexado(id, titulo, autor, categoria, idioma, disponible,
+                BigDecimal.valueOf(precio), LocalDate.of(anio, 1, 1));
+    }
+
+    private static ConsultaBusqueda texto(String q, boolean fuzzy) {
+        return new ConsultaBusqueda(q, fuzzy, null, null, null, null, null, null, null, 20);
+    }
+
+    // ============================================================
+    //  TEST: Prefijo sobre título y autor, sin tildes ni mayúsculas
+    // ============================================================
+    @Test
+    void testBusquedaPorPrefijo() {
+
+        ResultadoBusqueda r = index.buscar(texto("garcia marq", false));
+
+        assertEquals(2, r.total());
+        assertEquals(1, r.resultados().get(0).id());
+        assertEquals(2, r.resultados().get(1).id());
+    }
+
+    // ============================================================
+    //  TEST: Coincidencia exacta puntúa más que prefijo
+    // ============================================================
+    @Test
+    void testExactoAntesQuePrefijo() {
+
+        index.indexar(doc(5, "Potterland", "Otro", "Ensayo", "EN", true, 5000, 2001));
+
+        ResultadoBusqueda r = index.buscar(texto("potter", false));
+
+        assertEquals(3, r.total());
+        assertEquals(5, r.resultados().get(2).id());
+    }
+
+    // ============================================================
+    //  TEST: Búsqueda difusa (un error de tipeo)
+    // ============================================================
+    @Test
+    void testBusquedaDifusa() {
+
+        assertEquals(2, index.buscar(texto("rowlin", false)).total()); // prefijo
+        assertEquals(0, index.buscar(texto("rowlnig", false)).total());
+        assertEquals(2, index.buscar(texto("rowlnig", true)).total());
+        assertEquals(1, index.buscar(texto("soledda", true)).total());
+    }
+
+    // ============================================================
+    //  TEST: Facetas y conteos
+    // ============================================================
+    @Test
+    void testFacetas() {
+
+        ResultadoBusqueda r = index.buscar(new ConsultaBusqueda(
+                null, false, "fantasia", "es", null, null, null, null, null, 20));
+
+        assertEquals(1, r.total());
+        assertEquals(3, r.resultados().get(0).id());
+
+        ResultadoBusqueda todos = index.buscar(texto(null, false));
+
+        assertEquals(4, todos.total());
+        assertEquals(2L, todos.facetas().get("categoria").get("Novela"));
+        assertEquals(3L, todos.facetas().get("idioma").get("ES"));
+        assertEquals(1L, todos.facetas().get("disponible").get("false"));
+    }
+
+    // ============================================================
+    //  TEST: Facetas cuentan por valor normalizado, como filtra la búsqueda
+    // ============================================================
+    @Test
+    void testFacetasNormalizadasConEtiqueta() {
+
+        index.indexar(doc(5, "La historia interminable", "Michael Ende", "fantasia", "es", true, 8000, 1979));
+        index.indexar(doc(6, "El nombre del viento", "Patrick Rothfuss", " FANTASÍA ", "ES", true, 14000, 2007));
+
+        ResultadoBusqueda filtrado = index.buscar(new ConsultaBusqueda(
+                null, false, "Fantasía", null, null, null, null, null, null, 20));
+
+        assertEquals(4, filtrado.total());
+        assertEquals(Map.of("Fantasía", 4L), filtrado.facetas().get("categoria"));
+        assertEquals(Map.of("ES", 3L, "EN", 1L), filtrado.facetas().get("idioma"));
+
+        ResultadoBusqueda todos = index.buscar(texto(null, false));
+
+        assertEquals(Map.of("Novela", 2L, "Fantasía", 4L), todos.facetas().get("categoria"));
+        assertEquals(Map.of("ES", 5L, "EN", 1L), todos.facetas().get("idioma"));
+    }
+
+    // ============================================================
+    //  TEST: Sin texto ni filtros → total, primeros ids y conteos
+    //  mantenidos, también tras reindexar y eliminar
+    // ============================================================
+    @Test
+    void testConsultaVaciaUsaConteosMantenidos() {
+
+        index.indexar(doc(2, "El amor en los tiempos del cólera", "Gabriel García Márquez", "Ensayo", "ES", true, 12000, 1985));
+        index.eliminar(4);
+
+        ResultadoBusqueda r = index.buscar(new ConsultaBusqueda(
+                "  ", false, "", null, null, null, null, null, null, 2));
+
+        assertEquals(3, r.total());
+        assertEquals(List.of(1, 2), r.resultados().stream().map(LibroIndexado::id).toList());
+        assertEquals(Map.of("Novela", 1L, "Ensayo", 1L, "Fantasía", 1L), r.facetas().get("categoria"));
+        assertEquals(Map.of("ES", 3L), r.facetas().get("idioma"));
+        assertEquals(Map.of("true", 3L), r.facetas().get("disponible"));
+    }
+
+    // ============================================================
+    //  TEST: Filtros por rango de precio y fecha
+    // ============================================================
+    @Test
+    void testRangos() {
+
+        ResultadoBusqueda precio = index.buscar(new ConsultaBusqueda(
+                null, false, null, null, null, BigDecimal.valueOf(10000), BigDecimal.valueOf(12000), null, null, 20));
+
+        assertEquals(2, precio.total());
+
+        ResultadoBusqueda fecha = index.buscar(new ConsultaBusqueda(
+                "harry", false, null, null, true, null, null, LocalDate.of(1998, 1, 1), null, 20));
+
+        assertEquals(1, fecha.total());
+        assertEquals(4, fecha.resultados().get(0).id());
+    }
+
+    // ============================================================
+    //  TEST: Reindexar reemplaza términos y facetas; eliminar los quita
+    // ============================================================
+    @Test
+    void testActualizarYEliminar() {
+
+        index.indexar(doc(3, "El Hobbit", "J.R.R. Tolkien", "Fantasía", "ES", true, 9990, 1937));
+
+        assertEquals(1, index.buscar(texto("harry", false)).total());
+        assertEquals(1, index.buscar(texto("hobbit", false)).total());
+
+        index.eliminar(3);
+
+        assertEquals(0, index.buscar(texto("hobbit", false)).total());
+        assertEquals(3, index.tamano());
+        assertEquals(1L, index.buscar(texto(null, false)).facetas().get("categoria").get("Fantasía"));
+    }
+
+    // ============================================================
+    //  TEST: El límite corta la página pero no el total
+    // ============================================================
+    @Test
+    void testLimite() {
+
+        ResultadoBusqueda r = index.buscar(new ConsultaBusqueda(
+                null, false, null, null, null, null, null, null, null, 1));
+
+        assertEquals(4, r.total());
+        assertEquals(1, r.resultados().size());
+    }
+}
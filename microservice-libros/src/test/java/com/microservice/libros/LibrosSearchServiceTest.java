@@ -0,0 +1,104 @@
+package com.microservice.libros;
+
+import com.microservice.libros.dto.ConsultaBusqueda;
+import com.microservice.libros.event.LibrosChangeEvent;
+import com.microservice.libros.model.Libros;
+import com.microservice.libros.repository.LibrosRepository;
+import com.microservice.libros.service.LibrosSearchService;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LibrosSearchServiceTest {
+
+    private LibrosRepository librosRepository;
+    private LibrosSearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        librosRepository = mock(LibrosRepository.class);
+        searchService = new LibrosSearchService(librosRepository, mock(EntityManager.class),
+                mock(PlatformTransactionManager.class));
+    }
+
+    private static Libros libro(int id, String titulo) {
+        return Libros.builder()
+                .id(id)
+                .titulo(titulo)
+                .autor("Autor")
+                .categoria("Drama")
+                .idioma("ES")
+                .stock(1)
+                .precio(BigDecimal.TEN)
+                .build();
+    }
+
+    private long buscar(String q) {
+        return searchService.buscar(new ConsultaBusqueda(q, false, null, null, null, null, null, null, null, 20)).total();
+    }
+
+    // ============================================================
+    //  TEST: Carga inicial desde la tabla
+    // ============================================================
+    @Test
+    void testConstruirIndice() {
+
+        when(librosRepository.streamAllOrderById())
+                .thenReturn(Stream.of(libro(1, "Rayuela"), libro(2, "Ficciones")));
+
+        assertFalse(searchService.listo());
+
+        searchService.construirIndice();
+
+        assertTrue(searchService.listo());
+        assertEquals(1, buscar("rayuela"));
+        assertEquals(2, buscar("autor"));
+    }
+
+    // ============================================================
+    //  TEST: Eventos de cambio actualizan el índice
+    // ============================================================
+    @Test
+    void testEventosIncrementales() {
+
+        when(librosRepository.streamAllOrderById()).thenReturn(Stream.of(libro(1, "Rayuela")));
+        searchService.construirIndice();
+
+        searchService.onLibrosChange(LibrosChangeEvent.creado(libro(2, "Ficciones")));
+        searchService.onLibrosChange(LibrosChangeEvent.actualizado(libro(1, "Los premios")));
+
+        assertEquals(0, buscar("rayuela"));
+        assertEquals(1, buscar("premios"));
+        assertEquals(1, buscar("ficciones"));
+
+        searchService.onLibrosChange(LibrosChangeEvent.eliminado(2));
+
+        assertEquals(0, buscar("ficciones"));
+    }
+
+    // ============================================================
+    //  TEST: Un cambio durante la carga gana sobre la fila leída
+    // ============================================================
+    @Test
+    void testCambioDuranteCarga() {
+
+        when(librosRepository.streamAllOrderById()).thenAnswer(inv -> {
+            // El libro 1 se elimina mientras el recorrido todavía no lo leyó
+            searchService.onLibrosChange(LibrosChangeEvent.eliminado(1));
+            return Stream.of(libro(1, "Rayuela"), libro(2, "Ficciones"));
+        });
+
+        searchService.construirIndice();
+
+        assertEquals(0, buscar("rayuela"));
+        assertEquals(1, buscar("ficciones"));
+    }
+}
@@ -7,6 +7,8 @@ import com.microservice.libros.service.LibrosService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -29,7 +31,7 @@ class LibrosServiceTest {
     @BeforeEach
     void setUp() {
         librosRepository = mock(LibrosRepository.class);  // Se simula el repositorio
-        librosService = new LibrosService(librosRepository); // Se inyecta el mock al servicio
+        librosService = new LibrosService(librosRepository, mock(ApplicationEventPublisher.class)); // Se inyecta el mock al servicio
         MockitoAnnotations.openMocks(this);
     }
 
@@ -48,7 +50,9 @@ class LibrosServiceTest {
                 BigDecimal.valueOf(5000),
                 "ES",
                 "Desc",
-                true
+                true,
+                0L,
+                null
         );
     }
 
@@ -69,6 +73,48 @@ class LibrosServiceTest {
         verify(librosRepository, times(1)).findAll();
     }
 
+    // ============================================================
+    //  TEST: Primera página keyset
+    // ============================================================
+    @Test
+    void testGetLibrosPageFirst() {
+
+        when(librosRepository.findAllByOrderByIdAsc(Limit.of(2)))
+                .thenReturn(List.of(libroMock(1), libroMock(2)));
+
+        List<Libros> result = librosService.getLibrosPage(null, 2);
+
+        assertEquals(2, result.size());
+        verify(librosRepository, never()).findByIdGreaterThanOrderByIdAsc(any(), any());
+    }
+
+    // ============================================================
+    //  TEST: Página siguiente keyset (después del último id)
+    // ============================================================
+    @Test
+    void testGetLibrosPageAfter() {
+
+        when(librosRepository.findByIdGreaterThanOrderByIdAsc(2, Limit.of(LibrosService.DEFAULT_PAGE_SIZE)))
+                .thenReturn(List.of(libroMock(3)));
+
+        List<Libros> result = librosService.getLibrosPage(2, null);
+
+        assertEquals(1, result.size());
+        assertEquals(3, result.get(0).getId());
+    }
+
+    // ============================================================
+    //  TEST: Normalización del tamaño de página
+    // ============================================================
+    @Test
+    void testNormalizePageSize() {
+
+        assertEquals(LibrosService.DEFAULT_PAGE_SIZE, LibrosService.normalizePageSize(null));
+        assertEquals(LibrosService.DEFAULT_PAGE_SIZE, LibrosService.normalizePageSize(0));
+        assertEquals(15, LibrosService.normalizePageSize(15));
+        assertEquals(LibrosService.MAX_PAGE_SIZE, LibrosService.normalizePageSize(100_000));
+    }
+
     // ============================================================
     // TEST: Buscar libro por ID (encontrado)
     // ============================================================
@@ -156,7 +202,7 @@ class LibrosServiceTest {
         when(librosRepository.findById(1)).thenReturn(Optional.of(original));
         when(librosRepository.save(original)).thenReturn(original);
 
-        Libros updated = librosService.updateLibro(1, nuevo);
+        Libros updated = librosService.updateLibro(1, nuevo, null);
 
         assertNotNull(updated);
         assertEquals(nuevo.getTitulo(), updated.getTitulo());
@@ -173,7 +219,7 @@ class LibrosServiceTest {
 
         assertThrows(
                 LibrosService.LibroNotFoundException.class,
-                () -> librosService.updateLibro(1, libroMock(null))
+                () -> librosService.updateLibro(1, libroMock(null), null)
         );
     }
 
@@ -188,7 +234,7 @@ class LibrosServiceTest {
         when(librosRepository.findById(1)).thenReturn(Optional.of(libro));
         when(librosRepository.save(libro)).thenReturn(libro);
 
-        Libros updated = librosService.updateStock(1, 50);
+        Libros updated = librosService.updateStock(1, 50, null);
 
         assertNotNull(updated);
         assertEquals(50, updated.getStock());
@@ -205,7 +251,36 @@ class LibrosServiceTest {
 
         assertThrows(
                 LibrosService.LibroNotFoundException.class,
-                () -> librosService.updateStock(1, 50)
+                () -> librosService.updateStock(1, 50, null)
+        );
+    }
+
+    // ============================================================
+    // TEST: If-Match — versión vigente se acepta, vieja se rechaza
+    // ============================================================
+    @Test
+    void testUpdateLibroVersionVigente() {
+
+        Libros original = libroMock(1);
+
+        when(librosRepository.findById(1)).thenReturn(Optional.of(original));
+        when(librosRepository.save(original)).thenReturn(original);
+
+        assertNotNull(librosService.updateLibro(1, libroMock(null), 0L));
+    }
+
+    @Test
+    void testUpdateStockVersionVieja() {
+
+        Libros libro = libroMock(1);
+        libro.setVersion(4L);
+
+        when(librosRepository.findById(1)).thenReturn(Optional.of(libro));
+
+        assertThrows(
+                LibrosService.VersionConflictException.class,
+                () -> librosService.updateStock(1, 50, 3L)
         );
+        verify(librosRepository, never()).save(any());
     }
 }
@@ -0,0 +1,154 @@
+package com.microservice.libros;
+
+import com.microservice.libros.model.Libros;
+import com.microservice.libros.repository.LibrosRepository;
+import com.microservice.libros.service.LibrosStockService;
+import com.microservice.libros.service.LibrosStockService.ResultadoStock;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// ============================================================
+//  Reservas concurrentes contra un mismo libro "caliente" (H2).
+//  Sin transacción de test: cada reserva confirma por su cuenta.
+// ============================================================
+@DataJpaTest(properties = "spring.cloud.config.enabled=false")
+@Import(LibrosStockService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LibrosStockConcurrencyTest {
+
+    private static final int HILOS = 300;
+    private static final int STOCK_INICIAL = 100;
+
+    @Autowired
+    private LibrosStockService librosStockService;
+
+    @Autowired
+    private LibrosRepository librosRepository;
+
+    private Integer libroId;
+
+    @BeforeEach
+    void setUp() {
+        librosRepository.deleteAllInBatch();
+        libroId = librosRepository.save(Libros.builder()
+                .titulo("Libro caliente")
+                .autor("Autor")
+                .stock(STOCK_INICIAL)
+                .precio(BigDecimal.TEN)
+                .build()).getId();
+    }
+
+    // ============================================================
+    // TEST: 300 hilos reservan 1 unidad → exactamente 100 éxitos
+    // ============================================================
+    @Test
+    void testReservasConcurrentesNoSobrevenden() throws Exception {
+
+        Map<ResultadoStock, AtomicInteger> conteo = ejecutarConcurrente(HILOS,
+                i -> librosStockService.reservarStock(libroId, 1));
+
+        assertEquals(STOCK_INICIAL, conteo.get(ResultadoStock.RESERVADO).get());
+        assertEquals(HILOS - STOCK_INICIAL, conteo.get(ResultadoStock.SIN_STOCK).get());
+        Libros libro = librosRepository.findById(libroId).orElseThrow();
+        assertEquals(0, libro.getStock());
+
+        // Cada UPDATE exitoso incrementa la versión (ETag)
+        assertEquals(STOCK_INICIAL, libro.getVersion());
+    }
+
+    // ============================================================
+    // TEST: Reservas y liberaciones mezcladas no pierden updates
+    // ============================================================
+    @Test
+    void testReservasYLiberacionesSinPerdidas() throws Exception {
+
+        Map<ResultadoStock, AtomicInteger> conteo = ejecutarConcurrente(HILOS,
+                i -> i % 2 == 0
+                        ? librosStockService.reservarStock(libroId, 1)
+                        : librosStockService.liberarStock(libroId, 1));
+
+        int reservados = conteo.get(ResultadoStock.RESERVADO).get();
+        int liberados = conteo.get(ResultadoStock.LIBERADO).get();
+
+        assertEquals(HILOS / 2, liberados);
+        assertEquals(STOCK_INICIAL - reservados + liberados,
+                librosRepository.findById(libroId).orElseThrow().getStock());
+    }
+
+    // ============================================================
+    // TEST: Ajuste mayor que el stock → acotado a 0 (y contado)
+    // ============================================================
+    @Test
+    void testAjusteNegativoSeAcotaACero() {
+
+        assertEquals(ResultadoStock.AJUSTADO, librosStockService.ajustarStock(libroId, -30));
+        assertEquals(STOCK_INICIAL - 30, librosRepository.findById(libroId).orElseThrow().getStock());
+
+        assertEquals(ResultadoStock.AJUSTADO, librosStockService.ajustarStock(libroId, -500));
+        assertEquals(0, librosRepository.findById(libroId).orElseThrow().getStock());
+
+        assertEquals(ResultadoStock.NO_ENCONTRADO, librosStockService.ajustarStock(libroId + 1000, -1));
+    }
+
+    // ============================================================
+    // TEST: Libro inexistente → NO_ENCONTRADO
+    // ============================================================
+    @Test
+    void testReservaLibroInexistente() {
+        assertEquals(ResultadoStock.NO_ENCONTRADO, librosStockService.reservarStock(libroId + 1000, 1));
+    }
+
+    private interface Operacion {
+        ResultadoStock ejecutar(int i);
+    }
+
+    private static Map<ResultadoStock, AtomicInteger> ejecutarConcurrente(int hilos, Operacion operacion)
+            throws Exception {
+
+        Map<ResultadoStock, AtomicInteger> conteo = new ConcurrentHashMap<>();
+        for (ResultadoStock r : ResultadoStock.values()) {
+            conteo.put(r, new AtomicInteger());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        CountDownLatch salida = new CountDownLatch(1);
+        List<Future<?>> futuros = new ArrayList<>();
+
+        for (int i = 0; i < hilos; i++) {
+            int n = i;
+            futuros.add(executor.submit(() -> {
+                salida.await();
+                conteo.get(operacion.ejecutar(n)).incrementAndGet();
+                return null;
+            }));
+        }
+
+        salida.countDown();
+        for (Future<?> f : futuros) {
+            f.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        return conteo;
+    }
+}
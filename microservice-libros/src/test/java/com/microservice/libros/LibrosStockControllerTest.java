@@ -0,0 +1,89 @@
+package com.microservice.libros;
+
+import com.microservice.libros.controller.LibrosStockController;
+import com.microservice.libros.service.LibrosStockService;
+import com.microservice.libros.service.LibrosStockService.ResultadoStock;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(LibrosStockController.class)
+class LibrosStockControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private LibrosStockService librosStockService;
+
+    @Test
+    @DisplayName("POST /api/v1/libros/{id}/stock/reserve → reservado")
+    void testReservarStock() throws Exception {
+
+        when(librosStockService.reservarStock(1, 2)).thenReturn(ResultadoStock.RESERVADO);
+
+        mockMvc.perform(post("/api/v1/libros/1/stock/reserve")
+                        .contentType("application/json")
+                        .content("{\"cantidad\":2}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.resultado").value("RESERVADO"));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/libros/{id}/stock/reserve → 409 sin stock")
+    void testReservarSinStock() throws Exception {
+
+        when(librosStockService.reservarStock(1, 2)).thenReturn(ResultadoStock.SIN_STOCK);
+
+        mockMvc.perform(post("/api/v1/libros/1/stock/reserve")
+                        .contentType("application/json")
+                        .content("{\"cantidad\":2}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.resultado").value("SIN_STOCK"));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/libros/{id}/stock/release → 404 no encontrado")
+    void testLiberarNoEncontrado() throws Exception {
+
+        when(librosStockService.liberarStock(9, 1)).thenReturn(ResultadoStock.NO_ENCONTRADO);
+
+        mockMvc.perform(post("/api/v1/libros/9/stock/release")
+                        .contentType("application/json")
+                        .content("{\"cantidad\":1}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/libros/{id}/stock/adjust → 202 en modo write-behind")
+    void testAjustarEncolado() throws Exception {
+
+        when(librosStockService.ajustarStock(1, 4)).thenReturn(ResultadoStock.ENCOLADO);
+
+        mockMvc.perform(post("/api/v1/libros/1/stock/adjust")
+                        .contentType("application/json")
+                        .content("{\"delta\":4}"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.resultado").value("ENCOLADO"));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/libros/{id}/stock/reserve → 400 cantidad inválida")
+    void testReservarCantidadInvalida() throws Exception {
+
+        mockMvc.perform(post("/api/v1/libros/1/stock/reserve")
+                        .contentType("application/json")
+                        .content("{\"cantidad\":0}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(librosStockService);
+    }
+}
@@ -0,0 +1,213 @@
+package com.microservice.libros;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservice.libros.config.OutboxProperties;
+import com.microservice.libros.dto.EventoCatalogo;
+import com.microservice.libros.event.LibrosChangeEvent.Tipo;
+import com.microservice.libros.model.Libros;
+import com.microservice.libros.outbox.OutboxRelay;
+import com.microservice.libros.outbox.OutboxWriter;
+import com.microservice.libros.repository.LibrosOutboxRepository;
+import com.microservice.libros.repository.LibrosRepository;
+import com.microservice.libros.service.LibrosEventosService;
+import com.microservice.libros.service.LibrosService;
+import com.microservice.libros.service.LibrosStockService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// ============================================================
+//  Outbox: eventos en la transacción del cambio, numeración del
+//  relay, entrega por lotes y retención (H2, sin transacción de
+//  test: cada operación confirma por su cuenta)
+// ============================================================
+@DataJpaTest(properties = {"spring.cloud.config.enabled=false", "libros.outbox.enabled=true"})
+@Import({LibrosService.class, LibrosStockService.class, OutboxWriter.class, LibrosEventosService.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxRelayTest {
+
+    @Autowired
+    private LibrosService librosService;
+
+    @Autowired
+    private LibrosStockService librosStockService;
+
+    @Autowired
+    private LibrosEventosService librosEventosService;
+
+    @Autowired
+    private LibrosRepository librosRepository;
+
+    @Autowired
+    private LibrosOutboxRepository outboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final List<List<EventoCatalogo>> lotes = new ArrayList<>();
+
+    private OutboxProperties properties;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        librosRepository.deleteAllInBatch();
+        outboxRepository.deleteAllInBatch();
+        lotes.clear();
+
+        properties = new OutboxProperties();
+        properties.setEnabled(true);
+        relay = new OutboxRelay(outboxRepository, transactionManager, List.of(lotes::add), properties);
+    }
+
+    private Libros nuevoLibro(String titulo) {
+        return Libros.builder()
+                .titulo(titulo)
+                .autor("Autor")
+                .stock(10)
+                .precio(BigDecimal.TEN)
+                .build();
+    }
+
+    // ============================================================
+    // TEST: crear, PATCH stock, PUT y eliminar → 4 eventos en orden
+    // ============================================================
+    @Test
+    void testCambiosPublicadosEnOrdenConPosiciones() throws Exception {
+
+        Libros creado = librosService.createLibro(nuevoLibro("Rayuela"));
+        librosService.updateStock(creado.getId(), 3, null);
+        librosService.updateLibro(creado.getId(), nuevoLibro("Rayuela (2a ed.)"), null);
+        librosService.deleteLibroAndReturn(creado.getId());
+
+        assertEquals(4, relay.publicar());
+
+        assertEquals(1, lotes.size());
+        List<EventoCatalogo> lote = lotes.get(0);
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), lote.stream().map(EventoCatalogo::posicion).toList());
+        assertEquals(List.of(Tipo.CREADO, Tipo.ACTUALIZADO, Tipo.ACTUALIZADO, Tipo.ELIMINADO),
+                lote.stream().map(EventoCatalogo::tipo).toList());
+        assertTrue(lote.stream().allMatch(e -> creado.getId().equals(e.libroId())));
+
+        // El JSON lleva el estado confirmado (versión ya incrementada por el flush)
+        JsonNode stock = objectMapper.readTree(lote.get(1).libro());
+        assertEquals(3, stock.get("stock").asInt());
+        assertEquals(1, stock.get("version").asLong());
+
+        assertNull(lote.get(3).libro());
+
+        // Nada pendiente: la siguiente vuelta no publica
+        assertEquals(0, relay.publicar());
+        assertEquals(1, lotes.size());
+    }
+
+    // ============================================================
+    // TEST: reserve/release/adjust (UPDATE atómico) también dejan
+    // evento, con el stock y la versión que quedaron en la fila
+    // ============================================================
+    @Test
+    void testReservaDejaEventoEnOutbox() throws Exception {
+
+        Libros creado = librosService.createLibro(nuevoLibro("Pedro Páramo"));
+
+        librosStockService.reservarStock(creado.getId(), 4);
+        librosStockService.liberarStock(creado.getId(), 1);
+        librosStockService.ajustarStock(creado.getId(), -2);
+
+        // Sin stock suficiente: no cambia nada, no hay evento
+        librosStockService.reservarStock(creado.getId(), 100);
+
+        assertEquals(4, outboxRepository.count());
+        assertEquals(4, relay.publicar());
+
+        List<EventoCatalogo> lote = lotes.get(0);
+        JsonNode reserva = objectMapper.readTree(lote.get(1).libro());
+        assertEquals(Tipo.ACTUALIZADO, lote.get(1).tipo());
+        assertEquals(6, reserva.get("stock").asInt());
+        assertEquals(1, reserva.get("version").asLong());
+
+        JsonNode ajuste = objectMapper.readTree(lote.get(3).libro());
+        assertEquals(5, ajuste.get("stock").asInt());
+        assertEquals(3, ajuste.get("version").asLong());
+    }
+
+    // ============================================================
+    // TEST: un cambio que hace rollback no deja evento
+    // ============================================================
+    @Test
+    void testRollbackNoDejaEvento() {
+
+        Libros creado = librosService.createLibro(nuevoLibro("Ficciones"));
+
+        assertThrows(LibrosService.VersionConflictException.class,
+                () -> librosService.updateStock(creado.getId(), 1, 99L));
+
+        assertEquals(1, outboxRepository.count());
+        assertEquals(1, relay.publicar());
+    }
+
+    // ============================================================
+    // TEST: más pendientes que batch-size → varios lotes seguidos
+    // ============================================================
+    @Test
+    void testLotesConsecutivos() {
+
+        properties.setBatchSize(2);
+
+        for (int i = 0; i < 5; i++) {
+            librosService.createLibro(nuevoLibro("Libro " + i));
+        }
+
+        assertEquals(5, relay.publicar());
+
+        assertEquals(List.of(2, 2, 1), lotes.stream().map(List::size).toList());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L),
+                lotes.stream().flatMap(List::stream).map(EventoCatalogo::posicion).toList());
+    }
+
+    // ============================================================
+    // TEST: la purga conserva el último evento y la numeración sigue;
+    // una posición purgada responde PosicionExpiradaException
+    // ============================================================
+    @Test
+    void testRetencionConservaNumeracion() {
+
+        librosService.createLibro(nuevoLibro("Uno"));
+        librosService.createLibro(nuevoLibro("Dos"));
+        librosService.createLibro(nuevoLibro("Tres"));
+        relay.publicar();
+
+        properties.setRetention(Duration.ZERO);
+        assertEquals(2, relay.purgar());
+
+        librosService.createLibro(nuevoLibro("Cuatro"));
+        relay.publicar();
+
+        List<EventoCatalogo> eventos = librosEventosService.getEventos(2, null);
+        assertEquals(List.of(3L, 4L), eventos.stream().map(EventoCatalogo::posicion).toList());
+
+        assertThrows(LibrosEventosService.PosicionExpiradaException.class,
+                () -> librosEventosService.getEventos(1, null));
+    }
+}
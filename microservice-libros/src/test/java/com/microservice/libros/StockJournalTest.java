@@ -0,0 +1,76 @@
+package com.microservice.libros;
+
+import com.microservice.libros.service.StockJournal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// ============================================================
+//  Journal de stock: fsync de grupo y rotación concurrentes
+// ============================================================
+class StockJournalTest {
+
+    @TempDir
+    Path journalDir;
+
+    // ============================================================
+    // TEST: registros con fsync mientras se rota → ninguna línea perdida
+    // ============================================================
+    @Test
+    void testRegistrosConFsyncYRotacionConcurrentes() throws Exception {
+
+        StockJournal journal = new StockJournal(journalDir, true);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+
+        List<Future<?>> futuros = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            futuros.add(executor.submit(() -> {
+                journal.registrar(7, 1);
+                return null;
+            }));
+            if (i % 250 == 0) {
+                journal.rotar();
+            }
+        }
+        for (Future<?> futuro : futuros) {
+            futuro.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        journal.close();
+
+        long total = 0;
+        for (Long segmento : journal.segmentos()) {
+            total += journal.leer(segmento).getOrDefault(7, 0L);
+        }
+        assertEquals(2000, total);
+    }
+
+    // ============================================================
+    // TEST: rotar deja un segmento vacío y conserva el anterior
+    // ============================================================
+    @Test
+    void testRotarAbreSegmentoVacio() throws Exception {
+
+        StockJournal journal = new StockJournal(journalDir, true);
+        journal.registrar(1, 3);
+        assertFalse(journal.vacio());
+
+        long cerrado = journal.rotar();
+
+        assertTrue(journal.vacio());
+        assertEquals(cerrado + 1, journal.segmentoActual());
+        assertEquals(3L, journal.leer(cerrado).get(1));
+        journal.close();
+    }
+}
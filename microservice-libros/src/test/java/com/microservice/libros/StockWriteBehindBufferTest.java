@@ -0,0 +1,241 @@
+package com.microservice.libros;
+
+import com.microservice.libros.config.StockWriteBehindProperties;
+import com.microservice.libros.event.LibrosChangeEvent;
+import com.microservice.libros.model.Libros;
+import com.microservice.libros.repository.LibrosRepository;
+import com.microservice.libros.repository.StockJournalCheckpointRepository;
+import com.microservice.libros.service.StockWriteBehindBuffer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// ============================================================
+//  Modo write-behind: acumulación, volcado y recuperación del journal
+// ============================================================
+@DataJpaTest(properties = "spring.cloud.config.enabled=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StockWriteBehindBufferTest {
+
+    @Autowired
+    private LibrosRepository librosRepository;
+
+    @Autowired
+    private StockJournalCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path journalDir;
+
+    private Integer libroId;
+
+    // Eventos publicados en la transacción de cada volcado
+    private final List<Object> eventos = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        eventos.clear();
+        librosRepository.deleteAllInBatch();
+        checkpointRepository.deleteAllInBatch();
+        libroId = librosRepository.save(Libros.builder()
+                .titulo("Lanzamiento")
+                .autor("Autor")
+                .stock(1000)
+                .precio(BigDecimal.TEN)
+                .build()).getId();
+    }
+
+    private StockWriteBehindBuffer nuevoBuffer() throws IOException {
+        return nuevoBuffer(new JdbcTemplate(dataSource));
+    }
+
+    private StockWriteBehindBuffer nuevoBuffer(JdbcTemplate jdbcTemplate) throws IOException {
+        StockWriteBehindProperties properties = new StockWriteBehindProperties();
+        properties.setEnabled(true);
+        properties.setInstanceId("libros-1");
+        properties.setJournalDir(journalDir.toString());
+
+        StockWriteBehindBuffer buffer = new StockWriteBehindBuffer(
+                properties,
+                jdbcTemplate,
+                transactionManager,
+                checkpointRepository,
+                librosRepository,
+                eventos::add,
+                new ConcurrentMapCacheManager());
+        buffer.recuperar();
+        return buffer;
+    }
+
+    private int stock() {
+        return librosRepository.findById(libroId).orElseThrow().getStock();
+    }
+
+    // ============================================================
+    // TEST: Miles de deltas concurrentes → un único volcado exacto
+    // ============================================================
+    @Test
+    void testDeltasConcurrentesSeVuelcanEnLote() throws Exception {
+
+        StockWriteBehindBuffer buffer = nuevoBuffer();
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+
+        for (int i = 0; i < 4000; i++) {
+            int delta = i % 4 == 0 ? 2 : 1;    // 1000 * (+2) y 3000 * (+1)
+            executor.execute(() -> buffer.registrar(libroId, delta));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(1000, stock());          // aún no se ha volcado
+        assertEquals(5000, buffer.pendiente(libroId));
+
+        assertEquals(1, buffer.flush());
+
+        assertEquals(0, buffer.pendiente(libroId));
+        assertEquals(6000, stock());
+
+        // Un evento por libro volcado, con el stock ya aplicado
+        assertEquals(1, eventos.size());
+        LibrosChangeEvent evento = (LibrosChangeEvent) eventos.get(0);
+        assertEquals(libroId, evento.id());
+        assertEquals(6000, evento.libro().getStock());
+        buffer.cerrar();
+    }
+
+    // ============================================================
+    // TEST: Sin deltas nuevos el volcado no hace nada
+    // ============================================================
+    @Test
+    void testFlushSinDeltas() throws Exception {
+
+        StockWriteBehindBuffer buffer = nuevoBuffer();
+
+        assertEquals(0, buffer.flush());
+        buffer.cerrar();
+    }
+
+    // ============================================================
+    // TEST: Caída antes del volcado → el journal se reaplica una vez
+    // ============================================================
+    @Test
+    void testRecuperacionDesdeJournal() throws Exception {
+
+        StockWriteBehindBuffer caido = nuevoBuffer();
+        caido.registrar(libroId, 5);
+        caido.registrar(libroId, 3);
+        // sin flush ni cerrar(): simula la caída del proceso
+
+        StockWriteBehindBuffer reiniciado = nuevoBuffer();
+        assertEquals(1008, stock());
+
+        // Un segundo reinicio no vuelve a aplicar los mismos segmentos
+        reiniciado.cerrar();
+        nuevoBuffer().cerrar();
+        assertEquals(1008, stock());
+
+        try (var archivos = Files.list(journalDir)) {
+            assertTrue(archivos.allMatch(p -> {
+                try {
+                    return Files.size(p) == 0;
+                } catch (IOException e) {
+                    return false;
+                }
+            }));
+        }
+    }
+
+    // ============================================================
+    // TEST: volcado fallido → el siguiente flush lo reintenta sin
+    // necesidad de deltas nuevos
+    // ============================================================
+    @Test
+    void testFlushFallidoSeReintentaSinTraficoNuevo() throws Exception {
+
+        AtomicBoolean fallar = new AtomicBoolean(true);
+        StockWriteBehindBuffer buffer = nuevoBuffer(new JdbcTemplate(dataSource) {
+            @Override
+            public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+                if (fallar.getAndSet(false)) {
+                    throw new QueryTimeoutException("base caída");
+                }
+                return super.batchUpdate(sql, batchArgs);
+            }
+        });
+
+        buffer.registrar(libroId, 7);
+
+        assertThrows(QueryTimeoutException.class, buffer::flush);
+        assertEquals(7, buffer.pendiente(libroId));
+        assertEquals(1000, stock());
+
+        assertEquals(1, buffer.flush());
+        assertEquals(0, buffer.pendiente(libroId));
+        assertEquals(1007, stock());
+
+        // Ya aplicado: el siguiente volcado no hace nada
+        assertEquals(0, buffer.flush());
+        buffer.cerrar();
+    }
+
+    // ============================================================
+    // TEST: los descuentos no se acumulan (reserve no los vería)
+    // ============================================================
+    @Test
+    void testDeltaNegativoRechazado() throws Exception {
+
+        StockWriteBehindBuffer buffer = nuevoBuffer();
+
+        assertThrows(IllegalArgumentException.class, () -> buffer.registrar(libroId, -1));
+        assertEquals(0, buffer.pendiente(libroId));
+        buffer.cerrar();
+    }
+
+    // ============================================================
+    // TEST: sin instance-id no arranca (el checkpoint no tendría dueño)
+    // ============================================================
+    @Test
+    void testSinInstanceIdFallaAlArrancar() {
+
+        StockWriteBehindProperties properties = new StockWriteBehindProperties();
+        properties.setEnabled(true);
+        properties.setJournalDir(journalDir.toString());
+
+        assertThrows(IllegalStateException.class, () -> new StockWriteBehindBuffer(
+                properties,
+                new JdbcTemplate(dataSource),
+                transactionManager,
+                checkpointRepository,
+                librosRepository,
+                eventos::add,
+                new ConcurrentMapCacheManager()));
+    }
+}
@@ -0,0 +1,74 @@
+package com.microservice.libros.assembler;
+
+import com.microservice.libros.controller.LibrosController;
+import com.microservice.libros.model.Libros;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.*;
+
+@SuppressWarnings("all")
+class LibrosModelAssemblerTest {
+
+    private final LibrosModelAssembler assembler = new LibrosModelAssembler();
+
+    @BeforeEach
+    void setUp() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setServerName("biblioteca.local");
+        request.setServerPort(8090);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    // ============================================================
+    // TEST: Los links coinciden con los generados vía methodOn
+    // ============================================================
+    @Test
+    void testLinksMatchMethodOn() {
+
+        Libros libro = Libros.builder().id(7).titulo("Libro 7").build();
+
+        EntityModel<Libros> model = assembler.toModel(libro);
+
+        String esperado = linkTo(methodOn(LibrosController.class).getLibroById(7, null)).toUri().toString();
+        assertEquals("http://biblioteca.local:8090/api/v1/libros/7", esperado);
+        assertEquals(esperado, model.getRequiredLink(IanaLinkRelations.SELF).getHref());
+        assertEquals(esperado, model.getRequiredLink("delete").getHref());
+        assertEquals(esperado, model.getRequiredLink("update").getHref());
+    }
+
+    // ============================================================
+    // TEST: Colección mantiene el orden y los links por fila
+    // ============================================================
+    @Test
+    void testToCollectionModel() {
+
+        List<Libros> libros = List.of(
+                Libros.builder().id(1).build(),
+                Libros.builder().id(2).build()
+        );
+
+        CollectionModel<EntityModel<Libros>> coleccion = assembler.toCollectionModel(libros);
+
+        List<EntityModel<Libros>> modelos = List.copyOf(coleccion.getContent());
+        assertEquals(2, modelos.size());
+        assertEquals("http://biblioteca.local:8090/api/v1/libros/2",
+                modelos.get(1).getRequiredLink(IanaLinkRelations.SELF).getHref());
+    }
+}
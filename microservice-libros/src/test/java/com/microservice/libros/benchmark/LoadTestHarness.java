@@ -0,0 +1,204 @@
+package com.microservice.libros.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+// ============================================================
+//  Prueba de carga: throughput y latencias (p50/p99) de GET por id
+//  y de la primera página del listado, con N clientes concurrentes
+//  en bucle cerrado durante un tiempo fijo.
+//
+//  Para comparar modos, levantar dos instancias de msvc-libros
+//  (JRE 21+ para hilos virtuales) y pasar ambas URLs:
+//
+//    java -jar target/microservice-libros-*-exec.jar --server.port=8090
+//    LIBROS_VIRTUAL_THREADS=true java -jar target/microservice-libros-*-exec.jar --server.port=8091
+//
+//    mvn test-compile exec:exec -Dexec.executable=java \
+//        -Dexec.classpathScope=test \
+//        -Dexec.args="-cp %classpath com.microservice.libros.benchmark.LoadTestHarness \
+//            --url=http://localhost:8090 --url=http://localhost:8091 \
+//            --clientes=400 --segundos=30 --ids=1000"
+//
+//  Con más clientes que server.tomcat.threads.max (200 por defecto)
+//  el modo de plataforma encola en Tomcat; el virtual encola en Hikari.
+//
+//  Escalado horizontal: levantar 1 y luego 3 instancias (puertos
+//  8090-8092, registradas en Eureka) y medir a través del gateway
+//  con --url=http://localhost:8080 (ruta lb://msvc-libros).
+// ============================================================
+public class LoadTestHarness {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final HttpClient client;
+    private final int clientes;
+    private final int segundos;
+    private final int ids;
+
+    public LoadTestHarness(int clientes, int segundos, int ids) {
+        this.clientes = clientes;
+        this.segundos = segundos;
+        this.ids = ids;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(TIMEOUT)
+                .executor(Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()), r -> {
+                    Thread t = new Thread(r, "load-test-http");
+                    t.setDaemon(true);
+                    return t;
+                }))
+                .build();
+    }
+
+    // Resultado de una corrida contra una URL base
+    public record Resultado(String url, long peticiones, long errores, double segundos,
+                            double p50Ms, double p99Ms, double maxMs) {
+
+        public double throughput() {
+            return peticiones / segundos;
+        }
+    }
+
+    public Resultado ejecutar(String baseUrl) throws Exception {
+
+        // Calentamiento: JIT, pool de conexiones y cachés del servicio
+        correr(baseUrl, Math.min(segundos, 5));
+
+        return correr(baseUrl, segundos);
+    }
+
+    private Resultado correr(String baseUrl, int duracion) throws Exception {
+
+        ExecutorService pool = Executors.newFixedThreadPool(clientes);
+        long fin = System.nanoTime() + Duration.ofSeconds(duracion).toNanos();
+        long inicio = System.nanoTime();
+
+        List<Future<long[]>> futuros = new ArrayList<>(clientes);
+
+        for (int c = 0; c < clientes; c++) {
+            futuros.add(pool.submit(() -> cliente(baseUrl, fin)));
+        }
+
+        List<long[]> porCliente = new ArrayList<>(clientes);
+        for (Future<long[]> f : futuros) {
+            porCliente.add(f.get());
+        }
+
+        pool.shutdown();
+        double transcurrido = (System.nanoTime() - inicio) / 1e9;
+
+        // Último elemento de cada arreglo = errores de ese cliente
+        long errores = 0;
+        int total = 0;
+        for (long[] l : porCliente) {
+            errores += l[l.length - 1];
+            total += l.length - 1;
+        }
+
+        long[] latencias = new long[total];
+        int pos = 0;
+        for (long[] l : porCliente) {
+            System.arraycopy(l, 0, latencias, pos, l.length - 1);
+            pos += l.length - 1;
+        }
+        Arrays.sort(latencias);
+
+        return new Resultado(baseUrl, total, errores, transcurrido,
+                percentil(latencias, 0.50), percentil(latencias, 0.99),
+                latencias.length == 0 ? 0 : latencias[latencias.length - 1] / 1e6);
+    }
+
+    // Un cliente: 9 de cada 10 peticiones por id, 1 de cada 10 al listado
+    private long[] cliente(String baseUrl, long fin) {
+
+        long[] latencias = new long[1024];
+        int n = 0;
+        long errores = 0;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        while (System.nanoTime() < fin) {
+
+            String path = random.nextInt(10) == 0
+                    ? "/api/v1/libros?view=summary"
+                    : "/api/v1/libros/" + (1 + random.nextInt(ids));
+
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(TIMEOUT)
+                    .GET()
+                    .build();
+
+            long t0 = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() >= 500) {
+                    errores++;
+                    continue;
+                }
+            } catch (Exception e) {
+                errores++;
+                continue;
+            }
+
+            if (n == latencias.length) {
+                latencias = Arrays.copyOf(latencias, n * 2);
+            }
+            latencias[n++] = System.nanoTime() - t0;
+        }
+
+        long[] salida = Arrays.copyOf(latencias, n + 1);
+        salida[n] = errores;
+        return salida;
+    }
+
+    private static double percentil(long[] ordenadas, double p) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int i = (int) Math.ceil(p * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, i)] / 1e6;
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        List<String> urls = new ArrayList<>();
+        int clientes = 200;
+        int segundos = 30;
+        int ids = 1000;
+
+        for (String arg : args) {
+            if (arg.startsWith("--url=")) {
+                urls.add(arg.substring("--url=".length()));
+            } else if (arg.startsWith("--clientes=")) {
+                clientes = Integer.parseInt(arg.substring("--clientes=".length()));
+            } else if (arg.startsWith("--segundos=")) {
+                segundos = Integer.parseInt(arg.substring("--segundos=".length()));
+            } else if (arg.startsWith("--ids=")) {
+                ids = Integer.parseInt(arg.substring("--ids=".length()));
+            }
+        }
+
+        if (urls.isEmpty()) {
+            urls.add("http://localhost:8090");
+        }
+
+        LoadTestHarness harness = new LoadTestHarness(clientes, segundos, ids);
+
+        System.out.printf("%-28s %10s %8s %10s %10s %10s%n", "url", "req/s", "errores", "p50 ms", "p99 ms", "max ms");
+
+        for (String url : urls) {
+            Resultado r = harness.ejecutar(url);
+            System.out.printf("%-28s %10.1f %8d %10.2f %10.2f %10.2f%n",
+                    r.url(), r.throughput(), r.errores(), r.p50Ms(), r.p99Ms(), r.maxMs());
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.microservice.libros.config;
+
+import com.microservice.libros.model.Libros;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class LibrosSequenceInitializerTest {
+
+    @SuppressWarnings("unchecked")
+    private static JdbcTemplate jdbc(String producto, Long maxId) {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(producto);
+        when(jdbcTemplate.queryForObject(LibrosSequenceInitializer.SQL_MAX_ID, Long.class)).thenReturn(maxId);
+        return jdbcTemplate;
+    }
+
+    // MySQL: next_val sube a MAX(id_libro) + allocationSize (nunca MAX + 1)
+    @Test
+    void sembrar_mysql_subeNextValPorEncimaDelBloque() {
+        JdbcTemplate jdbcTemplate = jdbc("MySQL", 1234L);
+
+        new LibrosSequenceInitializer(jdbcTemplate).sembrar();
+
+        long minimo = 1234L + Libros.ID_ALLOCATION_SIZE;
+        verify(jdbcTemplate).update(LibrosSequenceInitializer.SQL_SEMILLA, minimo, minimo);
+    }
+
+    // Tabla vacía: el mínimo es un bloque completo
+    @Test
+    void sembrar_mysql_tablaVacia() {
+        JdbcTemplate jdbcTemplate = jdbc("MySQL", 0L);
+
+        new LibrosSequenceInitializer(jdbcTemplate).sembrar();
+
+        long minimo = Libros.ID_ALLOCATION_SIZE;
+        verify(jdbcTemplate).update(LibrosSequenceInitializer.SQL_SEMILLA, minimo, minimo);
+    }
+
+    // Secuencias nativas (H2): no se toca nada
+    @Test
+    void sembrar_h2_noHaceNada() {
+        JdbcTemplate jdbcTemplate = jdbc("H2", 99L);
+
+        new LibrosSequenceInitializer(jdbcTemplate).sembrar();
+
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(Long.class));
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+}
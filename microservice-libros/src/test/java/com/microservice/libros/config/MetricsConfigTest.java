@@ -0,0 +1,47 @@
+package com.microservice.libros.config;
+
+import com.microservice.libros.model.Libros;
+import com.microservice.libros.repository.LibrosRepository;
+import com.microservice.libros.service.LibrosService;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MetricsConfigTest {
+
+    // @Observed a nivel de clase: un timer por método, con tags class/method
+    @Test
+    void observedAspect_mideCadaMetodoDelServicio() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ObservationRegistry observations = ObservationRegistry.create();
+        observations.observationConfig().observationHandler(new DefaultMeterObservationHandler(registry));
+
+        LibrosRepository repository = mock(LibrosRepository.class);
+        when(repository.findById(1)).thenReturn(Optional.of(Libros.builder().id(1).build()));
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(
+                new LibrosService(repository, mock(ApplicationEventPublisher.class)));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new MetricsConfig().observedAspect(observations));
+        LibrosService service = factory.getProxy();
+
+        service.getLibroById(1);
+        service.getLibroById(1);
+
+        Timer timer = registry.find(MetricsConfig.SERVICE_TIMER)
+                .tags("class", LibrosService.class.getName(), "method", "getLibroById", "error", "none")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(2, timer.count());
+    }
+}
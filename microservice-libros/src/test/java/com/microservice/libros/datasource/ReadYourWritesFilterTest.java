@@ -0,0 +1,132 @@
+package com.microservice.libros.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadYourWritesFilterTest {
+
+    private ReadYourWritesFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new ReadYourWritesFilter(Duration.ofSeconds(5), "X-API-Key", 1000);
+    }
+
+    private static MockHttpServletRequest request(String metodo, String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest(metodo, "/api/v1/libros/1");
+        if (apiKey != null) {
+            request.addHeader("X-API-Key", apiKey);
+        }
+        return request;
+    }
+
+    // true si la cadena corrió con la primaria forzada
+    private boolean enPrimaria(MockHttpServletRequest request, MockHttpServletResponse response) throws Exception {
+        AtomicBoolean forzada = new AtomicBoolean();
+        FilterChain chain = (req, res) -> forzada.set(RoutingContext.primariaForzada());
+        filter.doFilter(request, response, chain);
+        assertFalse(RoutingContext.primariaForzada(), "el filtro debe restaurar el contexto");
+        return forzada.get();
+    }
+
+    @Test
+    void lecturaSinEscriturasPrevias_puedeIrAReplica() throws Exception {
+        assertFalse(enPrimaria(request("GET", "cliente-a"), new MockHttpServletResponse()));
+    }
+
+    @Test
+    void escritura_dejaCookieYLasLecturasDelMismoClienteVanALaPrimaria() throws Exception {
+        MockHttpServletResponse respuesta = new MockHttpServletResponse();
+        assertTrue(enPrimaria(request("PATCH", "cliente-a"), respuesta));
+
+        Cookie cookie = respuesta.getCookie(ReadYourWritesFilter.COOKIE);
+        assertNotNull(cookie);
+        assertEquals(5, cookie.getMaxAge());
+
+        assertTrue(enPrimaria(request("GET", "cliente-a"), new MockHttpServletResponse()));
+        assertFalse(enPrimaria(request("GET", "cliente-b"), new MockHttpServletResponse()));
+    }
+
+    @Test
+    void cookieReciente_fuerzaPrimariaAunqueLaEscrituraFueraEnOtraInstancia() throws Exception {
+        MockHttpServletRequest request = request("GET", null);
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE, Long.toString(System.currentTimeMillis() - 1000)));
+
+        assertTrue(enPrimaria(request, new MockHttpServletResponse()));
+    }
+
+    @Test
+    void cookieVencidaOFutura_seIgnora() throws Exception {
+        MockHttpServletRequest vencida = request("GET", null);
+        vencida.setCookies(new Cookie(ReadYourWritesFilter.COOKIE, Long.toString(System.currentTimeMillis() - 60_000)));
+        assertFalse(enPrimaria(vencida, new MockHttpServletResponse()));
+
+        MockHttpServletRequest futura = request("GET", null);
+        futura.setCookies(new Cookie(ReadYourWritesFilter.COOKIE, Long.toString(System.currentTimeMillis() + 3_600_000)));
+        assertFalse(enPrimaria(futura, new MockHttpServletResponse()));
+    }
+
+    @Test
+    void escrituraLenta_laVentanaCorreDesdeQueTermina() throws Exception {
+        ReadYourWritesFilter corta = new ReadYourWritesFilter(Duration.ofMillis(300), "X-API-Key", 1000);
+
+        // La escritura tarda más que la ventana completa
+        long inicio = System.currentTimeMillis();
+        MockHttpServletResponse respuesta = new MockHttpServletResponse();
+        corta.doFilter(request("PUT", "cliente-a"), respuesta, (req, res) -> {
+            try {
+                Thread.sleep(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            res.getWriter().write("{}");
+        });
+
+        Cookie cookie = respuesta.getCookie(ReadYourWritesFilter.COOKIE);
+        assertNotNull(cookie);
+        assertEquals(1, respuesta.getCookies().length);
+        assertTrue(Long.parseLong(cookie.getValue()) >= inicio + 500, "la cookie se fecha al terminar la escritura");
+
+        // Misma instancia: la entrada en memoria se renovó al terminar
+        AtomicBoolean forzada = new AtomicBoolean();
+        corta.doFilter(request("GET", "cliente-a"), new MockHttpServletResponse(),
+                (req, res) -> forzada.set(RoutingContext.primariaForzada()));
+        assertTrue(forzada.get());
+
+        // Otra instancia: solo la cookie, todavía dentro de la ventana
+        MockHttpServletRequest lectura = request("GET", null);
+        lectura.setCookies(cookie);
+        forzada.set(false);
+        corta.doFilter(lectura, new MockHttpServletResponse(),
+                (req, res) -> forzada.set(RoutingContext.primariaForzada()));
+        assertTrue(forzada.get());
+    }
+
+    @Test
+    void escrituraSinCuerpo_igualDejaCookie() throws Exception {
+        MockHttpServletResponse respuesta = new MockHttpServletResponse();
+        filter.doFilter(request("DELETE", "cliente-a"), respuesta, (req, res) -> { });
+
+        assertNotNull(respuesta.getCookie(ReadYourWritesFilter.COOKIE));
+    }
+
+    @Test
+    void sinApiKey_seIdentificaPorLaIpDeOrigenDelGateway() throws Exception {
+        MockHttpServletRequest escritura = request("POST", null);
+        escritura.addHeader("X-Forwarded-For", "10.0.0.7, 10.0.0.1");
+        enPrimaria(escritura, new MockHttpServletResponse());
+
+        MockHttpServletRequest lectura = request("GET", null);
+        lectura.addHeader("X-Forwarded-For", "10.0.0.7");
+        assertTrue(enPrimaria(lectura, new MockHttpServletResponse()));
+    }
+}
@@ -0,0 +1,198 @@
+package com.microservice.libros.datasource;
+
+import com.microservice.libros.config.ReplicaRoutingConfig;
+import com.microservice.libros.model.Libros;
+import com.microservice.libros.repository.LibrosRepository;
+import com.microservice.libros.service.LibrosService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// ============================================================
+//  Ruteo contra dos bases H2 independientes (primaria y réplica).
+//  No hay replicación: el test copia filas y latido a mano para
+//  simular una réplica al día o atrasada.
+// ============================================================
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.datasource.url=" + ReplicaRoutingTest.PRIMARIA,
+        "libros.datasource.routing.enabled=true",
+        "libros.datasource.routing.replicas[0].url=" + ReplicaRoutingTest.REPLICA,
+        "libros.datasource.routing.max-lag=5s",
+        "libros.datasource.routing.health-check-interval-ms=3600000"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ReplicaRoutingConfig.class, LibrosService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReplicaRoutingTest {
+
+    static final String PRIMARIA = "jdbc:h2:mem:ruteo_primaria;DB_CLOSE_DELAY=-1";
+    static final String REPLICA = "jdbc:h2:mem:ruteo_replica;DB_CLOSE_DELAY=-1";
+
+    private static boolean esquemaCopiado;
+
+    @Autowired
+    private LibrosService librosService;
+
+    @Autowired
+    private LibrosRepository librosRepository;
+
+    @Autowired
+    private ReplicaMonitor monitor;
+
+    private Integer id;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        try (Connection primaria = conectar(PRIMARIA); Connection replica = conectar(REPLICA)) {
+            if (!esquemaCopiado) {
+                copiarEsquema(primaria, replica);
+                esquemaCopiado = true;
+            }
+            ejecutar(replica, "DELETE FROM libros");
+            ejecutar(replica, "DELETE FROM libros_replica_heartbeat");
+        }
+        librosRepository.deleteAllInBatch();
+
+        id = librosService.createLibro(Libros.builder()
+                .titulo("En primaria")
+                .autor("Borges")
+                .stock(5)
+                .precio(BigDecimal.TEN)
+                .build()).getId();
+    }
+
+    private static Connection conectar(String url) throws SQLException {
+        return DriverManager.getConnection(url, "sa", "");
+    }
+
+    private static void ejecutar(Connection connection, String sql) throws SQLException {
+        try (Statement st = connection.createStatement()) {
+            st.execute(sql);
+        }
+    }
+
+    private static void copiarEsquema(Connection primaria, Connection replica) throws SQLException {
+        List<String> ddl = new ArrayList<>();
+        try (Statement st = primaria.createStatement(); ResultSet rs = st.executeQuery("SCRIPT NODATA")) {
+            while (rs.next()) {
+                ddl.add(rs.getString(1));
+            }
+        }
+        for (String sentencia : ddl) {
+            if (!sentencia.startsWith("CREATE USER")) {
+                ejecutar(replica, sentencia);
+            }
+        }
+    }
+
+    // "Replicación": copia las filas de libros y deja el latido con el instante dado
+    private void replicar(long latido, String titulo) throws SQLException {
+        try (Connection primaria = conectar(PRIMARIA); Connection replica = conectar(REPLICA)) {
+            try (Statement st = primaria.createStatement(); ResultSet rs = st.executeQuery("SELECT * FROM libros")) {
+                int columnas = rs.getMetaData().getColumnCount();
+                String marcas = String.join(",", Collections.nCopies(columnas, "?"));
+                try (PreparedStatement insert = replica.prepareStatement("INSERT INTO libros VALUES (" + marcas + ")")) {
+                    while (rs.next()) {
+                        for (int i = 1; i <= columnas; i++) {
+                            insert.setObject(i, rs.getObject(i));
+                        }
+                        insert.executeUpdate();
+                    }
+                }
+            }
+            ejecutar(replica, "UPDATE libros SET titulo = '" + titulo + "'");
+            try (PreparedStatement hb = replica.prepareStatement(ReplicaMonitor.INSERT_SQL)) {
+                hb.setLong(1, latido);
+                hb.executeUpdate();
+            }
+        }
+        monitor.verificar();
+    }
+
+    private static List<String> titulos(List<Libros> libros) {
+        return libros.stream().map(Libros::getTitulo).toList();
+    }
+
+    @Test
+    void replicaQueFallaAlSondear_lasLecturasVanALaPrimaria() throws SQLException {
+        try (Connection replica = conectar(REPLICA)) {
+            ejecutar(replica, "DROP TABLE libros_replica_heartbeat");
+        }
+        try {
+            monitor.verificar();
+            assertTrue(monitor.disponibles().isEmpty());
+            assertEquals(List.of("En primaria"), titulos(librosService.getAllLibros()));
+        } finally {
+            esquemaCopiado = false;
+            try (Connection replica = conectar(REPLICA)) {
+                ejecutar(replica, "DROP ALL OBJECTS");
+            }
+        }
+    }
+
+    @Test
+    void lecturaReadOnly_conReplicaAlDia_vaALaReplica() throws SQLException {
+        replicar(Long.MAX_VALUE, "En replica");
+
+        assertEquals(List.of("replica-1"), monitor.disponibles());
+        assertEquals(List.of("En replica"), titulos(librosService.getAllLibros()));
+        assertEquals("En replica", librosService.getLibrosPorAutor("Borges", null, 10).get(0).getTitulo());
+    }
+
+    @Test
+    void lecturaQueLlenaLaCache_vaALaPrimaria() throws SQLException {
+        replicar(Long.MAX_VALUE, "En replica");
+
+        assertEquals("En primaria", librosService.getLibroById(id).orElseThrow().getTitulo());
+    }
+
+    @Test
+    void primariaForzada_ignoraLaReplica() throws SQLException {
+        replicar(Long.MAX_VALUE, "En replica");
+
+        assertEquals(List.of("En primaria"), titulos(RoutingContext.enPrimaria(librosService::getAllLibros)));
+    }
+
+    @Test
+    void replicaAtrasada_lasLecturasVuelvenALaPrimaria() throws SQLException {
+        replicar(System.currentTimeMillis() - 60_000, "En replica");
+
+        assertTrue(monitor.disponibles().isEmpty());
+        assertEquals(List.of("En primaria"), titulos(librosService.getAllLibros()));
+    }
+
+    @Test
+    void escritura_vaSiempreALaPrimaria() throws SQLException {
+        replicar(Long.MAX_VALUE, "En replica");
+
+        librosService.updateStock(id, 42, null);
+
+        try (Connection replica = conectar(REPLICA);
+             Statement st = replica.createStatement();
+             ResultSet rs = st.executeQuery("SELECT stock FROM libros")) {
+            assertTrue(rs.next());
+            assertEquals(5, rs.getInt(1));
+        }
+        assertEquals(42, RoutingContext.enPrimaria(() -> librosService.getLibroById(id)).orElseThrow().getStock());
+    }
+}
@@ -0,0 +1,75 @@
+package com.microservice.libros.metrics;
+
+import com.microservice.libros.config.MetricsConfig;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LibrosMetricsInterceptorTest {
+
+    private SimpleMeterRegistry registry;
+    private LibrosMetricsInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        interceptor = new LibrosMetricsInterceptor(registry);
+    }
+
+    private static MockHttpServletRequest request(String patron) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/libros/7");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, patron);
+        return request;
+    }
+
+    private static MockHttpServletResponse response(int status) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(status);
+        return response;
+    }
+
+    @Test
+    void respuesta404_cuentaNotFoundPorPatron() {
+        interceptor.afterCompletion(request("/api/v1/libros/{id}"), response(404), null, null);
+        interceptor.afterCompletion(request("/api/v1/libros/{id}"), response(404), null, null);
+
+        assertEquals(2, registry.counter(MetricsConfig.NOT_FOUND_COUNTER, "uri", "/api/v1/libros/{id}").count());
+        assertNull(registry.find(MetricsConfig.VALIDATION_COUNTER).counter());
+    }
+
+    @Test
+    void respuesta400_cuentaFalloDeValidacion() {
+        interceptor.afterCompletion(request("/api/v1/libros/{id}/stock"), response(400), null, null);
+
+        assertEquals(1, registry.counter(MetricsConfig.VALIDATION_COUNTER, "uri", "/api/v1/libros/{id}/stock").count());
+    }
+
+    @Test
+    void cuerpoEscrito_registraTiempoDeSerializacion() {
+        MockHttpServletRequest request = request("/api/v1/libros");
+        request.setAttribute(SerializationTimingAdvice.INICIO_ATTR, System.nanoTime());
+        request.setAttribute(SerializationTimingAdvice.MEDIA_ATTR, "hal+json");
+
+        interceptor.afterCompletion(request, response(200), null, null);
+
+        Timer timer = registry.find(MetricsConfig.SERIALIZATION_TIMER)
+                .tags("uri", "/api/v1/libros", "media", "hal+json")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void sinCuerpo_noRegistraSerializacion() {
+        interceptor.afterCompletion(request("/api/v1/libros/{id}"), response(204), null, null);
+
+        assertNull(registry.find(MetricsConfig.SERIALIZATION_TIMER).timer());
+    }
+}
@@ -0,0 +1,135 @@
+package com.microservice.libros.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservice.libros.config.CacheConfig;
+import com.microservice.libros.dto.EventoCatalogo;
+import com.microservice.libros.event.LibrosChangeEvent;
+import com.microservice.libros.event.LibrosChangeEvent.Tipo;
+import com.microservice.libros.repository.LibrosOutboxRepository;
+import com.microservice.libros.service.LibrosEventosService;
+import com.microservice.libros.service.LibrosSearchService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// ============================================================
+//  Seguidor del outbox: cambios hechos en otra instancia llegan
+//  a las cachés y al índice locales por posición
+// ============================================================
+class OutboxFollowerTest {
+
+    private static final int PAGINA = LibrosEventosService.MAX_PAGE_SIZE;
+
+    private LibrosEventosService eventosService;
+    private LibrosOutboxRepository outboxRepository;
+    private LibrosSearchService searchService;
+    private ConcurrentMapCacheManager cacheManager;
+    private OutboxFollower follower;
+
+    @BeforeEach
+    void setUp() {
+        eventosService = mock(LibrosEventosService.class);
+        outboxRepository = mock(LibrosOutboxRepository.class);
+        searchService = mock(LibrosSearchService.class);
+        cacheManager = new ConcurrentMapCacheManager(CacheConfig.LIBROS, CacheConfig.LIBROS_PAGINAS);
+
+        when(eventosService.getEventos(anyLong(), anyInt())).thenReturn(List.of());
+        when(outboxRepository.findUltimaPosicion()).thenReturn(10L);
+
+        follower = new OutboxFollower(eventosService, outboxRepository, searchService, cacheManager,
+                new ObjectMapper().findAndRegisterModules());
+    }
+
+    private static EventoCatalogo evento(long posicion, Tipo tipo, int libroId, String libro) {
+        return new EventoCatalogo(posicion, tipo, libroId, libro, Instant.EPOCH);
+    }
+
+    // ============================================================
+    // TEST: antes de fijar la posición inicial no se lee la tabla
+    // ============================================================
+    @Test
+    void testSinPosicionInicialNoSigue() {
+
+        assertEquals(0, follower.seguir());
+
+        verifyNoInteractions(eventosService);
+    }
+
+    // ============================================================
+    // TEST: cambio de otra instancia → caché invalidada e índice al día
+    // ============================================================
+    @Test
+    void testCambioRemotoInvalidaCachesYActualizaIndice() {
+
+        follower.iniciar();
+        cacheManager.getCache(CacheConfig.LIBROS).put(7, "viejo");
+        cacheManager.getCache(CacheConfig.LIBROS).put(8, "otro");
+        cacheManager.getCache(CacheConfig.LIBROS_PAGINAS).put("null:20", "pagina");
+
+        when(eventosService.getEventos(10, PAGINA)).thenReturn(List.of(
+                evento(11, Tipo.ACTUALIZADO, 7, "{\"id\":7,\"titulo\":\"Nuevo\",\"categoria\":\"Drama\",\"stock\":3}"),
+                evento(12, Tipo.ELIMINADO, 9, null)));
+
+        assertEquals(2, follower.seguir());
+
+        assertNull(cacheManager.getCache(CacheConfig.LIBROS).get(7));
+        assertNotNull(cacheManager.getCache(CacheConfig.LIBROS).get(8));
+        assertNull(cacheManager.getCache(CacheConfig.LIBROS_PAGINAS).get("null:20"));
+
+        ArgumentCaptor<LibrosChangeEvent> aplicados = ArgumentCaptor.forClass(LibrosChangeEvent.class);
+        verify(searchService, times(2)).onLibrosChange(aplicados.capture());
+
+        LibrosChangeEvent actualizado = aplicados.getAllValues().get(0);
+        assertEquals(Tipo.ACTUALIZADO, actualizado.tipo());
+        assertEquals("Nuevo", actualizado.libro().getTitulo());
+        assertEquals(LibrosChangeEvent.eliminado(9), aplicados.getAllValues().get(1));
+
+        assertEquals(12, follower.ultima());
+    }
+
+    // ============================================================
+    // TEST: payload ilegible → se salta ese evento y se sigue
+    // ============================================================
+    @Test
+    void testPayloadIlegibleNoFrenaElSeguimiento() {
+
+        follower.iniciar();
+
+        when(eventosService.getEventos(10, PAGINA)).thenReturn(List.of(
+                evento(11, Tipo.CREADO, 7, "{no es json"),
+                evento(12, Tipo.ELIMINADO, 8, null)));
+
+        assertEquals(2, follower.seguir());
+
+        verify(searchService).onLibrosChange(LibrosChangeEvent.eliminado(8));
+        assertEquals(12, follower.ultima());
+    }
+
+    // ============================================================
+    // TEST: posición fuera de la retención → cachés vacías e índice recargado
+    // ============================================================
+    @Test
+    void testPosicionExpiradaRecargaDesdeLaTabla() {
+
+        follower.iniciar();
+        cacheManager.getCache(CacheConfig.LIBROS).put(7, "viejo");
+
+        when(eventosService.getEventos(10, PAGINA))
+                .thenThrow(new LibrosEventosService.PosicionExpiradaException("purgada"));
+        when(outboxRepository.findUltimaPosicion()).thenReturn(500L);
+
+        assertEquals(0, follower.seguir());
+
+        assertNull(cacheManager.getCache(CacheConfig.LIBROS).get(7));
+        verify(searchService).construirIndice();
+        assertEquals(500, follower.ultima());
+    }
+}
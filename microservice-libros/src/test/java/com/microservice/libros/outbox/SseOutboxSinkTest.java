@@ -0,0 +1,104 @@
+package com.microservice.libros.outbox;
+
+import com.microservice.libros.dto.EventoCatalogo;
+import com.microservice.libros.event.LibrosChangeEvent.Tipo;
+import com.microservice.libros.service.LibrosEventosService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// ============================================================
+//  SSE: puesta al día, huecos de posiciones numeradas por otra
+//  instancia y seguimiento de la tabla sin relay local
+// ============================================================
+class SseOutboxSinkTest {
+
+    private static final int PAGINA = LibrosEventosService.MAX_PAGE_SIZE;
+
+    private final List<String> enviados = new CopyOnWriteArrayList<>();
+
+    private LibrosEventosService eventosService;
+    private SseOutboxSink sink;
+
+    @BeforeEach
+    void setUp() {
+        eventosService = mock(LibrosEventosService.class);
+        when(eventosService.getEventos(anyLong(), anyInt())).thenReturn(List.of());
+
+        // Emisor que registra el id de cada evento enviado
+        sink = new SseOutboxSink(eventosService, new SyncTaskExecutor(), Duration.ofMinutes(1)) {
+            @Override
+            SseEmitter nuevoEmitter(long timeoutMs) {
+                return new SseEmitter(timeoutMs) {
+                    @Override
+                    public void send(SseEventBuilder builder) {
+                        builder.build().stream()
+                                .map(parte -> parte.getData().toString())
+                                .filter(texto -> texto.startsWith("id:"))
+                                .forEach(texto -> enviados.add(texto.substring(3, texto.indexOf('\n'))));
+                    }
+                };
+            }
+        };
+    }
+
+    private static List<EventoCatalogo> eventos(long desde, long hasta) {
+        return LongStream.rangeClosed(desde, hasta)
+                .mapToObj(p -> new EventoCatalogo(p, Tipo.ACTUALIZADO, 1, null, Instant.EPOCH))
+                .toList();
+    }
+
+    // ============================================================
+    // TEST: lote local que no empieza en ultima + 1 → hueco desde la tabla
+    // ============================================================
+    @Test
+    void testLoteConHuecoSeCompletaDesdeLaTabla() {
+
+        when(eventosService.getEventos(0, PAGINA)).thenReturn(eventos(1, 2));
+        sink.suscribir(0);
+        assertEquals(List.of("1", "2"), enviados);
+
+        // 3 y 4 los numeró otra instancia; aquí solo llega el lote del 5
+        when(eventosService.getEventos(2, PAGINA)).thenReturn(eventos(3, 5));
+        sink.publicar(eventos(5, 5));
+
+        assertEquals(List.of("1", "2", "3", "4", "5"), enviados);
+    }
+
+    // ============================================================
+    // TEST: sin lotes locales, seguir() trae lo publicado por otros
+    // ============================================================
+    @Test
+    void testSeguirLeeLaTablaSinRelayLocal() {
+
+        when(eventosService.getEventos(0, PAGINA)).thenReturn(eventos(1, 3));
+        sink.suscribir(0);
+
+        when(eventosService.getEventos(3, PAGINA)).thenReturn(eventos(4, 6));
+        sink.seguir();
+
+        // Lote local repetido: no se reenvía
+        sink.publicar(eventos(5, 6));
+
+        assertEquals(List.of("1", "2", "3", "4", "5", "6"), enviados);
+    }
+
+    @Test
+    void testSeguirSinSuscriptoresNoConsulta() {
+
+        sink.seguir();
+
+        verifyNoInteractions(eventosService);
+    }
+}
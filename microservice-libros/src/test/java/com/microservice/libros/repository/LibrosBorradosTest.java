@@ -0,0 +1,73 @@
+package com.microservice.libros.repository;
+
+import com.microservice.libros.model.Libros;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// ============================================================
+//  Marcas de borrado: el DELETE deja un tombstone que cambia los
+//  validadores de las páginas cuyo rango de ids lo contiene.
+// ============================================================
+@DataJpaTest(properties = "spring.cloud.config.enabled=false")
+class LibrosBorradosTest {
+
+    @Autowired
+    private LibrosRepository librosRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final List<Integer> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+
+        for (int i = 1; i <= 3; i++) {
+            ids.add(librosRepository.save(Libros.builder()
+                    .titulo("Libro " + i)
+                    .autor("Autor " + i)
+                    .stock(i)
+                    .precio(BigDecimal.TEN)
+                    .build()).getId());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testBorradoDejaMarcaEnSuRango() {
+
+        assertNull(librosRepository.findUltimoBorrado(0, Integer.MAX_VALUE));
+
+        Instant antes = Instant.now().minusSeconds(1);
+        assertEquals(1, librosRepository.registrarBorrados(List.of(ids.get(1))));
+        librosRepository.deleteAllByIdInBatch(List.of(ids.get(1)));
+
+        Instant marca = librosRepository.findUltimoBorrado(0, ids.get(2));
+        assertNotNull(marca);
+        assertTrue(marca.isAfter(antes));
+
+        // Fuera del rango de la página no cuenta
+        assertNull(librosRepository.findUltimoBorrado(0, ids.get(0)));
+        assertNull(librosRepository.findUltimoBorrado(ids.get(1), Integer.MAX_VALUE));
+    }
+
+    @Test
+    void testIdInexistenteNoDejaMarca() {
+
+        assertEquals(0, librosRepository.registrarBorrados(List.of(-1)));
+        assertNull(librosRepository.findUltimoBorrado(0, Integer.MAX_VALUE));
+    }
+}
@@ -0,0 +1,160 @@
+package com.microservice.libros.repository;
+
+import com.microservice.libros.model.Libros;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// ============================================================
+//  Planes de ejecución (H2) de los filtros del catálogo: cada
+//  consulta debe resolverse con su índice, nunca con tableScan.
+//  Se explica el SQL que Hibernate genera para cada finder
+//  (capturado con un StatementInspector), así un cambio en la
+//  consulta derivada o en el JPQL que deje de usar el índice
+//  rompe el test.
+// ============================================================
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.microservice.libros.repository.LibrosQueryPlanTest$SqlCapturado"
+})
+class LibrosQueryPlanTest {
+
+    // Guarda cada sentencia que Hibernate envía a la base
+    public static class SqlCapturado implements StatementInspector {
+
+        static final List<String> SENTENCIAS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SENTENCIAS.add(sql);
+            return sql;
+        }
+    }
+
+    private static final String[] AUTORES = {"Borges", "Cortázar", "Mistral", "Neruda"};
+    private static final String[] CATEGORIAS = {"Novela", "Poesía", "Ensayo"};
+
+    @Autowired
+    private LibrosRepository librosRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+
+        List<Libros> libros = new ArrayList<>();
+
+        for (int i = 0; i < 2000; i++) {
+            libros.add(Libros.builder()
+                    .titulo("Libro " + i)
+                    .autor(AUTORES[i % AUTORES.length])
+                    .categoria(CATEGORIAS[i % CATEGORIAS.length])
+                    .disponible(i % 2 == 0)
+                    .stock(1)
+                    .precio(BigDecimal.valueOf(1000 + i))
+                    .build());
+        }
+
+        librosRepository.saveAll(libros);
+        entityManager.flush();
+    }
+
+    // Ejecuta el finder y devuelve el SQL generado para él
+    private static <T> String sqlDe(Supplier<T> finder) {
+        SqlCapturado.SENTENCIAS.clear();
+        finder.get();
+        return SqlCapturado.SENTENCIAS.get(SqlCapturado.SENTENCIAS.size() - 1);
+    }
+
+    // EXPLAIN del SQL generado, con los mismos parámetros en el orden de los '?'
+    private String explain(String sql, Object... parametros) {
+
+        assertEquals(parametros.length, sql.chars().filter(c -> c == '?').count(), sql);
+
+        Query query = entityManager.createNativeQuery("EXPLAIN " + sql);
+        for (int i = 0; i < parametros.length; i++) {
+            query.setParameter(i + 1, parametros[i]);
+        }
+        return query.getSingleResult().toString();
+    }
+
+    private static void assertUsaIndice(String plan, String indice) {
+        assertFalse(plan.contains("tableScan"), plan);
+        assertTrue(plan.toUpperCase().contains(indice.toUpperCase()), plan);
+    }
+
+    // ============================================================
+    // TEST: Por autor
+    // ============================================================
+    @Test
+    void testPorAutorUsaIndice() {
+
+        String sql = sqlDe(() -> librosRepository.findByAutorAndIdGreaterThanOrderByIdAsc("Borges", 0, Limit.of(20)));
+
+        assertUsaIndice(explain(sql, "Borges", 0, 20), "idx_libros_autor");
+
+        List<Libros> pagina = librosRepository.findByAutorAndIdGreaterThanOrderByIdAsc("Borges", 0, Limit.of(20));
+        assertEquals(20, pagina.size());
+        assertTrue(pagina.stream().allMatch(l -> l.getAutor().equals("Borges")));
+    }
+
+    // ============================================================
+    // TEST: Por categoría + disponibilidad
+    // ============================================================
+    @Test
+    void testPorCategoriaUsaIndice() {
+
+        String sql = sqlDe(() -> librosRepository.findByCategoriaAndDisponibleAndIdGreaterThanOrderByIdAsc(
+                "Poesía", true, 0, Limit.of(20)));
+
+        assertUsaIndice(explain(sql, "Poesía", true, 0, 20), "idx_libros_categoria_disponible");
+
+        List<Libros> pagina = librosRepository.findByCategoriaAndDisponibleAndIdGreaterThanOrderByIdAsc(
+                "Poesía", true, 0, Limit.of(20));
+        assertEquals(20, pagina.size());
+        assertTrue(pagina.stream().allMatch(l -> l.getCategoria().equals("Poesía") && l.getDisponible()));
+    }
+
+    // ============================================================
+    // TEST: Por rango de precio
+    // ============================================================
+    @Test
+    void testPorPrecioUsaIndice() {
+
+        BigDecimal min = BigDecimal.valueOf(1100);
+        BigDecimal max = BigDecimal.valueOf(1150);
+        String sql = sqlDe(() -> librosRepository.findByPrecioRange(min, 0, max, Limit.of(20)));
+
+        // :afterPrecio aparece dos veces en el JPQL → dos '?'
+        String plan = explain(sql, min, max, min, 0, 20);
+
+        assertUsaIndice(plan, "idx_libros_precio");
+        assertTrue(plan.contains("index sorted"), plan);
+
+        List<Libros> primera = librosRepository.findByPrecioRange(
+                BigDecimal.valueOf(1100), 0, BigDecimal.valueOf(1150), Limit.of(30));
+        assertEquals(30, primera.size());
+
+        Libros ultimo = primera.get(primera.size() - 1);
+        List<Libros> segunda = librosRepository.findByPrecioRange(
+                ultimo.getPrecio(), ultimo.getId(), BigDecimal.valueOf(1150), Limit.of(30));
+        assertEquals(21, segunda.size());
+        assertTrue(segunda.get(0).getPrecio().compareTo(ultimo.getPrecio()) > 0);
+    }
+}
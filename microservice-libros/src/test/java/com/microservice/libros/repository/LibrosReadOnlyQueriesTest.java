@@ -0,0 +1,89 @@
+package com.microservice.libros.repository;
+
+import com.microservice.libros.model.Libros;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// ============================================================
+//  Páginas keyset en sesión de solo lectura: las entidades se
+//  cargan sin copia para dirty checking ni flush al terminar.
+//  findById queda editable (lo usan PUT y PATCH).
+// ============================================================
+@DataJpaTest(properties = "spring.cloud.config.enabled=false")
+class LibrosReadOnlyQueriesTest {
+
+    @Autowired
+    private LibrosRepository librosRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Integer primerId;
+
+    @BeforeEach
+    void setUp() {
+
+        for (int i = 1; i <= 3; i++) {
+            Libros libro = librosRepository.save(Libros.builder()
+                    .titulo("Libro " + i)
+                    .autor("Autor " + i)
+                    .stock(i)
+                    .precio(BigDecimal.valueOf(1000L * i))
+                    .build());
+
+            if (primerId == null) {
+                primerId = libro.getId();
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private Session session() {
+        return entityManager.unwrap(Session.class);
+    }
+
+    @Test
+    void testPaginasKeysetDeSoloLectura() {
+
+        List<Libros> primera = librosRepository.findAllByOrderByIdAsc(Limit.of(2));
+        List<Libros> siguiente = librosRepository.findByIdGreaterThanOrderByIdAsc(primerId, Limit.of(2));
+
+        assertEquals(2, primera.size());
+        assertEquals(2, siguiente.size());
+        assertTrue(primera.stream().allMatch(session()::isReadOnly));
+        assertTrue(siguiente.stream().allMatch(session()::isReadOnly));
+    }
+
+    @Test
+    void testCambioEnEntidadDeSoloLecturaNoSeEscribe() {
+
+        Libros libro = librosRepository.findAllByOrderByIdAsc(Limit.of(1)).get(0);
+        libro.setStock(99);
+
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(1, librosRepository.findById(primerId).orElseThrow().getStock());
+    }
+
+    @Test
+    void testFindByIdSigueSiendoEditable() {
+
+        Libros libro = librosRepository.findById(primerId).orElseThrow();
+
+        assertFalse(session().isReadOnly(libro));
+    }
+}
@@ -0,0 +1,75 @@
+package com.microservice.libros.repository;
+
+import com.microservice.libros.dto.LibroResumen;
+import com.microservice.libros.model.Libros;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// ============================================================
+//  Vista resumida: proyección por constructor, sin entidades
+//  administradas en el contexto de persistencia.
+// ============================================================
+@DataJpaTest(properties = "spring.cloud.config.enabled=false")
+class LibrosResumenProjectionTest {
+
+    @Autowired
+    private LibrosRepository librosRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Integer primerId;
+
+    @BeforeEach
+    void setUp() {
+
+        for (int i = 1; i <= 3; i++) {
+            Libros libro = librosRepository.save(Libros.builder()
+                    .titulo("Libro " + i)
+                    .autor("Autor " + i)
+                    .descripcion("x".repeat(500))
+                    .stock(i)
+                    .precio(BigDecimal.valueOf(1000L * i))
+                    .build());
+
+            if (primerId == null) {
+                primerId = libro.getId();
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testResumenPageSinEntidades() {
+
+        List<LibroResumen> pagina = librosRepository.findResumenPage(0, Limit.of(2));
+
+        assertEquals(2, pagina.size());
+        assertEquals(new LibroResumen(primerId, "Libro 1", "Autor 1", new BigDecimal("1000.00"), true), pagina.get(0));
+
+        // Nada quedó registrado para dirty-checking
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    void testResumenPageKeyset() {
+
+        List<LibroResumen> pagina = librosRepository.findResumenPage(primerId + 1, Limit.of(10));
+
+        assertEquals(1, pagina.size());
+        assertEquals("Libro 3", pagina.get(0).titulo());
+    }
+}
@@ -0,0 +1,278 @@
+package com.microservice.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// ============================================================
+//  Stack completo en procesos locales, sin red externa:
+//
+//    config  (8888, repositorio nativo del classpath)
+//    eureka  (8761)
+//    libros  (8090, 8091, ... una por instancia, perfil "local")
+//    gateway (8080, lb://msvc-libros vía Eureka)
+//
+//  Las instancias de libros comparten una base H2 en archivo
+//  (AUTO_SERVER: la primera la sirve a las demás), como varias
+//  instancias contra la misma MySQL; solo la primera crea el
+//  esquema. El gateway arranca cuando Eureka ya las ve a todas.
+//
+//  Se usan los jars ejecutables de cada módulo (target/) y se
+//  arrancan en orden, esperando a que cada uno responda. La
+//  salida de cada proceso queda en <salida>/<módulo>-<puerto>.log y las
+//  trazas lentas en <salida>/gateway-spans.jsonl y
+//  <salida>/libros-<puerto>-spans.jsonl.
+// ============================================================
+public class EntornoLocal implements AutoCloseable {
+
+    public static final String GATEWAY = "http://localhost:8080";
+    public static final int PUERTO_LIBROS = 8090;
+
+    private static final Duration ARRANQUE_MAXIMO = Duration.ofMinutes(4);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Path raiz;
+    private final Path salida;
+    private final int instanciasLibros;
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+
+    private final List<Process> procesos = new ArrayList<>();
+
+    public EntornoLocal(Path raiz, Path salida, int instanciasLibros) {
+        this.raiz = raiz;
+        this.salida = salida;
+        this.instanciasLibros = instanciasLibros;
+    }
+
+    public void levantar() throws IOException, InterruptedException {
+
+        Files.createDirectories(salida);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close));
+
+        iniciar("microservice-config", 8888, "http://localhost:8888/msvc-libros/local");
+        iniciar("microservice-eureka", 8761, "http://localhost:8761/eureka/apps");
+
+        // Base compartida desde cero en cada corrida
+        Path h2 = salida.toAbsolutePath().resolve("h2");
+        borrar(h2);
+        String url = "jdbc:h2:file:" + h2.resolve("biblioteca_db") + ";AUTO_SERVER=TRUE";
+
+        for (int i = 0; i < instanciasLibros; i++) {
+            int puerto = PUERTO_LIBROS + i;
+            iniciar("microservice-libros", puerto, libros(puerto) + "/actuator/health",
+                    "--spring.profiles.active=local",
+                    "--server.port=" + puerto,
+                    "--spring.datasource.url=" + url,
+                    // Solo la primera crea el esquema (create-drop del perfil local)
+                    "--spring.jpa.hibernate.ddl-auto=" + (i == 0 ? "create-drop" : "none"),
+                    "--libros.tracing.file=" + salida.toAbsolutePath().resolve("libros-" + puerto + "-spans.jsonl"));
+        }
+        esperarRegistro(instanciasLibros);
+
+        // El gateway responde 200 en la ruta recién cuando ve a libros en Eureka
+        iniciar("microservice-gateway", 8080, GATEWAY + "/api/v1/libros?view=summary",
+                "--gateway.tracing.file=" + salida.toAbsolutePath().resolve("gateway-spans.jsonl"));
+    }
+
+    private static String libros(int puerto) {
+        return "http://localhost:" + puerto;
+    }
+
+    private void iniciar(String modulo, int puerto, String sonda, String... args)
+            throws IOException, InterruptedException {
+
+        if (puertoOcupado(puerto)) {
+            throw new IllegalStateException("El puerto " + puerto + " ya está en uso: detener " + modulo
+                    + " o usar --gateway=<url> contra un stack ya levantado");
+        }
+
+        List<String> comando = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-Xmx512m",
+                "-jar",
+                jar(modulo).toString()));
+        comando.addAll(Arrays.asList(args));
+
+        File log = salida.resolve(modulo + "-" + puerto + ".log").toFile();
+        Process proceso = new ProcessBuilder(comando)
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+        procesos.add(proceso);
+
+        System.out.printf("Iniciando %-22s (pid %d, log %s)%n", modulo, proceso.pid(), log);
+
+        long limite = System.nanoTime() + ARRANQUE_MAXIMO.toNanos();
+        while (!responde(sonda)) {
+            if (!proceso.isAlive()) {
+                throw new IllegalStateException(modulo + " terminó con código " + proceso.exitValue() + ", ver " + log);
+            }
+            if (System.nanoTime() > limite) {
+                throw new IllegalStateException(modulo + " no respondió en " + ARRANQUE_MAXIMO + ", ver " + log);
+            }
+            Thread.sleep(1000);
+        }
+    }
+
+    // ============================================================
+    //  Espera a que Eureka liste todas las instancias de libros en
+    //  UP: así el gateway reparte desde su primera consulta
+    // ============================================================
+    private void esperarRegistro(int instancias) throws IOException, InterruptedException {
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:8761/eureka/apps/MSVC-LIBROS"))
+                .timeout(Duration.ofSeconds(5))
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+
+        long limite = System.nanoTime() + ARRANQUE_MAXIMO.toNanos();
+        while (true) {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == 200 && registradas(response.body()) >= instancias) {
+                return;
+            }
+            if (System.nanoTime() > limite) {
+                throw new IllegalStateException("Eureka no registró " + instancias + " instancias de libros en "
+                        + ARRANQUE_MAXIMO);
+            }
+            Thread.sleep(1000);
+        }
+    }
+
+    // "instance" es un arreglo, o un objeto si hay una sola
+    static int registradas(String json) throws IOException {
+        JsonNode instancias = MAPPER.readTree(json).path("application").path("instance");
+        List<JsonNode> lista = new ArrayList<>();
+        if (instancias.isArray()) {
+            instancias.forEach(lista::add);
+        } else if (instancias.isObject()) {
+            lista.add(instancias);
+        }
+        return (int) lista.stream().filter(i -> "UP".equals(i.path("status").asText())).count();
+    }
+
+    // ============================================================
+    //  Copia de /actuator/prometheus de cada instancia de libros al
+    //  terminar la corrida (timers por método y query, pool de
+    //  conexiones): hace de scrape local sin Prometheus y muestra
+    //  cómo repartió el gateway
+    // ============================================================
+    public List<Path> guardarMetricasLibros() throws IOException, InterruptedException {
+
+        List<Path> archivos = new ArrayList<>();
+
+        for (int i = 0; i < instanciasLibros; i++) {
+            int puerto = PUERTO_LIBROS + i;
+            Path archivo = salida.resolve("libros-" + puerto + "-metrics.prom");
+            HttpRequest request = HttpRequest.newBuilder(URI.create(libros(puerto) + "/actuator/prometheus"))
+                    .timeout(Duration.ofSeconds(10))
+                    .GET()
+                    .build();
+            client.send(request, HttpResponse.BodyHandlers.ofFile(archivo));
+            archivos.add(archivo);
+        }
+        return archivos;
+    }
+
+    private static void borrar(Path directorio) throws IOException {
+        if (!Files.isDirectory(directorio)) {
+            return;
+        }
+        try (var archivos = Files.walk(directorio)) {
+            for (Path p : archivos.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(p);
+            }
+        }
+    }
+
+    private boolean responde(String url) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(5)).GET().build();
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static boolean puertoOcupado(int puerto) {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress("localhost", puerto), 200);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    // ============================================================
+    //  Jar ejecutable del módulo: el "-exec" si existe (libros),
+    //  si no el único jar de target/
+    // ============================================================
+    Path jar(String modulo) throws IOException {
+
+        Path target = raiz.resolve(modulo).resolve("target");
+        if (!Files.isDirectory(target)) {
+            throw new IllegalStateException("No existe " + target + ": empaquetar antes (mvn -P load-test verify desde la raíz)");
+        }
+
+        List<Path> jars;
+        try (var archivos = Files.list(target)) {
+            jars = archivos
+                    .filter(p -> p.getFileName().toString().endsWith(".jar"))
+                    .filter(p -> !p.getFileName().toString().matches(".*-(plain|sources|javadoc|tests)\\.jar"))
+                    .sorted()
+                    .toList();
+        }
+
+        return jars.stream()
+                .filter(p -> p.getFileName().toString().endsWith("-exec.jar"))
+                .findFirst()
+                .or(() -> jars.size() == 1 ? jars.stream().findFirst() : Optional.empty())
+                .orElseThrow(() -> new IllegalStateException("No se encontró un jar ejecutable único en " + target));
+    }
+
+    // Orden inverso: primero el gateway, al final config
+    @Override
+    public synchronized void close() {
+
+        List<Process> inverso = new ArrayList<>(procesos);
+        Collections.reverse(inverso);
+
+        for (Process proceso : inverso) {
+            proceso.destroy();
+            try {
+                if (!proceso.waitFor(20, TimeUnit.SECONDS)) {
+                    proceso.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                proceso.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+        procesos.clear();
+    }
+}
@@ -0,0 +1,127 @@
+package com.microservice.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// ============================================================
+//  Resultados de un endpoint. Cada usuario virtual lleva los
+//  suyos (sin sincronización) y al final se suman.
+//
+//  Clasificación de respuestas:
+//    2xx/3xx → éxito
+//    429     → rechazada por el rate limit del gateway
+//    otro 4xx → error de cliente (404, 409, 412...)
+//    5xx     → error de servidor (incluye 503 del circuit breaker)
+//    sin respuesta (timeout, conexión) → fallo
+//  La tasa de error cuenta 5xx + fallos.
+// ============================================================
+public class EstadisticasEndpoint {
+
+    // Límites superiores (ms) de los buckets del histograma; el último es abierto
+    static final long[] LIMITES_MS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000};
+
+    private long[] latencias = new long[256];
+    private int n;
+
+    private long exitos;
+    private long rechazadas;
+    private long erroresCliente;
+    private long erroresServidor;
+    private long fallos;
+
+    public void registrar(int status, long nanos) {
+
+        if (status == 429) {
+            rechazadas++;
+        } else if (status >= 500) {
+            erroresServidor++;
+        } else if (status >= 400) {
+            erroresCliente++;
+        } else {
+            exitos++;
+        }
+
+        if (n == latencias.length) {
+            latencias = Arrays.copyOf(latencias, n * 2);
+        }
+        latencias[n++] = nanos;
+    }
+
+    public void registrarFallo() {
+        fallos++;
+    }
+
+    public void sumar(EstadisticasEndpoint otra) {
+        if (n + otra.n > latencias.length) {
+            latencias = Arrays.copyOf(latencias, n + otra.n);
+        }
+        System.arraycopy(otra.latencias, 0, latencias, n, otra.n);
+        n += otra.n;
+
+        exitos += otra.exitos;
+        rechazadas += otra.rechazadas;
+        erroresCliente += otra.erroresCliente;
+        erroresServidor += otra.erroresServidor;
+        fallos += otra.fallos;
+    }
+
+    public Resumen resumen(String endpoint, double segundos) {
+
+        long[] ordenadas = Arrays.copyOf(latencias, n);
+        Arrays.sort(ordenadas);
+
+        long total = exitos + rechazadas + erroresCliente + erroresServidor + fallos;
+
+        return new Resumen(
+                endpoint,
+                total,
+                exitos,
+                rechazadas,
+                erroresCliente,
+                erroresServidor,
+                fallos,
+                total / segundos,
+                total == 0 ? 0 : (double) (erroresServidor + fallos) / total,
+                percentil(ordenadas, 0.50),
+                percentil(ordenadas, 0.90),
+                percentil(ordenadas, 0.99),
+                ordenadas.length == 0 ? 0 : ordenadas[ordenadas.length - 1] / 1e6,
+                histograma(ordenadas));
+    }
+
+    static double percentil(long[] ordenadas, double p) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int i = (int) Math.ceil(p * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, i)] / 1e6;
+    }
+
+    // Cantidad de respuestas por bucket: "<=1ms", "<=2ms", ..., ">5000ms"
+    static Map<String, Long> histograma(long[] ordenadas) {
+
+        Map<String, Long> buckets = new LinkedHashMap<>();
+        int i = 0;
+
+        for (long limite : LIMITES_MS) {
+            long cuenta = 0;
+            while (i < ordenadas.length && ordenadas[i] <= limite * 1_000_000) {
+                cuenta++;
+                i++;
+            }
+            buckets.put("<=" + limite + "ms", cuenta);
+        }
+        buckets.put(">" + LIMITES_MS[LIMITES_MS.length - 1] + "ms", (long) (ordenadas.length - i));
+
+        return buckets;
+    }
+
+    // Resumen por endpoint para el reporte (latencias en ms)
+    public record Resumen(String endpoint, long total, long exitos, long rechazadas,
+                          long erroresCliente, long erroresServidor, long fallos,
+                          double throughput, double tasaError,
+                          double p50Ms, double p90Ms, double p99Ms, double maxMs,
+                          Map<String, Long> histograma) {
+    }
+}
@@ -0,0 +1,218 @@
+package com.microservice.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+// ============================================================
+//  Usuarios virtuales en bucle cerrado contra el gateway.
+//
+//  Cada usuario tiene su propia X-API-Key (el rate limit del
+//  gateway es por cliente) y espera "pausa" entre peticiones,
+//  como un cliente real: sin pausa, un solo usuario superaría
+//  el rate por cliente y la prueba mediría solo 429.
+// ============================================================
+public class GeneradorCarga {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+    private static final int LIBROS_POR_BULK = 20;
+    private static final int LOTE_CATALOGO = 500;
+
+    static final String[] PALABRAS = {
+            "amor", "guerra", "noche", "ciudad", "historia", "secreto", "sombra", "camino",
+            "tiempo", "mar", "fuego", "silencio", "jardin", "viaje", "memoria", "invierno"
+    };
+    static final String[] AUTORES = {
+            "Garcia", "Cortazar", "Borges", "Allende", "Neruda", "Mistral", "Bolano", "Rulfo"
+    };
+    private static final String[] CATEGORIAS = {"Novela", "Ensayo", "Poesia", "Fantasia", "Historia"};
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String gateway;
+    private final int usuarios;
+    private final Duration pausa;
+    private final MezclaTrafico mezcla = new MezclaTrafico();
+    private final HttpClient client;
+
+    // Ids existentes: se lee en cada operación, se agrega solo en los bulk
+    private final List<Integer> ids = new CopyOnWriteArrayList<>();
+
+    public GeneradorCarga(String gateway, int usuarios, Duration pausa) {
+        this.gateway = gateway;
+        this.usuarios = usuarios;
+        this.pausa = pausa;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(TIMEOUT)
+                .executor(Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()), r -> {
+                    Thread t = new Thread(r, "load-test-http");
+                    t.setDaemon(true);
+                    return t;
+                }))
+                .build();
+    }
+
+    // ============================================================
+    //  Catálogo inicial por /bulk (a través del gateway)
+    // ============================================================
+    public void poblarCatalogo(int libros) throws IOException, InterruptedException {
+
+        for (int creados = 0; creados < libros; creados += LOTE_CATALOGO) {
+
+            HttpResponse<String> response = client.send(
+                    post("/api/v1/libros/bulk", librosAleatorios(Math.min(LOTE_CATALOGO, libros - creados)), "catalogo"),
+                    HttpResponse.BodyHandlers.ofString());
+
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Alta del catálogo respondió " + response.statusCode() + ": " + response.body());
+            }
+            agregarIds(response.body());
+        }
+    }
+
+    public int catalogo() {
+        return ids.size();
+    }
+
+    // ============================================================
+    //  Corrida: N usuarios durante "segundos"; resultados por endpoint
+    // ============================================================
+    public Map<Operacion, EstadisticasEndpoint> correr(int segundos) throws Exception {
+
+        ExecutorService pool = Executors.newFixedThreadPool(usuarios);
+        long fin = System.nanoTime() + Duration.ofSeconds(segundos).toNanos();
+
+        List<Future<Map<Operacion, EstadisticasEndpoint>>> futuros = new ArrayList<>(usuarios);
+        for (int u = 0; u < usuarios; u++) {
+            String apiKey = "load-test-" + u;
+            futuros.add(pool.submit(() -> usuario(apiKey, fin)));
+        }
+
+        Map<Operacion, EstadisticasEndpoint> total = new EnumMap<>(Operacion.class);
+        for (Future<Map<Operacion, EstadisticasEndpoint>> f : futuros) {
+            f.get().forEach((op, e) -> total.computeIfAbsent(op, k -> new EstadisticasEndpoint()).sumar(e));
+        }
+
+        pool.shutdown();
+        return total;
+    }
+
+    private Map<Operacion, EstadisticasEndpoint> usuario(String apiKey, long fin) throws InterruptedException {
+
+        Map<Operacion, EstadisticasEndpoint> estadisticas = new EnumMap<>(Operacion.class);
+
+        while (System.nanoTime() < fin) {
+
+            Operacion op = mezcla.siguiente();
+            EstadisticasEndpoint e = estadisticas.computeIfAbsent(op, k -> new EstadisticasEndpoint());
+
+            long t0 = System.nanoTime();
+            try {
+                HttpResponse<String> response = client.send(peticion(op, apiKey), HttpResponse.BodyHandlers.ofString());
+                e.registrar(response.statusCode(), System.nanoTime() - t0);
+
+                if (op == Operacion.BULK_CREATE && response.statusCode() == 200) {
+                    agregarIds(response.body());
+                }
+            } catch (IOException ex) {
+                e.registrarFallo();
+            }
+
+            Thread.sleep(pausa.toMillis());
+        }
+
+        return estadisticas;
+    }
+
+    HttpRequest peticion(Operacion op, String apiKey) throws IOException {
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        return switch (op) {
+            case GET_POR_ID -> get("/api/v1/libros/" + idAleatorio(), apiKey);
+            // Cursor en múltiplos de la página, como un cliente que recorre el listado
+            case LISTADO_RESUMEN -> get("/api/v1/libros?view=summary&after=" + random.nextInt(Math.max(1, ids.size() / 20)) * 20, apiKey);
+            case BUSQUEDA -> get("/api/v1/libros/search?q="
+                    + URLEncoder.encode(PALABRAS[random.nextInt(PALABRAS.length)], StandardCharsets.UTF_8), apiKey);
+            case POR_AUTOR -> get("/api/v1/libros/autor/" + AUTORES[random.nextInt(AUTORES.length)], apiKey);
+            case PATCH_STOCK -> HttpRequest.newBuilder(URI.create(gateway + "/api/v1/libros/" + idAleatorio() + "/stock"))
+                    .timeout(TIMEOUT)
+                    .header("X-API-Key", apiKey)
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"stock\":" + random.nextInt(100) + "}"))
+                    .build();
+            case BULK_CREATE -> post("/api/v1/libros/bulk", librosAleatorios(LIBROS_POR_BULK), apiKey);
+        };
+    }
+
+    private HttpRequest get(String path, String apiKey) {
+        return HttpRequest.newBuilder(URI.create(gateway + path))
+                .timeout(TIMEOUT)
+                .header("X-API-Key", apiKey)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, Object cuerpo, String apiKey) throws IOException {
+        return HttpRequest.newBuilder(URI.create(gateway + path))
+                .timeout(TIMEOUT)
+                .header("X-API-Key", apiKey)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(MAPPER.writeValueAsBytes(cuerpo)))
+                .build();
+    }
+
+    private int idAleatorio() {
+        return ids.isEmpty() ? 1 : ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    static List<Map<String, Object>> librosAleatorios(int cantidad) {
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Map<String, Object>> libros = new ArrayList<>(cantidad);
+
+        for (int i = 0; i < cantidad; i++) {
+            Map<String, Object> libro = new LinkedHashMap<>();
+            libro.put("titulo", PALABRAS[random.nextInt(PALABRAS.length)] + " "
+                    + PALABRAS[random.nextInt(PALABRAS.length)] + " " + random.nextInt(100_000));
+            libro.put("autor", AUTORES[random.nextInt(AUTORES.length)]);
+            libro.put("categoria", CATEGORIAS[random.nextInt(CATEGORIAS.length)]);
+            libro.put("idioma", "ES");
+            libro.put("stock", random.nextInt(100));
+            libro.put("precio", 1000 + random.nextInt(30_000));
+            libros.add(libro);
+        }
+
+        return libros;
+    }
+
+    // Ids creados en la respuesta de /bulk (data[].id de los CREADO)
+    private void agregarIds(String cuerpo) throws IOException {
+
+        List<Integer> nuevos = new ArrayList<>();
+        for (JsonNode item : MAPPER.readTree(cuerpo).path("data")) {
+            if ("CREADO".equals(item.path("estado").asText())) {
+                nuevos.add(item.path("id").asInt());
+            }
+        }
+        ids.addAll(nuevos);
+    }
+}
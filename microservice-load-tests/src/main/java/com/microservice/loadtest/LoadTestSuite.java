@@ -0,0 +1,107 @@
+package com.microservice.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// ============================================================
+//  Suite de carga end-to-end, sin red externa ni MySQL:
+//
+//    mvn -P load-test verify [-Dload.usuarios=32 -Dload.segundos=60
+//                             -Dload.catalogo=2000 -Dload.pausa-ms=50
+//                             -Dload.instancias-libros=3]
+//
+//  1. Levanta config, eureka, N instancias de libros (perfil local,
+//     H2 compartida) y gateway
+//  2. Crea el catálogo inicial por /bulk
+//  3. Calentamiento (descartado) y medición con la mezcla de
+//     Operacion a través del gateway
+//  4. Reporte por endpoint: throughput, p50/p90/p99, histograma,
+//     429 y tasa de error → consola y target/load-test/reporte.json
+//  5. Scrape de /actuator/prometheus de cada instancia de libros →
+//     libros-<puerto>-metrics.prom (las trazas lentas quedan en
+//     gateway-spans.jsonl y libros-<puerto>-spans.jsonl, unidas
+//     por traceId)
+//
+//  El escalado del balanceo del gateway se mide acá, con procesos
+//  reales: misma carga con -Dload.instancias-libros=1 y =3 y se
+//  comparan throughput y p99 de los dos reportes.
+//
+//  Con --gateway=<url> se mide un stack ya levantado (sin paso 1).
+// ============================================================
+public class LoadTestSuite {
+
+    public static void main(String[] args) throws Exception {
+
+        Map<String, String> opciones = new LinkedHashMap<>();
+        opciones.put("raiz", "..");
+        opciones.put("salida", "target/load-test");
+        opciones.put("usuarios", "32");
+        opciones.put("segundos", "60");
+        opciones.put("calentamiento", "15");
+        opciones.put("catalogo", "2000");
+        opciones.put("pausa-ms", "50");
+        opciones.put("instancias-libros", "3");
+        opciones.put("gateway", "");
+
+        for (String arg : args) {
+            int igual = arg.indexOf('=');
+            if (arg.startsWith("--") && igual > 0) {
+                opciones.put(arg.substring(2, igual), arg.substring(igual + 1));
+            }
+        }
+
+        int usuarios = Integer.parseInt(opciones.get("usuarios"));
+        int segundos = Integer.parseInt(opciones.get("segundos"));
+        int calentamiento = Integer.parseInt(opciones.get("calentamiento"));
+        int catalogo = Integer.parseInt(opciones.get("catalogo"));
+        Duration pausa = Duration.ofMillis(Long.parseLong(opciones.get("pausa-ms")));
+        int instanciasLibros = Integer.parseInt(opciones.get("instancias-libros"));
+        Path salida = Path.of(opciones.get("salida"));
+
+        String gateway = opciones.get("gateway");
+        EntornoLocal entorno = null;
+
+        if (gateway.isBlank()) {
+            entorno = new EntornoLocal(Path.of(opciones.get("raiz")).toAbsolutePath().normalize(), salida,
+                    instanciasLibros);
+            entorno.levantar();
+            gateway = EntornoLocal.GATEWAY;
+        }
+
+        try {
+            GeneradorCarga generador = new GeneradorCarga(gateway, usuarios, pausa);
+
+            generador.poblarCatalogo(catalogo);
+            System.out.printf("Catálogo: %d libros. Calentamiento %d s, medición %d s con %d usuarios%n",
+                    generador.catalogo(), calentamiento, segundos, usuarios);
+
+            generador.correr(calentamiento);
+
+            long inicio = System.nanoTime();
+            Map<Operacion, EstadisticasEndpoint> resultados = generador.correr(segundos);
+            double transcurrido = (System.nanoTime() - inicio) / 1e9;
+
+            Map<String, Object> parametros = new LinkedHashMap<>(opciones);
+            parametros.remove("raiz");
+            parametros.remove("salida");
+            parametros.put("gateway", gateway);
+
+            ReporteCarga reporte = new ReporteCarga(resultados, transcurrido, parametros);
+            reporte.imprimir(System.out);
+            System.out.printf("%nReporte: %s%n", reporte.guardar(salida));
+
+            if (entorno != null) {
+                for (Path metricas : entorno.guardarMetricasLibros()) {
+                    System.out.printf("Métricas de libros: %s%n", metricas);
+                }
+            }
+
+        } finally {
+            if (entorno != null) {
+                entorno.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.microservice.loadtest;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// ============================================================
+//  Selección ponderada de la siguiente operación de un usuario
+//  virtual (pesos de Operacion, suma arbitraria).
+// ============================================================
+public class MezclaTrafico {
+
+    private final Operacion[] operaciones = Operacion.values();
+    private final int[] acumulados = new int[operaciones.length];
+    private final int total;
+
+    public MezclaTrafico() {
+        int suma = 0;
+        for (int i = 0; i < operaciones.length; i++) {
+            suma += operaciones[i].peso();
+            acumulados[i] = suma;
+        }
+        this.total = suma;
+    }
+
+    public Operacion siguiente() {
+        return elegir(ThreadLocalRandom.current().nextInt(total));
+    }
+
+    // r en [0, total): primera operación cuyo acumulado supera r
+    Operacion elegir(int r) {
+        for (int i = 0; i < acumulados.length; i++) {
+            if (r < acumulados[i]) {
+                return operaciones[i];
+            }
+        }
+        throw new IllegalArgumentException("Fuera de rango: " + r);
+    }
+
+    int total() {
+        return total;
+    }
+}
@@ -0,0 +1,32 @@
+package com.microservice.loadtest;
+
+// ============================================================
+//  Endpoints de la mezcla de tráfico y su peso relativo.
+//  Perfil de catálogo: mayoría de lecturas (por id, listado,
+//  búsqueda, por autor), ajustes de stock y altas masivas.
+// ============================================================
+public enum Operacion {
+
+    GET_POR_ID("GET /api/v1/libros/{id}", 55),
+    LISTADO_RESUMEN("GET /api/v1/libros?view=summary", 15),
+    BUSQUEDA("GET /api/v1/libros/search", 10),
+    POR_AUTOR("GET /api/v1/libros/autor/{autor}", 8),
+    PATCH_STOCK("PATCH /api/v1/libros/{id}/stock", 10),
+    BULK_CREATE("POST /api/v1/libros/bulk", 2);
+
+    private final String endpoint;
+    private final int peso;
+
+    Operacion(String endpoint, int peso) {
+        this.endpoint = endpoint;
+        this.peso = peso;
+    }
+
+    public String endpoint() {
+        return endpoint;
+    }
+
+    public int peso() {
+        return peso;
+    }
+}
@@ -0,0 +1,79 @@
+package com.microservice.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// ============================================================
+//  Reporte de la corrida: tabla por endpoint en consola e
+//  histogramas completos en <salida>/reporte.json
+// ============================================================
+public class ReporteCarga {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final List<EstadisticasEndpoint.Resumen> endpoints;
+    private final EstadisticasEndpoint.Resumen total;
+    private final Map<String, Object> parametros;
+
+    public ReporteCarga(Map<Operacion, EstadisticasEndpoint> resultados, double segundos, Map<String, Object> parametros) {
+
+        this.endpoints = new ArrayList<>();
+        EstadisticasEndpoint suma = new EstadisticasEndpoint();
+
+        resultados.forEach((op, e) -> {
+            endpoints.add(e.resumen(op.endpoint(), segundos));
+            suma.sumar(e);
+        });
+
+        this.total = suma.resumen("TOTAL", segundos);
+        this.parametros = parametros;
+    }
+
+    public EstadisticasEndpoint.Resumen total() {
+        return total;
+    }
+
+    public void imprimir(PrintStream out) {
+
+        out.printf("%n%-34s %8s %9s %7s %7s %7s %9s %9s %9s %9s%n",
+                "endpoint", "total", "req/s", "429", "4xx", "error%", "p50 ms", "p90 ms", "p99 ms", "max ms");
+
+        for (EstadisticasEndpoint.Resumen r : endpoints) {
+            fila(out, r);
+        }
+        fila(out, total);
+
+        out.printf("%nHistograma de latencias (todas las respuestas)%n");
+        total.histograma().forEach((bucket, cuenta) -> out.printf("  %-9s %10d%n", bucket, cuenta));
+    }
+
+    private static void fila(PrintStream out, EstadisticasEndpoint.Resumen r) {
+        out.printf("%-34s %8d %9.1f %7d %7d %7.2f %9.2f %9.2f %9.2f %9.2f%n",
+                r.endpoint(), r.total(), r.throughput(), r.rechazadas(), r.erroresCliente(),
+                r.tasaError() * 100, r.p50Ms(), r.p90Ms(), r.p99Ms(), r.maxMs());
+    }
+
+    public Path guardar(Path directorio) throws IOException {
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("fecha", Instant.now().toString());
+        json.put("parametros", parametros);
+        json.put("endpoints", endpoints);
+        json.put("total", total);
+
+        Files.createDirectories(directorio);
+        Path archivo = directorio.resolve("reporte.json");
+        MAPPER.writeValue(archivo.toFile(), json);
+        return archivo;
+    }
+}
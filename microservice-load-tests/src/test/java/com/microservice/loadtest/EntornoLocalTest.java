@@ -0,0 +1,27 @@
+package com.microservice.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntornoLocalTest {
+
+    @Test
+    void registradas_cuentaSoloLasInstanciasEnUp() throws Exception {
+        String json = "{\"application\":{\"name\":\"MSVC-LIBROS\",\"instance\":["
+                + "{\"instanceId\":\"localhost:msvc-libros:8090\",\"status\":\"UP\"},"
+                + "{\"instanceId\":\"localhost:msvc-libros:8091\",\"status\":\"STARTING\"},"
+                + "{\"instanceId\":\"localhost:msvc-libros:8092\",\"status\":\"UP\"}]}}";
+
+        assertEquals(2, EntornoLocal.registradas(json));
+    }
+
+    @Test
+    void registradas_unaSolaInstanciaComoObjeto() throws Exception {
+        String json = "{\"application\":{\"name\":\"MSVC-LIBROS\",\"instance\":"
+                + "{\"instanceId\":\"localhost:msvc-libros:8090\",\"status\":\"UP\"}}}";
+
+        assertEquals(1, EntornoLocal.registradas(json));
+        assertEquals(0, EntornoLocal.registradas("{}"));
+    }
+}
@@ -0,0 +1,74 @@
+package com.microservice.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EstadisticasEndpointTest {
+
+    private static final long MS = 1_000_000;
+
+    @Test
+    void clasificaLasRespuestasPorEstado() {
+        EstadisticasEndpoint e = new EstadisticasEndpoint();
+        e.registrar(200, MS);
+        e.registrar(304, MS);
+        e.registrar(429, MS);
+        e.registrar(412, MS);
+        e.registrar(503, MS);
+        e.registrarFallo();
+
+        EstadisticasEndpoint.Resumen r = e.resumen("GET /x", 2);
+
+        assertEquals(6, r.total());
+        assertEquals(2, r.exitos());
+        assertEquals(1, r.rechazadas());
+        assertEquals(1, r.erroresCliente());
+        assertEquals(1, r.erroresServidor());
+        assertEquals(1, r.fallos());
+        assertEquals(3, r.throughput(), 1e-9);
+        // 503 + fallo: los 429 y 4xx no cuentan como error del servicio
+        assertEquals(2.0 / 6, r.tasaError(), 1e-9);
+    }
+
+    @Test
+    void percentilesSobreLasLatenciasSumadas() {
+        EstadisticasEndpoint a = new EstadisticasEndpoint();
+        EstadisticasEndpoint b = new EstadisticasEndpoint();
+        for (int i = 1; i <= 50; i++) {
+            a.registrar(200, i * MS);
+            b.registrar(200, (50 + i) * MS);
+        }
+
+        a.sumar(b);
+        EstadisticasEndpoint.Resumen r = a.resumen("GET /x", 1);
+
+        assertEquals(100, r.total());
+        assertEquals(50, r.p50Ms(), 1e-9);
+        assertEquals(90, r.p90Ms(), 1e-9);
+        assertEquals(99, r.p99Ms(), 1e-9);
+        assertEquals(100, r.maxMs(), 1e-9);
+    }
+
+    @Test
+    void histogramaAcumulaPorBucket() {
+        Map<String, Long> h = EstadisticasEndpoint.histograma(new long[]{MS / 2, MS, 3 * MS, 7_000 * MS});
+
+        assertEquals(2, h.get("<=1ms"));
+        assertEquals(0, h.get("<=2ms"));
+        assertEquals(1, h.get("<=5ms"));
+        assertEquals(1, h.get(">5000ms"));
+        assertEquals(EstadisticasEndpoint.LIMITES_MS.length + 1, h.size());
+    }
+
+    @Test
+    void sinMuestras_resumenEnCero() {
+        EstadisticasEndpoint.Resumen r = new EstadisticasEndpoint().resumen("GET /x", 1);
+
+        assertEquals(0, r.total());
+        assertEquals(0, r.p99Ms());
+        assertEquals(0, r.tasaError());
+    }
+}
@@ -0,0 +1,41 @@
+package com.microservice.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MezclaTraficoTest {
+
+    private final MezclaTrafico mezcla = new MezclaTrafico();
+
+    @Test
+    void cadaValorCaeEnUnaOperacionSegunSuPeso() {
+        Map<Operacion, Integer> cuentas = new EnumMap<>(Operacion.class);
+
+        for (int r = 0; r < mezcla.total(); r++) {
+            cuentas.merge(mezcla.elegir(r), 1, Integer::sum);
+        }
+
+        for (Operacion op : Operacion.values()) {
+            assertEquals(op.peso(), cuentas.get(op), op.name());
+        }
+    }
+
+    @Test
+    void bordes() {
+        assertEquals(Operacion.GET_POR_ID, mezcla.elegir(0));
+        assertEquals(Operacion.BULK_CREATE, mezcla.elegir(mezcla.total() - 1));
+        assertThrows(IllegalArgumentException.class, () -> mezcla.elegir(mezcla.total()));
+    }
+
+    @Test
+    void laMezclaEsMayoritariamenteLectura() {
+        int lecturas = Operacion.GET_POR_ID.peso() + Operacion.LISTADO_RESUMEN.peso()
+                + Operacion.BUSQUEDA.peso() + Operacion.POR_AUTOR.peso();
+
+        assertTrue(lecturas * 100 / mezcla.total() >= 80);
+    }
+}
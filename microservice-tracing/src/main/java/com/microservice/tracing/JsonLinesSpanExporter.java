@@ -0,0 +1,106 @@
+package com.microservice.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+// ============================================================
+//  Sumidero local de spans: una línea JSON por span, en modo
+//  append. Hace las veces de colector OTLP en desarrollo y en
+//  la suite de carga; se consulta con jq, p. ej.
+//
+//    jq -c 'select(.traceId=="<id>")' data/traces/libros-spans.jsonl
+//
+//  Lo usan el gateway y libros (un archivo cada uno); ambos
+//  comparten traceId: juntos dan el recorrido completo de una
+//  petición.
+// ============================================================
+public class JsonLinesSpanExporter implements SpanExporter {
+
+    private static final AttributeKey<String> SERVICE_NAME = AttributeKey.stringKey("service.name");
+
+    private final Path archivo;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private BufferedWriter writer;
+
+    public JsonLinesSpanExporter(Path archivo) {
+        this.archivo = archivo;
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        try {
+            BufferedWriter out = writer();
+            for (SpanData span : spans) {
+                out.write(mapper.writeValueAsString(linea(span)));
+                out.newLine();
+            }
+            out.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                return CompletableResultCode.ofFailure();
+            } finally {
+                writer = null;
+            }
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    static Map<String, Object> linea(SpanData span) {
+        Map<String, Object> linea = new LinkedHashMap<>();
+        linea.put("traceId", span.getTraceId());
+        linea.put("spanId", span.getSpanId());
+        linea.put("parentSpanId", span.getParentSpanContext().isValid() ? span.getParentSpanId() : null);
+        linea.put("service", span.getResource().getAttribute(SERVICE_NAME));
+        linea.put("name", span.getName());
+        linea.put("kind", span.getKind().name());
+        linea.put("start", Instant.ofEpochSecond(0, span.getStartEpochNanos()).toString());
+        linea.put("durationMs", (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1e6);
+        linea.put("status", span.getStatus().getStatusCode().name());
+
+        Map<String, Object> atributos = new TreeMap<>();
+        span.getAttributes().forEach((clave, valor) -> atributos.put(clave.getKey(), valor));
+        linea.put("attributes", atributos);
+        return linea;
+    }
+
+    private BufferedWriter writer() throws IOException {
+        if (writer == null) {
+            if (archivo.getParent() != null) {
+                Files.createDirectories(archivo.getParent());
+            }
+            writer = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        return writer;
+    }
+}
@@ -0,0 +1,166 @@
+package com.microservice.tracing;
+
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// ============================================================
+//  Muestreo por cola (tail sampling) dentro del proceso.
+//
+//  Todos los spans se registran (probabilidad 1.0 en la cabecera)
+//  y se retienen por traza hasta que termina la raíz local: el
+//  span de la petición entrante, sin padre o con padre remoto
+//  (en libros, el span del gateway; en el gateway, el traceparent
+//  que envíe el cliente).
+//  Con la duración total ya conocida se decide:
+//
+//    - raíz >= slowThreshold      → se exporta la traza completa
+//    - raíz con estado ERROR      → se exporta
+//    - resto                      → solo la fracción baselineRatio,
+//                                   decidida por traceId (misma
+//                                   decisión en gateway y libros)
+//
+//  La decisión se recuerda decisionTtl para los spans que terminan
+//  después de la raíz (trabajo async). Las trazas sin raíz en ese
+//  plazo, o por encima de maxPendingTraces, se descartan.
+//
+//  BatchSpanProcessor llama a export desde un único hilo; el
+//  synchronized cubre flush/shutdown desde otros hilos.
+// ============================================================
+public class TailSamplingSpanExporter implements SpanExporter {
+
+    private final SpanExporter delegate;
+    private final long umbralNanos;
+    private final long limiteMuestraBase;
+    private final int maxTrazasPendientes;
+    private final long ttlNanos;
+
+    // Orden de llegada: la cabeza es siempre la traza más antigua
+    private final LinkedHashMap<String, Traza> trazas = new LinkedHashMap<>();
+
+    public TailSamplingSpanExporter(SpanExporter delegate, Duration slowThreshold, double baselineRatio,
+                                    int maxPendingTraces, Duration decisionTtl) {
+        if (baselineRatio < 0 || baselineRatio > 1) {
+            throw new IllegalArgumentException("baselineRatio debe estar entre 0 y 1: " + baselineRatio);
+        }
+        this.delegate = delegate;
+        this.umbralNanos = slowThreshold.toNanos();
+        this.limiteMuestraBase = (long) (baselineRatio * Long.MAX_VALUE);
+        this.maxTrazasPendientes = maxPendingTraces;
+        this.ttlNanos = decisionTtl.toNanos();
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+
+        long ahora = System.nanoTime();
+        purgarVencidas(ahora);
+
+        List<SpanData> exportar = new ArrayList<>();
+
+        for (SpanData span : spans) {
+            Traza traza = trazas.get(span.getTraceId());
+            if (traza == null) {
+                if (trazas.size() >= maxTrazasPendientes) {
+                    descartarMasAntigua();
+                }
+                traza = new Traza(ahora);
+                trazas.put(span.getTraceId(), traza);
+            }
+
+            if (traza.conservar != null) {
+                // Llegó después de la raíz: sigue la decisión ya tomada
+                if (traza.conservar) {
+                    exportar.add(span);
+                }
+            } else if (esRaizLocal(span)) {
+                traza.conservar = conservar(span);
+                if (traza.conservar) {
+                    exportar.addAll(traza.spans);
+                    exportar.add(span);
+                }
+                traza.spans = null;
+            } else {
+                traza.spans.add(span);
+            }
+        }
+
+        return exportar.isEmpty() ? CompletableResultCode.ofSuccess() : delegate.export(exportar);
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return delegate.flush();
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        trazas.clear();
+        return delegate.shutdown();
+    }
+
+    // Trazas aún sin decidir (para tests y diagnóstico)
+    synchronized int pendientes() {
+        int pendientes = 0;
+        for (Traza traza : trazas.values()) {
+            if (traza.conservar == null) {
+                pendientes++;
+            }
+        }
+        return pendientes;
+    }
+
+    private boolean conservar(SpanData raiz) {
+        long duracion = raiz.getEndEpochNanos() - raiz.getStartEpochNanos();
+        return duracion >= umbralNanos
+                || raiz.getStatus().getStatusCode() == StatusCode.ERROR
+                || enMuestraBase(raiz.getTraceId());
+    }
+
+    // Igual que TraceIdRatioBased: los 8 bytes bajos del traceId contra el límite
+    private boolean enMuestraBase(String traceId) {
+        long valor = Long.parseUnsignedLong(traceId.substring(16), 16) & Long.MAX_VALUE;
+        return valor < limiteMuestraBase;
+    }
+
+    private static boolean esRaizLocal(SpanData span) {
+        SpanContext padre = span.getParentSpanContext();
+        return !padre.isValid() || padre.isRemote();
+    }
+
+    private void purgarVencidas(long ahora) {
+        Iterator<Traza> it = trazas.values().iterator();
+        while (it.hasNext() && ahora - it.next().inicio > ttlNanos) {
+            it.remove();
+        }
+    }
+
+    private void descartarMasAntigua() {
+        Iterator<Map.Entry<String, Traza>> it = trazas.entrySet().iterator();
+        it.next();
+        it.remove();
+    }
+
+    private static final class Traza {
+
+        final long inicio;
+
+        // null mientras no termina la raíz local
+        Boolean conservar;
+        List<SpanData> spans = new ArrayList<>();
+
+        Traza(long inicio) {
+            this.inicio = inicio;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.microservice.tracing;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+// ============================================================
+//  Parámetros del muestreo por cola (ver TailSamplingSpanExporter)
+//  Cada servicio lo registra con su propio prefijo:
+//  gateway.tracing.* y libros.tracing.*
+// ============================================================
+public class TracingProperties {
+
+    // Trazas cuya raíz dura al menos esto se exportan siempre
+    private Duration slowThreshold = Duration.ofMillis(500);
+
+    // Fracción de las trazas rápidas que se exporta igual (referencia de p50)
+    private double baselineRatio = 0.01;
+
+    // Archivo JSON lines de los spans exportados
+    private String file;
+
+    // Trazas retenidas en memoria a la espera de su raíz
+    private int maxPendingTraces = 10_000;
+
+    // Tiempo que se recuerda la decisión (spans que terminan tras la raíz)
+    private Duration decisionTtl = Duration.ofSeconds(30);
+
+    public TracingProperties(String file) {
+        this.file = file;
+    }
+
+    // Exportador a archivo envuelto en el muestreo por cola
+    public TailSamplingSpanExporter crearExporter() {
+        return new TailSamplingSpanExporter(
+                new JsonLinesSpanExporter(Path.of(file)),
+                slowThreshold,
+                baselineRatio,
+                maxPendingTraces,
+                decisionTtl);
+    }
+
+    public Duration getSlowThreshold() {
+        return slowThreshold;
+    }
+
+    public void setSlowThreshold(Duration slowThreshold) {
+        this.slowThreshold = slowThreshold;
+    }
+
+    public double getBaselineRatio() {
+        return baselineRatio;
+    }
+
+    public void setBaselineRatio(double baselineRatio) {
+        this.baselineRatio = baselineRatio;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+
+    public int getMaxPendingTraces() {
+        return maxPendingTraces;
+    }
+
+    public void setMaxPendingTraces(int maxPendingTraces) {
+        this.maxPendingTraces = maxPendingTraces;
+    }
+
+    public Duration getDecisionTtl() {
+        return decisionTtl;
+    }
+
+    public void setDecisionTtl(Duration decisionTtl) {
+        this.decisionTtl = decisionTtl;
+    }
+}
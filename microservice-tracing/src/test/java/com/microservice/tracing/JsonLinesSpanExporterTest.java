@@ -0,0 +1,66 @@
+package com.microservice.tracing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.testing.trace.TestSpanData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.data.StatusData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonLinesSpanExporterTest {
+
+    @TempDir
+    Path dir;
+
+    private static SpanData query(long duracionNanos) {
+        return TestSpanData.builder()
+                .setSpanContext(SpanContext.create("4bf92f3577b34da6a3ce929d0e0e4736", "00f067aa0ba902b7",
+                        TraceFlags.getSampled(), TraceState.getDefault()))
+                .setParentSpanContext(SpanContext.create("4bf92f3577b34da6a3ce929d0e0e4736", "b7ad6b7169203331",
+                        TraceFlags.getSampled(), TraceState.getDefault()))
+                .setResource(Resource.create(Attributes.of(AttributeKey.stringKey("service.name"), "msvc-libros")))
+                .setName("query")
+                .setKind(SpanKind.CLIENT)
+                .setStartEpochNanos(1_700_000_000_000_000_000L)
+                .setEndEpochNanos(1_700_000_000_000_000_000L + duracionNanos)
+                .setAttributes(Attributes.of(AttributeKey.stringKey("jdbc.query[0]"), "select * from libros"))
+                .setStatus(StatusData.unset())
+                .setHasEnded(true)
+                .build();
+    }
+
+    @Test
+    void export_escribeUnaLineaPorSpanEnModoAppend() throws Exception {
+        Path archivo = dir.resolve("traces/libros-spans.jsonl");
+        JsonLinesSpanExporter exporter = new JsonLinesSpanExporter(archivo);
+
+        assertTrue(exporter.export(List.of(query(2_500_000))).isSuccess());
+        assertTrue(exporter.export(List.of(query(1_000_000))).isSuccess());
+        exporter.shutdown();
+
+        List<String> lineas = Files.readAllLines(archivo);
+        assertEquals(2, lineas.size());
+
+        JsonNode primera = new ObjectMapper().readTree(lineas.get(0));
+        assertEquals("4bf92f3577b34da6a3ce929d0e0e4736", primera.get("traceId").asText());
+        assertEquals("b7ad6b7169203331", primera.get("parentSpanId").asText());
+        assertEquals("msvc-libros", primera.get("service").asText());
+        assertEquals("CLIENT", primera.get("kind").asText());
+        assertEquals(2.5, primera.get("durationMs").asDouble());
+        assertEquals("select * from libros", primera.get("attributes").get("jdbc.query[0]").asText());
+    }
+}
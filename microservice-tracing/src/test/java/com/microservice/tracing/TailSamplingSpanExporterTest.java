@@ -0,0 +1,138 @@
+package com.microservice.tracing;
+
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.testing.trace.TestSpanData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.data.StatusData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TailSamplingSpanExporterTest {
+
+    private static final String TRAZA = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+    private InMemorySpanExporter destino;
+    private TailSamplingSpanExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        destino = InMemorySpanExporter.create();
+        exporter = new TailSamplingSpanExporter(destino, Duration.ofMillis(500), 0.0, 100, Duration.ofSeconds(30));
+    }
+
+    // Raíz local en libros: padre remoto (el span del gateway)
+    private static SpanData raiz(String traceId, long duracionMs, StatusData estado) {
+        return span(traceId, "00f067aa0ba902b7",
+                SpanContext.createFromRemoteParent(traceId, "b7ad6b7169203331", TraceFlags.getSampled(), TraceState.getDefault()),
+                SpanKind.SERVER, duracionMs, estado);
+    }
+
+    private static SpanData hijo(String traceId, String spanId) {
+        return span(traceId, spanId,
+                SpanContext.create(traceId, "00f067aa0ba902b7", TraceFlags.getSampled(), TraceState.getDefault()),
+                SpanKind.CLIENT, 5, StatusData.unset());
+    }
+
+    private static SpanData span(String traceId, String spanId, SpanContext padre, SpanKind kind,
+                                 long duracionMs, StatusData estado) {
+        long inicio = 1_700_000_000_000_000_000L;
+        return TestSpanData.builder()
+                .setSpanContext(SpanContext.create(traceId, spanId, TraceFlags.getSampled(), TraceState.getDefault()))
+                .setParentSpanContext(padre)
+                .setName(spanId)
+                .setKind(kind)
+                .setStartEpochNanos(inicio)
+                .setEndEpochNanos(inicio + duracionMs * 1_000_000)
+                .setStatus(estado)
+                .setHasEnded(true)
+                .build();
+    }
+
+    private List<String> exportados() {
+        return destino.getFinishedSpanItems().stream().map(SpanData::getName).toList();
+    }
+
+    @Test
+    void trazaLenta_exportaLaRaizYLosHijosDeLotesAnteriores() {
+        exporter.export(List.of(hijo(TRAZA, "0000000000000001")));
+        exporter.export(List.of(hijo(TRAZA, "0000000000000002")));
+        assertTrue(exportados().isEmpty());
+
+        exporter.export(List.of(raiz(TRAZA, 800, StatusData.unset())));
+
+        assertEquals(List.of("0000000000000001", "0000000000000002", "00f067aa0ba902b7"), exportados());
+        assertEquals(0, exporter.pendientes());
+    }
+
+    @Test
+    void raizSinPadre_tambienEsRaizLocal() {
+        // En el gateway la petición entrante no trae traceparent
+        SpanData raizGateway = span(TRAZA, "00f067aa0ba902b7", SpanContext.getInvalid(),
+                SpanKind.SERVER, 800, StatusData.unset());
+
+        exporter.export(List.of(hijo(TRAZA, "0000000000000001"), raizGateway));
+
+        assertEquals(List.of("0000000000000001", "00f067aa0ba902b7"), exportados());
+    }
+
+    @Test
+    void trazaRapida_seDescarta() {
+        exporter.export(List.of(hijo(TRAZA, "0000000000000001"), raiz(TRAZA, 20, StatusData.unset())));
+
+        assertTrue(exportados().isEmpty());
+        assertEquals(0, exporter.pendientes());
+    }
+
+    @Test
+    void raizConError_seExportaAunqueSeaRapida() {
+        exporter.export(List.of(hijo(TRAZA, "0000000000000001"), raiz(TRAZA, 20, StatusData.error())));
+
+        assertEquals(2, exportados().size());
+    }
+
+    @Test
+    void spanQueTerminaTrasLaRaiz_sigueLaDecisionTomada() {
+        exporter.export(List.of(raiz(TRAZA, 800, StatusData.unset())));
+        exporter.export(List.of(hijo(TRAZA, "0000000000000009")));
+
+        assertEquals(List.of("00f067aa0ba902b7", "0000000000000009"), exportados());
+    }
+
+    @Test
+    void muestraBase_decidePorTraceId() {
+        exporter = new TailSamplingSpanExporter(destino, Duration.ofMillis(500), 0.5, 100, Duration.ofSeconds(30));
+
+        String dentro = "4bf92f3577b34da60000000000000001";
+        String fuera = "4bf92f3577b34da67fffffffffffffff";
+        exporter.export(List.of(raiz(dentro, 20, StatusData.unset()), raiz(fuera, 20, StatusData.unset())));
+
+        assertEquals(List.of(dentro), destino.getFinishedSpanItems().stream().map(SpanData::getTraceId).toList());
+    }
+
+    @Test
+    void sinRaiz_retieneComoMaximoMaxPendingTraces() {
+        exporter = new TailSamplingSpanExporter(destino, Duration.ofMillis(500), 0.0, 2, Duration.ofSeconds(30));
+
+        exporter.export(List.of(
+                hijo("00000000000000000000000000000001", "0000000000000001"),
+                hijo("00000000000000000000000000000002", "0000000000000001"),
+                hijo("00000000000000000000000000000003", "0000000000000001")));
+
+        assertEquals(2, exporter.pendientes());
+    }
+
+    @Test
+    void baselineRatioFueraDeRango_esRechazado() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new TailSamplingSpanExporter(destino, Duration.ofMillis(500), 1.5, 100, Duration.ofSeconds(30)));
+    }
+}